@@ -43,11 +43,39 @@ public class BinanceManager {
      */
     protected static final Properties properties = new Properties();
 
+    /**
+     * {@code SERVER_TIME_SYNC_PERIOD} is constant for the period after that the server time offset is synced again
+     */
+    public static final long SERVER_TIME_SYNC_PERIOD = 60000;
+
+    /**
+     * {@code serverTimeOffset} is instance that memorizes the offset between the server time and the local time,
+     * shared by all the managers because they work on the same server
+     */
+    private static volatile long serverTimeOffset;
+
+    /**
+     * {@code lastServerTimeSync} is instance that memorizes the local time of the last sync of the server time offset,
+     * -1 if never synced
+     */
+    private static volatile long lastServerTimeSync = -1;
+
     /**
      * {@code baseEndpoint} is instance that  memorizes main endpoint where {@link BinanceManager}'s managers work on
      */
     protected final String baseEndpoint;
 
+    /**
+     * {@code defaultErrorMessage} is instance that memorizes the custom error to show when is not a request error,
+     * null if not inserted
+     */
+    protected final String defaultErrorMessage;
+
+    /**
+     * {@code timeout} is instance that memorizes the custom timeout for request, -1 if not inserted
+     */
+    protected final int timeout;
+
     /**
      * {@code apiRequest} is instance that contains list of {@code "Binance"}'s main endpoints
      */
@@ -62,6 +90,8 @@ public class BinanceManager {
      */
     public BinanceManager(String baseEndpoint, String defaultErrorMessage, int timeout) throws SystemException, IOException {
         apiRequest = new APIRequest(defaultErrorMessage, timeout);
+        this.defaultErrorMessage = defaultErrorMessage;
+        this.timeout = timeout;
         if (baseEndpoint != null)
             this.baseEndpoint = baseEndpoint;
         else
@@ -77,6 +107,8 @@ public class BinanceManager {
      */
     public BinanceManager(String baseEndpoint, String defaultErrorMessage) throws SystemException, IOException {
         apiRequest = new APIRequest(defaultErrorMessage);
+        this.defaultErrorMessage = defaultErrorMessage;
+        timeout = -1;
         if (baseEndpoint != null)
             this.baseEndpoint = baseEndpoint;
         else
@@ -92,6 +124,8 @@ public class BinanceManager {
      */
     public BinanceManager(String baseEndpoint, int timeout) throws SystemException, IOException {
         apiRequest = new APIRequest(timeout);
+        defaultErrorMessage = null;
+        this.timeout = timeout;
         if (baseEndpoint != null)
             this.baseEndpoint = baseEndpoint;
         else
@@ -106,6 +140,8 @@ public class BinanceManager {
      */
     public BinanceManager(String baseEndpoint) throws SystemException, IOException {
         apiRequest = new APIRequest();
+        defaultErrorMessage = null;
+        timeout = -1;
         if (baseEndpoint != null)
             this.baseEndpoint = baseEndpoint;
         else
@@ -133,21 +169,48 @@ public class BinanceManager {
         baseEndpoint = properties.getProperty("baseEndpoint");
         if (baseEndpoint == null)
             throw new IllegalArgumentException("You need to call a parameterized constructor first");
-        String defaultErrorMessage = properties.getProperty("defaultErrorMessage");
+        defaultErrorMessage = properties.getProperty("defaultErrorMessage");
         int timeout;
         try {
             timeout = Integer.parseInt(properties.getProperty("timeout"));
         } catch (NumberFormatException e) {
             timeout = -1;
         }
+        this.timeout = timeout;
+        apiRequest = createAPIRequest(defaultErrorMessage, timeout);
+    }
+
+    /**
+     * Constructor to init a {@link BinanceManager} with the same base endpoint, custom error and timeout of another
+     * manager
+     *
+     * @param manager: manager from copy the details
+     * @apiNote unlike the no-any params constructor this constructor does not use the details of the last parameterized
+     * constructor called, so it is useful to instantiate more managers that work on the same endpoint of a specific
+     * manager, also when different managers are used in the same process
+     */
+    public BinanceManager(BinanceManager manager) {
+        baseEndpoint = manager.baseEndpoint;
+        defaultErrorMessage = manager.defaultErrorMessage;
+        timeout = manager.timeout;
+        apiRequest = createAPIRequest(defaultErrorMessage, timeout);
+    }
+
+    /**
+     * Method to create the {@link APIRequest} used by a manager
+     *
+     * @param defaultErrorMessage: custom error to show when is not a request error, null if not inserted
+     * @param timeout:             custom timeout for request, -1 if not inserted
+     * @return request as {@link APIRequest}
+     */
+    private static APIRequest createAPIRequest(String defaultErrorMessage, int timeout) {
         if (defaultErrorMessage != null && timeout != -1)
-            apiRequest = new APIRequest(defaultErrorMessage, timeout);
+            return new APIRequest(defaultErrorMessage, timeout);
         else if (defaultErrorMessage != null)
-            apiRequest = new APIRequest(defaultErrorMessage);
+            return new APIRequest(defaultErrorMessage);
         else if (timeout != -1)
-            apiRequest = new APIRequest(timeout);
-        else
-            apiRequest = new APIRequest();
+            return new APIRequest(timeout);
+        return new APIRequest();
     }
 
     /**
@@ -203,14 +266,60 @@ public class BinanceManager {
         }
     }
 
+    /**
+     * Request to sync the offset between the server time and the local time <br>
+     * The offset is computed on the middle of the round trip of the request, so the latency does not shift it <br>
+     * No-any params required
+     *
+     * @return offset between the server time and the local time in millis
+     * @apiNote if the request fails the previous offset is kept
+     */
+    @RequestPath(method = GET, path = "/api/v3/time")
+    public long syncServerTime() {
+        try {
+            long start = currentTimeMillis();
+            apiRequest.sendAPIRequest(baseEndpoint + TIMESTAMP_ENDPOINT, GET);
+            long end = currentTimeMillis();
+            long serverTime = ((JSONObject) apiRequest.getJSONResponse()).getLong("serverTime");
+            serverTimeOffset = serverTime - (start + (end - start) / 2);
+            lastServerTimeSync = end;
+        } catch (Exception ignored) {
+        }
+        return serverTimeOffset;
+    }
+
+    /**
+     * Method to get the server time from the local time and the synced offset, without a request for each call <br>
+     * The offset is synced again with {@link #syncServerTime()} when older than {@link #SERVER_TIME_SYNC_PERIOD} <br>
+     * No-any params required
+     *
+     * @return es. 1566247363776
+     */
+    public long getSyncedServerTime() {
+        long now = currentTimeMillis();
+        if (lastServerTimeSync < 0 || now - lastServerTimeSync >= SERVER_TIME_SYNC_PERIOD)
+            syncServerTime();
+        return currentTimeMillis() + serverTimeOffset;
+    }
+
     /**
      * Method to get timestamp for request <br>
      * No-any params required
      *
-     * @return "?timestamp=" + getServerTime() return value
+     * @return "?timestamp=" + getRequestTimestamp() return value
      */
     public String getTimestampParam() {
-        return "?timestamp=" + getServerTime();
+        return "?timestamp=" + getRequestTimestamp();
+    }
+
+    /**
+     * Method to get the timestamp to sign a request <br>
+     * No-any params required
+     *
+     * @return {@link #getServerTime()} return value
+     */
+    protected long getRequestTimestamp() {
+        return getServerTime();
     }
 
     /**
@@ -0,0 +1,123 @@
+package com.tecknobit.binancemanager.managers;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+
+/**
+ * The {@code BinanceResponseChecker} class is useful to send a request with a manager and to check whether its
+ * response is an error response of {@code "Binance"} <br>
+ * An error response is a response not formatted as {@code "JSON"} or a {@code "JSON"} object with the {@code "code"}
+ * and the {@code "msg"} keys
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the requests are not serialized on the manager, so the callers that send requests from many threads have
+ * to use a copy of the manager for each thread
+ */
+public final class BinanceResponseChecker {
+
+    /**
+     * Constructor to avoid the instantiation of {@link BinanceResponseChecker}
+     */
+    private BinanceResponseChecker() {
+    }
+
+    /**
+     * Method to send a request and check its response
+     *
+     * @param manager: manager used to send the request
+     * @param request: request to send
+     * @return response of the request
+     * @throws IOException when request has been go wrong
+     */
+    public static String sendRequest(BinanceManager manager, ManagerRequest request) throws IOException {
+        String response;
+        try {
+            response = request.send();
+        } catch (Exception e) {
+            throw new IOException(manager.getErrorResponse(), e);
+        }
+        return checkResponse(response);
+    }
+
+    /**
+     * Method to send a request and check its response is a {@code "JSON"} object
+     *
+     * @param manager: manager used to send the request
+     * @param request: request to send
+     * @return response of the request as {@link JSONObject}
+     * @throws IOException when request has been go wrong
+     */
+    public static JSONObject sendObjectRequest(BinanceManager manager, ManagerRequest request) throws IOException {
+        return toJSONObject(sendRequest(manager, request));
+    }
+
+    /**
+     * Method to check a response
+     *
+     * @param response: response to check
+     * @return response checked
+     * @throws IOException when the response is an error response
+     */
+    public static String checkResponse(String response) throws IOException {
+        if (response == null || (!response.startsWith("{") && !response.startsWith("[")))
+            throw new IOException(response);
+        if (response.startsWith("{") && isErrorResponse(new JSONObject(response)))
+            throw new IOException(response);
+        return response;
+    }
+
+    /**
+     * Method to check a response is a {@code "JSON"} object
+     *
+     * @param response: response to check
+     * @return response checked as {@link JSONObject}
+     * @throws IOException when the response is an error response or is not a {@code "JSON"} object
+     */
+    public static JSONObject checkObjectResponse(String response) throws IOException {
+        return toJSONObject(checkResponse(response));
+    }
+
+    /**
+     * Method to check whether a response is an error response
+     *
+     * @param jResponse: response to check
+     * @return whether the response has the {@code "code"} and the {@code "msg"} keys
+     */
+    public static boolean isErrorResponse(JSONObject jResponse) {
+        return jResponse.has("code") && jResponse.has("msg");
+    }
+
+    /**
+     * Method to format a response checked as {@link JSONObject}
+     *
+     * @param response: response checked
+     * @return response as {@link JSONObject}
+     * @throws IOException when the response is not a {@code "JSON"} object
+     */
+    private static JSONObject toJSONObject(String response) throws IOException {
+        if (!response.startsWith("{"))
+            throw new IOException(response);
+        return new JSONObject(response);
+    }
+
+    /**
+     * The {@code ManagerRequest} interface is useful to send a request with a manager
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    @FunctionalInterface
+    public interface ManagerRequest {
+
+        /**
+         * Method to send the request <br>
+         * No-any params required
+         *
+         * @return response of the request
+         * @throws Exception when request has been go wrong
+         */
+        String send() throws Exception;
+
+    }
+
+}
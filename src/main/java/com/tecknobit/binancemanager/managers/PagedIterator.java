@@ -0,0 +1,235 @@
+package com.tecknobit.binancemanager.managers;
+
+import com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+
+/**
+ * The {@code PagedIterator} class is useful to iterate lazily a history paged by id, as the orders or the trades
+ * lists <br>
+ * A page is requested only when the previous one has been consumed, and its elements are decoded one at a time from
+ * the response, so the memory used is bound to a single page whatever the length of the history
+ *
+ * @param <T> type of the elements iterated
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the paging starts from the cursor param inserted, from the {@code "startTime"} param if inserted without
+ * the cursor, or from the first element of the history otherwise; the {@code "endTime"} param is not sent but applied
+ * on the elements received, because the endpoints do not accept it together with the cursor. The iteration ends only
+ * with an empty page, and while it starts from the {@code "startTime"} param the empty pages move it forward by
+ * {@link #TIME_WINDOW_MILLIS}, because the endpoints return only the elements of that window. Errors of the requests
+ * are thrown as {@link UncheckedIOException}
+ */
+public class PagedIterator<T> implements Iterator<T> {
+
+    /**
+     * {@code TIME_WINDOW_MILLIS} is constant for the time window of the elements returned from the {@code "startTime"}
+     * param
+     */
+    public static final long TIME_WINDOW_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * {@code request} is instance used to request a page
+     */
+    private final PageRequest request;
+
+    /**
+     * {@code decoder} is instance used to decode an element
+     */
+    private final Function<JSONObject, T> decoder;
+
+    /**
+     * {@code cursorParam} is instance that memorizes the param used to request a page from an id
+     */
+    private final String cursorParam;
+
+    /**
+     * {@code idKey} is instance that memorizes the key of the id of an element
+     */
+    private final String idKey;
+
+    /**
+     * {@code timeKey} is instance that memorizes the key of the time of an element
+     */
+    private final String timeKey;
+
+    /**
+     * {@code params} is instance that memorizes the params of the next request
+     */
+    private final Params params;
+
+    /**
+     * {@code endTime} is instance that memorizes the time after that the iteration ends, -1 if not bound
+     */
+    private final long endTime;
+
+    /**
+     * {@code page} is instance used to decode the current page
+     */
+    private JSONTokener page;
+
+    /**
+     * {@code next} is instance that memorizes the next element decoded, null if not decoded yet
+     */
+    private JSONObject next;
+
+    /**
+     * {@code lastPage} is instance that memorizes whether the current page is the last one
+     */
+    private boolean lastPage;
+
+    /**
+     * Constructor to init {@link PagedIterator}
+     *
+     * @param request:     request of a page
+     * @param params:      params of the iteration, can be null
+     * @param maxLimit:    max number of elements returned by a single request of the endpoint
+     * @param cursorParam: param used to request a page from an id, for example {@code "fromId"}
+     * @param idKey:       key of the id of an element
+     * @param timeKey:     key of the time of an element, used to apply the {@code "endTime"} param
+     * @param decoder:     decoder of an element
+     */
+    public PagedIterator(PageRequest request, Params params, int maxLimit, String cursorParam, String idKey,
+                         String timeKey, Function<JSONObject, T> decoder) {
+        this.request = request;
+        this.decoder = decoder;
+        this.cursorParam = cursorParam;
+        this.idKey = idKey;
+        this.timeKey = timeKey;
+        this.params = new Params();
+        if (params != null)
+            for (String key : params.getParamsKeys())
+                this.params.addParam(key, params.getParam(key));
+        Object end = this.params.getParam("endTime");
+        endTime = end != null ? Long.parseLong(end.toString()) : -1;
+        this.params.removeParam("endTime");
+        if (!this.params.containsKey(cursorParam) && !this.params.containsKey("startTime"))
+            this.params.addParam(cursorParam, 0);
+        Object limit = this.params.getParam("limit");
+        if (limit == null || Integer.parseInt(limit.toString()) > maxLimit)
+            this.params.addParam("limit", maxLimit);
+    }
+
+    /**
+     * Method to check whether there is another element, requesting the next page if needed <br>
+     * No-any params required
+     *
+     * @return whether there is another element
+     * @throws UncheckedIOException when the request of a page has been go wrong
+     */
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if (page != null) {
+                if (page.nextClean() == ',') {
+                    next = (JSONObject) page.nextValue();
+                    continue;
+                }
+                page = null;
+            }
+            if (lastPage)
+                return false;
+            requestPage();
+        }
+        if (endTime >= 0 && next.optLong(timeKey, Long.MIN_VALUE) > endTime) {
+            next = null;
+            page = null;
+            lastPage = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method to get the next element <br>
+     * No-any params required
+     *
+     * @return next element decoded
+     * @throws NoSuchElementException when there are no more elements
+     * @throws UncheckedIOException   when the request of a page has been go wrong
+     */
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        JSONObject element = next;
+        next = null;
+        params.removeParam("startTime");
+        params.addParam(cursorParam, element.getLong(idKey) + 1);
+        return decoder.apply(element);
+    }
+
+    /**
+     * Method to request the next page, an empty page ends the iteration or moves forward the {@code "startTime"}
+     * param <br>
+     * No-any params required
+     *
+     * @throws UncheckedIOException when the request has been go wrong
+     */
+    private void requestPage() {
+        String response;
+        try {
+            response = request.send(params);
+        } catch (Exception e) {
+            throw new UncheckedIOException(new IOException(e.getMessage(), e));
+        }
+        if (response == null || !response.startsWith("["))
+            throw new UncheckedIOException(new IOException(response));
+        page = new JSONTokener(response);
+        page.next();
+        if (page.nextClean() == ']') {
+            page = null;
+            Object startTime = params.getParam("startTime");
+            if (startTime != null && !params.containsKey(cursorParam)) {
+                long nextStartTime = Long.parseLong(startTime.toString()) + TIME_WINDOW_MILLIS;
+                if (nextStartTime <= (endTime >= 0 ? endTime : System.currentTimeMillis())) {
+                    params.addParam("startTime", nextStartTime);
+                    return;
+                }
+            }
+            lastPage = true;
+            return;
+        }
+        page.back();
+        next = (JSONObject) page.nextValue();
+    }
+
+    /**
+     * Method to get a lazy {@link Stream} of the elements <br>
+     * No-any params required
+     *
+     * @return elements as {@link Stream}
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, ORDERED | NONNULL), false);
+    }
+
+    /**
+     * The {@code PageRequest} interface is useful to request a page of a {@link PagedIterator}
+     */
+    @FunctionalInterface
+    public interface PageRequest {
+
+        /**
+         * Method to request a page
+         *
+         * @param params: params of the page
+         * @return page as raw response
+         * @throws Exception when request has been go wrong
+         */
+        String send(Params params) throws Exception;
+
+    }
+
+}
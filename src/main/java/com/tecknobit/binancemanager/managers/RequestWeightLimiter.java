@@ -0,0 +1,82 @@
+package com.tecknobit.binancemanager.managers;
+
+import java.util.ArrayDeque;
+
+/**
+ * The {@code RequestWeightLimiter} class is useful to share a budget of request weight between many workers, so
+ * concurrent requests stay under the {@code "REQUEST_WEIGHT"} rate limit instead of being rejected <br>
+ * The weight used is tracked on a sliding window of one minute and a worker waits until its request fits the budget
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the budget should be kept under the real limit of the account, because the requests sent without the
+ * limiter are not tracked
+ */
+public class RequestWeightLimiter {
+
+    /**
+     * {@code WEIGHT_WINDOW} is constant for the window in millis of the {@code "REQUEST_WEIGHT"} rate limit
+     */
+    public static final long WEIGHT_WINDOW = 60000;
+
+    /**
+     * {@code weightPerMinute} is instance that memorizes the weight allowed in the {@link #WEIGHT_WINDOW}
+     */
+    private final int weightPerMinute;
+
+    /**
+     * {@code usages} is instance that memorizes the time and the weight of the requests sent in the
+     * {@link #WEIGHT_WINDOW}
+     */
+    private final ArrayDeque<long[]> usages;
+
+    /**
+     * {@code usedWeight} is instance that memorizes the weight used in the {@link #WEIGHT_WINDOW}
+     */
+    private int usedWeight;
+
+    /**
+     * Constructor to init {@link RequestWeightLimiter}
+     *
+     * @param weightPerMinute: weight allowed in the {@link #WEIGHT_WINDOW}
+     * @throws IllegalArgumentException when the weight per minute is not positive
+     */
+    public RequestWeightLimiter(int weightPerMinute) {
+        if (weightPerMinute <= 0)
+            throw new IllegalArgumentException("Weight per minute must be positive");
+        this.weightPerMinute = weightPerMinute;
+        usages = new ArrayDeque<>();
+    }
+
+    /**
+     * Method to wait until a request fits the budget, the weight is counted when this method returns
+     *
+     * @param weight: weight of the request
+     * @throws InterruptedException when the thread has been interrupted while waiting
+     * @apiNote a request heavier than the whole budget waits until the window is empty
+     */
+    public synchronized void acquire(int weight) throws InterruptedException {
+        weight = Math.min(weight, weightPerMinute);
+        while (true) {
+            long now = System.currentTimeMillis();
+            while (!usages.isEmpty() && now - usages.peekFirst()[0] >= WEIGHT_WINDOW)
+                usedWeight -= (int) usages.pollFirst()[1];
+            if (usedWeight + weight <= weightPerMinute) {
+                usages.addLast(new long[]{now, weight});
+                usedWeight += weight;
+                return;
+            }
+            wait(Math.max(1, WEIGHT_WINDOW - (now - usages.peekFirst()[0])));
+        }
+    }
+
+    /**
+     * Method to get {@link #weightPerMinute} instance <br>
+     * No-any params required
+     *
+     * @return {@link #weightPerMinute} instance as int
+     */
+    public int getWeightPerMinute() {
+        return weightPerMinute;
+    }
+
+}
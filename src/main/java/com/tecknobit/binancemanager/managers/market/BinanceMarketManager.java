@@ -17,10 +17,12 @@ import com.tecknobit.binancemanager.managers.market.records.tickers.TickerPriceC
 import com.tecknobit.binancemanager.managers.market.records.trade.CompressedTrade;
 import com.tecknobit.binancemanager.managers.market.records.trade.Trade;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.*;
+import java.util.concurrent.*;
 
 import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.GET;
 import static com.tecknobit.apimanager.trading.TradingTools.computeTPTOPIndex;
@@ -107,6 +109,26 @@ public class BinanceMarketManager extends BinanceManager {
      */
     public static final String BOOK_TICKER_ENDPOINT = "/api/v3/ticker/bookTicker";
 
+    /**
+     * {@code MAX_SYMBOLS_PER_REQUEST} is constant for the max number of symbols sent in a single request
+     */
+    public static final int MAX_SYMBOLS_PER_REQUEST = 100;
+
+    /**
+     * {@code FAN_OUT_PARALLELISM} is constant for the number of chunks of a symbols request fetched at the same time
+     */
+    public static final int FAN_OUT_PARALLELISM = 4;
+
+    /**
+     * {@code fanOutExecutor} is instance used to fetch the chunks of the symbols requests
+     */
+    private static ExecutorService fanOutExecutor;
+
+    /**
+     * {@code fanOutManagers} is instance that memorizes the managers used to fetch the chunks of the symbols requests
+     */
+    private final ConcurrentLinkedQueue<BinanceMarketManager> fanOutManagers = new ConcurrentLinkedQueue<>();
+
     /**
      * Constructor to init a {@link BinanceMarketManager}
      *
@@ -168,6 +190,18 @@ public class BinanceMarketManager extends BinanceManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link BinanceMarketManager} with the same base endpoint, custom error and timeout of
+     * another manager
+     *
+     * @param manager: manager from copy the details
+     * @apiNote unlike the no-any params constructor this constructor does not use the details of the last parameterized
+     * constructor called, for example to work on the same testnet of a specific manager
+     */
+    public BinanceMarketManager(BinanceManager manager) {
+        super(manager);
+    }
+
     /**
      * Request to get if service is available
      * No-any params required
@@ -1735,8 +1769,8 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "1/20/40(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker/24hr")
     public <T> T getTickersPriceChangeList(String[] symbols, ReturnFormat format) throws IOException {
-        return returnTickersPriceChangeList(sendGetRequest(TICKER_PRICE_CHANGE_ENDPOINT, "?symbols=[" +
-                assembleSymbolsList(symbols) + "]"), format);
+        return returnTickersPriceChangeList(sendSymbolsRequest(SymbolsRequest.TICKER_PRICE_CHANGE, "",
+                symbols), format);
     }
 
     /** Request to get all requested tickers change list
@@ -1788,8 +1822,8 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "1/20/40(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker/24hr")
     public <T> T getTickersPriceChangeList(String[] symbols, ResponseType type, ReturnFormat format) throws IOException {
-        return returnTickersPriceChangeList(sendGetRequest(TICKER_PRICE_CHANGE_ENDPOINT, "?type=" + type
-                + "&symbols=[" + assembleSymbolsList(symbols) + "]"), format);
+        return returnTickersPriceChangeList(sendSymbolsRequest(SymbolsRequest.TICKER_PRICE_CHANGE, "?type=" + type,
+                symbols), format);
     }
 
     /** Request to get all requested tickers change list
@@ -1839,8 +1873,8 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "1/20/40(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker/24hr")
     public <T> T getTickersPriceChangeList(ArrayList<String> symbols, ReturnFormat format) throws IOException {
-        return returnTickersPriceChangeList(sendGetRequest(TICKER_PRICE_CHANGE_ENDPOINT, "?symbols=[" +
-                assembleSymbolsList(symbols) + "]"), format);
+        return returnTickersPriceChangeList(sendSymbolsRequest(SymbolsRequest.TICKER_PRICE_CHANGE, "",
+                symbols), format);
     }
 
     /** Request to get all requested tickers change list
@@ -1896,8 +1930,8 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestPath(method = GET, path = "/api/v3/ticker/24hr")
     public <T> T getTickersPriceChangeList(ArrayList<String> symbols, ResponseType type,
                                            ReturnFormat format) throws IOException {
-        return returnTickersPriceChangeList(sendGetRequest(TICKER_PRICE_CHANGE_ENDPOINT, "?type=" + type
-                + "&symbols=[" + assembleSymbolsList(symbols) + "]"), format);
+        return returnTickersPriceChangeList(sendSymbolsRequest(SymbolsRequest.TICKER_PRICE_CHANGE, "?type=" + type,
+                symbols), format);
     }
 
     /**
@@ -2142,8 +2176,7 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "2(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker/price")
     public <T> T getPriceTickers(String[] symbols, ReturnFormat format) throws IOException {
-        return returnPriceTickersList(sendGetRequest(PRICE_TICKER_ENDPOINT, "?symbols=[" +
-                assembleSymbolsList(symbols) + "]"), format);
+        return returnPriceTickersList(sendSymbolsRequest(SymbolsRequest.PRICE_TICKER, "", symbols), format);
     }
 
     /** Request to get all requested price tickers list
@@ -2195,8 +2228,7 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "2(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker/price")
     public <T> T getPriceTickers(ArrayList<String> symbols, ReturnFormat format) throws IOException {
-        return returnPriceTickersList(sendGetRequest(PRICE_TICKER_ENDPOINT, "?symbols=[" +
-                assembleSymbolsList(symbols) + "]"), format);
+        return returnPriceTickersList(sendSymbolsRequest(SymbolsRequest.PRICE_TICKER, "", symbols), format);
     }
 
     /**
@@ -2383,8 +2415,7 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "2(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker/bookTicker")
     public <T> T getOrderBookTickers(String[] symbols, ReturnFormat format) throws IOException {
-        return returnOrderBookTickersList(sendGetRequest(BOOK_TICKER_ENDPOINT, "?symbols=[" +
-                assembleSymbolsList(symbols) + "]"), format);
+        return returnOrderBookTickersList(sendSymbolsRequest(SymbolsRequest.BOOK_TICKER, "", symbols), format);
     }
 
     /** Request to get all requested order book tickers list
@@ -2436,8 +2467,7 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "2(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker/bookTicker")
     public <T> T getOrderBookTickers(ArrayList<String> symbols, ReturnFormat format) throws IOException {
-        return returnOrderBookTickersList(sendGetRequest(BOOK_TICKER_ENDPOINT, "?symbols=[" +
-                assembleSymbolsList(symbols) + "]"), format);
+        return returnOrderBookTickersList(sendSymbolsRequest(SymbolsRequest.BOOK_TICKER, "", symbols), format);
     }
 
     /**
@@ -2710,8 +2740,7 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "2(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker")
     public <T> T getRollingTickers(String[] symbols, ReturnFormat format) throws IOException {
-        return returnRollingTickersList(sendGetRequest(ROLLING_TICKER_ENDPOINT, "?symbols=[" +
-                assembleSymbolsList(symbols) + "]"), format);
+        return returnRollingTickersList(sendSymbolsRequest(SymbolsRequest.ROLLING_TICKER, "", symbols), format);
     }
 
     /** Request to get 24 hours rolling requested window price change statistics list
@@ -2781,8 +2810,8 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "2(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker")
     public <T> T getRollingTickers(String[] symbols, Params extraParams, ReturnFormat format) throws IOException {
-        return returnRollingTickersList(sendGetRequest(ROLLING_TICKER_ENDPOINT, extraParams.createQueryString()
-                + "&symbols=[" + assembleSymbolsList(symbols) + "]"), format);
+        return returnRollingTickersList(sendSymbolsRequest(SymbolsRequest.ROLLING_TICKER, extraParams.createQueryString(),
+                symbols), format);
     }
 
     /** Request to get 24 hours rolling requested window price change statistics list
@@ -2832,8 +2861,7 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "2(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker")
     public <T> T getRollingTickers(ArrayList<String> symbols, ReturnFormat format) throws IOException {
-        return returnRollingTickersList(sendGetRequest(ROLLING_TICKER_ENDPOINT, "?symbols=[" +
-                assembleSymbolsList(symbols) + "]"), format);
+        return returnRollingTickersList(sendSymbolsRequest(SymbolsRequest.ROLLING_TICKER, "", symbols), format);
     }
 
     /**
@@ -2907,8 +2935,8 @@ public class BinanceMarketManager extends BinanceManager {
     @RequestWeight(weight = "2(IP)")
     @RequestPath(method = GET, path = "/api/v3/ticker")
     public <T> T getRollingTickers(ArrayList<String> symbols, Params extraParams, ReturnFormat format) throws IOException {
-        return returnRollingTickersList(sendGetRequest(ROLLING_TICKER_ENDPOINT, extraParams.createQueryString()
-                + "&symbols=[" + assembleSymbolsList(symbols) + "]"), format);
+        return returnRollingTickersList(sendSymbolsRequest(SymbolsRequest.ROLLING_TICKER, extraParams.createQueryString(),
+                symbols), format);
     }
 
     /**
@@ -2969,5 +2997,218 @@ public class BinanceMarketManager extends BinanceManager {
         return computeTPTOPIndex(historicalValues, getCurrentAveragePriceValue(symbol), intervalDays, toleranceValue);
     }
 
+    /**
+     * Method to send a request for a list of symbols <br>
+     * The symbols are split in the chunks that cost the lowest weight, the chunks are fetched concurrently and the
+     * results are merged in the same order of the symbols inserted, when the request for all the symbols costs less
+     * than the chunks it is used instead and its result is filtered
+     *
+     * @param request: type of the request to send
+     * @param query:   query params of the request without the symbols, empty if not needed
+     * @param symbols: symbols to fetch in {@link String} array format
+     * @return response of the request as {@link String}
+     * @throws IOException when a request has been go wrong
+     */
+    private String sendSymbolsRequest(SymbolsRequest request, String query, String[] symbols) throws IOException {
+        return sendSymbolsRequest(request, query, Arrays.asList(symbols));
+    }
+
+    /**
+     * Method to send a request for a list of symbols <br>
+     * The symbols are split in the chunks that cost the lowest weight, the chunks are fetched concurrently and the
+     * results are merged in the same order of the symbols inserted, when the request for all the symbols costs less
+     * than the chunks it is used instead and its result is filtered
+     *
+     * @param request: type of the request to send
+     * @param query:   query params of the request without the symbols, empty if not needed
+     * @param symbols: symbols to fetch in {@link List} of {@link String} format
+     * @return response of the request as {@link String}
+     * @throws IOException when a request has been go wrong
+     */
+    private String sendSymbolsRequest(SymbolsRequest request, String query, List<String> symbols) throws IOException {
+        ArrayList<String> requested = new ArrayList<>(new LinkedHashSet<>(symbols));
+        int[] chunks = request.planChunks(requested.size());
+        int chunksWeight = 0;
+        for (int chunk : chunks)
+            chunksWeight += request.getWeight(chunk);
+        if (request.allSymbolsWeight >= 0 && request.allSymbolsWeight < chunksWeight)
+            return mergeSymbolsResponses(requested, sendGetRequest(request.endpoint, query));
+        String prefix = query.isEmpty() ? "?" : query + "&";
+        if (chunks.length <= 1)
+            return sendGetRequest(request.endpoint, prefix + "symbols=[" + assembleSymbolsList(requested) + "]");
+        ArrayList<Future<String>> responses = new ArrayList<>();
+        int from = chunks[0];
+        for (int j = 1; j < chunks.length; j++) {
+            ArrayList<String> chunk = new ArrayList<>(requested.subList(from, from + chunks[j]));
+            from += chunks[j];
+            responses.add(getFanOutExecutor().submit(() -> {
+                BinanceMarketManager manager = fanOutManagers.poll();
+                if (manager == null)
+                    manager = new BinanceMarketManager(this);
+                try {
+                    return manager.sendGetRequest(request.endpoint, prefix + "symbols=[" +
+                            manager.assembleSymbolsList(chunk) + "]");
+                } finally {
+                    fanOutManagers.offer(manager);
+                }
+            }));
+        }
+        String[] chunksResponses = new String[chunks.length];
+        chunksResponses[0] = sendGetRequest(request.endpoint, prefix + "symbols=[" +
+                assembleSymbolsList(new ArrayList<>(requested.subList(0, chunks[0]))) + "]");
+        try {
+            for (int j = 1; j < chunks.length; j++)
+                chunksResponses[j] = responses.get(j - 1).get();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        return mergeSymbolsResponses(requested, chunksResponses);
+    }
+
+    /**
+     * Method to merge the responses of a symbols request in the order of the symbols requested
+     *
+     * @param symbols:   symbols requested
+     * @param responses: responses to merge
+     * @return responses merged as {@link String}
+     * @throws IOException when a response is not a valid list, for example an error response
+     */
+    private String mergeSymbolsResponses(ArrayList<String> symbols, String... responses) throws IOException {
+        HashMap<String, JSONObject> items = new HashMap<>();
+        for (String response : responses) {
+            JSONArray jItems;
+            try {
+                jItems = new JSONArray(response);
+            } catch (JSONException e) {
+                throw new IOException(response);
+            }
+            for (int j = 0; j < jItems.length(); j++) {
+                JSONObject jItem = jItems.getJSONObject(j);
+                items.put(jItem.getString("symbol"), jItem);
+            }
+        }
+        JSONArray merged = new JSONArray();
+        for (String symbol : symbols) {
+            JSONObject jItem = items.get(symbol);
+            if (jItem != null)
+                merged.put(jItem);
+        }
+        return merged.toString();
+    }
+
+    /**
+     * Method to get the executor used to fetch the chunks of the symbols requests <br>
+     * No-any params required
+     *
+     * @return executor as {@link ExecutorService}
+     */
+    private static synchronized ExecutorService getFanOutExecutor() {
+        if (fanOutExecutor == null) {
+            fanOutExecutor = Executors.newFixedThreadPool(FAN_OUT_PARALLELISM, runnable -> {
+                Thread thread = new Thread(runnable, "binance-market-fan-out");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return fanOutExecutor;
+    }
+
+    /**
+     * {@code SymbolsRequest} list of the requests that accept a list of symbols, with their weights
+     */
+    private enum SymbolsRequest {
+
+        /**
+         * {@code TICKER_PRICE_CHANGE} 24hr ticker price change request: 1 up to 20 symbols, 20 up to 100 symbols and
+         * 40 over, 40 for all the symbols
+         */
+        TICKER_PRICE_CHANGE(TICKER_PRICE_CHANGE_ENDPOINT, 40),
+
+        /**
+         * {@code PRICE_TICKER} price ticker request: 2 for each request, 2 for all the symbols
+         */
+        PRICE_TICKER(PRICE_TICKER_ENDPOINT, 2),
+
+        /**
+         * {@code BOOK_TICKER} order book ticker request: 2 for each request, 2 for all the symbols
+         */
+        BOOK_TICKER(BOOK_TICKER_ENDPOINT, 2),
+
+        /**
+         * {@code ROLLING_TICKER} rolling window ticker request: 2 for each symbol up to 100, no request for all the
+         * symbols
+         */
+        ROLLING_TICKER(ROLLING_TICKER_ENDPOINT, -1);
+
+        /**
+         * {@code endpoint} is instance that memorizes the endpoint of the request
+         */
+        private final String endpoint;
+
+        /**
+         * {@code allSymbolsWeight} is instance that memorizes the weight of the request for all the symbols, -1 if
+         * not available
+         */
+        private final int allSymbolsWeight;
+
+        /**
+         * Constructor to init {@link SymbolsRequest}
+         *
+         * @param endpoint:         endpoint of the request
+         * @param allSymbolsWeight: weight of the request for all the symbols, -1 if not available
+         */
+        SymbolsRequest(String endpoint, int allSymbolsWeight) {
+            this.endpoint = endpoint;
+            this.allSymbolsWeight = allSymbolsWeight;
+        }
+
+        /**
+         * Method to get the weight of a request with a number of symbols
+         *
+         * @param symbols: number of symbols of the request
+         * @return weight as int
+         */
+        private int getWeight(int symbols) {
+            return switch (this) {
+                case TICKER_PRICE_CHANGE -> symbols <= 20 ? 1 : (symbols <= 100 ? 20 : 40);
+                case PRICE_TICKER, BOOK_TICKER -> 2;
+                case ROLLING_TICKER -> Math.min(2 * symbols, 100);
+            };
+        }
+
+        /**
+         * Method to split a number of symbols in the chunks with the lowest total weight, with the same weight the
+         * fewest chunks are preferred
+         *
+         * @param symbols: number of symbols to split
+         * @return sizes of the chunks as int array
+         */
+        private int[] planChunks(int symbols) {
+            int[] weights = new int[symbols + 1];
+            int[] counts = new int[symbols + 1];
+            int[] lasts = new int[symbols + 1];
+            for (int j = 1; j <= symbols; j++) {
+                weights[j] = Integer.MAX_VALUE;
+                for (int size = 1; size <= Math.min(j, MAX_SYMBOLS_PER_REQUEST); size++) {
+                    int weight = weights[j - size] + getWeight(size);
+                    int count = counts[j - size] + 1;
+                    if (weight < weights[j] || (weight == weights[j] && count < counts[j])) {
+                        weights[j] = weight;
+                        counts[j] = count;
+                        lasts[j] = size;
+                    }
+                }
+            }
+            int[] chunks = new int[counts[symbols]];
+            for (int j = symbols, chunk = chunks.length - 1; j > 0; j -= lasts[j])
+                chunks[chunk--] = lasts[j];
+            return chunks;
+        }
+
+    }
+
 }
 
@@ -0,0 +1,54 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+/**
+ * The {@code AverageTrueRange} class is useful to compute the average true range of the candles with the Wilder's
+ * smoothing
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class AverageTrueRange extends Indicator {
+
+    /**
+     * {@code previousClose} is instance that memorizes the close price of the previous candle
+     */
+    private double previousClose;
+
+    /**
+     * {@code seedSum} is instance that memorizes the sum of the first true ranges used to seed the average
+     */
+    private double seedSum;
+
+    /**
+     * Constructor to init {@link AverageTrueRange}
+     *
+     * @param period: number of candles of the average
+     */
+    public AverageTrueRange(int period) {
+        super(period);
+    }
+
+    /**
+     * Method to compute the new value of the indicator with a closed candle
+     *
+     * @param high:   high price of the candle
+     * @param low:    low price of the candle
+     * @param close:  close price of the candle
+     * @param volume: volume of the candle
+     * @return new value of the indicator as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    @Override
+    protected double compute(double high, double low, double close, double volume) {
+        double trueRange = high - low;
+        if (samples > 1)
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        previousClose = close;
+        if (samples < period) {
+            seedSum += trueRange;
+            return Double.NaN;
+        }
+        if (samples == period)
+            return (seedSum + trueRange) / period;
+        return (value * (period - 1) + trueRange) / period;
+    }
+
+}
@@ -0,0 +1,446 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+import com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import com.tecknobit.binancemanager.managers.market.BinanceMarketManager;
+import com.tecknobit.binancemanager.managers.market.klines.KlinesView;
+import com.tecknobit.binancemanager.managers.market.records.stats.Candlestick.Interval;
+import com.tecknobit.binancemanager.managers.marketstreams.records.WbsKline;
+import org.json.JSONArray;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.concurrent.*;
+
+import static com.tecknobit.apimanager.trading.TradingTools.computeTPTOPIndex;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.JSON;
+
+/**
+ * The {@code BinanceIndicatorsEngine} class is useful to keep technical indicators of many symbols updated
+ * incrementally <br>
+ * Each symbol and interval pair has a cached series of the last closed candles, the series can be fed with the
+ * {@code REST} klines, with a {@link KlinesView} of a klines store or with the {@link WbsKline} events of the klines
+ * streams, and each closed candle updates all the indicators of the pair in constant time
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the series of different pairs are independent, so they can be fed by different threads at the same time
+ * @see Indicator
+ */
+public class BinanceIndicatorsEngine {
+
+    /**
+     * {@code DEFAULT_HISTORY_SIZE} is constant for the default number of closed candles cached for each pair
+     */
+    public static final int DEFAULT_HISTORY_SIZE = 1000;
+
+    /**
+     * {@code MAX_KLINES_LIMIT} is constant for the max number of klines returned by a single request
+     */
+    private static final int MAX_KLINES_LIMIT = 1000;
+
+    /**
+     * {@code marketManager} is instance used to fetch the klines for the backfill
+     */
+    private final BinanceMarketManager marketManager;
+
+    /**
+     * {@code historySize} is instance that memorizes the number of closed candles cached for each pair
+     */
+    private final int historySize;
+
+    /**
+     * {@code series} is instance that memorizes the series of each pair, the key is composed by symbol and interval
+     */
+    private final ConcurrentHashMap<String, IndicatorsSeries> series;
+
+    /**
+     * Constructor to init {@link BinanceIndicatorsEngine}
+     *
+     * @param marketManager: manager used to fetch the klines for the backfill
+     */
+    public BinanceIndicatorsEngine(BinanceMarketManager marketManager) {
+        this(marketManager, DEFAULT_HISTORY_SIZE);
+    }
+
+    /**
+     * Constructor to init {@link BinanceIndicatorsEngine}
+     *
+     * @param marketManager: manager used to fetch the klines for the backfill
+     * @param historySize:   number of closed candles cached for each pair
+     * @throws IllegalArgumentException when the history size is not positive
+     */
+    public BinanceIndicatorsEngine(BinanceMarketManager marketManager, int historySize) {
+        if (historySize <= 0)
+            throw new IllegalArgumentException("History size must be positive");
+        this.marketManager = marketManager;
+        this.historySize = historySize;
+        series = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Method to add an indicator to a pair, the indicator is immediately updated with the candles already cached
+     *
+     * @param symbol:    symbol of the pair es. BTCBUSD
+     * @param interval:  interval of the pair
+     * @param name:      name of the indicator es. RSI14
+     * @param indicator: indicator to add
+     * @return the indicator added
+     */
+    public <I extends Indicator> I addIndicator(String symbol, Interval interval, String name, I indicator) {
+        getSeries(symbol, interval).addIndicator(name, indicator);
+        return indicator;
+    }
+
+    /**
+     * Method to get an indicator of a pair
+     *
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     * @param name:     name of the indicator es. RSI14
+     * @return indicator as {@link Indicator}, null if not exists
+     */
+    public Indicator getIndicator(String symbol, Interval interval, String name) {
+        IndicatorsSeries indicatorsSeries = series.get(getSeriesKey(symbol, interval));
+        if (indicatorsSeries == null)
+            return null;
+        return indicatorsSeries.getIndicator(name);
+    }
+
+    /**
+     * Method to get the current value of an indicator of a pair
+     *
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     * @param name:     name of the indicator es. RSI14
+     * @return value of the indicator as double, {@link Double#NaN} if the indicator not exists or is not ready yet
+     */
+    public double getValue(String symbol, Interval interval, String name) {
+        IndicatorsSeries indicatorsSeries = series.get(getSeriesKey(symbol, interval));
+        if (indicatorsSeries == null)
+            return Double.NaN;
+        return indicatorsSeries.getValue(name);
+    }
+
+    /**
+     * Method to fetch the closed candles after the last one cached and feed them to the pair
+     *
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     * @return number of candles fed as int
+     * @throws IOException when request has been go wrong
+     */
+    public int backfill(String symbol, Interval interval) throws IOException {
+        return backfill(marketManager, symbol, interval);
+    }
+
+    /**
+     * Method to feed the closed candles of a {@link KlinesView} to a pair, the candles already cached are skipped
+     *
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     * @param klines:   klines to feed
+     * @return number of candles fed as int
+     */
+    public int backfill(String symbol, Interval interval, KlinesView klines) {
+        IndicatorsSeries indicatorsSeries = getSeries(symbol, interval);
+        int fed = 0;
+        for (int j = Math.max(0, klines.size() - historySize); j < klines.size(); j++) {
+            if (indicatorsSeries.onCandle(klines.getOpenTime(j), klines.getHigh(j), klines.getLow(j),
+                    klines.getClose(j), klines.getVolume(j)))
+                fed++;
+        }
+        return fed;
+    }
+
+    /**
+     * Method to backfill many symbols in parallel
+     *
+     * @param symbols:     symbols to backfill
+     * @param interval:    interval of the pairs
+     * @param parallelism: number of symbols backfilled at the same time
+     * @return number of candles fed as int
+     * @throws IOException when a request has been go wrong
+     * @apiNote each worker uses its own {@link BinanceMarketManager} copied from the manager of the engine
+     */
+    public int backfill(Collection<String> symbols, Interval interval, int parallelism) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, symbols.size())));
+        ThreadLocal<BinanceMarketManager> managers = ThreadLocal.withInitial(() ->
+                new BinanceMarketManager(marketManager));
+        try {
+            ArrayList<Future<Integer>> backfills = new ArrayList<>();
+            for (String symbol : symbols)
+                backfills.add(executor.submit(() -> backfill(managers.get(), symbol, interval)));
+            int fed = 0;
+            for (Future<Integer> backfill : backfills)
+                fed += backfill.get();
+            return fed;
+        } catch (ExecutionException e) {
+            throw new IOException("Backfill failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Backfill interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method to fetch the closed candles after the last one cached and feed them to the pair
+     *
+     * @param manager:  manager used to fetch the klines
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     * @return number of candles fed as int
+     * @throws IOException when request has been go wrong
+     */
+    private int backfill(BinanceMarketManager manager, String symbol, Interval interval) throws IOException {
+        IndicatorsSeries indicatorsSeries = getSeries(symbol, interval);
+        long serverTime = manager.getServerTime();
+        long startTime = indicatorsSeries.getLastOpenTime() + 1;
+        int limit = Math.min(historySize, MAX_KLINES_LIMIT);
+        int fed = 0;
+        boolean completed = false;
+        while (!completed) {
+            Params query = new Params();
+            if (startTime > 0)
+                query.addParam("startTime", startTime);
+            query.addParam("limit", limit);
+            JSONArray jKlines = manager.getCandlesticksList(symbol, interval, query, JSON);
+            long pageStartTime = startTime;
+            for (int j = 0; j < jKlines.length() && !completed; j++) {
+                JSONArray jKline = jKlines.getJSONArray(j);
+                if (jKline.getLong(6) >= serverTime)
+                    completed = true;
+                else {
+                    if (indicatorsSeries.onCandle(jKline.getLong(0), jKline.getDouble(2), jKline.getDouble(3),
+                            jKline.getDouble(4), jKline.getDouble(5)))
+                        fed++;
+                    startTime = Math.max(startTime, jKline.getLong(0) + 1);
+                }
+            }
+            if (jKlines.length() < limit || startTime <= pageStartTime)
+                completed = true;
+        }
+        return fed;
+    }
+
+    /**
+     * Method to feed a kline event to its pair, only the closed klines are fed
+     *
+     * @param kline: kline event of the klines stream
+     * @return whether the kline has been fed as boolean
+     */
+    public boolean onKline(WbsKline kline) {
+        if (!kline.isClosed())
+            return false;
+        return onCandle(kline.getSymbol(), kline.getInterval(), kline.getKlineStartTime(), kline.getHighPrice(),
+                kline.getLowPrice(), kline.getClosePrice(), kline.getBaseAssetVolume());
+    }
+
+    /**
+     * Method to feed a closed candle to a pair
+     *
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     * @param openTime: open time of the candle
+     * @param high:     high price of the candle
+     * @param low:      low price of the candle
+     * @param close:    close price of the candle
+     * @param volume:   volume of the candle
+     * @return whether the candle has been fed as boolean, the candles not after the last one cached are skipped
+     */
+    public boolean onCandle(String symbol, Interval interval, long openTime, double high, double low, double close,
+                            double volume) {
+        return getSeries(symbol, interval).onCandle(openTime, high, low, close, volume);
+    }
+
+    /**
+     * Method to get forecast of a cryptocurrency on the candles cached, without any request
+     *
+     * @param symbol:         symbol to calculate forecast es. BTCBUSD
+     * @param interval:       temporal interval of data for the forecast
+     * @param intervalDays:   days gap for the prevision range
+     * @param toleranceValue: tolerance for select similar value compared to lastValue inserted
+     * @return forecast value as a double es. 8 or -8
+     * @throws IllegalArgumentException if the pair has no candles cached or intervalDays are less or equal to 0
+     * @apiNote the last value of the forecast is the last close price cached instead of the current average price
+     * @see BinanceMarketManager#getSymbolForecast(String, Interval, int, double)
+     */
+    public double getSymbolForecast(String symbol, Interval interval, int intervalDays, double toleranceValue) {
+        IndicatorsSeries indicatorsSeries = series.get(getSeriesKey(symbol, interval));
+        if (indicatorsSeries == null)
+            throw new IllegalArgumentException("No candles cached for " + symbol + " " + interval);
+        ArrayList<Double> highs = new ArrayList<>(historySize);
+        double lastValue = indicatorsSeries.copyHighs(highs);
+        if (highs.isEmpty())
+            throw new IllegalArgumentException("No candles cached for " + symbol + " " + interval);
+        return computeTPTOPIndex(highs, lastValue, intervalDays, toleranceValue);
+    }
+
+    /**
+     * Method to remove a pair and all its indicators
+     *
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     */
+    public void removeSeries(String symbol, Interval interval) {
+        series.remove(getSeriesKey(symbol, interval));
+    }
+
+    /**
+     * Method to get the series of a pair, creating it if needed
+     *
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     * @return series as {@link IndicatorsSeries}
+     */
+    private IndicatorsSeries getSeries(String symbol, Interval interval) {
+        return series.computeIfAbsent(getSeriesKey(symbol, interval), key -> new IndicatorsSeries(historySize));
+    }
+
+    /**
+     * Method to get the key of a pair
+     *
+     * @param symbol:   symbol of the pair es. BTCBUSD
+     * @param interval: interval of the pair
+     * @return key as {@link String}
+     */
+    private static String getSeriesKey(String symbol, Interval interval) {
+        return symbol.toUpperCase() + "@" + interval;
+    }
+
+    /**
+     * The {@code IndicatorsSeries} class is useful to cache the closed candles of a pair and to update its indicators
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static class IndicatorsSeries {
+
+        /**
+         * {@code highs} is instance that memorizes the high prices cached
+         */
+        private final RingBuffer highs;
+
+        /**
+         * {@code lows} is instance that memorizes the low prices cached
+         */
+        private final RingBuffer lows;
+
+        /**
+         * {@code closes} is instance that memorizes the close prices cached
+         */
+        private final RingBuffer closes;
+
+        /**
+         * {@code volumes} is instance that memorizes the volumes cached
+         */
+        private final RingBuffer volumes;
+
+        /**
+         * {@code indicators} is instance that memorizes the indicators of the pair
+         */
+        private final LinkedHashMap<String, Indicator> indicators;
+
+        /**
+         * {@code lastOpenTime} is instance that memorizes the open time of the last candle cached
+         */
+        private long lastOpenTime;
+
+        /**
+         * Constructor to init {@link IndicatorsSeries}
+         *
+         * @param historySize: number of closed candles to cache
+         */
+        private IndicatorsSeries(int historySize) {
+            highs = new RingBuffer(historySize);
+            lows = new RingBuffer(historySize);
+            closes = new RingBuffer(historySize);
+            volumes = new RingBuffer(historySize);
+            indicators = new LinkedHashMap<>();
+            lastOpenTime = -1;
+        }
+
+        /**
+         * Method to add an indicator and to update it with the candles cached
+         *
+         * @param name:      name of the indicator
+         * @param indicator: indicator to add
+         */
+        private synchronized void addIndicator(String name, Indicator indicator) {
+            for (int j = 0; j < closes.size(); j++)
+                indicator.update(highs.get(j), lows.get(j), closes.get(j), volumes.get(j));
+            indicators.put(name, indicator);
+        }
+
+        /**
+         * Method to get an indicator
+         *
+         * @param name: name of the indicator
+         * @return indicator as {@link Indicator}, null if not exists
+         */
+        private synchronized Indicator getIndicator(String name) {
+            return indicators.get(name);
+        }
+
+        /**
+         * Method to get the current value of an indicator
+         *
+         * @param name: name of the indicator
+         * @return value of the indicator as double, {@link Double#NaN} if not exists
+         */
+        private synchronized double getValue(String name) {
+            Indicator indicator = indicators.get(name);
+            if (indicator == null)
+                return Double.NaN;
+            return indicator.getValue();
+        }
+
+        /**
+         * Method to get {@link #lastOpenTime} instance <br>
+         * No-any params required
+         *
+         * @return {@link #lastOpenTime} instance as long
+         */
+        private synchronized long getLastOpenTime() {
+            return lastOpenTime;
+        }
+
+        /**
+         * Method to cache a closed candle and to update the indicators
+         *
+         * @param openTime: open time of the candle
+         * @param high:     high price of the candle
+         * @param low:      low price of the candle
+         * @param close:    close price of the candle
+         * @param volume:   volume of the candle
+         * @return whether the candle has been fed as boolean
+         */
+        private synchronized boolean onCandle(long openTime, double high, double low, double close, double volume) {
+            if (openTime <= lastOpenTime)
+                return false;
+            lastOpenTime = openTime;
+            highs.add(high);
+            lows.add(low);
+            closes.add(close);
+            volumes.add(volume);
+            for (Indicator indicator : indicators.values())
+                indicator.update(high, low, close, volume);
+            return true;
+        }
+
+        /**
+         * Method to copy the high prices cached
+         *
+         * @param destination: list where copy the high prices
+         * @return last close price cached as double
+         */
+        private synchronized double copyHighs(ArrayList<Double> destination) {
+            for (int j = 0; j < highs.size(); j++)
+                destination.add(highs.get(j));
+            return closes.last();
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+/**
+ * The {@code BollingerBands} class is useful to compute the Bollinger bands of the close prices <br>
+ * The value of the indicator is the middle band, the other bands are available with {@link #getUpperBand()} and
+ * {@link #getLowerBand()}
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @implNote the sum and the sum of squares of the window are kept updated, so each update costs O(1)
+ */
+public class BollingerBands extends Indicator {
+
+    /**
+     * {@code DEFAULT_MULTIPLIER} is constant for the default number of standard deviations of the bands
+     */
+    public static final double DEFAULT_MULTIPLIER = 2;
+
+    /**
+     * {@code multiplier} is instance that memorizes the number of standard deviations of the bands
+     */
+    private final double multiplier;
+
+    /**
+     * {@code closes} is instance that memorizes the close prices of the window
+     */
+    private final RingBuffer closes;
+
+    /**
+     * {@code sum} is instance that memorizes the sum of the close prices of the window
+     */
+    private double sum;
+
+    /**
+     * {@code sumOfSquares} is instance that memorizes the sum of the squares of the close prices of the window
+     */
+    private double sumOfSquares;
+
+    /**
+     * {@code deviation} is instance that memorizes the current standard deviation of the window
+     */
+    private double deviation;
+
+    /**
+     * Constructor to init {@link BollingerBands}
+     *
+     * @param period: number of candles of the bands
+     */
+    public BollingerBands(int period) {
+        this(period, DEFAULT_MULTIPLIER);
+    }
+
+    /**
+     * Constructor to init {@link BollingerBands}
+     *
+     * @param period:     number of candles of the bands
+     * @param multiplier: number of standard deviations of the bands
+     */
+    public BollingerBands(int period, double multiplier) {
+        super(period);
+        this.multiplier = multiplier;
+        closes = new RingBuffer(period);
+        deviation = Double.NaN;
+    }
+
+    /**
+     * Method to compute the new value of the indicator with a closed candle
+     *
+     * @param high:   high price of the candle
+     * @param low:    low price of the candle
+     * @param close:  close price of the candle
+     * @param volume: volume of the candle
+     * @return new value of the indicator as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    @Override
+    protected double compute(double high, double low, double close, double volume) {
+        double evicted = closes.add(close);
+        sum += close;
+        sumOfSquares += close * close;
+        if (!Double.isNaN(evicted)) {
+            sum -= evicted;
+            sumOfSquares -= evicted * evicted;
+        }
+        if (!closes.isFull())
+            return Double.NaN;
+        double mean = sum / period;
+        deviation = Math.sqrt(Math.max(sumOfSquares / period - mean * mean, 0));
+        return mean;
+    }
+
+    /**
+     * Method to get the upper band <br>
+     * No-any params required
+     *
+     * @return upper band as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    public double getUpperBand() {
+        return value + multiplier * deviation;
+    }
+
+    /**
+     * Method to get the lower band <br>
+     * No-any params required
+     *
+     * @return lower band as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    public double getLowerBand() {
+        return value - multiplier * deviation;
+    }
+
+    /**
+     * Method to get {@link #deviation} instance <br>
+     * No-any params required
+     *
+     * @return {@link #deviation} instance as double
+     */
+    public double getDeviation() {
+        return deviation;
+    }
+
+}
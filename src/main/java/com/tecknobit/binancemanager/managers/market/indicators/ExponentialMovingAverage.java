@@ -0,0 +1,51 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+/**
+ * The {@code ExponentialMovingAverage} class is useful to compute the exponential moving average of the close prices
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @implNote the average is seeded with the simple moving average of the first {@link #period} candles
+ */
+public class ExponentialMovingAverage extends Indicator {
+
+    /**
+     * {@code alpha} is instance that memorizes the smoothing factor of the average
+     */
+    private final double alpha;
+
+    /**
+     * {@code seedSum} is instance that memorizes the sum of the first candles used to seed the average
+     */
+    private double seedSum;
+
+    /**
+     * Constructor to init {@link ExponentialMovingAverage}
+     *
+     * @param period: number of candles of the average
+     */
+    public ExponentialMovingAverage(int period) {
+        super(period);
+        alpha = 2.0 / (period + 1);
+    }
+
+    /**
+     * Method to compute the new value of the indicator with a closed candle
+     *
+     * @param high:   high price of the candle
+     * @param low:    low price of the candle
+     * @param close:  close price of the candle
+     * @param volume: volume of the candle
+     * @return new value of the indicator as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    @Override
+    protected double compute(double high, double low, double close, double volume) {
+        if (samples < period) {
+            seedSum += close;
+            return Double.NaN;
+        }
+        if (samples == period)
+            return (seedSum + close) / period;
+        return value + alpha * (close - value);
+    }
+
+}
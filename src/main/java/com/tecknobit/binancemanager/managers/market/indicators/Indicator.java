@@ -0,0 +1,105 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+/**
+ * The {@code Indicator} class is useful to create a technical indicator updated incrementally, one closed candle at a
+ * time, in constant time and without allocations
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @see BinanceIndicatorsEngine
+ */
+public abstract class Indicator {
+
+    /**
+     * {@code period} is instance that memorizes the number of candles of the indicator window
+     */
+    protected final int period;
+
+    /**
+     * {@code samples} is instance that memorizes the number of candles received by the indicator
+     */
+    protected long samples;
+
+    /**
+     * {@code value} is instance that memorizes the current value of the indicator
+     */
+    protected double value;
+
+    /**
+     * Constructor to init {@link Indicator}
+     *
+     * @param period: number of candles of the indicator window
+     * @throws IllegalArgumentException when the period is not positive
+     */
+    public Indicator(int period) {
+        if (period <= 0)
+            throw new IllegalArgumentException("Period must be positive");
+        this.period = period;
+        value = Double.NaN;
+    }
+
+    /**
+     * Method to update the indicator with a closed candle
+     *
+     * @param high:   high price of the candle
+     * @param low:    low price of the candle
+     * @param close:  close price of the candle
+     * @param volume: volume of the candle
+     */
+    public void update(double high, double low, double close, double volume) {
+        samples++;
+        value = compute(high, low, close, volume);
+    }
+
+    /**
+     * Method to compute the new value of the indicator with a closed candle
+     *
+     * @param high:   high price of the candle
+     * @param low:    low price of the candle
+     * @param close:  close price of the candle
+     * @param volume: volume of the candle
+     * @return new value of the indicator as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    protected abstract double compute(double high, double low, double close, double volume);
+
+    /**
+     * Method to get {@link #period} instance <br>
+     * No-any params required
+     *
+     * @return {@link #period} instance as int
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Method to get {@link #value} instance <br>
+     * No-any params required
+     *
+     * @return {@link #value} instance as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Method to get whether the indicator received enough candles to have a value <br>
+     * No-any params required
+     *
+     * @return whether the indicator is ready as boolean
+     */
+    public boolean isReady() {
+        return samples >= period;
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * No-any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + period + ")=" + value;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+/**
+ * The {@code RelativeStrengthIndex} class is useful to compute the relative strength index of the close prices with
+ * the Wilder's smoothing
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class RelativeStrengthIndex extends Indicator {
+
+    /**
+     * {@code previousClose} is instance that memorizes the close price of the previous candle
+     */
+    private double previousClose;
+
+    /**
+     * {@code averageGain} is instance that memorizes the smoothed average gain
+     */
+    private double averageGain;
+
+    /**
+     * {@code averageLoss} is instance that memorizes the smoothed average loss
+     */
+    private double averageLoss;
+
+    /**
+     * Constructor to init {@link RelativeStrengthIndex}
+     *
+     * @param period: number of candles of the index
+     */
+    public RelativeStrengthIndex(int period) {
+        super(period);
+    }
+
+    /**
+     * Method to compute the new value of the indicator with a closed candle
+     *
+     * @param high:   high price of the candle
+     * @param low:    low price of the candle
+     * @param close:  close price of the candle
+     * @param volume: volume of the candle
+     * @return new value of the indicator as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    @Override
+    protected double compute(double high, double low, double close, double volume) {
+        if (samples == 1) {
+            previousClose = close;
+            return Double.NaN;
+        }
+        double change = close - previousClose;
+        previousClose = close;
+        double gain = Math.max(change, 0);
+        double loss = Math.max(-change, 0);
+        if (samples <= period + 1) {
+            averageGain += gain / period;
+            averageLoss += loss / period;
+            if (samples <= period)
+                return Double.NaN;
+        } else {
+            averageGain = (averageGain * (period - 1) + gain) / period;
+            averageLoss = (averageLoss * (period - 1) + loss) / period;
+        }
+        if (averageLoss == 0)
+            return 100;
+        return 100 - 100 / (1 + averageGain / averageLoss);
+    }
+
+    /**
+     * Method to get whether the indicator received enough candles to have a value <br>
+     * No-any params required
+     *
+     * @return whether the indicator is ready as boolean
+     */
+    @Override
+    public boolean isReady() {
+        return samples > period;
+    }
+
+}
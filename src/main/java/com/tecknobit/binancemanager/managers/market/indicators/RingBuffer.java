@@ -0,0 +1,99 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+/**
+ * The {@code RingBuffer} class is useful to keep the last values of a series in a fixed {@code double} array
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+class RingBuffer {
+
+    /**
+     * {@code values} is instance that memorizes the values of the buffer
+     */
+    private final double[] values;
+
+    /**
+     * {@code head} is instance that memorizes the slot where the next value will be written
+     */
+    private int head;
+
+    /**
+     * {@code size} is instance that memorizes the number of values of the buffer
+     */
+    private int size;
+
+    /**
+     * Constructor to init {@link RingBuffer}
+     *
+     * @param capacity: max number of values of the buffer
+     */
+    RingBuffer(int capacity) {
+        values = new double[capacity];
+    }
+
+    /**
+     * Method to add a value to the buffer
+     *
+     * @param value: value to add
+     * @return value evicted as double, {@link Double#NaN} if the buffer was not full
+     */
+    double add(double value) {
+        double evicted = Double.NaN;
+        if (size == values.length)
+            evicted = values[head];
+        else
+            size++;
+        values[head] = value;
+        if (++head == values.length)
+            head = 0;
+        return evicted;
+    }
+
+    /**
+     * Method to get a value of the buffer
+     *
+     * @param index: index of the value, 0 is the oldest
+     * @return value as double
+     */
+    double get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        int slot = head - size + index;
+        if (slot < 0)
+            slot += values.length;
+        return values[slot];
+    }
+
+    /**
+     * Method to get the last value added <br>
+     * No-any params required
+     *
+     * @return last value as double, {@link Double#NaN} if the buffer is empty
+     */
+    double last() {
+        if (size == 0)
+            return Double.NaN;
+        return get(size - 1);
+    }
+
+    /**
+     * Method to get {@link #size} instance <br>
+     * No-any params required
+     *
+     * @return {@link #size} instance as int
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Method to get whether the buffer is full <br>
+     * No-any params required
+     *
+     * @return whether the buffer is full as boolean
+     */
+    boolean isFull() {
+        return size == values.length;
+    }
+
+}
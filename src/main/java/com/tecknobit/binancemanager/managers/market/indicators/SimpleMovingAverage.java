@@ -0,0 +1,51 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+/**
+ * The {@code SimpleMovingAverage} class is useful to compute the simple moving average of the close prices
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @implNote the sum of the window is kept updated, so each update costs O(1)
+ */
+public class SimpleMovingAverage extends Indicator {
+
+    /**
+     * {@code closes} is instance that memorizes the close prices of the window
+     */
+    private final RingBuffer closes;
+
+    /**
+     * {@code sum} is instance that memorizes the sum of the close prices of the window
+     */
+    private double sum;
+
+    /**
+     * Constructor to init {@link SimpleMovingAverage}
+     *
+     * @param period: number of candles of the average
+     */
+    public SimpleMovingAverage(int period) {
+        super(period);
+        closes = new RingBuffer(period);
+    }
+
+    /**
+     * Method to compute the new value of the indicator with a closed candle
+     *
+     * @param high:   high price of the candle
+     * @param low:    low price of the candle
+     * @param close:  close price of the candle
+     * @param volume: volume of the candle
+     * @return new value of the indicator as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    @Override
+    protected double compute(double high, double low, double close, double volume) {
+        double evicted = closes.add(close);
+        sum += close;
+        if (!Double.isNaN(evicted))
+            sum -= evicted;
+        if (!closes.isFull())
+            return Double.NaN;
+        return sum / period;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.tecknobit.binancemanager.managers.market.indicators;
+
+/**
+ * The {@code VolumeWeightedAveragePrice} class is useful to compute the volume weighted average of the typical prices
+ * of a rolling window of candles
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @implNote the typical price of a candle is {@code (high + low + close) / 3}
+ */
+public class VolumeWeightedAveragePrice extends Indicator {
+
+    /**
+     * {@code pricesVolumes} is instance that memorizes the typical prices multiplied by the volumes of the window
+     */
+    private final RingBuffer pricesVolumes;
+
+    /**
+     * {@code volumes} is instance that memorizes the volumes of the window
+     */
+    private final RingBuffer volumes;
+
+    /**
+     * {@code priceVolumeSum} is instance that memorizes the sum of {@link #pricesVolumes}
+     */
+    private double priceVolumeSum;
+
+    /**
+     * {@code volumeSum} is instance that memorizes the sum of {@link #volumes}
+     */
+    private double volumeSum;
+
+    /**
+     * Constructor to init {@link VolumeWeightedAveragePrice}
+     *
+     * @param period: number of candles of the window
+     */
+    public VolumeWeightedAveragePrice(int period) {
+        super(period);
+        pricesVolumes = new RingBuffer(period);
+        volumes = new RingBuffer(period);
+    }
+
+    /**
+     * Method to compute the new value of the indicator with a closed candle
+     *
+     * @param high:   high price of the candle
+     * @param low:    low price of the candle
+     * @param close:  close price of the candle
+     * @param volume: volume of the candle
+     * @return new value of the indicator as double, {@link Double#NaN} if the indicator is not ready yet
+     */
+    @Override
+    protected double compute(double high, double low, double close, double volume) {
+        double priceVolume = (high + low + close) / 3 * volume;
+        double evicted = pricesVolumes.add(priceVolume);
+        priceVolumeSum += priceVolume;
+        if (!Double.isNaN(evicted))
+            priceVolumeSum -= evicted;
+        evicted = volumes.add(volume);
+        volumeSum += volume;
+        if (!Double.isNaN(evicted))
+            volumeSum -= evicted;
+        if (!volumes.isFull() || volumeSum <= 0)
+            return Double.NaN;
+        return priceVolumeSum / volumeSum;
+    }
+
+}
@@ -0,0 +1,536 @@
+package com.tecknobit.binancemanager.managers.market.klines;
+
+import com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import com.tecknobit.binancemanager.managers.market.BinanceMarketManager;
+import com.tecknobit.binancemanager.managers.market.records.stats.Candlestick.Interval;
+import org.json.JSONArray;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.JSON;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * The {@code BinanceKlinesStore} class is useful to keep a persistent local store of the klines fetched with
+ * {@link BinanceMarketManager#getCandlesticksList(String, Interval, Params)} <br>
+ * Each symbol and interval pair is stored in a sequence of fixed-width records inside memory-mapped segment files, so
+ * the history is downloaded only once and then refreshed fetching just the klines closed after the last one stored
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the store layout is {@code <storePath>/<symbol>/<interval>/<segment>.klines}, each segment contains at most
+ * {@link #SEGMENT_CAPACITY} klines
+ * @see KlinesView
+ */
+public class BinanceKlinesStore implements Closeable {
+
+    /**
+     * {@code MAX_KLINES_LIMIT} is constant for the max number of klines returned by a single request
+     */
+    public static final int MAX_KLINES_LIMIT = 1000;
+
+    /**
+     * {@code SEGMENT_SHIFT} is constant for the power of two of the capacity of a segment
+     */
+    static final int SEGMENT_SHIFT = 16;
+
+    /**
+     * {@code SEGMENT_CAPACITY} is constant for the number of klines that a segment can contain
+     */
+    public static final int SEGMENT_CAPACITY = 1 << SEGMENT_SHIFT;
+
+    /**
+     * {@code SEGMENT_MASK} is constant to get the slot of a kline inside its segment
+     */
+    static final int SEGMENT_MASK = SEGMENT_CAPACITY - 1;
+
+    /**
+     * {@code SEGMENT_MAGIC} is constant to recognize a valid segment file
+     */
+    private static final int SEGMENT_MAGIC = 0x4B4C4E53;
+
+    /**
+     * {@code SEGMENT_EXTENSION} is constant for the extension of the segment files
+     */
+    private static final String SEGMENT_EXTENSION = ".klines";
+
+    /**
+     * {@code HEADER_SIZE} is constant for the size in bytes of the header of a segment: magic, record size and count
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * {@code COUNT_OFFSET} is constant for the offset of the klines count inside the header of a segment
+     */
+    private static final int COUNT_OFFSET = 8;
+
+    /**
+     * {@code OPEN_TIME_OFFSET} is constant for the offset of the open time inside a record
+     */
+    static final int OPEN_TIME_OFFSET = 0;
+
+    /**
+     * {@code OPEN_OFFSET} is constant for the offset of the open price inside a record
+     */
+    static final int OPEN_OFFSET = 8;
+
+    /**
+     * {@code HIGH_OFFSET} is constant for the offset of the high price inside a record
+     */
+    static final int HIGH_OFFSET = 16;
+
+    /**
+     * {@code LOW_OFFSET} is constant for the offset of the low price inside a record
+     */
+    static final int LOW_OFFSET = 24;
+
+    /**
+     * {@code CLOSE_OFFSET} is constant for the offset of the close price inside a record
+     */
+    static final int CLOSE_OFFSET = 32;
+
+    /**
+     * {@code VOLUME_OFFSET} is constant for the offset of the volume inside a record
+     */
+    static final int VOLUME_OFFSET = 40;
+
+    /**
+     * {@code CLOSE_TIME_OFFSET} is constant for the offset of the close time inside a record
+     */
+    static final int CLOSE_TIME_OFFSET = 48;
+
+    /**
+     * {@code QUOTE_ASSET_VOLUME_OFFSET} is constant for the offset of the quote asset volume inside a record
+     */
+    static final int QUOTE_ASSET_VOLUME_OFFSET = 56;
+
+    /**
+     * {@code NUMBER_OF_TRADES_OFFSET} is constant for the offset of the number of trades inside a record
+     */
+    static final int NUMBER_OF_TRADES_OFFSET = 64;
+
+    /**
+     * {@code TAKER_BUY_BASE_ASSET_VOLUME_OFFSET} is constant for the offset of the taker buy base asset volume inside
+     * a record
+     */
+    static final int TAKER_BUY_BASE_ASSET_VOLUME_OFFSET = 72;
+
+    /**
+     * {@code TAKER_BUY_QUOTE_ASSET_VOLUME_OFFSET} is constant for the offset of the taker buy quote asset volume inside
+     * a record
+     */
+    static final int TAKER_BUY_QUOTE_ASSET_VOLUME_OFFSET = 80;
+
+    /**
+     * {@code RECORD_SIZE} is constant for the size in bytes of a kline record
+     */
+    static final int RECORD_SIZE = 88;
+
+    /**
+     * {@code SEGMENT_SIZE} is constant for the size in bytes of a segment file
+     */
+    private static final long SEGMENT_SIZE = HEADER_SIZE + (long) SEGMENT_CAPACITY * RECORD_SIZE;
+
+    /**
+     * {@code marketManager} is instance used to fetch the klines to store
+     */
+    private final BinanceMarketManager marketManager;
+
+    /**
+     * {@code storePath} is instance that memorizes the root folder of the store
+     */
+    private final Path storePath;
+
+    /**
+     * {@code series} is instance that memorizes the series of klines opened, the key is composed by symbol and interval
+     */
+    private final ConcurrentHashMap<String, KlinesSeries> series;
+
+    /**
+     * Constructor to init {@link BinanceKlinesStore}
+     *
+     * @param marketManager: manager used to fetch the klines to store
+     * @param storePath:     root folder of the store, will be created if not exists
+     */
+    public BinanceKlinesStore(BinanceMarketManager marketManager, String storePath) throws IOException {
+        this.marketManager = marketManager;
+        this.storePath = Path.of(storePath);
+        Files.createDirectories(this.storePath);
+        series = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Method to fetch and store the klines closed after the last one stored <br>
+     * If the series is empty will be fetched the whole history available for the symbol
+     *
+     * @param symbol:   symbol of the klines es. BTCBUSD
+     * @param interval: interval of the klines
+     * @return number of klines stored as int
+     * @throws IOException when the request or the writing of the store has been go wrong
+     */
+    public int refresh(String symbol, Interval interval) throws IOException {
+        return refresh(symbol, interval, 0);
+    }
+
+    /**
+     * Method to fetch and store the klines closed after the last one stored
+     *
+     * @param symbol:    symbol of the klines es. BTCBUSD
+     * @param interval:  interval of the klines
+     * @param startTime: timestamp from start the download when the series is empty
+     * @return number of klines stored as int
+     * @throws IOException when the request or the writing of the store has been go wrong
+     * @implNote the kline currently open is never stored, it will be stored by the first refresh after its close
+     */
+    public int refresh(String symbol, Interval interval, long startTime) throws IOException {
+        KlinesSeries klinesSeries = getSeries(symbol, interval);
+        synchronized (klinesSeries) {
+            long fromTime = klinesSeries.isEmpty() ? startTime : klinesSeries.getLastCloseTime() + 1;
+            long serverTime = marketManager.getServerTime();
+            int stored = 0;
+            boolean completed = false;
+            while (!completed) {
+                Params query = new Params();
+                query.addParam("startTime", fromTime);
+                query.addParam("limit", MAX_KLINES_LIMIT);
+                JSONArray jKlines = marketManager.getCandlesticksList(symbol, interval, query, JSON);
+                int fetched = jKlines.length();
+                for (int j = 0; j < fetched && !completed; j++) {
+                    JSONArray jKline = jKlines.getJSONArray(j);
+                    long closeTime = jKline.getLong(6);
+                    if (closeTime >= serverTime)
+                        completed = true;
+                    else {
+                        klinesSeries.append(jKline);
+                        fromTime = closeTime + 1;
+                        stored++;
+                    }
+                }
+                if (fetched < MAX_KLINES_LIMIT)
+                    completed = true;
+            }
+            klinesSeries.flush();
+            return stored;
+        }
+    }
+
+    /**
+     * Method to get all the klines stored of a series
+     *
+     * @param symbol:   symbol of the klines es. BTCBUSD
+     * @param interval: interval of the klines
+     * @return klines stored as {@link KlinesView}
+     * @throws IOException when the store cannot be read
+     */
+    public KlinesView getKlines(String symbol, Interval interval) throws IOException {
+        return getSeries(symbol, interval).getView(0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Method to get the klines stored of a series in a time range
+     *
+     * @param symbol:    symbol of the klines es. BTCBUSD
+     * @param interval:  interval of the klines
+     * @param startTime: open time from get the klines, inclusive
+     * @param endTime:   open time until get the klines, inclusive
+     * @return klines stored in the range as {@link KlinesView}
+     * @throws IOException when the store cannot be read
+     */
+    public KlinesView getKlines(String symbol, Interval interval, long startTime, long endTime) throws IOException {
+        return getSeries(symbol, interval).getView(startTime, endTime);
+    }
+
+    /**
+     * Method to get the last close time stored of a series
+     *
+     * @param symbol:   symbol of the klines es. BTCBUSD
+     * @param interval: interval of the klines
+     * @return last close time stored as long, -1 if the series is empty
+     * @throws IOException when the store cannot be read
+     */
+    public long getLastCloseTime(String symbol, Interval interval) throws IOException {
+        KlinesSeries klinesSeries = getSeries(symbol, interval);
+        synchronized (klinesSeries) {
+            if (klinesSeries.isEmpty())
+                return -1;
+            return klinesSeries.getLastCloseTime();
+        }
+    }
+
+    /**
+     * Method to close all the series opened <br>
+     * No-any params required
+     *
+     * @throws IOException when a segment cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        for (KlinesSeries klinesSeries : series.values())
+            klinesSeries.close();
+        series.clear();
+    }
+
+    /**
+     * Method to get a series of klines, opening it if needed
+     *
+     * @param symbol:   symbol of the klines es. BTCBUSD
+     * @param interval: interval of the klines
+     * @return series as {@link KlinesSeries}
+     * @throws IOException when the series cannot be opened
+     */
+    private KlinesSeries getSeries(String symbol, Interval interval) throws IOException {
+        String key = symbol.toUpperCase() + "@" + interval;
+        KlinesSeries klinesSeries = series.get(key);
+        if (klinesSeries == null) {
+            synchronized (series) {
+                klinesSeries = series.get(key);
+                if (klinesSeries == null) {
+                    klinesSeries = new KlinesSeries(storePath.resolve(symbol.toUpperCase())
+                            .resolve(getIntervalFolder(interval)));
+                    series.put(key, klinesSeries);
+                }
+            }
+        }
+        return klinesSeries;
+    }
+
+    /**
+     * Method to get the folder name of an interval, the monthly interval has a dedicated name to avoid clashes with the
+     * minute interval on case-insensitive file systems
+     *
+     * @param interval: interval from fetch the folder name
+     * @return folder name as {@link String}
+     */
+    private static String getIntervalFolder(Interval interval) {
+        if (interval == Interval._1M)
+            return "1mo";
+        return interval.toString();
+    }
+
+    /**
+     * The {@code KlinesSeries} class is useful to manage the segments of a symbol and interval pair
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static class KlinesSeries {
+
+        /**
+         * {@code folder} is instance that memorizes the folder of the series
+         */
+        private final Path folder;
+
+        /**
+         * {@code segments} is instance that memorizes the segments of the series sorted by time
+         */
+        private final ArrayList<KlinesSegment> segments;
+
+        /**
+         * {@code count} is instance that memorizes the total number of klines of the series
+         */
+        private volatile long count;
+
+        /**
+         * Constructor to init {@link KlinesSeries}
+         *
+         * @param folder: folder of the series
+         * @throws IOException when the segments cannot be opened
+         */
+        private KlinesSeries(Path folder) throws IOException {
+            this.folder = folder;
+            Files.createDirectories(folder);
+            segments = new ArrayList<>();
+            File[] files = folder.toFile().listFiles((dir, name) -> name.endsWith(SEGMENT_EXTENSION));
+            if (files != null) {
+                Arrays.sort(files);
+                for (File file : files) {
+                    KlinesSegment segment = new KlinesSegment(file.toPath());
+                    segments.add(segment);
+                    count += segment.count;
+                }
+            }
+        }
+
+        /**
+         * Method to get whether the series is empty <br>
+         * No-any params required
+         *
+         * @return whether the series is empty as boolean
+         */
+        private boolean isEmpty() {
+            return count == 0;
+        }
+
+        /**
+         * Method to get the close time of the last kline stored <br>
+         * No-any params required
+         *
+         * @return close time of the last kline as long
+         */
+        private long getLastCloseTime() {
+            return readLong(count - 1, CLOSE_TIME_OFFSET);
+        }
+
+        /**
+         * Method to append a kline to the series
+         *
+         * @param jKline: kline details as {@link JSONArray}
+         * @throws IOException when a new segment cannot be created
+         */
+        private void append(JSONArray jKline) throws IOException {
+            KlinesSegment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment == null || segment.count == SEGMENT_CAPACITY) {
+                segment = new KlinesSegment(folder.resolve(String.format("%08d", segments.size()) + SEGMENT_EXTENSION));
+                segments.add(segment);
+            }
+            ByteBuffer buffer = segment.buffer;
+            int position = HEADER_SIZE + segment.count * RECORD_SIZE;
+            buffer.putLong(position + OPEN_TIME_OFFSET, jKline.getLong(0));
+            buffer.putDouble(position + OPEN_OFFSET, jKline.getDouble(1));
+            buffer.putDouble(position + HIGH_OFFSET, jKline.getDouble(2));
+            buffer.putDouble(position + LOW_OFFSET, jKline.getDouble(3));
+            buffer.putDouble(position + CLOSE_OFFSET, jKline.getDouble(4));
+            buffer.putDouble(position + VOLUME_OFFSET, jKline.getDouble(5));
+            buffer.putLong(position + CLOSE_TIME_OFFSET, jKline.getLong(6));
+            buffer.putDouble(position + QUOTE_ASSET_VOLUME_OFFSET, jKline.getDouble(7));
+            buffer.putLong(position + NUMBER_OF_TRADES_OFFSET, jKline.getLong(8));
+            buffer.putDouble(position + TAKER_BUY_BASE_ASSET_VOLUME_OFFSET, jKline.getDouble(9));
+            buffer.putDouble(position + TAKER_BUY_QUOTE_ASSET_VOLUME_OFFSET, jKline.getDouble(10));
+            buffer.putLong(COUNT_OFFSET, ++segment.count);
+            count++;
+        }
+
+        /**
+         * Method to get a view of the klines with the open time in a range
+         *
+         * @param startTime: open time from get the klines, inclusive
+         * @param endTime:   open time until get the klines, inclusive
+         * @return klines in the range as {@link KlinesView}
+         */
+        private synchronized KlinesView getView(long startTime, long endTime) {
+            long size = count;
+            long first = searchOpenTime(startTime, size);
+            long last = searchOpenTime(endTime == Long.MAX_VALUE ? endTime : endTime + 1, size);
+            if (first >= last)
+                return new KlinesView(new ByteBuffer[0], 0, 0);
+            int firstSegment = (int) (first >>> SEGMENT_SHIFT);
+            int lastSegment = (int) ((last - 1) >>> SEGMENT_SHIFT);
+            ByteBuffer[] buffers = new ByteBuffer[lastSegment - firstSegment + 1];
+            for (int j = 0; j < buffers.length; j++)
+                buffers[j] = segments.get(firstSegment + j).buffer.asReadOnlyBuffer();
+            return new KlinesView(buffers, (int) (first & SEGMENT_MASK), (int) (last - first));
+        }
+
+        /**
+         * Method to find the index of the first kline with the open time greater or equal to a timestamp, the records
+         * are sorted by open time, so the search is a binary search over the mapped segments
+         *
+         * @param openTime: open time to search
+         * @param size:     number of klines where search
+         * @return index of the kline as long, {@code "size"} if there are no klines after the timestamp
+         */
+        private long searchOpenTime(long openTime, long size) {
+            long low = 0;
+            long high = size;
+            while (low < high) {
+                long middle = (low + high) >>> 1;
+                if (readLong(middle, OPEN_TIME_OFFSET) < openTime)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+
+        /**
+         * Method to read a long value of a kline
+         *
+         * @param index:  index of the kline in the series
+         * @param offset: offset of the value inside the record
+         * @return value as long
+         */
+        private long readLong(long index, int offset) {
+            return segments.get((int) (index >>> SEGMENT_SHIFT)).buffer.getLong(HEADER_SIZE +
+                    (int) (index & SEGMENT_MASK) * RECORD_SIZE + offset);
+        }
+
+        /**
+         * Method to force the changes of the last segment to the storage device <br>
+         * No-any params required
+         */
+        private void flush() {
+            if (!segments.isEmpty())
+                segments.get(segments.size() - 1).buffer.force();
+        }
+
+        /**
+         * Method to close the segments of the series <br>
+         * No-any params required
+         *
+         * @throws IOException when a segment cannot be closed
+         */
+        private synchronized void close() throws IOException {
+            flush();
+            for (KlinesSegment segment : segments)
+                segment.channel.close();
+        }
+
+    }
+
+    /**
+     * The {@code KlinesSegment} class is useful to map a segment file of a series
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static class KlinesSegment {
+
+        /**
+         * {@code channel} is instance that memorizes the channel of the segment file
+         */
+        private final FileChannel channel;
+
+        /**
+         * {@code buffer} is instance that memorizes the mapped content of the segment file
+         */
+        private final MappedByteBuffer buffer;
+
+        /**
+         * {@code count} is instance that memorizes the number of klines of the segment
+         */
+        private int count;
+
+        /**
+         * Constructor to init {@link KlinesSegment}
+         *
+         * @param segmentPath: path of the segment file, will be created if not exists
+         * @throws IOException when the segment file is not a valid segment or cannot be mapped
+         */
+        private KlinesSegment(Path segmentPath) throws IOException {
+            boolean exists = Files.exists(segmentPath);
+            channel = FileChannel.open(segmentPath, CREATE, READ, WRITE);
+            buffer = channel.map(READ_WRITE, 0, SEGMENT_SIZE);
+            if (exists) {
+                if (buffer.getInt(0) != SEGMENT_MAGIC || buffer.getInt(4) != RECORD_SIZE) {
+                    channel.close();
+                    throw new IOException("Invalid klines segment: " + segmentPath);
+                }
+                count = (int) buffer.getLong(COUNT_OFFSET);
+            } else {
+                buffer.putInt(0, SEGMENT_MAGIC);
+                buffer.putInt(4, RECORD_SIZE);
+                buffer.putLong(COUNT_OFFSET, 0);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.tecknobit.binancemanager.managers.market.klines;
+
+import com.tecknobit.binancemanager.managers.market.records.stats.Candlestick;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.tecknobit.binancemanager.managers.market.klines.BinanceKlinesStore.*;
+
+/**
+ * The {@code KlinesView} class is useful to read a range of klines stored by a {@link BinanceKlinesStore} directly
+ * from the memory-mapped segments without copying them
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @implNote the view is a snapshot of the range available when it has been created, the klines stored after are not
+ * visible until a new view is requested
+ * @see BinanceKlinesStore
+ */
+public class KlinesView implements Iterable<Candlestick> {
+
+    /**
+     * {@code segments} is instance that memorizes the read-only buffers of the segments covered by the view
+     */
+    private final ByteBuffer[] segments;
+
+    /**
+     * {@code firstSlot} is instance that memorizes the slot of the first kline of the view in the first segment
+     */
+    private final int firstSlot;
+
+    /**
+     * {@code size} is instance that memorizes the number of klines of the view
+     */
+    private final int size;
+
+    /**
+     * Constructor to init {@link KlinesView} object
+     *
+     * @param segments:  the read-only buffers of the segments covered by the view
+     * @param firstSlot: the slot of the first kline of the view in the first segment
+     * @param size:      the number of klines of the view
+     */
+    KlinesView(ByteBuffer[] segments, int firstSlot, int size) {
+        this.segments = segments;
+        this.firstSlot = firstSlot;
+        this.size = size;
+    }
+
+    /**
+     * Method to get {@link #size} instance <br>
+     * No-any params required
+     *
+     * @return {@link #size} instance as int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to get whether the view is empty <br>
+     * No-any params required
+     *
+     * @return whether the view is empty as boolean
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Method to get the open time of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return open time of the kline as long
+     */
+    public long getOpenTime(int index) {
+        return getLong(index, OPEN_TIME_OFFSET);
+    }
+
+    /**
+     * Method to get the open price of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return open price of the kline as double
+     */
+    public double getOpen(int index) {
+        return getDouble(index, OPEN_OFFSET);
+    }
+
+    /**
+     * Method to get the high price of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return high price of the kline as double
+     */
+    public double getHigh(int index) {
+        return getDouble(index, HIGH_OFFSET);
+    }
+
+    /**
+     * Method to get the low price of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return low price of the kline as double
+     */
+    public double getLow(int index) {
+        return getDouble(index, LOW_OFFSET);
+    }
+
+    /**
+     * Method to get the close price of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return close price of the kline as double
+     */
+    public double getClose(int index) {
+        return getDouble(index, CLOSE_OFFSET);
+    }
+
+    /**
+     * Method to get the volume of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return volume of the kline as double
+     */
+    public double getVolume(int index) {
+        return getDouble(index, VOLUME_OFFSET);
+    }
+
+    /**
+     * Method to get the close time of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return close time of the kline as long
+     */
+    public long getCloseTime(int index) {
+        return getLong(index, CLOSE_TIME_OFFSET);
+    }
+
+    /**
+     * Method to get the quote asset volume of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return quote asset volume of the kline as double
+     */
+    public double getQuoteAssetVolume(int index) {
+        return getDouble(index, QUOTE_ASSET_VOLUME_OFFSET);
+    }
+
+    /**
+     * Method to get the number of trades of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return number of trades of the kline as int
+     */
+    public int getNumberOfTrades(int index) {
+        return (int) getLong(index, NUMBER_OF_TRADES_OFFSET);
+    }
+
+    /**
+     * Method to get the taker buy base asset volume of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return taker buy base asset volume of the kline as double
+     */
+    public double getTakerBuyBaseAssetVolume(int index) {
+        return getDouble(index, TAKER_BUY_BASE_ASSET_VOLUME_OFFSET);
+    }
+
+    /**
+     * Method to get the taker buy quote asset volume of a kline
+     *
+     * @param index: index of the kline in the view
+     * @return taker buy quote asset volume of the kline as double
+     */
+    public double getTakerBuyQuoteAssetVolume(int index) {
+        return getDouble(index, TAKER_BUY_QUOTE_ASSET_VOLUME_OFFSET);
+    }
+
+    /**
+     * Method to get a kline of the view as {@link Candlestick}
+     *
+     * @param index: index of the kline in the view
+     * @return kline as {@link Candlestick} custom object
+     * @implNote this method creates a new object for each invocation, use the primitive getters in the hot paths
+     */
+    public Candlestick getCandlestick(int index) {
+        return new Candlestick(getOpenTime(index), getOpen(index), getHigh(index), getLow(index), getClose(index),
+                getVolume(index), getCloseTime(index), getQuoteAssetVolume(index), getNumberOfTrades(index),
+                getTakerBuyBaseAssetVolume(index), getTakerBuyQuoteAssetVolume(index), 0);
+    }
+
+    /**
+     * Method to get a sub view of this view
+     *
+     * @param fromIndex: index of the first kline, inclusive
+     * @param toIndex:   index of the last kline, exclusive
+     * @return sub view as {@link KlinesView}
+     * @throws IndexOutOfBoundsException when the range inserted is not valid
+     */
+    public KlinesView subView(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") out of bounds for size " + size);
+        int slot = firstSlot + fromIndex;
+        int firstSegment = slot >>> SEGMENT_SHIFT;
+        int lastSegment = toIndex > fromIndex ? (firstSlot + toIndex - 1) >>> SEGMENT_SHIFT : firstSegment;
+        ByteBuffer[] subSegments = new ByteBuffer[lastSegment - firstSegment + 1];
+        System.arraycopy(segments, firstSegment, subSegments, 0, subSegments.length);
+        return new KlinesView(subSegments, slot & SEGMENT_MASK, toIndex - fromIndex);
+    }
+
+    /**
+     * Method to copy the close prices of the view in an array
+     *
+     * @param destination: array where copy the close prices, must be at least large as {@link #size()}
+     * @return the destination array filled
+     */
+    public double[] copyCloses(double[] destination) {
+        for (int j = 0; j < size; j++)
+            destination[j] = getClose(j);
+        return destination;
+    }
+
+    /**
+     * Method to copy the high prices of the view in an array
+     *
+     * @param destination: array where copy the high prices, must be at least large as {@link #size()}
+     * @return the destination array filled
+     */
+    public double[] copyHighs(double[] destination) {
+        for (int j = 0; j < size; j++)
+            destination[j] = getHigh(j);
+        return destination;
+    }
+
+    /**
+     * Returns an iterator over the klines of the view <br>
+     * No-any params required
+     *
+     * @return an iterator over the klines as {@link Iterator} of {@link Candlestick}
+     */
+    @Override
+    public Iterator<Candlestick> iterator() {
+        return new Iterator<>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Candlestick next() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                return getCandlestick(index++);
+            }
+
+        };
+    }
+
+    /**
+     * Method to read a long value of a kline
+     *
+     * @param index:  index of the kline in the view
+     * @param offset: offset of the value inside the record
+     * @return value as long
+     */
+    private long getLong(int index, int offset) {
+        int slot = checkIndex(index);
+        return segments[slot >>> SEGMENT_SHIFT].getLong(HEADER_SIZE + (slot & SEGMENT_MASK) * RECORD_SIZE + offset);
+    }
+
+    /**
+     * Method to read a double value of a kline
+     *
+     * @param index:  index of the kline in the view
+     * @param offset: offset of the value inside the record
+     * @return value as double
+     */
+    private double getDouble(int index, int offset) {
+        int slot = checkIndex(index);
+        return segments[slot >>> SEGMENT_SHIFT].getDouble(HEADER_SIZE + (slot & SEGMENT_MASK) * RECORD_SIZE + offset);
+    }
+
+    /**
+     * Method to check an index and get its slot inside the segments of the view
+     *
+     * @param index: index of the kline in the view
+     * @return slot of the kline as int
+     * @throws IndexOutOfBoundsException when the index is not valid
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return firstSlot + index;
+    }
+
+}
@@ -0,0 +1,661 @@
+package com.tecknobit.binancemanager.managers.market.polling;
+
+import com.tecknobit.binancemanager.managers.market.BinanceMarketManager;
+import com.tecknobit.binancemanager.managers.market.records.CurrentAveragePrice;
+import com.tecknobit.binancemanager.managers.market.records.tickers.OrderBookTicker;
+import com.tecknobit.binancemanager.managers.market.records.tickers.PriceTicker;
+import com.tecknobit.binancemanager.managers.market.records.tickers.Ticker;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code BinancePollingScheduler} class is useful to share the polling of the market data between many consumers
+ * <br>
+ * Each consumer subscribes a symbol with the max staleness it accepts, the scheduler merges all the subscriptions of
+ * the same data in the fewest requests, using the multi-symbols requests when available, and publishes each result
+ * to all the subscribers of the symbol
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote when the subscriptions would use more than the weight budget the polling intervals are stretched in
+ * proportion, so the scheduler never uses more than its budget in a minute
+ */
+public class BinancePollingScheduler implements Closeable {
+
+    /**
+     * {@code DEFAULT_WEIGHT_PER_MINUTE} is constant for the default weight budget for a minute
+     */
+    public static final int DEFAULT_WEIGHT_PER_MINUTE = 600;
+
+    /**
+     * {@code TICK_MILLIS} is constant for the period between the checks of the subscriptions to poll
+     */
+    public static final long TICK_MILLIS = 100;
+
+    /**
+     * {@code WEIGHT_WINDOW_MILLIS} is constant for the window where the weight used is counted
+     */
+    private static final long WEIGHT_WINDOW_MILLIS = 60000;
+
+    /**
+     * {@code marketManager} is instance used to send the requests
+     */
+    private final BinanceMarketManager marketManager;
+
+    /**
+     * {@code weightPerMinute} is instance that memorizes the weight budget for a minute
+     */
+    private final int weightPerMinute;
+
+    /**
+     * {@code polledSymbols} is instance that memorizes the symbols subscribed for each data
+     */
+    private final EnumMap<PolledData, ConcurrentHashMap<String, PolledSymbol>> polledSymbols;
+
+    /**
+     * {@code usedWeights} is instance that memorizes the time and the weight of the requests sent in the window
+     */
+    private final ArrayDeque<long[]> usedWeights;
+
+    /**
+     * {@code windowWeight} is instance that memorizes the weight used in the window
+     */
+    private volatile int windowWeight;
+
+    /**
+     * {@code stretchFactor} is instance that memorizes the factor applied to the intervals to respect the budget
+     */
+    private volatile double stretchFactor;
+
+    /**
+     * {@code scheduler} is instance used to run the polling
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor to init {@link BinancePollingScheduler} with the {@link #DEFAULT_WEIGHT_PER_MINUTE}
+     *
+     * @apiNote the requests are sent with a {@link BinanceMarketManager} created with the properties of the last
+     * manager instantiated
+     */
+    public BinancePollingScheduler() {
+        this(new BinanceMarketManager(), DEFAULT_WEIGHT_PER_MINUTE);
+    }
+
+    /**
+     * Constructor to init {@link BinancePollingScheduler}
+     *
+     * @param weightPerMinute: weight budget for a minute
+     * @apiNote the requests are sent with a {@link BinanceMarketManager} created with the properties of the last
+     * manager instantiated
+     */
+    public BinancePollingScheduler(int weightPerMinute) {
+        this(new BinanceMarketManager(), weightPerMinute);
+    }
+
+    /**
+     * Constructor to init {@link BinancePollingScheduler}
+     *
+     * @param marketManager:   manager used to send the requests
+     * @param weightPerMinute: weight budget for a minute
+     * @apiNote the manager is used from the thread of the scheduler, so it must not be used by other threads
+     * while the scheduler is running
+     */
+    public BinancePollingScheduler(BinanceMarketManager marketManager, int weightPerMinute) {
+        if (weightPerMinute <= 0)
+            throw new IllegalArgumentException("Weight per minute must be positive");
+        this.marketManager = marketManager;
+        this.weightPerMinute = weightPerMinute;
+        polledSymbols = new EnumMap<>(PolledData.class);
+        for (PolledData data : PolledData.values())
+            polledSymbols.put(data, new ConcurrentHashMap<>());
+        usedWeights = new ArrayDeque<>();
+        stretchFactor = 1;
+    }
+
+    /**
+     * Method to start the polling <br>
+     * No-any params required
+     */
+    public synchronized void start() {
+        if (scheduler != null)
+            return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "binance-polling-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method to stop the polling and release its thread <br>
+     * No-any params required
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Method to subscribe the current average price of a symbol
+     *
+     * @param symbol:       symbol to poll
+     * @param maxStaleness: max age in millis accepted for the value
+     * @param listener:     listener notified with the values polled
+     * @return subscription as {@link Subscription}
+     * @throws IllegalArgumentException when the max staleness is not positive
+     * @apiNote this data has no multi-symbols request, so each symbol is polled with its own request
+     */
+    public Subscription subscribeAveragePrice(String symbol, long maxStaleness,
+                                              PollingListener<CurrentAveragePrice> listener) {
+        return subscribe(PolledData.AVERAGE_PRICE, symbol, maxStaleness, listener);
+    }
+
+    /**
+     * Method to subscribe the price ticker of a symbol
+     *
+     * @param symbol:       symbol to poll
+     * @param maxStaleness: max age in millis accepted for the value
+     * @param listener:     listener notified with the values polled
+     * @return subscription as {@link Subscription}
+     * @throws IllegalArgumentException when the max staleness is not positive
+     */
+    public Subscription subscribePriceTicker(String symbol, long maxStaleness, PollingListener<PriceTicker> listener) {
+        return subscribe(PolledData.PRICE_TICKER, symbol, maxStaleness, listener);
+    }
+
+    /**
+     * Method to subscribe the order book ticker of a symbol
+     *
+     * @param symbol:       symbol to poll
+     * @param maxStaleness: max age in millis accepted for the value
+     * @param listener:     listener notified with the values polled
+     * @return subscription as {@link Subscription}
+     * @throws IllegalArgumentException when the max staleness is not positive
+     */
+    public Subscription subscribeOrderBookTicker(String symbol, long maxStaleness,
+                                                 PollingListener<OrderBookTicker> listener) {
+        return subscribe(PolledData.BOOK_TICKER, symbol, maxStaleness, listener);
+    }
+
+    /**
+     * Method to subscribe a data of a symbol
+     *
+     * @param data:         data to poll
+     * @param symbol:       symbol to poll
+     * @param maxStaleness: max age in millis accepted for the value
+     * @param listener:     listener notified with the values polled
+     * @return subscription as {@link Subscription}
+     * @throws IllegalArgumentException when the max staleness is not positive
+     */
+    @SuppressWarnings("unchecked")
+    private Subscription subscribe(PolledData data, String symbol, long maxStaleness, PollingListener<?> listener) {
+        if (maxStaleness <= 0)
+            throw new IllegalArgumentException("Max staleness must be positive");
+        Subscription subscription = new Subscription(data, symbol, maxStaleness, (PollingListener<Object>) listener);
+        polledSymbols.get(data).compute(symbol, (key, polled) -> {
+            if (polled == null)
+                polled = new PolledSymbol(symbol);
+            polled.subscriptions.add(subscription);
+            return polled;
+        });
+        return subscription;
+    }
+
+    /**
+     * Method to get the last current average price polled for a symbol
+     *
+     * @param symbol: symbol to get
+     * @return last value polled as {@link CurrentAveragePrice}, null if not subscribed or not polled yet
+     */
+    public CurrentAveragePrice getAveragePrice(String symbol) {
+        return (CurrentAveragePrice) getLastValue(PolledData.AVERAGE_PRICE, symbol);
+    }
+
+    /**
+     * Method to get the last price ticker polled for a symbol
+     *
+     * @param symbol: symbol to get
+     * @return last value polled as {@link PriceTicker}, null if not subscribed or not polled yet
+     */
+    public PriceTicker getPriceTicker(String symbol) {
+        return (PriceTicker) getLastValue(PolledData.PRICE_TICKER, symbol);
+    }
+
+    /**
+     * Method to get the last order book ticker polled for a symbol
+     *
+     * @param symbol: symbol to get
+     * @return last value polled as {@link OrderBookTicker}, null if not subscribed or not polled yet
+     */
+    public OrderBookTicker getOrderBookTicker(String symbol) {
+        return (OrderBookTicker) getLastValue(PolledData.BOOK_TICKER, symbol);
+    }
+
+    /**
+     * Method to get the last value polled of a data for a symbol
+     *
+     * @param data:   data to get
+     * @param symbol: symbol to get
+     * @return last value polled as {@link Object}, null if not subscribed or not polled yet
+     */
+    private Object getLastValue(PolledData data, String symbol) {
+        PolledSymbol polled = polledSymbols.get(data).get(symbol);
+        if (polled == null)
+            return null;
+        return polled.lastValue;
+    }
+
+    /**
+     * Method to get {@link #weightPerMinute} instance <br>
+     * No-any params required
+     *
+     * @return {@link #weightPerMinute} instance as int
+     */
+    public int getWeightPerMinute() {
+        return weightPerMinute;
+    }
+
+    /**
+     * Method to get {@link #windowWeight} instance <br>
+     * No-any params required
+     *
+     * @return {@link #windowWeight} instance as int
+     */
+    public int getUsedWeight() {
+        return windowWeight;
+    }
+
+    /**
+     * Method to get {@link #stretchFactor} instance <br>
+     * No-any params required
+     *
+     * @return {@link #stretchFactor} instance as double
+     */
+    public double getStretchFactor() {
+        return stretchFactor;
+    }
+
+    /**
+     * Method to poll all the data due, a failed tick does not stop the next ones <br>
+     * No-any params required
+     */
+    private void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            while (!usedWeights.isEmpty() && now - usedWeights.peekFirst()[0] >= WEIGHT_WINDOW_MILLIS)
+                windowWeight -= (int) usedWeights.pollFirst()[1];
+            stretchFactor = computeStretchFactor();
+            for (PolledData data : PolledData.values())
+                poll(data, now);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    /**
+     * Method to poll a data for the symbols due <br>
+     * The multi-symbols data are polled with a single request that also includes the symbols beyond half of their
+     * interval, because they are fetched without any extra weight
+     *
+     * @param data: data to poll
+     * @param now:  current time
+     */
+    private void poll(PolledData data, long now) {
+        ArrayList<PolledSymbol> due = new ArrayList<>();
+        ArrayList<PolledSymbol> early = new ArrayList<>();
+        for (PolledSymbol polled : polledSymbols.get(data).values()) {
+            long interval = polled.getInterval(stretchFactor);
+            if (interval < 0) {
+                polledSymbols.get(data).computeIfPresent(polled.symbol, (key, current) ->
+                        current.subscriptions.isEmpty() ? null : current);
+                continue;
+            }
+            long age = now - polled.lastPoll;
+            if (age >= interval)
+                due.add(polled);
+            else if (data.multiSymbols && age >= interval / 2)
+                early.add(polled);
+        }
+        if (due.isEmpty())
+            return;
+        if (data.multiSymbols) {
+            if (!consumeWeight(now, data.weight))
+                return;
+            due.addAll(early);
+            String[] symbols = new String[due.size()];
+            for (int j = 0; j < symbols.length; j++)
+                symbols[j] = due.get(j).symbol;
+            try {
+                ArrayList<? extends Ticker> tickers = data == PolledData.PRICE_TICKER
+                        ? marketManager.getPriceTickers(symbols) : marketManager.getOrderBookTickers(symbols);
+                ConcurrentHashMap<String, PolledSymbol> symbolsMap = polledSymbols.get(data);
+                for (Ticker ticker : tickers) {
+                    PolledSymbol polled = symbolsMap.get(ticker.getSymbol());
+                    if (polled != null)
+                        polled.publish(ticker, now);
+                }
+            } catch (Exception e) {
+                for (PolledSymbol polled : due)
+                    polled.fail(e, now);
+            }
+        } else {
+            for (PolledSymbol polled : due) {
+                if (!consumeWeight(now, data.weight))
+                    return;
+                try {
+                    polled.publish(marketManager.getCurrentAveragePrice(polled.symbol), now);
+                } catch (Exception e) {
+                    polled.fail(e, now);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to compute the factor to apply to the intervals to respect the budget <br>
+     * No-any params required
+     *
+     * @return stretch factor as double
+     */
+    private double computeStretchFactor() {
+        double weight = 0;
+        for (PolledData data : PolledData.values()) {
+            long minInterval = Long.MAX_VALUE;
+            for (PolledSymbol polled : polledSymbols.get(data).values()) {
+                long interval = polled.getInterval(1);
+                if (interval < 0)
+                    continue;
+                if (data.multiSymbols)
+                    minInterval = Math.min(minInterval, interval);
+                else
+                    weight += data.weight * (double) WEIGHT_WINDOW_MILLIS / interval;
+            }
+            if (minInterval != Long.MAX_VALUE)
+                weight += data.weight * (double) WEIGHT_WINDOW_MILLIS / minInterval;
+        }
+        return Math.max(1, weight / weightPerMinute);
+    }
+
+    /**
+     * Method to consume weight of the budget
+     *
+     * @param now:    current time
+     * @param weight: weight to consume
+     * @return whether the weight has been consumed, false when the budget of the window is exhausted
+     */
+    private boolean consumeWeight(long now, int weight) {
+        if (windowWeight + weight > weightPerMinute)
+            return false;
+        usedWeights.addLast(new long[]{now, weight});
+        windowWeight += weight;
+        return true;
+    }
+
+    /**
+     * {@code PolledData} list of the data that can be polled
+     */
+    public enum PolledData {
+
+        /**
+         * {@code AVERAGE_PRICE} current average price, one request for each symbol
+         */
+        AVERAGE_PRICE(2, false),
+
+        /**
+         * {@code PRICE_TICKER} price ticker, one request for all the symbols
+         */
+        PRICE_TICKER(2, true),
+
+        /**
+         * {@code BOOK_TICKER} order book ticker, one request for all the symbols
+         */
+        BOOK_TICKER(2, true);
+
+        /**
+         * {@code weight} is instance that memorizes the weight of a request
+         */
+        private final int weight;
+
+        /**
+         * {@code multiSymbols} is instance that memorizes whether a request can fetch many symbols
+         */
+        private final boolean multiSymbols;
+
+        /**
+         * Constructor to init {@link PolledData}
+         *
+         * @param weight:       weight of a request
+         * @param multiSymbols: whether a request can fetch many symbols
+         */
+        PolledData(int weight, boolean multiSymbols) {
+            this.weight = weight;
+            this.multiSymbols = multiSymbols;
+        }
+
+        /**
+         * Method to get {@link #weight} instance <br>
+         * No-any params required
+         *
+         * @return {@link #weight} instance as int
+         */
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Method to get {@link #multiSymbols} instance <br>
+         * No-any params required
+         *
+         * @return {@link #multiSymbols} instance as boolean
+         */
+        public boolean isMultiSymbols() {
+            return multiSymbols;
+        }
+
+    }
+
+    /**
+     * The {@code PollingListener} interface is useful to receive the values polled by the scheduler
+     *
+     * @param <T> type of the values polled
+     */
+    public interface PollingListener<T> {
+
+        /**
+         * Method invoked when a value has been polled
+         *
+         * @param symbol: symbol polled
+         * @param value:  value polled
+         */
+        void onUpdate(String symbol, T value);
+
+        /**
+         * Method invoked when the polling of a symbol has been go wrong
+         *
+         * @param symbol: symbol polled
+         * @param e:      exception thrown
+         */
+        default void onPollingFailed(String symbol, Exception e) {
+        }
+
+    }
+
+    /**
+     * The {@code Subscription} class is useful to manage a subscription to the scheduler
+     */
+    public final class Subscription {
+
+        /**
+         * {@code data} is instance that memorizes the data subscribed
+         */
+        private final PolledData data;
+
+        /**
+         * {@code symbol} is instance that memorizes the symbol subscribed
+         */
+        private final String symbol;
+
+        /**
+         * {@code maxStaleness} is instance that memorizes the max age in millis accepted for the value
+         */
+        private final long maxStaleness;
+
+        /**
+         * {@code listener} is instance that memorizes the listener notified with the values polled
+         */
+        private final PollingListener<Object> listener;
+
+        /**
+         * Constructor to init {@link Subscription}
+         *
+         * @param data:         data subscribed
+         * @param symbol:       symbol subscribed
+         * @param maxStaleness: max age in millis accepted for the value
+         * @param listener:     listener notified with the values polled
+         */
+        private Subscription(PolledData data, String symbol, long maxStaleness, PollingListener<Object> listener) {
+            this.data = data;
+            this.symbol = symbol;
+            this.maxStaleness = maxStaleness;
+            this.listener = listener;
+        }
+
+        /**
+         * Method to cancel the subscription <br>
+         * No-any params required
+         */
+        public void cancel() {
+            PolledSymbol polled = polledSymbols.get(data).get(symbol);
+            if (polled != null)
+                polled.subscriptions.remove(this);
+        }
+
+        /**
+         * Method to get {@link #data} instance <br>
+         * No-any params required
+         *
+         * @return {@link #data} instance as {@link PolledData}
+         */
+        public PolledData getData() {
+            return data;
+        }
+
+        /**
+         * Method to get {@link #symbol} instance <br>
+         * No-any params required
+         *
+         * @return {@link #symbol} instance as {@link String}
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Method to get {@link #maxStaleness} instance <br>
+         * No-any params required
+         *
+         * @return {@link #maxStaleness} instance as long
+         */
+        public long getMaxStaleness() {
+            return maxStaleness;
+        }
+
+    }
+
+    /**
+     * The {@code PolledSymbol} class is useful to memorize the polling state of a symbol
+     */
+    private static final class PolledSymbol {
+
+        /**
+         * {@code symbol} is instance that memorizes the symbol polled
+         */
+        private final String symbol;
+
+        /**
+         * {@code subscriptions} is instance that memorizes the subscriptions of the symbol
+         */
+        private final CopyOnWriteArrayList<Subscription> subscriptions;
+
+        /**
+         * {@code lastPoll} is instance that memorizes the time of the last poll
+         */
+        private volatile long lastPoll;
+
+        /**
+         * {@code lastValue} is instance that memorizes the last value polled
+         */
+        private volatile Object lastValue;
+
+        /**
+         * Constructor to init {@link PolledSymbol}
+         *
+         * @param symbol: symbol polled
+         */
+        private PolledSymbol(String symbol) {
+            this.symbol = symbol;
+            subscriptions = new CopyOnWriteArrayList<>();
+        }
+
+        /**
+         * Method to get the interval between the polls of the symbol
+         *
+         * @param stretchFactor: factor to apply to the interval
+         * @return interval in millis as long, -1 if there are no subscriptions
+         */
+        private long getInterval(double stretchFactor) {
+            long interval = Long.MAX_VALUE;
+            for (Subscription subscription : subscriptions)
+                interval = Math.min(interval, subscription.maxStaleness);
+            if (interval == Long.MAX_VALUE)
+                return -1;
+            return Math.max(TICK_MILLIS, (long) (interval * stretchFactor));
+        }
+
+        /**
+         * Method to publish a value to all the subscribers, a subscriber that throws does not stop the others
+         *
+         * @param value: value polled
+         * @param now:   time of the poll
+         */
+        private void publish(Object value, long now) {
+            lastValue = value;
+            lastPoll = now;
+            for (Subscription subscription : subscriptions) {
+                try {
+                    subscription.listener.onUpdate(symbol, value);
+                } catch (RuntimeException ignored) {
+                }
+            }
+        }
+
+        /**
+         * Method to notify a failed poll to all the subscribers, a subscriber that throws does not stop the others
+         *
+         * @param e:   exception thrown
+         * @param now: time of the poll
+         */
+        private void fail(Exception e, long now) {
+            lastPoll = now;
+            for (Subscription subscription : subscriptions) {
+                try {
+                    subscription.listener.onPollingFailed(symbol, e);
+                } catch (RuntimeException ignored) {
+                }
+            }
+        }
+
+    }
+
+}
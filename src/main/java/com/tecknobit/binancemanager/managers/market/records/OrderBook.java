@@ -2,13 +2,12 @@ package com.tecknobit.binancemanager.managers.market.records;
 
 import com.tecknobit.apimanager.annotations.Returner;
 import com.tecknobit.apimanager.formatters.JsonHelper;
+import com.tecknobit.binancemanager.managers.records.FixedDecimal;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
 
-import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
-
 /**
  * The {@code OrderBook} class is useful to format {@code "Binance"} OrderBook request
  *
@@ -141,12 +140,12 @@ public class OrderBook {
         /**
          * {@code price} is instance that contains price in the order book
          */
-        private final double price;
+        private final FixedDecimal price;
 
         /**
          * {@code quantity} is instance that contains quantity in the order book
          */
-        private final double quantity;
+        private final FixedDecimal quantity;
 
         /**
          * Constructor to init {@link BookOrderDetails} object
@@ -155,6 +154,16 @@ public class OrderBook {
          * @param quantity: quantity in the order book
          */
         public BookOrderDetails(double price, double quantity) {
+            this(FixedDecimal.valueOf(price), FixedDecimal.valueOf(quantity));
+        }
+
+        /**
+         * Constructor to init {@link BookOrderDetails} object
+         *
+         * @param price:    price in the order book
+         * @param quantity: quantity in the order book
+         */
+        public BookOrderDetails(FixedDecimal price, FixedDecimal quantity) {
             this.price = price;
             this.quantity = quantity;
         }
@@ -165,8 +174,8 @@ public class OrderBook {
          * @param jBookOrderDetails: book order details as {@link JSONArray}
          */
         public BookOrderDetails(JSONArray jBookOrderDetails) {
-            price = jBookOrderDetails.getDouble(0);
-            quantity = jBookOrderDetails.getDouble(1);
+            price = FixedDecimal.fromValue(jBookOrderDetails.get(0));
+            quantity = FixedDecimal.fromValue(jBookOrderDetails.get(1));
         }
 
         /**
@@ -176,7 +185,7 @@ public class OrderBook {
          * @return {@link #price} instance as double
          */
         public double getPrice() {
-            return price;
+            return price.doubleValue();
         }
 
         /**
@@ -187,7 +196,17 @@ public class OrderBook {
          * @throws IllegalArgumentException if decimalDigits is negative
          */
         public double getPrice(int decimals) {
-            return roundValue(price, decimals);
+            return price.round(decimals).doubleValue();
+        }
+
+        /**
+         * Method to get {@link #price} instance <br>
+         * No-any params required
+         *
+         * @return {@link #price} instance as {@link FixedDecimal}
+         */
+        public FixedDecimal getPriceDecimal() {
+            return price;
         }
 
         /**
@@ -197,7 +216,7 @@ public class OrderBook {
          * @return {@link #quantity} instance as double
          */
         public double getQuantity() {
-            return quantity;
+            return quantity.doubleValue();
         }
 
         /**
@@ -208,7 +227,17 @@ public class OrderBook {
          * @throws IllegalArgumentException if decimalDigits is negative
          */
         public double getQuantity(int decimals) {
-            return roundValue(quantity, decimals);
+            return quantity.round(decimals).doubleValue();
+        }
+
+        /**
+         * Method to get {@link #quantity} instance <br>
+         * No-any params required
+         *
+         * @return {@link #quantity} instance as {@link FixedDecimal}
+         */
+        public FixedDecimal getQuantityDecimal() {
+            return quantity;
         }
 
         /**
@@ -1,13 +1,12 @@
 package com.tecknobit.binancemanager.managers.market.records.stats;
 
 import com.tecknobit.apimanager.formatters.TimeFormatter;
+import com.tecknobit.binancemanager.managers.records.FixedDecimal;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.Date;
 
-import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
-
 /**
  * The {@code Candlestick} class is useful to format a candlestick object
  * @apiNote see the official documentation at:
@@ -33,27 +32,27 @@ public class Candlestick {
     /**
      * {@code open} is instance that contains open price of the candlestick
      */
-    private final double open;
+    private final FixedDecimal open;
 
     /**
      * {@code high} is instance that contains high price of the candlestick
      */
-    private final double high;
+    private final FixedDecimal high;
 
     /**
      * {@code low} is instance that contains low price of the candlestick
      */
-    private final double low;
+    private final FixedDecimal low;
 
     /**
      * {@code close} is instance that contains close price of the candlestick
      */
-    private final double close;
+    private final FixedDecimal close;
 
     /**
      * {@code volume} is instance that contains volume of the candlestick
      */
-    private final double volume;
+    private final FixedDecimal volume;
 
     /**
      * {@code closeTime} is instance that contains close time of the candlestick
@@ -63,7 +62,7 @@ public class Candlestick {
     /**
      * {@code quoteAssetVolume} is instance that contains quote asset volume of the candlestick
      */
-    private final double quoteAssetVolume;
+    private final FixedDecimal quoteAssetVolume;
 
     /**
      * {@code numberOfTrades} is instance that contains count number of trades of the candlestick
@@ -73,17 +72,17 @@ public class Candlestick {
     /**
      * {@code takerBuyBaseAssetVolume} is instance that contains taker buy base asset volume of the candlestick
      */
-    private final double takerBuyBaseAssetVolume;
+    private final FixedDecimal takerBuyBaseAssetVolume;
 
     /**
      * {@code takerBuyQuoteAssetVolume} is instance that contains taker buy quote asset volume of the candlestick
      */
-    private final double takerBuyQuoteAssetVolume;
+    private final FixedDecimal takerBuyQuoteAssetVolume;
 
     /**
      * {@code valueToIgnore} is instance that contains value to ignore of the candlestick
      */
-    private final double valueToIgnore;
+    private final FixedDecimal valueToIgnore;
 
     /**
      * Constructor to init {@link Candlestick} object
@@ -103,6 +102,31 @@ public class Candlestick {
     public Candlestick(long openTime, double open, double high, double low, double close, double volume, long closeTime,
                        double quoteAssetVolume, int numberOfTrades, double takerBuyBaseAssetVolume,
                        double takerBuyQuoteAssetVolume, double valueToIgnore) {
+        this(openTime, FixedDecimal.valueOf(open), FixedDecimal.valueOf(high), FixedDecimal.valueOf(low),
+                FixedDecimal.valueOf(close), FixedDecimal.valueOf(volume), closeTime,
+                FixedDecimal.valueOf(quoteAssetVolume), numberOfTrades, FixedDecimal.valueOf(takerBuyBaseAssetVolume),
+                FixedDecimal.valueOf(takerBuyQuoteAssetVolume), FixedDecimal.valueOf(valueToIgnore));
+    }
+
+    /**
+     * Constructor to init {@link Candlestick} object
+     * @param openTime: open time of the candlestick
+     * @param open: open price of the candlestick
+     * @param high: high price of the candlestick
+     * @param low: low price of the candlestick
+     * @param close: close price of the candlestick
+     * @param volume: volume of the candlestick
+     * @param closeTime: close time of the candlestick
+     * @param quoteAssetVolume: quote asset volume of the candlestick
+     * @param numberOfTrades: number of trades of the candlestick
+     * @param takerBuyBaseAssetVolume: taker buy base asset volume of the candlestick
+     * @param takerBuyQuoteAssetVolume: taker buy quote asset volume of the candlestick
+     * @param valueToIgnore: value to ignore of the candlestick
+     */
+    public Candlestick(long openTime, FixedDecimal open, FixedDecimal high, FixedDecimal low, FixedDecimal close,
+                       FixedDecimal volume, long closeTime, FixedDecimal quoteAssetVolume, int numberOfTrades,
+                       FixedDecimal takerBuyBaseAssetVolume, FixedDecimal takerBuyQuoteAssetVolume,
+                       FixedDecimal valueToIgnore) {
         this.openTime = openTime;
         this.open = open;
         this.high = high;
@@ -123,10 +147,12 @@ public class Candlestick {
      * @param candlestick: candlestick details as {@link JSONArray}
      */
     public Candlestick(JSONArray candlestick) {
-        this(candlestick.getLong(0), candlestick.getDouble(1), candlestick.getDouble(2),
-                candlestick.getDouble(3), candlestick.getDouble(4), candlestick.getDouble(5),
-                candlestick.getLong(6), candlestick.getDouble(7), candlestick.getInt(8),
-                candlestick.getDouble(9), candlestick.getDouble(10), candlestick.getDouble(11));
+        this(candlestick.getLong(0), FixedDecimal.fromValue(candlestick.get(1)),
+                FixedDecimal.fromValue(candlestick.get(2)), FixedDecimal.fromValue(candlestick.get(3)),
+                FixedDecimal.fromValue(candlestick.get(4)), FixedDecimal.fromValue(candlestick.get(5)),
+                candlestick.getLong(6), FixedDecimal.fromValue(candlestick.get(7)), candlestick.getInt(8),
+                FixedDecimal.fromValue(candlestick.get(9)), FixedDecimal.fromValue(candlestick.get(10)),
+                FixedDecimal.fromValue(candlestick.get(11)));
     }
 
     /**
@@ -156,7 +182,7 @@ public class Candlestick {
      * @return {@link #open} instance as double
      */
     public double getOpen() {
-        return open;
+        return open.doubleValue();
     }
 
     /**
@@ -167,7 +193,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getOpen(int decimals) {
-        return roundValue(open, decimals);
+        return open.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #open} instance <br>
+     * No-any params required
+     *
+     * @return {@link #open} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getOpenDecimal() {
+        return open;
     }
 
     /**
@@ -177,7 +213,7 @@ public class Candlestick {
      * @return {@link #high} instance as double
      */
     public double getHigh() {
-        return high;
+        return high.doubleValue();
     }
 
     /**
@@ -188,7 +224,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getHigh(int decimals) {
-        return roundValue(high, decimals);
+        return high.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #high} instance <br>
+     * No-any params required
+     *
+     * @return {@link #high} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getHighDecimal() {
+        return high;
     }
 
     /**
@@ -198,7 +244,7 @@ public class Candlestick {
      * @return {@link #low} instance as double
      */
     public double getLow() {
-        return low;
+        return low.doubleValue();
     }
 
     /**
@@ -209,7 +255,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getLow(int decimals) {
-        return roundValue(low, decimals);
+        return low.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #low} instance <br>
+     * No-any params required
+     *
+     * @return {@link #low} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getLowDecimal() {
+        return low;
     }
 
     /**
@@ -219,7 +275,7 @@ public class Candlestick {
      * @return {@link #close} instance as double
      */
     public double getClose() {
-        return close;
+        return close.doubleValue();
     }
 
     /**
@@ -230,7 +286,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getClose(int decimals) {
-        return roundValue(close, decimals);
+        return close.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #close} instance <br>
+     * No-any params required
+     *
+     * @return {@link #close} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getCloseDecimal() {
+        return close;
     }
 
     /**
@@ -240,7 +306,7 @@ public class Candlestick {
      * @return {@link #volume} instance as double
      */
     public double getVolume() {
-        return volume;
+        return volume.doubleValue();
     }
 
     /**
@@ -251,7 +317,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getVolume(int decimals) {
-        return roundValue(volume, decimals);
+        return volume.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #volume} instance <br>
+     * No-any params required
+     *
+     * @return {@link #volume} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getVolumeDecimal() {
+        return volume;
     }
 
     /**
@@ -271,7 +347,7 @@ public class Candlestick {
      * @return {@link #quoteAssetVolume} instance as double
      */
     public double getQuoteAssetVolume() {
-        return quoteAssetVolume;
+        return quoteAssetVolume.doubleValue();
     }
 
     /**
@@ -282,7 +358,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getQuoteAssetVolume(int decimals) {
-        return roundValue(quoteAssetVolume, decimals);
+        return quoteAssetVolume.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #quoteAssetVolume} instance <br>
+     * No-any params required
+     *
+     * @return {@link #quoteAssetVolume} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getQuoteAssetVolumeDecimal() {
+        return quoteAssetVolume;
     }
 
     /**
@@ -302,7 +388,7 @@ public class Candlestick {
      * @return {@link #takerBuyBaseAssetVolume} instance as double
      */
     public double getTakerBuyBaseAssetVolume() {
-        return takerBuyBaseAssetVolume;
+        return takerBuyBaseAssetVolume.doubleValue();
     }
 
     /**
@@ -313,7 +399,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getTakerBuyBaseAssetVolume(int decimals) {
-        return roundValue(takerBuyBaseAssetVolume, decimals);
+        return takerBuyBaseAssetVolume.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #takerBuyBaseAssetVolume} instance <br>
+     * No-any params required
+     *
+     * @return {@link #takerBuyBaseAssetVolume} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getTakerBuyBaseAssetVolumeDecimal() {
+        return takerBuyBaseAssetVolume;
     }
 
     /**
@@ -323,7 +419,7 @@ public class Candlestick {
      * @return {@link #takerBuyQuoteAssetVolume} instance as double
      */
     public double getTakerBuyQuoteAssetVolume() {
-        return takerBuyQuoteAssetVolume;
+        return takerBuyQuoteAssetVolume.doubleValue();
     }
 
     /**
@@ -334,7 +430,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getTakerBuyQuoteAssetVolume(int decimals) {
-        return roundValue(takerBuyQuoteAssetVolume, decimals);
+        return takerBuyQuoteAssetVolume.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #takerBuyQuoteAssetVolume} instance <br>
+     * No-any params required
+     *
+     * @return {@link #takerBuyQuoteAssetVolume} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getTakerBuyQuoteAssetVolumeDecimal() {
+        return takerBuyQuoteAssetVolume;
     }
 
     /**
@@ -344,7 +450,7 @@ public class Candlestick {
      * @return {@link #valueToIgnore} instance as double
      */
     public double getValueToIgnore() {
-        return valueToIgnore;
+        return valueToIgnore.doubleValue();
     }
 
     /**
@@ -355,7 +461,17 @@ public class Candlestick {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getValueToIgnore(int decimals) {
-        return roundValue(valueToIgnore, decimals);
+        return valueToIgnore.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #valueToIgnore} instance <br>
+     * No-any params required
+     *
+     * @return {@link #valueToIgnore} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getValueToIgnoreDecimal() {
+        return valueToIgnore;
     }
 
     /**
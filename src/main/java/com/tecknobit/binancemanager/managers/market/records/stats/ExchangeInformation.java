@@ -7,7 +7,9 @@ import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 
 import static com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation.Filter.FilterType;
 import static com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation.Filter.FilterType.valueOf;
@@ -174,7 +176,7 @@ public class ExchangeInformation {
     public <T> T getSymbols(String... symbols) {
         if (symbols != null && symbols.length > 0) {
             ArrayList<Symbol> fSymbols = new ArrayList<>();
-            ArrayList<String> lSymbols = new ArrayList<>(Arrays.stream(symbols).toList());
+            HashSet<String> lSymbols = new HashSet<>(Arrays.asList(symbols));
             for (Symbol symbol : this.symbols)
                 if (lSymbols.contains(symbol.getSymbol()))
                     fSymbols.add(symbol);
@@ -706,7 +708,10 @@ public class ExchangeInformation {
         public <T> T getFiltersList(FilterType... types) {
             if (types != null && types.length > 0) {
                 ArrayList<Filter> filters = new ArrayList<>();
-                ArrayList<FilterType> lTypes = new ArrayList<>(Arrays.stream(types).toList());
+                EnumSet<FilterType> lTypes = EnumSet.noneOf(FilterType.class);
+                for (FilterType type : types)
+                    if (type != null)
+                        lTypes.add(type);
                 for (Filter filter : this.filters)
                     if (lTypes.contains(filter.getFilterType()))
                         filters.add(filter);
@@ -887,7 +892,7 @@ public class ExchangeInformation {
         public <T> T getFilterDetails(String... valuesKey) {
             if (valuesKey != null && valuesKey.length > 0) {
                 HashMap<String, FilterDetails> filterDetails = new HashMap<>();
-                ArrayList<String> vKeys = new ArrayList<>(Arrays.stream(valuesKey).toList());
+                HashSet<String> vKeys = new HashSet<>(Arrays.asList(valuesKey));
                 for (int j = 0; j < keys.size(); j++) {
                     String key = keys.get(j);
                     if (vKeys.contains(key))
@@ -0,0 +1,975 @@
+package com.tecknobit.binancemanager.managers.market.symbols;
+
+import com.tecknobit.binancemanager.managers.market.BinanceMarketManager;
+import com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation;
+import com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation.ExchangePermission;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.JSON;
+
+/**
+ * The {@code BinanceSymbolsRegistry} class is useful to index the symbols of the {@link ExchangeInformation} <br>
+ * Each symbol is mapped to a dense int id, stable for the whole life of the registry, and the details used in the hot
+ * paths like tick size, step size, notional limits and permissions are pre-parsed in primitive arrays indexed by id, so
+ * other components can index their own arrays by symbol id instead of use maps of strings
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the registry can be refreshed in background, each refresh swaps the whole table at once, so the readers
+ * never see a partially updated table and never lock
+ */
+public class BinanceSymbolsRegistry implements Closeable {
+
+    /**
+     * {@code UNKNOWN_SYMBOL} is constant returned when a symbol is not indexed
+     */
+    public static final int UNKNOWN_SYMBOL = -1;
+
+    /**
+     * {@code TRADING_STATUS} is constant for the status of the symbols that are trading
+     */
+    public static final String TRADING_STATUS = "TRADING";
+
+    /**
+     * {@code REMOVED_STATUS} is constant for the status assigned to the symbols no more listed
+     */
+    public static final String REMOVED_STATUS = "REMOVED";
+
+    /**
+     * {@code marketManager} is instance used as model of the manager of each refresh
+     */
+    private final BinanceMarketManager marketManager;
+
+    /**
+     * {@code listeners} is instance that memorizes the listeners notified when a refresh changes the registry
+     */
+    private final CopyOnWriteArrayList<SymbolsRegistryListener> listeners;
+
+    /**
+     * {@code table} is instance that memorizes the current table of the symbols
+     */
+    private volatile SymbolsTable table;
+
+    /**
+     * {@code scheduler} is instance used to refresh the registry in background
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * {@code autoRefresh} is instance that memorizes the background refresh scheduled
+     */
+    private ScheduledFuture<?> autoRefresh;
+
+    /**
+     * Constructor to init {@link BinanceSymbolsRegistry}
+     *
+     * @param marketManager: manager used to fetch the exchange information
+     * @throws IOException when request has been go wrong
+     */
+    public BinanceSymbolsRegistry(BinanceMarketManager marketManager) throws IOException {
+        this.marketManager = marketManager;
+        listeners = new CopyOnWriteArrayList<>();
+        table = new SymbolsTable(new HashMap<>(), new String[0]);
+        refresh();
+    }
+
+    /**
+     * Constructor to init {@link BinanceSymbolsRegistry}
+     *
+     * @param exchangeInfo: exchange information details as {@link JSONObject}
+     * @apiNote a registry created with this constructor can be refreshed only with {@link #refresh(JSONObject)}
+     */
+    public BinanceSymbolsRegistry(JSONObject exchangeInfo) {
+        marketManager = null;
+        listeners = new CopyOnWriteArrayList<>();
+        table = new SymbolsTable(new HashMap<>(), new String[0]);
+        refresh(exchangeInfo);
+    }
+
+    /**
+     * Method to fetch the exchange information and refresh the registry <br>
+     * No-any params required
+     *
+     * @return whether the refresh changed the registry as boolean
+     * @throws IOException when request has been go wrong
+     */
+    public boolean refresh() throws IOException {
+        if (marketManager == null)
+            throw new IllegalStateException("The registry has not a market manager to fetch the exchange information");
+        return refresh(new BinanceMarketManager(marketManager).getExchangeInformation(JSON));
+    }
+
+    /**
+     * Method to refresh the registry with an exchange information <br>
+     * The ids of the symbols already indexed are kept, the new symbols receive the next free ids and the symbols no
+     * more listed are kept with the {@code "REMOVED"} status
+     *
+     * @param exchangeInfo: exchange information details as {@link JSONObject}
+     * @return whether the refresh changed the registry as boolean
+     */
+    public synchronized boolean refresh(JSONObject exchangeInfo) {
+        SymbolsTable current = table;
+        JSONArray jSymbols = exchangeInfo.optJSONArray("symbols");
+        if (jSymbols == null)
+            jSymbols = new JSONArray();
+        HashMap<String, Integer> ids = new HashMap<>(current.ids);
+        ArrayList<String> names = new ArrayList<>(Arrays.asList(current.names));
+        for (int j = 0; j < jSymbols.length(); j++) {
+            String symbol = jSymbols.getJSONObject(j).getString("symbol");
+            if (!ids.containsKey(symbol)) {
+                ids.put(symbol, names.size());
+                names.add(symbol);
+            }
+        }
+        SymbolsTable updated = new SymbolsTable(ids, names.toArray(new String[0]));
+        boolean[] listed = new boolean[updated.names.length];
+        for (int j = 0; j < jSymbols.length(); j++) {
+            JSONObject jSymbol = jSymbols.getJSONObject(j);
+            int id = ids.get(jSymbol.getString("symbol"));
+            updated.load(id, jSymbol);
+            listed[id] = true;
+        }
+        ArrayList<Integer> added = new ArrayList<>();
+        ArrayList<Integer> changed = new ArrayList<>();
+        ArrayList<Integer> removed = new ArrayList<>();
+        for (int id = 0; id < updated.names.length; id++) {
+            if (id >= current.names.length)
+                added.add(id);
+            else if (!listed[id]) {
+                updated.copy(current, id);
+                if (!REMOVED_STATUS.equals(current.statuses[id])) {
+                    updated.statuses[id] = REMOVED_STATUS;
+                    removed.add(id);
+                }
+            } else if (!updated.sameAs(current, id))
+                changed.add(id);
+        }
+        table = updated;
+        boolean hasChanged = !added.isEmpty() || !changed.isEmpty() || !removed.isEmpty();
+        if (hasChanged && current.names.length > 0) {
+            int[] addedIds = toArray(added);
+            int[] changedIds = toArray(changed);
+            int[] removedIds = toArray(removed);
+            for (SymbolsRegistryListener listener : listeners)
+                listener.onSymbolsChanged(this, addedIds, changedIds, removedIds);
+        }
+        return hasChanged;
+    }
+
+    /**
+     * Method to start the background refresh of the registry
+     *
+     * @param period: period between the refreshes
+     * @param unit:   unit of the period
+     * @apiNote the exchange information request has a high weight, so use a period of minutes or hours
+     */
+    public synchronized void startAutoRefresh(long period, TimeUnit unit) {
+        stopAutoRefresh();
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "binance-symbols-registry");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        autoRefresh = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                for (SymbolsRegistryListener listener : listeners)
+                    listener.onRefreshFailed(this, e);
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Method to stop the background refresh of the registry <br>
+     * No-any params required
+     */
+    public synchronized void stopAutoRefresh() {
+        if (autoRefresh != null) {
+            autoRefresh.cancel(false);
+            autoRefresh = null;
+        }
+    }
+
+    /**
+     * Method to stop the background refresh and release its thread <br>
+     * No-any params required
+     */
+    @Override
+    public synchronized void close() {
+        stopAutoRefresh();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Method to add a listener notified when a refresh changes the registry
+     *
+     * @param listener: listener to add
+     */
+    public void addListener(SymbolsRegistryListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Method to remove a listener
+     *
+     * @param listener: listener to remove
+     */
+    public void removeListener(SymbolsRegistryListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Method to get the number of ids assigned, the arrays indexed by symbol id must be at least this large <br>
+     * No-any params required
+     *
+     * @return number of ids assigned as int
+     */
+    public int size() {
+        return table.names.length;
+    }
+
+    /**
+     * Method to get the id of a symbol
+     *
+     * @param symbol: symbol to fetch the id es. BTCBUSD
+     * @return id of the symbol as int, {@link #UNKNOWN_SYMBOL} if the symbol is not indexed
+     */
+    public int getId(String symbol) {
+        Integer id = table.ids.get(symbol);
+        if (id == null)
+            return UNKNOWN_SYMBOL;
+        return id;
+    }
+
+    /**
+     * Method to get the id of a symbol
+     *
+     * @param symbol: symbol to fetch the id es. BTCBUSD
+     * @return id of the symbol as int
+     * @throws IllegalArgumentException when the symbol is not indexed
+     */
+    public int requireId(String symbol) {
+        int id = getId(symbol);
+        if (id == UNKNOWN_SYMBOL)
+            throw new IllegalArgumentException("Symbol " + symbol + " is not listed");
+        return id;
+    }
+
+    /**
+     * Method to get the symbol of an id
+     *
+     * @param id: id of the symbol
+     * @return symbol as {@link String}
+     */
+    public String getSymbol(int id) {
+        return table.names[id];
+    }
+
+    /**
+     * Method to get the status of a symbol
+     *
+     * @param id: id of the symbol
+     * @return status of the symbol as {@link String}, {@code "REMOVED"} if the symbol is no more listed
+     */
+    public String getStatus(int id) {
+        return table.statuses[id];
+    }
+
+    /**
+     * Method to get whether a symbol is trading
+     *
+     * @param id: id of the symbol
+     * @return whether the symbol is trading as boolean
+     */
+    public boolean isTrading(int id) {
+        return TRADING_STATUS.equals(table.statuses[id]);
+    }
+
+    /**
+     * Method to get the base asset of a symbol
+     *
+     * @param id: id of the symbol
+     * @return base asset as {@link String}
+     */
+    public String getBaseAsset(int id) {
+        return table.baseAssets[id];
+    }
+
+    /**
+     * Method to get the quote asset of a symbol
+     *
+     * @param id: id of the symbol
+     * @return quote asset as {@link String}
+     */
+    public String getQuoteAsset(int id) {
+        return table.quoteAssets[id];
+    }
+
+    /**
+     * Method to get the base asset precision of a symbol
+     *
+     * @param id: id of the symbol
+     * @return base asset precision as int
+     */
+    public int getBaseAssetPrecision(int id) {
+        return table.baseAssetPrecisions[id];
+    }
+
+    /**
+     * Method to get the quote asset precision of a symbol
+     *
+     * @param id: id of the symbol
+     * @return quote asset precision as int
+     */
+    public int getQuoteAssetPrecision(int id) {
+        return table.quoteAssetPrecisions[id];
+    }
+
+    /**
+     * Method to get the permissions of a symbol as a bitmask, the bit of each permission is its
+     * {@link ExchangePermission#ordinal()}
+     *
+     * @param id: id of the symbol
+     * @return permissions as int bitmask
+     */
+    public int getPermissions(int id) {
+        return table.permissions[id];
+    }
+
+    /**
+     * Method to get whether a symbol has a permission
+     *
+     * @param id:         id of the symbol
+     * @param permission: permission to check
+     * @return whether the symbol has the permission as boolean
+     */
+    public boolean hasPermission(int id, ExchangePermission permission) {
+        return (table.permissions[id] & (1 << permission.ordinal())) != 0;
+    }
+
+    /**
+     * Method to get whether the oco orders are allowed for a symbol
+     *
+     * @param id: id of the symbol
+     * @return whether the oco orders are allowed as boolean
+     */
+    public boolean isOcoAllowed(int id) {
+        return table.ocoAllowed[id];
+    }
+
+    /**
+     * Method to get whether the market orders with the quote quantity are allowed for a symbol
+     *
+     * @param id: id of the symbol
+     * @return whether the market orders with the quote quantity are allowed as boolean
+     */
+    public boolean isQuoteOrderQtyMarketAllowed(int id) {
+        return table.quoteOrderQtyMarketAllowed[id];
+    }
+
+    /**
+     * Method to get the tick size of the {@code "PRICE_FILTER"} of a symbol
+     *
+     * @param id: id of the symbol
+     * @return tick size as double, 0 if the filter is disabled
+     */
+    public double getTickSize(int id) {
+        return table.tickSizes[id];
+    }
+
+    /**
+     * Method to get the min price of the {@code "PRICE_FILTER"} of a symbol
+     *
+     * @param id: id of the symbol
+     * @return min price as double, 0 if the filter is disabled
+     */
+    public double getMinPrice(int id) {
+        return table.minPrices[id];
+    }
+
+    /**
+     * Method to get the max price of the {@code "PRICE_FILTER"} of a symbol
+     *
+     * @param id: id of the symbol
+     * @return max price as double, 0 if the filter is disabled
+     */
+    public double getMaxPrice(int id) {
+        return table.maxPrices[id];
+    }
+
+    /**
+     * Method to get the step size of the {@code "LOT_SIZE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return step size as double
+     */
+    public double getStepSize(int id) {
+        return table.stepSizes[id];
+    }
+
+    /**
+     * Method to get the min quantity of the {@code "LOT_SIZE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return min quantity as double
+     */
+    public double getMinQty(int id) {
+        return table.minQuantities[id];
+    }
+
+    /**
+     * Method to get the max quantity of the {@code "LOT_SIZE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return max quantity as double
+     */
+    public double getMaxQty(int id) {
+        return table.maxQuantities[id];
+    }
+
+    /**
+     * Method to get the step size of the {@code "MARKET_LOT_SIZE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return step size as double, 0 if the filter is not set
+     */
+    public double getMarketStepSize(int id) {
+        return table.marketStepSizes[id];
+    }
+
+    /**
+     * Method to get the min quantity of the {@code "MARKET_LOT_SIZE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return min quantity as double, 0 if the filter is not set
+     */
+    public double getMarketMinQty(int id) {
+        return table.marketMinQuantities[id];
+    }
+
+    /**
+     * Method to get the max quantity of the {@code "MARKET_LOT_SIZE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return max quantity as double, 0 if the filter is not set
+     */
+    public double getMarketMaxQty(int id) {
+        return table.marketMaxQuantities[id];
+    }
+
+    /**
+     * Method to get the min notional of a symbol, from the {@code "NOTIONAL"} filter or from the {@code "MIN_NOTIONAL"}
+     * filter
+     *
+     * @param id: id of the symbol
+     * @return min notional as double, 0 if the filters are not set
+     */
+    public double getMinNotional(int id) {
+        return table.minNotionals[id];
+    }
+
+    /**
+     * Method to get the max notional of the {@code "NOTIONAL"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return max notional as double, 0 if the filter is not set
+     */
+    public double getMaxNotional(int id) {
+        return table.maxNotionals[id];
+    }
+
+    /**
+     * Method to get whether the min notional is applied to the market orders of a symbol
+     *
+     * @param id: id of the symbol
+     * @return whether the min notional is applied to the market orders as boolean
+     */
+    public boolean isMinNotionalAppliedToMarket(int id) {
+        return table.applyMinToMarket[id];
+    }
+
+    /**
+     * Method to get whether the max notional is applied to the market orders of a symbol
+     *
+     * @param id: id of the symbol
+     * @return whether the max notional is applied to the market orders as boolean
+     */
+    public boolean isMaxNotionalAppliedToMarket(int id) {
+        return table.applyMaxToMarket[id];
+    }
+
+    /**
+     * Method to get the minutes of the average price used by the notional and percent price filters of a symbol
+     *
+     * @param id: id of the symbol
+     * @return average price minutes as int, 0 if the filters are not set
+     */
+    public int getAveragePriceMins(int id) {
+        return table.averagePriceMins[id];
+    }
+
+    /**
+     * Method to get the multiplier up of the {@code "PERCENT_PRICE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return multiplier up as double, 0 if the filter is not set
+     */
+    public double getMultiplierUp(int id) {
+        return table.multipliersUp[id];
+    }
+
+    /**
+     * Method to get the multiplier down of the {@code "PERCENT_PRICE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return multiplier down as double, 0 if the filter is not set
+     */
+    public double getMultiplierDown(int id) {
+        return table.multipliersDown[id];
+    }
+
+    /**
+     * Method to get the bid multiplier up of the {@code "PERCENT_PRICE_BY_SIDE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return bid multiplier up as double, 0 if the filter is not set
+     */
+    public double getBidMultiplierUp(int id) {
+        return table.bidMultipliersUp[id];
+    }
+
+    /**
+     * Method to get the bid multiplier down of the {@code "PERCENT_PRICE_BY_SIDE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return bid multiplier down as double, 0 if the filter is not set
+     */
+    public double getBidMultiplierDown(int id) {
+        return table.bidMultipliersDown[id];
+    }
+
+    /**
+     * Method to get the ask multiplier up of the {@code "PERCENT_PRICE_BY_SIDE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return ask multiplier up as double, 0 if the filter is not set
+     */
+    public double getAskMultiplierUp(int id) {
+        return table.askMultipliersUp[id];
+    }
+
+    /**
+     * Method to get the ask multiplier down of the {@code "PERCENT_PRICE_BY_SIDE"} filter of a symbol
+     *
+     * @param id: id of the symbol
+     * @return ask multiplier down as double, 0 if the filter is not set
+     */
+    public double getAskMultiplierDown(int id) {
+        return table.askMultipliersDown[id];
+    }
+
+    /**
+     * Method to convert a list of ids to an array
+     *
+     * @param ids: list of ids to convert
+     * @return ids as int array
+     */
+    private static int[] toArray(ArrayList<Integer> ids) {
+        int[] array = new int[ids.size()];
+        for (int j = 0; j < array.length; j++)
+            array[j] = ids.get(j);
+        return array;
+    }
+
+    /**
+     * The {@code SymbolsRegistryListener} interface is useful to be notified when a refresh changes the registry
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    public interface SymbolsRegistryListener {
+
+        /**
+         * Method invoked when a refresh changes the registry
+         *
+         * @param registry: registry refreshed
+         * @param added:    ids of the symbols added
+         * @param changed:  ids of the symbols with changed details
+         * @param removed:  ids of the symbols no more listed
+         */
+        void onSymbolsChanged(BinanceSymbolsRegistry registry, int[] added, int[] changed, int[] removed);
+
+        /**
+         * Method invoked when a background refresh fails
+         *
+         * @param registry: registry not refreshed
+         * @param e:        exception occurred
+         */
+        default void onRefreshFailed(BinanceSymbolsRegistry registry, Exception e) {
+        }
+
+    }
+
+    /**
+     * The {@code SymbolsTable} class is useful to store the details of the symbols in primitive arrays indexed by id
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private static class SymbolsTable {
+
+        /**
+         * {@code ids} is instance that memorizes the ids of the symbols
+         */
+        private final HashMap<String, Integer> ids;
+
+        /**
+         * {@code names} is instance that memorizes the symbols indexed by id
+         */
+        private final String[] names;
+
+        /**
+         * {@code statuses} is instance that memorizes the statuses of the symbols
+         */
+        private final String[] statuses;
+
+        /**
+         * {@code baseAssets} is instance that memorizes the base assets of the symbols
+         */
+        private final String[] baseAssets;
+
+        /**
+         * {@code quoteAssets} is instance that memorizes the quote assets of the symbols
+         */
+        private final String[] quoteAssets;
+
+        /**
+         * {@code baseAssetPrecisions} is instance that memorizes the base asset precisions of the symbols
+         */
+        private final int[] baseAssetPrecisions;
+
+        /**
+         * {@code quoteAssetPrecisions} is instance that memorizes the quote asset precisions of the symbols
+         */
+        private final int[] quoteAssetPrecisions;
+
+        /**
+         * {@code permissions} is instance that memorizes the permissions bitmasks of the symbols
+         */
+        private final int[] permissions;
+
+        /**
+         * {@code ocoAllowed} is instance that memorizes whether the oco orders are allowed for the symbols
+         */
+        private final boolean[] ocoAllowed;
+
+        /**
+         * {@code quoteOrderQtyMarketAllowed} is instance that memorizes whether the market orders with quote quantity
+         * are allowed for the symbols
+         */
+        private final boolean[] quoteOrderQtyMarketAllowed;
+
+        /**
+         * {@code tickSizes} is instance that memorizes the tick sizes of the symbols
+         */
+        private final double[] tickSizes;
+
+        /**
+         * {@code minPrices} is instance that memorizes the min prices of the symbols
+         */
+        private final double[] minPrices;
+
+        /**
+         * {@code maxPrices} is instance that memorizes the max prices of the symbols
+         */
+        private final double[] maxPrices;
+
+        /**
+         * {@code stepSizes} is instance that memorizes the step sizes of the symbols
+         */
+        private final double[] stepSizes;
+
+        /**
+         * {@code minQuantities} is instance that memorizes the min quantities of the symbols
+         */
+        private final double[] minQuantities;
+
+        /**
+         * {@code maxQuantities} is instance that memorizes the max quantities of the symbols
+         */
+        private final double[] maxQuantities;
+
+        /**
+         * {@code marketStepSizes} is instance that memorizes the market step sizes of the symbols
+         */
+        private final double[] marketStepSizes;
+
+        /**
+         * {@code marketMinQuantities} is instance that memorizes the market min quantities of the symbols
+         */
+        private final double[] marketMinQuantities;
+
+        /**
+         * {@code marketMaxQuantities} is instance that memorizes the market max quantities of the symbols
+         */
+        private final double[] marketMaxQuantities;
+
+        /**
+         * {@code minNotionals} is instance that memorizes the min notionals of the symbols
+         */
+        private final double[] minNotionals;
+
+        /**
+         * {@code maxNotionals} is instance that memorizes the max notionals of the symbols
+         */
+        private final double[] maxNotionals;
+
+        /**
+         * {@code applyMinToMarket} is instance that memorizes whether the min notional is applied to market orders
+         */
+        private final boolean[] applyMinToMarket;
+
+        /**
+         * {@code applyMaxToMarket} is instance that memorizes whether the max notional is applied to market orders
+         */
+        private final boolean[] applyMaxToMarket;
+
+        /**
+         * {@code averagePriceMins} is instance that memorizes the average price minutes of the symbols
+         */
+        private final int[] averagePriceMins;
+
+        /**
+         * {@code multipliersUp} is instance that memorizes the percent price multipliers up of the symbols
+         */
+        private final double[] multipliersUp;
+
+        /**
+         * {@code multipliersDown} is instance that memorizes the percent price multipliers down of the symbols
+         */
+        private final double[] multipliersDown;
+
+        /**
+         * {@code bidMultipliersUp} is instance that memorizes the percent price by side bid multipliers up
+         */
+        private final double[] bidMultipliersUp;
+
+        /**
+         * {@code bidMultipliersDown} is instance that memorizes the percent price by side bid multipliers down
+         */
+        private final double[] bidMultipliersDown;
+
+        /**
+         * {@code askMultipliersUp} is instance that memorizes the percent price by side ask multipliers up
+         */
+        private final double[] askMultipliersUp;
+
+        /**
+         * {@code askMultipliersDown} is instance that memorizes the percent price by side ask multipliers down
+         */
+        private final double[] askMultipliersDown;
+
+        /**
+         * Constructor to init {@link SymbolsTable}
+         *
+         * @param ids:   ids of the symbols
+         * @param names: symbols indexed by id
+         */
+        private SymbolsTable(HashMap<String, Integer> ids, String[] names) {
+            this.ids = ids;
+            this.names = names;
+            int size = names.length;
+            statuses = new String[size];
+            baseAssets = new String[size];
+            quoteAssets = new String[size];
+            baseAssetPrecisions = new int[size];
+            quoteAssetPrecisions = new int[size];
+            permissions = new int[size];
+            ocoAllowed = new boolean[size];
+            quoteOrderQtyMarketAllowed = new boolean[size];
+            tickSizes = new double[size];
+            minPrices = new double[size];
+            maxPrices = new double[size];
+            stepSizes = new double[size];
+            minQuantities = new double[size];
+            maxQuantities = new double[size];
+            marketStepSizes = new double[size];
+            marketMinQuantities = new double[size];
+            marketMaxQuantities = new double[size];
+            minNotionals = new double[size];
+            maxNotionals = new double[size];
+            applyMinToMarket = new boolean[size];
+            applyMaxToMarket = new boolean[size];
+            averagePriceMins = new int[size];
+            multipliersUp = new double[size];
+            multipliersDown = new double[size];
+            bidMultipliersUp = new double[size];
+            bidMultipliersDown = new double[size];
+            askMultipliersUp = new double[size];
+            askMultipliersDown = new double[size];
+        }
+
+        /**
+         * Method to load the details of a symbol
+         *
+         * @param id:      id of the symbol
+         * @param jSymbol: symbol details as {@link JSONObject}
+         */
+        private void load(int id, JSONObject jSymbol) {
+            statuses[id] = jSymbol.optString("status");
+            baseAssets[id] = jSymbol.optString("baseAsset");
+            quoteAssets[id] = jSymbol.optString("quoteAsset");
+            baseAssetPrecisions[id] = jSymbol.optInt("baseAssetPrecision");
+            quoteAssetPrecisions[id] = jSymbol.optInt("quoteAssetPrecision");
+            ocoAllowed[id] = jSymbol.optBoolean("ocoAllowed");
+            quoteOrderQtyMarketAllowed[id] = jSymbol.optBoolean("quoteOrderQtyMarketAllowed");
+            JSONArray jPermissions = jSymbol.optJSONArray("permissions");
+            if (jPermissions != null) {
+                for (int j = 0; j < jPermissions.length(); j++) {
+                    String permission = jPermissions.getString(j);
+                    for (ExchangePermission exchangePermission : ExchangePermission.values())
+                        if (exchangePermission.name().equals(permission))
+                            permissions[id] |= 1 << exchangePermission.ordinal();
+                }
+            }
+            JSONArray jFilters = jSymbol.optJSONArray("filters");
+            if (jFilters == null)
+                return;
+            for (int j = 0; j < jFilters.length(); j++) {
+                JSONObject filter = jFilters.getJSONObject(j);
+                switch (filter.getString("filterType")) {
+                    case "PRICE_FILTER" -> {
+                        tickSizes[id] = filter.optDouble("tickSize", 0);
+                        minPrices[id] = filter.optDouble("minPrice", 0);
+                        maxPrices[id] = filter.optDouble("maxPrice", 0);
+                    }
+                    case "LOT_SIZE" -> {
+                        stepSizes[id] = filter.optDouble("stepSize", 0);
+                        minQuantities[id] = filter.optDouble("minQty", 0);
+                        maxQuantities[id] = filter.optDouble("maxQty", 0);
+                    }
+                    case "MARKET_LOT_SIZE" -> {
+                        marketStepSizes[id] = filter.optDouble("stepSize", 0);
+                        marketMinQuantities[id] = filter.optDouble("minQty", 0);
+                        marketMaxQuantities[id] = filter.optDouble("maxQty", 0);
+                    }
+                    case "MIN_NOTIONAL" -> {
+                        if (minNotionals[id] == 0)
+                            minNotionals[id] = filter.optDouble("minNotional", 0);
+                        applyMinToMarket[id] = filter.optBoolean("applyToMarket");
+                        averagePriceMins[id] = filter.optInt("avgPriceMins", averagePriceMins[id]);
+                    }
+                    case "NOTIONAL" -> {
+                        minNotionals[id] = filter.optDouble("minNotional", 0);
+                        maxNotionals[id] = filter.optDouble("maxNotional", 0);
+                        applyMinToMarket[id] = filter.optBoolean("applyMinToMarket");
+                        applyMaxToMarket[id] = filter.optBoolean("applyMaxToMarket");
+                        averagePriceMins[id] = filter.optInt("avgPriceMins", averagePriceMins[id]);
+                    }
+                    case "PERCENT_PRICE" -> {
+                        multipliersUp[id] = filter.optDouble("multiplierUp", 0);
+                        multipliersDown[id] = filter.optDouble("multiplierDown", 0);
+                        averagePriceMins[id] = filter.optInt("avgPriceMins", averagePriceMins[id]);
+                    }
+                    case "PERCENT_PRICE_BY_SIDE" -> {
+                        bidMultipliersUp[id] = filter.optDouble("bidMultiplierUp", 0);
+                        bidMultipliersDown[id] = filter.optDouble("bidMultiplierDown", 0);
+                        askMultipliersUp[id] = filter.optDouble("askMultiplierUp", 0);
+                        askMultipliersDown[id] = filter.optDouble("askMultiplierDown", 0);
+                        averagePriceMins[id] = filter.optInt("avgPriceMins", averagePriceMins[id]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Method to copy the details of a symbol from another table
+         *
+         * @param source: table from copy the details
+         * @param id:     id of the symbol
+         */
+        private void copy(SymbolsTable source, int id) {
+            statuses[id] = source.statuses[id];
+            baseAssets[id] = source.baseAssets[id];
+            quoteAssets[id] = source.quoteAssets[id];
+            baseAssetPrecisions[id] = source.baseAssetPrecisions[id];
+            quoteAssetPrecisions[id] = source.quoteAssetPrecisions[id];
+            permissions[id] = source.permissions[id];
+            ocoAllowed[id] = source.ocoAllowed[id];
+            quoteOrderQtyMarketAllowed[id] = source.quoteOrderQtyMarketAllowed[id];
+            tickSizes[id] = source.tickSizes[id];
+            minPrices[id] = source.minPrices[id];
+            maxPrices[id] = source.maxPrices[id];
+            stepSizes[id] = source.stepSizes[id];
+            minQuantities[id] = source.minQuantities[id];
+            maxQuantities[id] = source.maxQuantities[id];
+            marketStepSizes[id] = source.marketStepSizes[id];
+            marketMinQuantities[id] = source.marketMinQuantities[id];
+            marketMaxQuantities[id] = source.marketMaxQuantities[id];
+            minNotionals[id] = source.minNotionals[id];
+            maxNotionals[id] = source.maxNotionals[id];
+            applyMinToMarket[id] = source.applyMinToMarket[id];
+            applyMaxToMarket[id] = source.applyMaxToMarket[id];
+            averagePriceMins[id] = source.averagePriceMins[id];
+            multipliersUp[id] = source.multipliersUp[id];
+            multipliersDown[id] = source.multipliersDown[id];
+            bidMultipliersUp[id] = source.bidMultipliersUp[id];
+            bidMultipliersDown[id] = source.bidMultipliersDown[id];
+            askMultipliersUp[id] = source.askMultipliersUp[id];
+            askMultipliersDown[id] = source.askMultipliersDown[id];
+        }
+
+        /**
+         * Method to compare the details of a symbol with another table
+         *
+         * @param other: table to compare
+         * @param id:    id of the symbol
+         * @return whether the details are the same as boolean
+         */
+        private boolean sameAs(SymbolsTable other, int id) {
+            return statuses[id].equals(other.statuses[id])
+                    && permissions[id] == other.permissions[id]
+                    && ocoAllowed[id] == other.ocoAllowed[id]
+                    && quoteOrderQtyMarketAllowed[id] == other.quoteOrderQtyMarketAllowed[id]
+                    && baseAssetPrecisions[id] == other.baseAssetPrecisions[id]
+                    && quoteAssetPrecisions[id] == other.quoteAssetPrecisions[id]
+                    && tickSizes[id] == other.tickSizes[id]
+                    && minPrices[id] == other.minPrices[id]
+                    && maxPrices[id] == other.maxPrices[id]
+                    && stepSizes[id] == other.stepSizes[id]
+                    && minQuantities[id] == other.minQuantities[id]
+                    && maxQuantities[id] == other.maxQuantities[id]
+                    && marketStepSizes[id] == other.marketStepSizes[id]
+                    && marketMinQuantities[id] == other.marketMinQuantities[id]
+                    && marketMaxQuantities[id] == other.marketMaxQuantities[id]
+                    && minNotionals[id] == other.minNotionals[id]
+                    && maxNotionals[id] == other.maxNotionals[id]
+                    && applyMinToMarket[id] == other.applyMinToMarket[id]
+                    && applyMaxToMarket[id] == other.applyMaxToMarket[id]
+                    && averagePriceMins[id] == other.averagePriceMins[id]
+                    && multipliersUp[id] == other.multipliersUp[id]
+                    && multipliersDown[id] == other.multipliersDown[id]
+                    && bidMultipliersUp[id] == other.bidMultipliersUp[id]
+                    && bidMultipliersDown[id] == other.bidMultipliersDown[id]
+                    && askMultipliersUp[id] == other.askMultipliersUp[id]
+                    && askMultipliersDown[id] == other.askMultipliersDown[id];
+        }
+
+    }
+
+}
@@ -0,0 +1,267 @@
+package com.tecknobit.binancemanager.managers.market.trades;
+
+import java.util.Arrays;
+
+/**
+ * The {@code AggTradesColumnarBuffer} class is useful to collect the aggregate trades downloaded by a
+ * {@link BinanceAggTradesDownloader} in primitive columns, one array for each field, instead of a list of objects
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public class AggTradesColumnarBuffer implements AggTradesSink {
+
+    /**
+     * {@code DEFAULT_CAPACITY} is constant for the default initial capacity of the buffer
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    /**
+     * {@code aggregateTradeIds} is instance that memorizes the aggregate trade ids column
+     */
+    private long[] aggregateTradeIds;
+
+    /**
+     * {@code prices} is instance that memorizes the prices column
+     */
+    private double[] prices;
+
+    /**
+     * {@code quantities} is instance that memorizes the quantities column
+     */
+    private double[] quantities;
+
+    /**
+     * {@code firstTradeIds} is instance that memorizes the first trade ids column
+     */
+    private long[] firstTradeIds;
+
+    /**
+     * {@code lastTradeIds} is instance that memorizes the last trade ids column
+     */
+    private long[] lastTradeIds;
+
+    /**
+     * {@code timestamps} is instance that memorizes the timestamps column
+     */
+    private long[] timestamps;
+
+    /**
+     * {@code flags} is instance that memorizes the buyer maker flag (bit 0) and the best match flag (bit 1) column
+     */
+    private byte[] flags;
+
+    /**
+     * {@code size} is instance that memorizes the number of aggregate trades collected
+     */
+    private int size;
+
+    /**
+     * Constructor to init {@link AggTradesColumnarBuffer} <br>
+     * No-any params required
+     */
+    public AggTradesColumnarBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor to init {@link AggTradesColumnarBuffer}
+     *
+     * @param capacity: initial capacity of the buffer
+     * @throws IllegalArgumentException when the capacity is not positive
+     */
+    public AggTradesColumnarBuffer(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        aggregateTradeIds = new long[capacity];
+        prices = new double[capacity];
+        quantities = new double[capacity];
+        firstTradeIds = new long[capacity];
+        lastTradeIds = new long[capacity];
+        timestamps = new long[capacity];
+        flags = new byte[capacity];
+    }
+
+    /**
+     * Method to append an aggregate trade to the columns
+     *
+     * @param aggregateTradeId: aggregate trade id
+     * @param price:            price of the aggregate trade
+     * @param quantity:         quantity of the aggregate trade
+     * @param firstTradeId:     first trade id of the aggregate trade
+     * @param lastTradeId:      last trade id of the aggregate trade
+     * @param timestamp:        timestamp of the aggregate trade
+     * @param isBuyerMaker:     whether the aggregate trade is buyer maker
+     * @param isBestMatch:      whether the aggregate trade is best match
+     */
+    @Override
+    public void onAggTrade(long aggregateTradeId, double price, double quantity, long firstTradeId, long lastTradeId,
+                           long timestamp, boolean isBuyerMaker, boolean isBestMatch) {
+        if (size == aggregateTradeIds.length)
+            grow();
+        aggregateTradeIds[size] = aggregateTradeId;
+        prices[size] = price;
+        quantities[size] = quantity;
+        firstTradeIds[size] = firstTradeId;
+        lastTradeIds[size] = lastTradeId;
+        timestamps[size] = timestamp;
+        flags[size] = (byte) ((isBuyerMaker ? 1 : 0) | (isBestMatch ? 2 : 0));
+        size++;
+    }
+
+    /**
+     * Method to enlarge the columns when they are full <br>
+     * No-any params required
+     */
+    private void grow() {
+        int capacity = aggregateTradeIds.length << 1;
+        aggregateTradeIds = Arrays.copyOf(aggregateTradeIds, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        firstTradeIds = Arrays.copyOf(firstTradeIds, capacity);
+        lastTradeIds = Arrays.copyOf(lastTradeIds, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+
+    /**
+     * Method to get {@link #size} instance <br>
+     * No-any params required
+     *
+     * @return {@link #size} instance as int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to get the aggregate trade id of a trade
+     *
+     * @param index: index of the trade
+     * @return aggregate trade id as long
+     */
+    public long getAggregateTradeId(int index) {
+        return aggregateTradeIds[checkIndex(index)];
+    }
+
+    /**
+     * Method to get the price of a trade
+     *
+     * @param index: index of the trade
+     * @return price as double
+     */
+    public double getPrice(int index) {
+        return prices[checkIndex(index)];
+    }
+
+    /**
+     * Method to get the quantity of a trade
+     *
+     * @param index: index of the trade
+     * @return quantity as double
+     */
+    public double getQuantity(int index) {
+        return quantities[checkIndex(index)];
+    }
+
+    /**
+     * Method to get the first trade id of a trade
+     *
+     * @param index: index of the trade
+     * @return first trade id as long
+     */
+    public long getFirstTradeId(int index) {
+        return firstTradeIds[checkIndex(index)];
+    }
+
+    /**
+     * Method to get the last trade id of a trade
+     *
+     * @param index: index of the trade
+     * @return last trade id as long
+     */
+    public long getLastTradeId(int index) {
+        return lastTradeIds[checkIndex(index)];
+    }
+
+    /**
+     * Method to get the timestamp of a trade
+     *
+     * @param index: index of the trade
+     * @return timestamp as long
+     */
+    public long getTimestamp(int index) {
+        return timestamps[checkIndex(index)];
+    }
+
+    /**
+     * Method to get whether a trade is buyer maker
+     *
+     * @param index: index of the trade
+     * @return whether the trade is buyer maker as boolean
+     */
+    public boolean isBuyerMaker(int index) {
+        return (flags[checkIndex(index)] & 1) != 0;
+    }
+
+    /**
+     * Method to get whether a trade is best match
+     *
+     * @param index: index of the trade
+     * @return whether the trade is best match as boolean
+     */
+    public boolean isBestMatch(int index) {
+        return (flags[checkIndex(index)] & 2) != 0;
+    }
+
+    /**
+     * Method to get a copy of the prices column trimmed to {@link #size} <br>
+     * No-any params required
+     *
+     * @return prices column as double array
+     */
+    public double[] getPrices() {
+        return Arrays.copyOf(prices, size);
+    }
+
+    /**
+     * Method to get a copy of the quantities column trimmed to {@link #size} <br>
+     * No-any params required
+     *
+     * @return quantities column as double array
+     */
+    public double[] getQuantities() {
+        return Arrays.copyOf(quantities, size);
+    }
+
+    /**
+     * Method to get a copy of the timestamps column trimmed to {@link #size} <br>
+     * No-any params required
+     *
+     * @return timestamps column as long array
+     */
+    public long[] getTimestamps() {
+        return Arrays.copyOf(timestamps, size);
+    }
+
+    /**
+     * Method to clear the buffer keeping the allocated columns <br>
+     * No-any params required
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Method to check an index of the buffer
+     *
+     * @param index: index to check
+     * @return index checked as int
+     * @throws IndexOutOfBoundsException when the index is not valid
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return index;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.tecknobit.binancemanager.managers.market.trades;
+
+import java.io.*;
+
+/**
+ * The {@code AggTradesCsvSink} class is useful to write the aggregate trades downloaded by a
+ * {@link BinanceAggTradesDownloader} in a {@code "CSV"} file
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the columns are the same of the official aggregate trade payload: {@code a,p,q,f,l,T,m,M}
+ */
+public class AggTradesCsvSink implements AggTradesSink, Closeable {
+
+    /**
+     * {@code CSV_HEADER} is constant for the header of the {@code "CSV"} file
+     */
+    public static final String CSV_HEADER = "a,p,q,f,l,T,m,M";
+
+    /**
+     * {@code writer} is instance used to write the {@code "CSV"} file
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * Constructor to init {@link AggTradesCsvSink}
+     *
+     * @param csvPath: path of the {@code "CSV"} file to create
+     * @throws IOException when the file cannot be created
+     */
+    public AggTradesCsvSink(String csvPath) throws IOException {
+        this(new FileWriter(csvPath));
+    }
+
+    /**
+     * Constructor to init {@link AggTradesCsvSink}
+     *
+     * @param writer: writer where write the aggregate trades
+     * @throws IOException when the header cannot be written
+     */
+    public AggTradesCsvSink(Writer writer) throws IOException {
+        this.writer = writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer, 1 << 16);
+        this.writer.write(CSV_HEADER);
+        this.writer.newLine();
+    }
+
+    /**
+     * Method to write an aggregate trade as a {@code "CSV"} row
+     *
+     * @param aggregateTradeId: aggregate trade id
+     * @param price:            price of the aggregate trade
+     * @param quantity:         quantity of the aggregate trade
+     * @param firstTradeId:     first trade id of the aggregate trade
+     * @param lastTradeId:      last trade id of the aggregate trade
+     * @param timestamp:        timestamp of the aggregate trade
+     * @param isBuyerMaker:     whether the aggregate trade is buyer maker
+     * @param isBestMatch:      whether the aggregate trade is best match
+     * @throws IOException when the row cannot be written
+     */
+    @Override
+    public void onAggTrade(long aggregateTradeId, double price, double quantity, long firstTradeId, long lastTradeId,
+                           long timestamp, boolean isBuyerMaker, boolean isBestMatch) throws IOException {
+        writer.write(Long.toString(aggregateTradeId));
+        writer.write(',');
+        writer.write(Double.toString(price));
+        writer.write(',');
+        writer.write(Double.toString(quantity));
+        writer.write(',');
+        writer.write(Long.toString(firstTradeId));
+        writer.write(',');
+        writer.write(Long.toString(lastTradeId));
+        writer.write(',');
+        writer.write(Long.toString(timestamp));
+        writer.write(',');
+        writer.write(isBuyerMaker ? "true" : "false");
+        writer.write(',');
+        writer.write(isBestMatch ? "true" : "false");
+        writer.newLine();
+    }
+
+    /**
+     * Method to flush and close the {@code "CSV"} file <br>
+     * No-any params required
+     *
+     * @throws IOException when the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+}
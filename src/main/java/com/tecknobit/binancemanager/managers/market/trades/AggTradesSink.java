@@ -0,0 +1,32 @@
+package com.tecknobit.binancemanager.managers.market.trades;
+
+import java.io.IOException;
+
+/**
+ * The {@code AggTradesSink} interface is useful to receive the aggregate trades downloaded by a
+ * {@link BinanceAggTradesDownloader} one at a time and in order of aggregate trade id
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the values are passed as primitives to avoid the creation of an object for each trade
+ * @see AggTradesCsvSink
+ * @see AggTradesColumnarBuffer
+ */
+public interface AggTradesSink {
+
+    /**
+     * Method to receive an aggregate trade
+     *
+     * @param aggregateTradeId: aggregate trade id
+     * @param price:            price of the aggregate trade
+     * @param quantity:         quantity of the aggregate trade
+     * @param firstTradeId:     first trade id of the aggregate trade
+     * @param lastTradeId:      last trade id of the aggregate trade
+     * @param timestamp:        timestamp of the aggregate trade
+     * @param isBuyerMaker:     whether the aggregate trade is buyer maker
+     * @param isBestMatch:      whether the aggregate trade is best match
+     * @throws IOException when the aggregate trade cannot be handled
+     */
+    void onAggTrade(long aggregateTradeId, double price, double quantity, long firstTradeId, long lastTradeId,
+                    long timestamp, boolean isBuyerMaker, boolean isBestMatch) throws IOException;
+
+}
@@ -0,0 +1,457 @@
+package com.tecknobit.binancemanager.managers.market.trades;
+
+import com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import com.tecknobit.binancemanager.managers.market.BinanceMarketManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.JSON;
+
+/**
+ * The {@code BinanceAggTradesDownloader} class is useful to download large ranges of aggregate trades and old trades
+ * <br>
+ * The range is split in slices, each slice finds its starting id and then pages forward with the {@code "fromId"}
+ * param, the slices are downloaded in parallel and their trades are streamed to a sink in order, so the whole range is
+ * never kept in memory
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote each worker uses its own {@link BinanceMarketManager} copied from the manager inserted, so the downloads
+ * use its endpoint and its details
+ * @see AggTradesSink
+ * @see TradesSink
+ */
+public class BinanceAggTradesDownloader {
+
+    /**
+     * {@code MAX_TRADES_LIMIT} is constant for the max number of trades returned by a single request
+     */
+    public static final int MAX_TRADES_LIMIT = 1000;
+
+    /**
+     * {@code MAX_SLICE_MILLIS} is constant for the max time window accepted by the aggregate trades endpoint
+     */
+    public static final long MAX_SLICE_MILLIS = 60 * 60 * 1000L;
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of slices downloaded at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * {@code DEFAULT_PAGES_BUFFERED} is constant for the default number of pages that a slice can buffer
+     */
+    public static final int DEFAULT_PAGES_BUFFERED = 4;
+
+    /**
+     * {@code END_OF_SLICE} is constant to mark the end of the pages of a slice
+     */
+    private static final JSONArray END_OF_SLICE = new JSONArray();
+
+    /**
+     * {@code marketManager} is instance used as model of the managers of the workers
+     */
+    private final BinanceMarketManager marketManager;
+
+    /**
+     * {@code parallelism} is instance that memorizes the number of slices downloaded at the same time
+     */
+    private final int parallelism;
+
+    /**
+     * {@code pagesBuffered} is instance that memorizes the number of pages that a slice can buffer
+     */
+    private final int pagesBuffered;
+
+    /**
+     * Constructor to init {@link BinanceAggTradesDownloader}
+     *
+     * @param marketManager: manager copied by each worker
+     */
+    public BinanceAggTradesDownloader(BinanceMarketManager marketManager) {
+        this(marketManager, DEFAULT_PARALLELISM, DEFAULT_PAGES_BUFFERED);
+    }
+
+    /**
+     * Constructor to init {@link BinanceAggTradesDownloader}
+     *
+     * @param marketManager: manager copied by each worker
+     * @param parallelism:   number of slices downloaded at the same time
+     * @param pagesBuffered: number of pages that a slice can buffer before wait the sink
+     * @throws IllegalArgumentException when one of the params is not positive
+     */
+    public BinanceAggTradesDownloader(BinanceMarketManager marketManager, int parallelism, int pagesBuffered) {
+        if (parallelism <= 0 || pagesBuffered <= 0)
+            throw new IllegalArgumentException("Parallelism and pages buffered must be positive");
+        this.marketManager = marketManager;
+        this.parallelism = parallelism;
+        this.pagesBuffered = pagesBuffered;
+    }
+
+    /**
+     * Method to download the aggregate trades of a time range
+     *
+     * @param symbol:    symbol of the aggregate trades es. BTCBUSD
+     * @param startTime: timestamp from download the aggregate trades, inclusive
+     * @param endTime:   timestamp until download the aggregate trades, inclusive
+     * @param sink:      sink where stream the aggregate trades
+     * @return number of aggregate trades streamed as long
+     * @throws IOException when a request or the sink has been go wrong
+     */
+    public long downloadAggTrades(String symbol, long startTime, long endTime, AggTradesSink sink) throws IOException {
+        return downloadAggTrades(symbol, startTime, endTime, MAX_SLICE_MILLIS, sink);
+    }
+
+    /**
+     * Method to download the aggregate trades of a time range
+     *
+     * @param symbol:      symbol of the aggregate trades es. BTCBUSD
+     * @param startTime:   timestamp from download the aggregate trades, inclusive
+     * @param endTime:     timestamp until download the aggregate trades, inclusive
+     * @param sliceMillis: time window of each slice, max {@link #MAX_SLICE_MILLIS}
+     * @param sink:        sink where stream the aggregate trades
+     * @return number of aggregate trades streamed as long
+     * @throws IOException              when a request or the sink has been go wrong
+     * @throws IllegalArgumentException when the range or the slice window are not valid
+     */
+    public long downloadAggTrades(String symbol, long startTime, long endTime, long sliceMillis,
+                                  AggTradesSink sink) throws IOException {
+        if (startTime > endTime)
+            throw new IllegalArgumentException("Start time cannot be greater than end time");
+        if (sliceMillis <= 0 || sliceMillis > MAX_SLICE_MILLIS)
+            throw new IllegalArgumentException("Slice window must be between 1 and " + MAX_SLICE_MILLIS + " millis");
+        ArrayList<Slice> slices = new ArrayList<>();
+        for (long sliceStart = startTime; sliceStart <= endTime; sliceStart += sliceMillis) {
+            long sliceEnd = Math.min(sliceStart + sliceMillis - 1, endTime);
+            slices.add(new AggTradesSlice(symbol, sliceStart, sliceEnd, sink));
+        }
+        return stream(slices);
+    }
+
+    /**
+     * Method to download the old trades of an ids range
+     *
+     * @param symbol: symbol of the trades es. BTCBUSD
+     * @param apiKey: apiKey of your {@code "Binance"} account
+     * @param fromId: trade id from download the trades, inclusive
+     * @param toId:   trade id until download the trades, inclusive
+     * @param sink:   sink where stream the trades
+     * @return number of trades streamed as long
+     * @throws IOException when a request or the sink has been go wrong
+     */
+    public long downloadOldTrades(String symbol, String apiKey, long fromId, long toId,
+                                  TradesSink sink) throws IOException {
+        return downloadOldTrades(symbol, apiKey, fromId, toId, 10L * MAX_TRADES_LIMIT, sink);
+    }
+
+    /**
+     * Method to download the old trades of an ids range
+     *
+     * @param symbol:    symbol of the trades es. BTCBUSD
+     * @param apiKey:    apiKey of your {@code "Binance"} account
+     * @param fromId:    trade id from download the trades, inclusive
+     * @param toId:      trade id until download the trades, inclusive
+     * @param sliceSize: number of trade ids of each slice
+     * @param sink:      sink where stream the trades
+     * @return number of trades streamed as long
+     * @throws IOException              when a request or the sink has been go wrong
+     * @throws IllegalArgumentException when the range or the slice size are not valid
+     * @apiNote the trade ids are contiguous, so the slices boundaries are computed without any lookup request
+     */
+    public long downloadOldTrades(String symbol, String apiKey, long fromId, long toId, long sliceSize,
+                                  TradesSink sink) throws IOException {
+        if (fromId < 0 || fromId > toId)
+            throw new IllegalArgumentException("Ids range is not valid");
+        if (sliceSize <= 0)
+            throw new IllegalArgumentException("Slice size must be positive");
+        ArrayList<Slice> slices = new ArrayList<>();
+        for (long sliceStart = fromId; sliceStart <= toId; sliceStart += sliceSize)
+            slices.add(new TradesSlice(symbol, apiKey, sliceStart, Math.min(sliceStart + sliceSize - 1, toId), sink));
+        return stream(slices);
+    }
+
+    /**
+     * Method to download the slices in parallel and stream their pages in order
+     *
+     * @param slices: slices to download
+     * @return number of trades streamed as long
+     * @throws IOException when a request or the sink has been go wrong
+     * @implNote the slices are submitted in order to a fixed pool, so the first slice not yet streamed is always
+     * running and the bounded pages queues cannot block the download
+     */
+    private long stream(ArrayList<Slice> slices) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(slices.size(), 1)));
+        ThreadLocal<BinanceMarketManager> managers = ThreadLocal.withInitial(() ->
+                new BinanceMarketManager(marketManager));
+        try {
+            for (Slice slice : slices) {
+                executor.execute(() -> {
+                    try {
+                        try {
+                            slice.fetch(managers.get());
+                        } catch (InterruptedException e) {
+                            return;
+                        } catch (Exception e) {
+                            slice.failure = e;
+                        }
+                        slice.pages.put(END_OF_SLICE);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            long streamed = 0;
+            for (Slice slice : slices) {
+                JSONArray page;
+                while ((page = slice.pages.take()) != END_OF_SLICE)
+                    streamed += slice.emit(page);
+                if (slice.failure != null)
+                    throw new IOException("Slice download failed", slice.failure);
+            }
+            return streamed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Download interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The {@code Slice} class is useful to download a part of a range and to emit its pages to the sink
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private abstract class Slice {
+
+        /**
+         * {@code pages} is instance that memorizes the pages downloaded and not yet emitted
+         */
+        protected final BlockingQueue<JSONArray> pages = new ArrayBlockingQueue<>(pagesBuffered + 1);
+
+        /**
+         * {@code failure} is instance that memorizes the exception occurred during the download
+         */
+        protected volatile Exception failure;
+
+        /**
+         * Method to download the pages of the slice
+         *
+         * @param manager: manager of the worker thread
+         * @throws Exception when the download has been go wrong
+         */
+        protected abstract void fetch(BinanceMarketManager manager) throws Exception;
+
+        /**
+         * Method to emit the trades of a page inside the slice bounds
+         *
+         * @param page: page to emit
+         * @return number of trades emitted as int
+         * @throws IOException when the sink has been go wrong
+         */
+        protected abstract int emit(JSONArray page) throws IOException;
+
+    }
+
+    /**
+     * The {@code AggTradesSlice} class is useful to download the aggregate trades of a time window
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private class AggTradesSlice extends Slice {
+
+        /**
+         * {@code symbol} is instance that memorizes the symbol of the aggregate trades
+         */
+        private final String symbol;
+
+        /**
+         * {@code startTime} is instance that memorizes the start of the window, inclusive
+         */
+        private final long startTime;
+
+        /**
+         * {@code endTime} is instance that memorizes the end of the window, inclusive
+         */
+        private final long endTime;
+
+        /**
+         * {@code sink} is instance that memorizes the sink where emit the aggregate trades
+         */
+        private final AggTradesSink sink;
+
+        /**
+         * Constructor to init {@link AggTradesSlice}
+         *
+         * @param symbol:    symbol of the aggregate trades
+         * @param startTime: start of the window, inclusive
+         * @param endTime:   end of the window, inclusive
+         * @param sink:      sink where emit the aggregate trades
+         */
+        private AggTradesSlice(String symbol, long startTime, long endTime, AggTradesSink sink) {
+            this.symbol = symbol;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.sink = sink;
+        }
+
+        /**
+         * Method to find the first aggregate trade id of the window and then download the pages chaining the
+         * {@code "fromId"} param
+         *
+         * @param manager: manager of the worker thread
+         * @throws Exception when the download has been go wrong
+         */
+        @Override
+        protected void fetch(BinanceMarketManager manager) throws Exception {
+            Params query = new Params();
+            query.addParam("startTime", startTime);
+            query.addParam("endTime", endTime);
+            query.addParam("limit", 1);
+            JSONArray first = manager.getCompressedTradesList(symbol, query, JSON);
+            if (first.isEmpty())
+                return;
+            long fromId = first.getJSONObject(0).getLong("a");
+            while (true) {
+                query = new Params();
+                query.addParam("fromId", fromId);
+                query.addParam("limit", MAX_TRADES_LIMIT);
+                JSONArray page = manager.getCompressedTradesList(symbol, query, JSON);
+                if (page.isEmpty())
+                    return;
+                pages.put(page);
+                JSONObject last = page.getJSONObject(page.length() - 1);
+                if (page.length() < MAX_TRADES_LIMIT || last.getLong("T") > endTime)
+                    return;
+                fromId = last.getLong("a") + 1;
+            }
+        }
+
+        /**
+         * Method to emit the aggregate trades of a page inside the window
+         *
+         * @param page: page to emit
+         * @return number of aggregate trades emitted as int
+         * @throws IOException when the sink has been go wrong
+         */
+        @Override
+        protected int emit(JSONArray page) throws IOException {
+            int emitted = 0;
+            for (int j = 0; j < page.length(); j++) {
+                JSONObject trade = page.getJSONObject(j);
+                long timestamp = trade.getLong("T");
+                if (timestamp > endTime)
+                    break;
+                if (timestamp >= startTime) {
+                    sink.onAggTrade(trade.getLong("a"), trade.getDouble("p"), trade.getDouble("q"),
+                            trade.getLong("f"), trade.getLong("l"), timestamp, trade.getBoolean("m"),
+                            trade.getBoolean("M"));
+                    emitted++;
+                }
+            }
+            return emitted;
+        }
+
+    }
+
+    /**
+     * The {@code TradesSlice} class is useful to download the old trades of an ids range
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    private class TradesSlice extends Slice {
+
+        /**
+         * {@code symbol} is instance that memorizes the symbol of the trades
+         */
+        private final String symbol;
+
+        /**
+         * {@code apiKey} is instance that memorizes the apiKey of the {@code "Binance"} account
+         */
+        private final String apiKey;
+
+        /**
+         * {@code fromId} is instance that memorizes the first trade id of the slice, inclusive
+         */
+        private final long fromId;
+
+        /**
+         * {@code toId} is instance that memorizes the last trade id of the slice, inclusive
+         */
+        private final long toId;
+
+        /**
+         * {@code sink} is instance that memorizes the sink where emit the trades
+         */
+        private final TradesSink sink;
+
+        /**
+         * Constructor to init {@link TradesSlice}
+         *
+         * @param symbol: symbol of the trades
+         * @param apiKey: apiKey of the {@code "Binance"} account
+         * @param fromId: first trade id of the slice, inclusive
+         * @param toId:   last trade id of the slice, inclusive
+         * @param sink:   sink where emit the trades
+         */
+        private TradesSlice(String symbol, String apiKey, long fromId, long toId, TradesSink sink) {
+            this.symbol = symbol;
+            this.apiKey = apiKey;
+            this.fromId = fromId;
+            this.toId = toId;
+            this.sink = sink;
+        }
+
+        /**
+         * Method to download the pages of the ids range chaining the {@code "fromId"} param
+         *
+         * @param manager: manager of the worker thread
+         * @throws Exception when the download has been go wrong
+         */
+        @Override
+        protected void fetch(BinanceMarketManager manager) throws Exception {
+            long nextId = fromId;
+            while (nextId <= toId) {
+                Params query = new Params();
+                query.addParam("fromId", nextId);
+                query.addParam("limit", (int) Math.min(MAX_TRADES_LIMIT, toId - nextId + 1));
+                JSONArray page = manager.getOldTradeList(symbol, apiKey, query, JSON);
+                if (page.isEmpty())
+                    return;
+                pages.put(page);
+                nextId = page.getJSONObject(page.length() - 1).getLong("id") + 1;
+            }
+        }
+
+        /**
+         * Method to emit the trades of a page inside the ids range
+         *
+         * @param page: page to emit
+         * @return number of trades emitted as int
+         * @throws IOException when the sink has been go wrong
+         */
+        @Override
+        protected int emit(JSONArray page) throws IOException {
+            int emitted = 0;
+            for (int j = 0; j < page.length(); j++) {
+                JSONObject trade = page.getJSONObject(j);
+                long id = trade.getLong("id");
+                if (id > toId)
+                    break;
+                sink.onTrade(id, trade.getDouble("price"), trade.getDouble("qty"), trade.getDouble("quoteQty"),
+                        trade.getLong("time"), trade.getBoolean("isBuyerMaker"), trade.getBoolean("isBestMatch"));
+                emitted++;
+            }
+            return emitted;
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.tecknobit.binancemanager.managers.market.trades;
+
+import java.io.IOException;
+
+/**
+ * The {@code TradesSink} interface is useful to receive the old trades downloaded by a
+ * {@link BinanceAggTradesDownloader} one at a time and in order of trade id
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the values are passed as primitives to avoid the creation of an object for each trade
+ */
+public interface TradesSink {
+
+    /**
+     * Method to receive a trade
+     *
+     * @param id:           trade id
+     * @param price:        price of the trade
+     * @param qty:          quantity of the trade
+     * @param quoteQty:     quote quantity of the trade
+     * @param time:         time of the trade
+     * @param isBuyerMaker: whether the trade is buyer maker
+     * @param isBestMatch:  whether the trade is best match
+     * @throws IOException when the trade cannot be handled
+     */
+    void onTrade(long id, double price, double qty, double quoteQty, long time, boolean isBuyerMaker,
+                 boolean isBestMatch) throws IOException;
+
+}
@@ -0,0 +1,432 @@
+package com.tecknobit.binancemanager.managers.marketstreams;
+
+import com.tecknobit.binancemanager.managers.market.BinanceMarketManager;
+import com.tecknobit.binancemanager.managers.market.records.tickers.TickerPriceChange;
+import com.tecknobit.binancemanager.managers.marketstreams.BinanceMarketStreamsManager.Streams;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.JSON;
+import static com.tecknobit.binancemanager.managers.market.records.tickers.Ticker.ResponseType.FULL;
+import static com.tecknobit.binancemanager.managers.market.records.tickers.Ticker.ResponseType.MINI;
+import static com.tecknobit.binancemanager.managers.marketstreams.BinanceMarketStreamsManager.Streams.miniTickerArr;
+import static com.tecknobit.binancemanager.managers.marketstreams.BinanceMarketStreamsManager.Streams.tickersArr;
+import static com.tecknobit.binancemanager.managers.marketstreams.BinanceMarketStreamsManager.WEB_SOCKET_DATA_STREAM_ENDPOINT;
+
+/**
+ * The {@code BinanceTickersCache} class is useful to keep the 24hr tickers of all the symbols in memory <br>
+ * The cache is loaded with a {@code REST} snapshot and then kept live by the {@code "!ticker@arr"} or the
+ * {@code "!miniTicker@arr"} stream, so the tickers queries are answered from memory and do not consume any weight
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote when the stream is closed the cache reconnects and reloads the snapshot, so the updates lost during the gap
+ * are recovered, the tickers are returned as the same {@link TickerPriceChange} of
+ * {@link BinanceMarketManager#getTickerPriceChange(String)}
+ * @see BinanceMarketStreamsManager
+ */
+public class BinanceTickersCache implements Closeable {
+
+    /**
+     * {@code DEFAULT_STALE_MILLIS} is constant for the default time without messages after the cache is stale
+     */
+    public static final long DEFAULT_STALE_MILLIS = 10000;
+
+    /**
+     * {@code RECONNECT_DELAY_MILLIS} is constant for the delay before reconnect the stream after a gap
+     */
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    /**
+     * {@code marketManager} is instance used as model of the manager of each snapshot
+     */
+    private final BinanceMarketManager marketManager;
+
+    /**
+     * {@code stream} is instance that memorizes the stream used to keep the cache live
+     */
+    private final Streams stream;
+
+    /**
+     * {@code staleMillis} is instance that memorizes the time without messages after the cache is stale
+     */
+    private final long staleMillis;
+
+    /**
+     * {@code tickers} is instance that memorizes the tickers cached
+     */
+    private final ConcurrentHashMap<String, TickerPriceChange> tickers;
+
+    /**
+     * {@code scheduler} is instance used to reconnect the stream and to check its liveness
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * {@code client} is instance that memorizes the current websocket client
+     */
+    private volatile WebSocketClient client;
+
+    /**
+     * {@code lastMessageTime} is instance that memorizes the time of the last message received
+     */
+    private volatile long lastMessageTime;
+
+    /**
+     * {@code gaps} is instance that memorizes the number of gaps recovered
+     */
+    private volatile int gaps;
+
+    /**
+     * {@code closed} is instance that memorizes whether the cache has been closed
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructor to init {@link BinanceTickersCache}
+     *
+     * @param marketManager: manager used to fetch the snapshots
+     */
+    public BinanceTickersCache(BinanceMarketManager marketManager) {
+        this(marketManager, tickersArr, DEFAULT_STALE_MILLIS);
+    }
+
+    /**
+     * Constructor to init {@link BinanceTickersCache}
+     *
+     * @param marketManager: manager used to fetch the snapshots
+     * @param stream:        stream used to keep the cache live, {@link Streams#tickersArr} or
+     *                       {@link Streams#miniTickerArr}
+     * @param staleMillis:   time without messages after the cache is stale and the stream is reconnected
+     * @throws IllegalArgumentException when the stream is not an all market tickers stream
+     * @implNote with the {@link Streams#miniTickerArr} the snapshot is requested with the {@code "MINI"} response type
+     * and the weighted average price, previous close price, last quantity, bid, ask, open time, ids and count details of
+     * the tickers are always 0, because the mini stream does not send them
+     */
+    public BinanceTickersCache(BinanceMarketManager marketManager, Streams stream, long staleMillis) {
+        if (stream != tickersArr && stream != miniTickerArr)
+            throw new IllegalArgumentException("The stream must be tickersArr or miniTickerArr");
+        this.marketManager = marketManager;
+        this.stream = stream;
+        this.staleMillis = staleMillis;
+        tickers = new ConcurrentHashMap<>();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "binance-tickers-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to load the snapshot and to connect to the stream <br>
+     * No-any params required
+     *
+     * @throws IOException when the snapshot request has been go wrong
+     */
+    public void start() throws IOException {
+        loadSnapshot();
+        connect();
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (!closed && System.currentTimeMillis() - lastMessageTime > staleMillis)
+                recoverGap();
+        }, staleMillis, staleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method to get the ticker of a symbol from the cache
+     *
+     * @param symbol: symbol of the ticker es. BTCBUSD
+     * @return ticker as {@link TickerPriceChange} custom object, null if the symbol is not cached
+     */
+    public TickerPriceChange getTickerPriceChange(String symbol) {
+        return tickers.get(symbol);
+    }
+
+    /**
+     * Method to get the tickers of some symbols from the cache
+     *
+     * @param symbols: symbols of the tickers es. BTCBUSD
+     * @return tickers as {@link ArrayList} of {@link TickerPriceChange}, the symbols not cached are skipped
+     */
+    public ArrayList<TickerPriceChange> getTickersPriceChangeList(String... symbols) {
+        ArrayList<TickerPriceChange> list = new ArrayList<>(symbols.length);
+        for (String symbol : symbols) {
+            TickerPriceChange ticker = tickers.get(symbol);
+            if (ticker != null)
+                list.add(ticker);
+        }
+        return list;
+    }
+
+    /**
+     * Method to get all the tickers from the cache <br>
+     * No-any params required
+     *
+     * @return tickers as {@link ArrayList} of {@link TickerPriceChange}
+     */
+    public ArrayList<TickerPriceChange> getTickersPriceChangeList() {
+        return new ArrayList<>(tickers.values());
+    }
+
+    /**
+     * Method to get the last price of a symbol from the cache
+     *
+     * @param symbol: symbol of the ticker es. BTCBUSD
+     * @return last price as double, {@link Double#NaN} if the symbol is not cached
+     */
+    public double getLastPrice(String symbol) {
+        TickerPriceChange ticker = tickers.get(symbol);
+        if (ticker == null)
+            return Double.NaN;
+        return ticker.getLastPrice();
+    }
+
+    /**
+     * Method to get the number of tickers cached <br>
+     * No-any params required
+     *
+     * @return number of tickers as int
+     */
+    public int size() {
+        return tickers.size();
+    }
+
+    /**
+     * Method to get whether the cache is receiving the stream messages <br>
+     * No-any params required
+     *
+     * @return whether the cache is live as boolean
+     */
+    public boolean isLive() {
+        WebSocketClient current = client;
+        return current != null && current.isOpen()
+                && System.currentTimeMillis() - lastMessageTime <= staleMillis;
+    }
+
+    /**
+     * Method to get {@link #lastMessageTime} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastMessageTime} instance as long
+     */
+    public long getLastMessageTime() {
+        return lastMessageTime;
+    }
+
+    /**
+     * Method to get {@link #gaps} instance <br>
+     * No-any params required
+     *
+     * @return {@link #gaps} instance as int
+     */
+    public int getGaps() {
+        return gaps;
+    }
+
+    /**
+     * Method to close the stream and to stop the cache <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        WebSocketClient current = client;
+        if (current != null)
+            current.close();
+    }
+
+    /**
+     * Method to load the snapshot of all the tickers <br>
+     * No-any params required
+     *
+     * @throws IOException when the request has been go wrong
+     */
+    private void loadSnapshot() throws IOException {
+        JSONArray jTickers = new BinanceMarketManager(marketManager)
+                .getTickersPriceChangeList(stream == tickersArr ? FULL : MINI, JSON);
+        for (int j = 0; j < jTickers.length(); j++) {
+            JSONObject jTicker = jTickers.getJSONObject(j);
+            String symbol = jTicker.getString("symbol");
+            if (stream == tickersArr) {
+                put(new TickerPriceChange(symbol, jTicker.optDouble("priceChange", 0),
+                        jTicker.optDouble("priceChangePercent", 0), jTicker.optDouble("weightedAvgPrice", 0),
+                        jTicker.optDouble("prevClosePrice", 0), jTicker.optDouble("lastPrice", 0),
+                        jTicker.optDouble("lastQty", 0), jTicker.optDouble("bidPrice", 0),
+                        jTicker.optDouble("bidQty", 0), jTicker.optDouble("askPrice", 0),
+                        jTicker.optDouble("askQty", 0), jTicker.optDouble("openPrice", 0),
+                        jTicker.optDouble("highPrice", 0), jTicker.optDouble("lowPrice", 0),
+                        jTicker.optDouble("volume", 0), jTicker.optDouble("quoteVolume", 0),
+                        jTicker.optLong("openTime", 0), jTicker.optLong("closeTime", 0),
+                        jTicker.optLong("firstId", 0), jTicker.optLong("lastId", 0), jTicker.optInt("count", 0)));
+            } else {
+                put(miniTicker(symbol, jTicker.optDouble("openPrice", 0), jTicker.optDouble("lastPrice", 0),
+                        jTicker.optDouble("highPrice", 0), jTicker.optDouble("lowPrice", 0),
+                        jTicker.optDouble("volume", 0), jTicker.optDouble("quoteVolume", 0),
+                        jTicker.optLong("closeTime", 0)));
+            }
+        }
+        lastMessageTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Method to handle a stream message
+     *
+     * @param message: message received
+     */
+    private void onMessage(String message) {
+        lastMessageTime = System.currentTimeMillis();
+        JSONArray jTickers = new JSONArray(message);
+        for (int j = 0; j < jTickers.length(); j++) {
+            JSONObject jTicker = jTickers.getJSONObject(j);
+            String symbol = jTicker.getString("s");
+            double closePrice = jTicker.optDouble("c", 0);
+            double openPrice = jTicker.optDouble("o", 0);
+            if (stream == tickersArr) {
+                put(new TickerPriceChange(symbol, jTicker.optDouble("p", 0), jTicker.optDouble("P", 0),
+                        jTicker.optDouble("w", 0), jTicker.optDouble("x", 0), closePrice,
+                        jTicker.optDouble("Q", 0), jTicker.optDouble("b", 0), jTicker.optDouble("B", 0),
+                        jTicker.optDouble("a", 0), jTicker.optDouble("A", 0), openPrice,
+                        jTicker.optDouble("h", 0), jTicker.optDouble("l", 0), jTicker.optDouble("v", 0),
+                        jTicker.optDouble("q", 0), jTicker.optLong("O", 0), jTicker.optLong("C", 0),
+                        jTicker.optLong("F", 0), jTicker.optLong("L", 0), jTicker.optInt("n", 0)));
+            } else {
+                put(miniTicker(symbol, openPrice, closePrice, jTicker.optDouble("h", 0), jTicker.optDouble("l", 0),
+                        jTicker.optDouble("v", 0), jTicker.optDouble("q", 0), jTicker.optLong("E", 0)));
+            }
+        }
+    }
+
+    /**
+     * Method to create a ticker from the details of the {@code "MINI"} tickers, the same for the snapshot and the stream
+     *
+     * @param symbol:      symbol of the ticker
+     * @param openPrice:   open price of the ticker
+     * @param lastPrice:   last price of the ticker
+     * @param highPrice:   high price of the ticker
+     * @param lowPrice:    low price of the ticker
+     * @param volume:      volume of the ticker
+     * @param quoteVolume: quote volume of the ticker
+     * @param closeTime:   close time of the ticker
+     * @return ticker as {@link TickerPriceChange} custom object
+     */
+    private static TickerPriceChange miniTicker(String symbol, double openPrice, double lastPrice, double highPrice,
+                                                double lowPrice, double volume, double quoteVolume, long closeTime) {
+        double priceChange = lastPrice - openPrice;
+        return new TickerPriceChange(symbol, priceChange, openPrice != 0 ? priceChange / openPrice * 100 : 0, 0, 0,
+                lastPrice, 0, 0, 0, 0, 0, openPrice, highPrice, lowPrice, volume, quoteVolume, 0, closeTime, 0, 0, 0);
+    }
+
+    /**
+     * Method to cache a ticker, a ticker older than the one cached is discarded
+     *
+     * @param ticker: ticker to cache
+     */
+    private void put(TickerPriceChange ticker) {
+        tickers.merge(ticker.getSymbol(), ticker, (cached, updated) ->
+                updated.getCloseTime() >= cached.getCloseTime() ? updated : cached);
+    }
+
+    /**
+     * Method to connect to the stream <br>
+     * No-any params required
+     */
+    private void connect() {
+        try {
+            WebSocketClient webSocketClient = new WebSocketClient(new URI(WEB_SOCKET_DATA_STREAM_ENDPOINT + "/ws/"
+                    + stream.getStream())) {
+
+                /**
+                 * Called after an opening handshake has been performed and the given websocket is ready to be
+                 * written on.
+                 *
+                 * @param handshakeData The handshake of the websocket instance
+                 */
+                @Override
+                public void onOpen(ServerHandshake handshakeData) {
+                }
+
+                /**
+                 * Callback for string messages received from the remote host
+                 *
+                 * @param message The UTF-8 decoded message that was received.
+                 */
+                @Override
+                public void onMessage(String message) {
+                    BinanceTickersCache.this.onMessage(message);
+                }
+
+                /**
+                 * Called after the websocket connection has been closed.
+                 *
+                 * @param code   The codes can be looked up here
+                 * @param reason Additional information string
+                 * @param remote Returns whether the closing of the connection was initiated by the remote
+                 *               host.
+                 */
+                @Override
+                public void onClose(int code, String reason, boolean remote) {
+                    if (!closed && client == this)
+                        scheduleRecovery();
+                }
+
+                /**
+                 * Called when errors occurs. If an error causes the websocket connection to fail {@link
+                 * #onClose(int, String, boolean)} will be called additionally.<br> This method will be called
+                 * primarily because of IO or protocol errors.<br> If the given exception is an RuntimeException
+                 * that probably means that you encountered a bug.<br>
+                 *
+                 * @param ex The exception causing this error
+                 */
+                @Override
+                public void onError(Exception ex) {
+                }
+
+            };
+            client = webSocketClient;
+            webSocketClient.connect();
+        } catch (Exception e) {
+            scheduleRecovery();
+        }
+    }
+
+    /**
+     * Method to schedule the recovery of a gap <br>
+     * No-any params required
+     */
+    private void scheduleRecovery() {
+        if (!closed && !scheduler.isShutdown())
+            scheduler.schedule(this::recoverGap, RECONNECT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method to recover a gap of the stream, the stream is reconnected and the snapshot is reloaded <br>
+     * No-any params required
+     */
+    private synchronized void recoverGap() {
+        if (closed || isLive())
+            return;
+        gaps++;
+        WebSocketClient previous = client;
+        client = null;
+        if (previous != null)
+            previous.close();
+        connect();
+        try {
+            loadSnapshot();
+        } catch (Exception e) {
+            lastMessageTime = 0;
+        }
+    }
+
+}
@@ -0,0 +1,423 @@
+package com.tecknobit.binancemanager.managers.records;
+
+/**
+ * The {@code FixedDecimal} class is useful to manage a price or a quantity as a fixed-point decimal value <br>
+ * The value is memorized as a long mantissa with a decimal scale, so it is parsed straight from the text of the
+ * {@code "Binance"}'s responses and formatted back for the requests without passing from a double value
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ */
+public final class FixedDecimal implements Comparable<FixedDecimal> {
+
+    /**
+     * {@code MAX_SCALE} is constant for the max number of decimal digits that can be memorized
+     */
+    public static final int MAX_SCALE = 18;
+
+    /**
+     * {@code ZERO} is constant for the zero value
+     */
+    public static final FixedDecimal ZERO = new FixedDecimal(0, 0);
+
+    /**
+     * {@code POWERS_OF_TEN} is constant for the powers of ten from 10^0 to 10^{@link #MAX_SCALE}
+     */
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int j = 1; j <= MAX_SCALE; j++)
+            POWERS_OF_TEN[j] = POWERS_OF_TEN[j - 1] * 10;
+    }
+
+    /**
+     * {@code mantissa} is instance that memorizes the unscaled value
+     */
+    private final long mantissa;
+
+    /**
+     * {@code scale} is instance that memorizes the number of decimal digits of the value
+     */
+    private final int scale;
+
+    /**
+     * Constructor to init {@link FixedDecimal} object
+     *
+     * @param mantissa: unscaled value
+     * @param scale:    number of decimal digits of the value
+     */
+    private FixedDecimal(long mantissa, int scale) {
+        this.mantissa = mantissa;
+        this.scale = scale;
+    }
+
+    /**
+     * Method to create a {@link FixedDecimal} from its unscaled value and its scale
+     *
+     * @param mantissa: unscaled value
+     * @param scale:    number of decimal digits of the value, the value is rounded if greater than {@link #MAX_SCALE}
+     * @return value as {@link FixedDecimal}
+     * @throws ArithmeticException when the value overflows the long range
+     */
+    public static FixedDecimal valueOf(long mantissa, int scale) {
+        if (mantissa == Long.MIN_VALUE)
+            throw new ArithmeticException("Mantissa overflow");
+        if (scale < 0) {
+            while (scale < 0) {
+                mantissa = Math.multiplyExact(mantissa, 10);
+                scale++;
+            }
+        } else {
+            while (scale > MAX_SCALE) {
+                mantissa = divideHalfUp(mantissa, 10);
+                scale--;
+            }
+        }
+        if (mantissa == 0)
+            return ZERO;
+        while (scale > 0 && mantissa % 10 == 0) {
+            mantissa /= 10;
+            scale--;
+        }
+        return new FixedDecimal(mantissa, scale);
+    }
+
+    /**
+     * Method to create a {@link FixedDecimal} from a double value
+     *
+     * @param value: value to convert
+     * @return value as {@link FixedDecimal}
+     * @throws NumberFormatException when the value is not finite
+     */
+    public static FixedDecimal valueOf(double value) {
+        if (!Double.isFinite(value))
+            throw new NumberFormatException("Value must be finite: " + value);
+        if (value == 0)
+            return ZERO;
+        return parse(Double.toString(value));
+    }
+
+    /**
+     * Method to create a {@link FixedDecimal} from a value of a {@code "Binance"}'s response
+     *
+     * @param value: value to convert, can be a {@link String} or a {@link Number}
+     * @return value as {@link FixedDecimal}, {@link #ZERO} if the value is null
+     * @throws NumberFormatException when the value is not a valid decimal
+     */
+    public static FixedDecimal fromValue(Object value) {
+        if (value == null)
+            return ZERO;
+        if (value instanceof FixedDecimal)
+            return (FixedDecimal) value;
+        if (value instanceof CharSequence)
+            return parse((CharSequence) value);
+        if (value instanceof Double || value instanceof Float)
+            return valueOf(((Number) value).doubleValue());
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return valueOf(((Number) value).longValue(), 0);
+        return parse(value.toString());
+    }
+
+    /**
+     * Method to parse a {@link FixedDecimal} from its text
+     *
+     * @param text: text to parse, for example {@code "0.01230000"}
+     * @return value as {@link FixedDecimal}
+     * @throws NumberFormatException when the text is not a valid decimal
+     */
+    public static FixedDecimal parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Method to parse a {@link FixedDecimal} from a portion of a text <br>
+     * The trailing zeros of the decimal digits are not memorized, the decimal digits over {@link #MAX_SCALE} or over
+     * the long range are rounded
+     *
+     * @param text:  text to parse
+     * @param start: index of the first char to parse
+     * @param end:   index after the last char to parse
+     * @return value as {@link FixedDecimal}
+     * @throws NumberFormatException when the text is not a valid decimal
+     */
+    public static FixedDecimal parse(CharSequence text, int start, int end) {
+        if (start >= end)
+            throw new NumberFormatException("Empty decimal value");
+        int index = start;
+        boolean negative = false;
+        char c = text.charAt(index);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            index++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        int pendingZeros = 0;
+        int exponent = 0;
+        boolean fraction = false;
+        boolean digits = false;
+        boolean truncated = false;
+        boolean roundUp = false;
+        for (; index < end; index++) {
+            c = text.charAt(index);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+                int digit = c - '0';
+                if (!fraction) {
+                    if (mantissa > (Long.MAX_VALUE - digit) / 10)
+                        throw new NumberFormatException("Value out of range: " + text.subSequence(start, end));
+                    mantissa = mantissa * 10 + digit;
+                } else if (!truncated) {
+                    if (digit == 0) {
+                        pendingZeros++;
+                        continue;
+                    }
+                    int shift = pendingZeros + 1;
+                    if (scale + shift <= MAX_SCALE && mantissa <= (Long.MAX_VALUE - digit) / POWERS_OF_TEN[shift]) {
+                        mantissa = mantissa * POWERS_OF_TEN[shift] + digit;
+                        scale += shift;
+                        pendingZeros = 0;
+                    } else {
+                        truncated = true;
+                        roundUp = pendingZeros == 0 && digit >= 5;
+                    }
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else if ((c == 'e' || c == 'E') && digits) {
+                exponent = Integer.parseInt(text, index + 1, end, 10);
+                break;
+            } else {
+                throw new NumberFormatException("Invalid decimal value: " + text.subSequence(start, end));
+            }
+        }
+        if (!digits)
+            throw new NumberFormatException("Invalid decimal value: " + text.subSequence(start, end));
+        if (roundUp)
+            mantissa++;
+        if (negative)
+            mantissa = -mantissa;
+        return valueOf(mantissa, scale - exponent);
+    }
+
+    /**
+     * Method to get {@link #mantissa} instance <br>
+     * No-any params required
+     *
+     * @return {@link #mantissa} instance as long
+     */
+    public long getMantissa() {
+        return mantissa;
+    }
+
+    /**
+     * Method to get {@link #scale} instance <br>
+     * No-any params required
+     *
+     * @return {@link #scale} instance as int
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Method to get the value as double <br>
+     * No-any params required
+     *
+     * @return value as double
+     */
+    public double doubleValue() {
+        if (scale == 0)
+            return mantissa;
+        return mantissa / (double) POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * Method to get the value rounded half up to a number of decimal digits
+     *
+     * @param decimals: number of decimal digits to keep
+     * @return value rounded as {@link FixedDecimal}
+     * @throws IllegalArgumentException if decimals is negative
+     */
+    public FixedDecimal round(int decimals) {
+        if (decimals < 0)
+            throw new IllegalArgumentException("Decimals cannot be negative");
+        if (decimals >= scale)
+            return this;
+        return valueOf(divideHalfUp(mantissa, POWERS_OF_TEN[scale - decimals]), decimals);
+    }
+
+    /**
+     * Method to get the value truncated to a number of decimal digits
+     *
+     * @param decimals: number of decimal digits to keep
+     * @return value truncated as {@link FixedDecimal}
+     * @throws IllegalArgumentException if decimals is negative
+     */
+    public FixedDecimal truncate(int decimals) {
+        if (decimals < 0)
+            throw new IllegalArgumentException("Decimals cannot be negative");
+        if (decimals >= scale)
+            return this;
+        return valueOf(mantissa / POWERS_OF_TEN[scale - decimals], decimals);
+    }
+
+    /**
+     * Method to add a value
+     *
+     * @param value: value to add
+     * @return sum as {@link FixedDecimal}
+     * @throws ArithmeticException when the result overflows the long range
+     */
+    public FixedDecimal add(FixedDecimal value) {
+        int resultScale = Math.max(scale, value.scale);
+        return valueOf(Math.addExact(rescale(resultScale), value.rescale(resultScale)), resultScale);
+    }
+
+    /**
+     * Method to subtract a value
+     *
+     * @param value: value to subtract
+     * @return difference as {@link FixedDecimal}
+     * @throws ArithmeticException when the result overflows the long range
+     */
+    public FixedDecimal subtract(FixedDecimal value) {
+        int resultScale = Math.max(scale, value.scale);
+        return valueOf(Math.subtractExact(rescale(resultScale), value.rescale(resultScale)), resultScale);
+    }
+
+    /**
+     * Method to get the sign of the value <br>
+     * No-any params required
+     *
+     * @return -1, 0 or 1 as the value is negative, zero or positive
+     */
+    public int signum() {
+        return Long.signum(mantissa);
+    }
+
+    /**
+     * Method to append the value to a {@link StringBuilder} without creating intermediate objects
+     *
+     * @param builder: builder where append the value
+     * @return builder inserted as {@link StringBuilder}
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        long rest = Math.abs(mantissa);
+        if (mantissa < 0)
+            builder.append('-');
+        int integerDigits = Math.max(1, countDigits(rest) - scale);
+        int position = builder.length() + integerDigits + (scale > 0 ? scale + 1 : 0);
+        builder.setLength(position);
+        for (int j = 0; j < scale; j++) {
+            builder.setCharAt(--position, (char) ('0' + rest % 10));
+            rest /= 10;
+        }
+        if (scale > 0)
+            builder.setCharAt(--position, '.');
+        for (int j = 0; j < integerDigits; j++) {
+            builder.setCharAt(--position, (char) ('0' + rest % 10));
+            rest /= 10;
+        }
+        return builder;
+    }
+
+    /**
+     * Method to compare this value with another one
+     *
+     * @param value: value to compare
+     * @return -1, 0 or 1 as this value is less than, equal to, or greater than the value inserted
+     */
+    @Override
+    public int compareTo(FixedDecimal value) {
+        if (scale == value.scale)
+            return Long.compare(mantissa, value.mantissa);
+        int signum = signum();
+        if (signum != value.signum())
+            return Integer.compare(signum, value.signum());
+        int resultScale = Math.max(scale, value.scale);
+        try {
+            return Long.compare(rescale(resultScale), value.rescale(resultScale));
+        } catch (ArithmeticException e) {
+            return Double.compare(doubleValue(), value.doubleValue());
+        }
+    }
+
+    /**
+     * Indicates whether some other object is "equal to" this one
+     *
+     * @param o: the reference object with which to compare
+     * @return {@code true} if this object represents the same value of the obj argument; {@code false} otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof FixedDecimal))
+            return false;
+        FixedDecimal that = (FixedDecimal) o;
+        return mantissa == that.mantissa && scale == that.scale;
+    }
+
+    /**
+     * Returns a hash code value for the object <br>
+     * No-any params required
+     *
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(mantissa) + scale;
+    }
+
+    /**
+     * Returns a string representation of the object <br>
+     * No-any params required
+     *
+     * @return a string representation of the object as {@link String}
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Method to get the mantissa of the value scaled to a greater scale
+     *
+     * @param targetScale: scale to reach
+     * @return mantissa scaled as long
+     * @throws ArithmeticException when the result overflows the long range
+     */
+    private long rescale(int targetScale) {
+        return Math.multiplyExact(mantissa, POWERS_OF_TEN[targetScale - scale]);
+    }
+
+    /**
+     * Method to divide a value rounding half up
+     *
+     * @param value:   value to divide
+     * @param divisor: positive divisor
+     * @return quotient rounded as long
+     */
+    private static long divideHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = Math.abs(value % divisor);
+        if (remainder >= divisor - remainder)
+            quotient += value < 0 ? -1 : 1;
+        return quotient;
+    }
+
+    /**
+     * Method to count the digits of a non-negative value
+     *
+     * @param value: value to count
+     * @return number of digits as int
+     */
+    private static int countDigits(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits])
+            digits++;
+        return digits;
+    }
+
+}
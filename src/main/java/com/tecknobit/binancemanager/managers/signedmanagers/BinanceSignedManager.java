@@ -33,6 +33,12 @@ public class BinanceSignedManager extends BinanceManager {
      */
     protected final String secretKey;
 
+    /**
+     * {@code syncedServerTime} is instance that memorizes whether the requests are signed with the synced server time
+     * instead of requesting the server time for each request
+     */
+    protected volatile boolean syncedServerTime;
+
     /**
      * Constructor to init a {@link BinanceSignedManager}
      *
@@ -118,6 +124,21 @@ public class BinanceSignedManager extends BinanceManager {
         secretKey = properties.getProperty("secretKey");
     }
 
+    /**
+     * Constructor to init a {@link BinanceSignedManager} with the same base endpoint, custom error, timeout and
+     * credentials of another manager
+     *
+     * @param manager: manager from copy the details and the credentials
+     * @apiNote unlike the no-any params constructor this constructor does not use the credentials of the last
+     * parameterized constructor called, so it is useful to instantiate more managers of a specific account, also when
+     * the managers of different accounts are used in the same process
+     */
+    public BinanceSignedManager(BinanceSignedManager manager) {
+        super(manager);
+        apiKey = manager.apiKey;
+        secretKey = manager.secretKey;
+    }
+
     /**
      * Method to store some properties
      *
@@ -138,10 +159,43 @@ public class BinanceSignedManager extends BinanceManager {
     protected Params createTimestampPayload(Params extraParams) {
         if (extraParams == null)
             extraParams = new Params();
-        extraParams.addParam("timestamp", getServerTime());
+        extraParams.addParam("timestamp", getRequestTimestamp());
         return extraParams;
     }
 
+    /**
+     * Method to get the timestamp to sign a request <br>
+     * No-any params required
+     *
+     * @return {@link #getSyncedServerTime()} if {@link #syncedServerTime} is enabled, {@link #getServerTime()} otherwise
+     */
+    @Override
+    protected long getRequestTimestamp() {
+        if (syncedServerTime)
+            return getSyncedServerTime();
+        return getServerTime();
+    }
+
+    /**
+     * Method to set {@link #syncedServerTime} instance
+     *
+     * @param syncedServerTime: whether the requests must be signed with the synced server time instead of requesting
+     *                          the server time for each request
+     */
+    public void setSyncedServerTime(boolean syncedServerTime) {
+        this.syncedServerTime = syncedServerTime;
+    }
+
+    /**
+     * Method to get {@link #syncedServerTime} instance <br>
+     * No-any params required
+     *
+     * @return {@link #syncedServerTime} instance as boolean
+     */
+    public boolean isSyncedServerTime() {
+        return syncedServerTime;
+    }
+
     /**
      * Method to execute a get request and get response of that
      *
@@ -233,7 +287,7 @@ public class BinanceSignedManager extends BinanceManager {
     protected String sendPostSignedRequest(String endpoint, Params params) throws Exception {
         if (params == null)
             params = new Params();
-        params.addParam("timestamp", getServerTime());
+        params.addParam("timestamp", getRequestTimestamp());
         params.addParam("signature", getSignature(secretKey, params.createQueryString(), HMAC_SHA256_ALGORITHM));
         return sendPostRequest(endpoint, params, apiKey);
     }
@@ -0,0 +1,480 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.subaccount;
+
+import com.tecknobit.binancemanager.managers.RequestWeightLimiter;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendObjectRequest;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendRequest;
+
+/**
+ * The {@code BinanceSubAccountFanOut} class is useful to run a query on many sub-accounts at once <br>
+ * The queries are sent concurrently by a bounded number of workers, each request waits for its weight on the
+ * {@code IP} or on the {@code UID} budget of the endpoint queried, the failed requests are retried with an exponential
+ * backoff and each result is streamed to a {@link FanOutListener} as soon as its sub-account has been completed
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials and the endpoint of the master account inserted; the default budgets are
+ * half of the {@code SAPI} limits, so the other requests of the same account keep their room
+ */
+public class BinanceSubAccountFanOut implements Closeable {
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of sub-accounts queried at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    /**
+     * {@code DEFAULT_IP_WEIGHT_PER_MINUTE} is constant for the default {@code IP} weight that the fan-out can use
+     * each minute
+     */
+    public static final int DEFAULT_IP_WEIGHT_PER_MINUTE = 6000;
+
+    /**
+     * {@code DEFAULT_UID_WEIGHT_PER_MINUTE} is constant for the default {@code UID} weight that the fan-out can use
+     * each minute
+     */
+    public static final int DEFAULT_UID_WEIGHT_PER_MINUTE = 90000;
+
+    /**
+     * {@code DEFAULT_MAX_ATTEMPTS} is constant for the default number of attempts of each sub-account
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    /**
+     * {@code RETRY_DELAY_MILLIS} is constant for the delay before the first retry, doubled on each next retry
+     */
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    /**
+     * {@code MAX_SUB_ACCOUNTS_LIMIT} is constant for the max number of sub-accounts returned by a single request
+     */
+    private static final int MAX_SUB_ACCOUNTS_LIMIT = 200;
+
+    /**
+     * {@code executor} is instance used to query the sub-accounts
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceSubAccountManager> managers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before a fan-out
+     */
+    private final BinanceSubAccountManager timeManager;
+
+    /**
+     * {@code ipLimiter} is instance used to respect the {@code IP} weight budget
+     */
+    private final RequestWeightLimiter ipLimiter;
+
+    /**
+     * {@code uidLimiter} is instance used to respect the {@code UID} weight budget
+     */
+    private final RequestWeightLimiter uidLimiter;
+
+    /**
+     * {@code maxAttempts} is instance that memorizes the number of attempts of each sub-account
+     */
+    private final int maxAttempts;
+
+    /**
+     * Constructor to init {@link BinanceSubAccountFanOut} with the default values
+     *
+     * @param account: manager of the master account, its credentials and its endpoint are used
+     */
+    public BinanceSubAccountFanOut(BinanceSignedManager account) {
+        this(account, DEFAULT_PARALLELISM, DEFAULT_IP_WEIGHT_PER_MINUTE, DEFAULT_UID_WEIGHT_PER_MINUTE,
+                DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * Constructor to init {@link BinanceSubAccountFanOut}
+     *
+     * @param account:            manager of the master account, its credentials and its endpoint are used
+     * @param parallelism:        number of sub-accounts queried at the same time
+     * @param ipWeightPerMinute:  {@code IP} weight that the fan-out can use each minute
+     * @param uidWeightPerMinute: {@code UID} weight that the fan-out can use each minute
+     * @param maxAttempts:        number of attempts of each sub-account
+     * @throws IllegalArgumentException when the values inserted are not positive
+     */
+    public BinanceSubAccountFanOut(BinanceSignedManager account, int parallelism, int ipWeightPerMinute,
+                                   int uidWeightPerMinute, int maxAttempts) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        if (maxAttempts <= 0)
+            throw new IllegalArgumentException("Max attempts must be positive");
+        this.maxAttempts = maxAttempts;
+        ipLimiter = new RequestWeightLimiter(ipWeightPerMinute);
+        uidLimiter = new RequestWeightLimiter(uidWeightPerMinute);
+        timeManager = new BinanceSubAccountManager(account);
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceSubAccountManager manager = new BinanceSubAccountManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-sub-account-fan-out");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Request to get the emails of all the sub-accounts, paging {@link BinanceSubAccountManager#getSubAccountList(Params)}
+     * <br>
+     * No-any params required
+     *
+     * @return emails of the sub-accounts as {@link ArrayList} of {@link String}
+     * @throws IOException when request has been go wrong
+     */
+    public ArrayList<String> getSubAccountEmails() throws IOException {
+        ArrayList<String> emails = new ArrayList<>();
+        int page = 1;
+        JSONArray jSubAccounts;
+        synchronized (timeManager) {
+            do {
+                Params params = new Params();
+                params.addParam("page", page++);
+                params.addParam("limit", MAX_SUB_ACCOUNTS_LIMIT);
+                try {
+                    ipLimiter.acquire(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+                JSONObject jResponse = sendObjectRequest(timeManager,
+                        () -> timeManager.getSubAccountList(params, STRING));
+                jSubAccounts = jResponse.optJSONArray("subAccounts");
+                if (jSubAccounts != null)
+                    for (int j = 0; j < jSubAccounts.length(); j++)
+                        emails.add(jSubAccounts.getJSONObject(j).getString("email"));
+            } while (jSubAccounts != null && jSubAccounts.length() == MAX_SUB_ACCOUNTS_LIMIT);
+        }
+        return emails;
+    }
+
+    /**
+     * Request to run a preset query on some sub-accounts
+     *
+     * @param emails:   emails of the sub-accounts to query
+     * @param query:    preset query to run
+     * @param listener: listener of the results as they are completed, can be null
+     * @return results of all the sub-accounts, in the order of the emails, completed when all the sub-accounts have
+     * been completed
+     */
+    public CompletableFuture<ArrayList<FanOutResult>> fanOut(Collection<String> emails, SubAccountQueryType query,
+                                                             FanOutListener listener) {
+        return fanOut(emails, query.weight, query.uidWeight, query, listener);
+    }
+
+    /**
+     * Request to run a query on some sub-accounts
+     *
+     * @param emails:    emails of the sub-accounts to query
+     * @param weight:    weight of a single query
+     * @param uidWeight: whether the weight is counted on the {@code UID} budget rather than on the {@code IP} one
+     * @param query:     query to run
+     * @param listener:  listener of the results as they are completed, can be null
+     * @return results of all the sub-accounts, in the order of the emails, completed when all the sub-accounts have
+     * been completed
+     */
+    public CompletableFuture<ArrayList<FanOutResult>> fanOut(Collection<String> emails, int weight, boolean uidWeight,
+                                                             SubAccountQuery query, FanOutListener listener) {
+        synchronized (timeManager) {
+            timeManager.getSyncedServerTime();
+        }
+        RequestWeightLimiter limiter = uidWeight ? uidLimiter : ipLimiter;
+        ArrayList<CompletableFuture<FanOutResult>> results = new ArrayList<>();
+        for (String email : emails) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                FanOutResult result = query(email, weight, limiter, query);
+                if (listener != null)
+                    listener.onResult(result);
+                return result;
+            }, executor));
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            ArrayList<FanOutResult> fanOutResults = new ArrayList<>();
+            for (CompletableFuture<FanOutResult> result : results)
+                fanOutResults.add(result.join());
+            return fanOutResults;
+        });
+    }
+
+    /**
+     * Method to query a sub-account from a worker, retrying the failed attempts
+     *
+     * @param email:   email of the sub-account
+     * @param weight:  weight of the query
+     * @param limiter: limiter of the budget of the query
+     * @param query:   query to run
+     * @return result of the sub-account as {@link FanOutResult}
+     */
+    private FanOutResult query(String email, int weight, RequestWeightLimiter limiter, SubAccountQuery query) {
+        BinanceSubAccountManager manager = managers.get();
+        IOException error = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                if (attempt > 1)
+                    Thread.sleep(RETRY_DELAY_MILLIS << (attempt - 2));
+                limiter.acquire(weight);
+                String response = sendRequest(manager, () -> query.send(manager, email));
+                return new FanOutResult(email, response, null, attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new FanOutResult(email, null, new IOException(e), attempt);
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        return new FanOutResult(email, null, error, maxAttempts);
+    }
+
+    /**
+     * Method to stop the workers <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * {@code SubAccountQueryType} list of available preset queries
+     */
+    public enum SubAccountQueryType implements SubAccountQuery {
+
+        /**
+         * {@code "ASSETS"} query, sent with {@link BinanceSubAccountManager#getSubAccountAssets(String)}
+         */
+        ASSETS(60, true),
+
+        /**
+         * {@code "STATUS"} query, sent with {@link BinanceSubAccountManager#getSubAccountStatus(Params)}
+         */
+        STATUS(10, false),
+
+        /**
+         * {@code "MARGIN_DETAIL"} query, sent with {@link BinanceSubAccountManager#getSubMarginAccountDetail(String)}
+         */
+        MARGIN_DETAIL(10, false),
+
+        /**
+         * {@code "FUTURES_DETAIL"} query, sent with
+         * {@link BinanceSubAccountManager#getSubFuturesAccountDetail(String)}
+         */
+        FUTURES_DETAIL(10, false),
+
+        /**
+         * {@code "FUTURES_POSITION_RISK"} query, sent with
+         * {@link BinanceSubAccountManager#getFuturesPositionRisk(String)}
+         */
+        FUTURES_POSITION_RISK(10, false);
+
+        /**
+         * {@code weight} weight of the query
+         */
+        private final int weight;
+
+        /**
+         * {@code uidWeight} whether the weight is counted on the {@code UID} budget
+         */
+        private final boolean uidWeight;
+
+        /**
+         * Constructor to init {@link SubAccountQueryType}
+         *
+         * @param weight:    weight of the query
+         * @param uidWeight: whether the weight is counted on the {@code UID} budget
+         */
+        SubAccountQueryType(int weight, boolean uidWeight) {
+            this.weight = weight;
+            this.uidWeight = uidWeight;
+        }
+
+        /**
+         * Method to send the query for a sub-account
+         *
+         * @param manager: manager used to send the query
+         * @param email:   email of the sub-account
+         * @return response of the query
+         * @throws Exception when request has been go wrong
+         */
+        @Override
+        public String send(BinanceSubAccountManager manager, String email) throws Exception {
+            return switch (this) {
+                case ASSETS -> manager.getSubAccountAssets(email, STRING);
+                case STATUS -> {
+                    Params params = new Params();
+                    params.addParam("email", email);
+                    yield manager.getSubAccountStatus(params, STRING);
+                }
+                case MARGIN_DETAIL -> manager.getSubMarginAccountDetail(email, STRING);
+                case FUTURES_DETAIL -> manager.getSubFuturesAccountDetail(email, STRING);
+                case FUTURES_POSITION_RISK -> manager.getFuturesPositionRisk(email, STRING);
+            };
+        }
+
+        /**
+         * Method to get {@link #weight} instance <br>
+         * No-any params required
+         *
+         * @return {@link #weight} instance as int
+         */
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Method to get {@link #uidWeight} instance <br>
+         * No-any params required
+         *
+         * @return {@link #uidWeight} instance as boolean
+         */
+        public boolean isUidWeight() {
+            return uidWeight;
+        }
+
+    }
+
+    /**
+     * The {@code SubAccountQuery} interface is useful to send a query for a sub-account
+     */
+    @FunctionalInterface
+    public interface SubAccountQuery {
+
+        /**
+         * Method to send the query for a sub-account
+         *
+         * @param manager: manager used to send the query
+         * @param email:   email of the sub-account
+         * @return response of the query as raw {@link String}
+         * @throws Exception when request has been go wrong
+         */
+        String send(BinanceSubAccountManager manager, String email) throws Exception;
+
+    }
+
+    /**
+     * The {@code FanOutListener} interface is useful to receive the results of a fan-out as they are completed
+     */
+    @FunctionalInterface
+    public interface FanOutListener {
+
+        /**
+         * Method to receive the result of a sub-account, called from the worker that completed it
+         *
+         * @param result: result of the sub-account
+         */
+        void onResult(FanOutResult result);
+
+    }
+
+    /**
+     * The {@code FanOutResult} class is useful to format the result of a query on a sub-account
+     */
+    public static class FanOutResult {
+
+        /**
+         * {@code email} is instance that memorizes the email of the sub-account
+         */
+        private final String email;
+
+        /**
+         * {@code response} is instance that memorizes the response of the query, null if failed
+         */
+        private final String response;
+
+        /**
+         * {@code error} is instance that memorizes the error of the last attempt, null if successful
+         */
+        private final IOException error;
+
+        /**
+         * {@code attempts} is instance that memorizes the number of attempts made
+         */
+        private final int attempts;
+
+        /**
+         * Constructor to init {@link FanOutResult}
+         *
+         * @param email:    email of the sub-account
+         * @param response: response of the query, null if failed
+         * @param error:    error of the last attempt, null if successful
+         * @param attempts: number of attempts made
+         */
+        public FanOutResult(String email, String response, IOException error, int attempts) {
+            this.email = email;
+            this.response = response;
+            this.error = error;
+            this.attempts = attempts;
+        }
+
+        /**
+         * Method to get {@link #email} instance <br>
+         * No-any params required
+         *
+         * @return {@link #email} instance as {@link String}
+         */
+        public String getEmail() {
+            return email;
+        }
+
+        /**
+         * Method to get {@link #response} instance <br>
+         * No-any params required
+         *
+         * @return {@link #response} instance as {@link String}
+         */
+        public String getResponse() {
+            return response;
+        }
+
+        /**
+         * Method to get {@link #error} instance <br>
+         * No-any params required
+         *
+         * @return {@link #error} instance as {@link IOException}
+         */
+        public IOException getError() {
+            return error;
+        }
+
+        /**
+         * Method to get {@link #attempts} instance <br>
+         * No-any params required
+         *
+         * @return {@link #attempts} instance as int
+         */
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * Method to get whether the query has been successful <br>
+         * No-any params required
+         *
+         * @return whether the query has been successful
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+    }
+
+}
@@ -0,0 +1,704 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.subaccount;
+
+import com.tecknobit.binancemanager.managers.RequestWeightLimiter;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.storage.CursorStore;
+import com.tecknobit.binancemanager.managers.storage.JsonLinesJournal;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.checkObjectResponse;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendRequest;
+
+/**
+ * The {@code BinanceSubAccountHistorySync} class is useful to keep a local journal of the transfers and of the deposits
+ * of the sub-accounts updated with incremental requests <br>
+ * For each sub-account and history a high-water mark is persisted in a {@link CursorStore}: the time of the last row
+ * journaled and the ids of the rows with that time, so each sync requests only the time windows after the mark and
+ * skips the rows already journaled; the sub-accounts are synced concurrently and the requests share a
+ * {@link RequestWeightLimiter} <br>
+ * Each row is appended to the {@link JsonLinesJournal} with its {@code "type"} and its {@code "email"} and its offset
+ * is indexed by sub-account and history, so the rows of a sub-account can be read back with
+ * {@link #getRecords(String, HistoryType)} without scanning the journal; the index is rebuilt from the journal when
+ * the sync is opened
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials and the endpoint of the master account inserted; the deposits not final
+ * yet are checked again on each sync, for up to {@link #MAX_PENDING_MILLIS}, and journaled again each time their
+ * status changes, so the last row of a deposit is its current status; the marks are persisted after each window has
+ * been written on the journal, so an interrupted sync restarts from the last window journaled
+ */
+public class BinanceSubAccountHistorySync implements Closeable {
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of sub-accounts synced at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * {@code DEFAULT_WEIGHT_PER_MINUTE} is constant for the default weight that the sync can use each minute
+     */
+    public static final int DEFAULT_WEIGHT_PER_MINUTE = 3000;
+
+    /**
+     * {@code DEFAULT_LOOKBACK_MILLIS} is constant for the default age of the history synced the first time
+     */
+    public static final long DEFAULT_LOOKBACK_MILLIS = 180L * 24 * 60 * 60 * 1000;
+
+    /**
+     * {@code MAX_ROWS_LIMIT} is constant for the max number of rows returned by a single request
+     */
+    public static final int MAX_ROWS_LIMIT = 500;
+
+    /**
+     * {@code MAX_PENDING_MILLIS} is constant for the max age of a row not final yet that is checked again on each sync
+     */
+    public static final long MAX_PENDING_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+    /**
+     * {@code SETTLE_MILLIS} is constant for the age after that a time window is considered complete, the empty windows
+     * younger than it are requested again on the next sync
+     */
+    private static final long SETTLE_MILLIS = 60000;
+
+    /**
+     * {@code DAY_MILLIS} is constant for the millis of a day
+     */
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * {@code cursorStore} is instance used to persist the high-water marks
+     */
+    private final CursorStore cursorStore;
+
+    /**
+     * {@code journal} is instance used to append the rows
+     */
+    private final JsonLinesJournal journal;
+
+    /**
+     * {@code index} is instance that memorizes the offsets of the rows journaled for each sub-account and history
+     */
+    private final ConcurrentHashMap<String, ArrayList<Long>> index;
+
+    /**
+     * {@code weightLimiter} is instance used to respect the weight budget
+     */
+    private final RequestWeightLimiter weightLimiter;
+
+    /**
+     * {@code executor} is instance used to sync the sub-accounts
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceSubAccountManager> managers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before a sync
+     */
+    private final BinanceSubAccountManager timeManager;
+
+    /**
+     * {@code lookbackMillis} is instance that memorizes the age of the history synced the first time
+     */
+    private final long lookbackMillis;
+
+    /**
+     * Constructor to init {@link BinanceSubAccountHistorySync} with the default values
+     *
+     * @param account:     manager of the master account, its credentials and its endpoint are used
+     * @param cursorsPath: path of the high-water marks file
+     * @param journalPath: path of the journal
+     * @throws IOException when the marks or the journal cannot be opened
+     */
+    public BinanceSubAccountHistorySync(BinanceSignedManager account, String cursorsPath,
+                                        String journalPath) throws IOException {
+        this(account, cursorsPath, journalPath, DEFAULT_PARALLELISM, DEFAULT_WEIGHT_PER_MINUTE,
+                DEFAULT_LOOKBACK_MILLIS);
+    }
+
+    /**
+     * Constructor to init {@link BinanceSubAccountHistorySync}
+     *
+     * @param account:         manager of the master account, its credentials and its endpoint are used
+     * @param cursorsPath:     path of the high-water marks file
+     * @param journalPath:     path of the journal
+     * @param parallelism:     number of sub-accounts synced at the same time
+     * @param weightPerMinute: weight that the sync can use each minute
+     * @param lookbackMillis:  age of the history synced the first time
+     * @throws IOException              when the marks or the journal cannot be opened
+     * @throws IllegalArgumentException when the values inserted are not positive
+     */
+    public BinanceSubAccountHistorySync(BinanceSignedManager account, String cursorsPath, String journalPath,
+                                        int parallelism, int weightPerMinute, long lookbackMillis) throws IOException {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        if (lookbackMillis <= 0)
+            throw new IllegalArgumentException("Lookback millis must be positive");
+        this.lookbackMillis = lookbackMillis;
+        weightLimiter = new RequestWeightLimiter(weightPerMinute);
+        timeManager = new BinanceSubAccountManager(account);
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceSubAccountManager manager = new BinanceSubAccountManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        cursorStore = new CursorStore(cursorsPath);
+        journal = new JsonLinesJournal(journalPath);
+        index = new ConcurrentHashMap<>();
+        journal.forEach((offset, record) -> {
+            String type = record.optString("type", null);
+            String email = record.optString("email", null);
+            if (type != null && email != null)
+                indexRecord(type + "." + email, offset);
+        });
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-sub-account-history-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to sync some histories of the sub-accounts
+     *
+     * @param emails:    emails of the sub-accounts to sync
+     * @param histories: histories to sync
+     * @return results of the sync as {@link ArrayList} of {@link SyncResult}, in the same order of the emails inserted
+     * @apiNote a failed sub-account does not stop the others, and its marks keep the last window journaled
+     */
+    public ArrayList<SyncResult> sync(Collection<String> emails, HistoryType... histories) {
+        long now;
+        synchronized (timeManager) {
+            now = timeManager.getSyncedServerTime();
+        }
+        ArrayList<CompletableFuture<SyncResult>> syncs = new ArrayList<>();
+        for (String email : new LinkedHashSet<>(emails))
+            syncs.add(CompletableFuture.supplyAsync(() -> syncSubAccount(email, now, histories), executor));
+        ArrayList<SyncResult> results = new ArrayList<>(syncs.size());
+        for (CompletableFuture<SyncResult> sync : syncs)
+            results.add(sync.join());
+        return results;
+    }
+
+    /**
+     * Method to sync a sub-account from a worker
+     *
+     * @param email:     email of the sub-account
+     * @param now:       server time of the sync
+     * @param histories: histories to sync
+     * @return result of the sync as {@link SyncResult}
+     */
+    private SyncResult syncSubAccount(String email, long now, HistoryType[] histories) {
+        BinanceSubAccountManager manager = managers.get();
+        int newRecords = 0;
+        try {
+            for (HistoryType history : histories)
+                newRecords += syncHistory(manager, email, history, now);
+            return new SyncResult(email, newRecords, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SyncResult(email, newRecords, "Interrupted");
+        } catch (Exception e) {
+            return new SyncResult(email, newRecords, e.getMessage());
+        }
+    }
+
+    /**
+     * Method to sync a history of a sub-account, window by window from its high-water mark
+     *
+     * @param manager: manager of the worker
+     * @param email:   email of the sub-account
+     * @param history: history to sync
+     * @param now:     server time of the sync
+     * @return number of new rows journaled
+     * @throws Exception when request has been go wrong or the journal cannot be written
+     */
+    private int syncHistory(BinanceSubAccountManager manager, String email, HistoryType history,
+                            long now) throws Exception {
+        String cursorKey = history.name() + "." + email;
+        long mark = cursorStore.getCursor(cursorKey, now - lookbackMillis);
+        HashSet<String> markIds = parseIds(cursorStore.getCursor(cursorKey + ".ids"));
+        HashMap<String, long[]> pendingRows = parsePendingRows(cursorStore.getCursor(cursorKey + ".pending"));
+        pendingRows.values().removeIf(pendingRow -> pendingRow[0] < now - MAX_PENDING_MILLIS);
+        int newRecords = 0;
+        if (!pendingRows.isEmpty()) {
+            newRecords += updatePendingRows(manager, email, history, pendingRows);
+            commit(cursorKey, mark, markIds, pendingRows);
+        }
+        long windowStart = mark;
+        while (windowStart <= now) {
+            long windowEnd = Math.min(now, windowStart + history.maxWindow - 1);
+            ArrayList<JSONObject> rows = new ArrayList<>();
+            for (JSONObject row : fetchWindow(manager, email, history, windowStart, windowEnd)) {
+                long time = row.optLong(history.timeKey);
+                if (time > mark || (time == mark && !markIds.contains(row.optString(history.idKey))))
+                    rows.add(row);
+            }
+            rows.sort(Comparator.comparingLong(row -> row.optLong(history.timeKey)));
+            for (JSONObject row : rows) {
+                journal(row, history, email);
+                long time = row.getLong(history.timeKey);
+                if (time > mark) {
+                    mark = time;
+                    markIds.clear();
+                }
+                markIds.add(row.optString(history.idKey));
+                if (history.isPending(row))
+                    pendingRows.put(row.optString(history.idKey), new long[]{time, row.optInt(history.statusKey)});
+            }
+            newRecords += rows.size();
+            if (mark < windowEnd && windowEnd < now - SETTLE_MILLIS) {
+                mark = windowEnd;
+                markIds.clear();
+            }
+            commit(cursorKey, mark, markIds, pendingRows);
+            windowStart = windowEnd + 1;
+        }
+        return newRecords;
+    }
+
+    /**
+     * Method to check again the rows not final yet of a history, a row is journaled again when its status has been
+     * changed and it is not checked anymore when its status is final
+     *
+     * @param manager:     manager of the worker
+     * @param email:       email of the sub-account
+     * @param history:     history of the rows
+     * @param pendingRows: time and status of the rows not final yet, by id
+     * @return number of rows journaled again
+     * @throws Exception when request has been go wrong or the journal cannot be written
+     */
+    private int updatePendingRows(BinanceSubAccountManager manager, String email, HistoryType history,
+                                  HashMap<String, long[]> pendingRows) throws Exception {
+        TreeSet<Long> times = new TreeSet<>();
+        for (long[] pendingRow : pendingRows.values())
+            times.add(pendingRow[0]);
+        int updatedRecords = 0;
+        Long windowStart = times.isEmpty() ? null : times.first();
+        while (windowStart != null) {
+            long windowEnd = windowStart + history.maxWindow - 1;
+            for (JSONObject row : fetchWindow(manager, email, history, windowStart, windowEnd)) {
+                String id = row.optString(history.idKey);
+                long[] pendingRow = pendingRows.get(id);
+                if (pendingRow == null)
+                    continue;
+                int status = row.optInt(history.statusKey);
+                if (status != pendingRow[1]) {
+                    journal(row, history, email);
+                    updatedRecords++;
+                    pendingRow[1] = status;
+                }
+                if (!history.isPending(row))
+                    pendingRows.remove(id);
+            }
+            windowStart = times.higher(windowEnd);
+        }
+        return updatedRecords;
+    }
+
+    /**
+     * Method to append a row on the journal and to index it
+     *
+     * @param row:     row to append
+     * @param history: history of the row
+     * @param email:   email of the sub-account
+     * @throws IOException when the journal cannot be written
+     */
+    private void journal(JSONObject row, HistoryType history, String email) throws IOException {
+        long offset = journal.append(row.put("type", history.name()).put("email", email));
+        indexRecord(history.name() + "." + email, offset);
+    }
+
+    /**
+     * Method to index the offset of a row journaled
+     *
+     * @param indexKey: key of the sub-account and of the history of the row
+     * @param offset:   offset of the row in the journal
+     */
+    private void indexRecord(String indexKey, long offset) {
+        ArrayList<Long> offsets = index.computeIfAbsent(indexKey, key -> new ArrayList<>());
+        synchronized (offsets) {
+            offsets.add(offset);
+        }
+    }
+
+    /**
+     * Method to get the offsets of the rows journaled of a sub-account and of a history
+     *
+     * @param email:   email of the sub-account
+     * @param history: history of the rows
+     * @return offsets of the rows in the order they have been journaled as {@link ArrayList} of {@link Long}
+     */
+    public ArrayList<Long> getOffsets(String email, HistoryType history) {
+        ArrayList<Long> offsets = index.get(history.name() + "." + email);
+        if (offsets == null)
+            return new ArrayList<>();
+        synchronized (offsets) {
+            return new ArrayList<>(offsets);
+        }
+    }
+
+    /**
+     * Method to read the rows journaled of a sub-account and of a history
+     *
+     * @param email:   email of the sub-account
+     * @param history: history of the rows
+     * @return rows in the order they have been journaled as {@link ArrayList} of {@link JSONObject}
+     * @throws IOException when the journal cannot be read
+     */
+    public ArrayList<JSONObject> getRecords(String email, HistoryType history) throws IOException {
+        ArrayList<JSONObject> records = new ArrayList<>();
+        for (long offset : getOffsets(email, history))
+            records.add(journal.read(offset));
+        return records;
+    }
+
+    /**
+     * Method to fetch all the pages of a time window of a history
+     *
+     * @param manager:   manager of the worker
+     * @param email:     email of the sub-account
+     * @param history:   history to fetch
+     * @param startTime: start of the window
+     * @param endTime:   end of the window
+     * @return rows of the window as {@link ArrayList} of {@link JSONObject}
+     * @throws Exception when request has been go wrong
+     */
+    private ArrayList<JSONObject> fetchWindow(BinanceSubAccountManager manager, String email, HistoryType history,
+                                              long startTime, long endTime) throws Exception {
+        ArrayList<JSONObject> rows = new ArrayList<>();
+        int page = 1;
+        JSONArray jRows;
+        do {
+            weightLimiter.acquire(history.weight);
+            int currentPage = page++;
+            String response = sendRequest(manager,
+                    () -> history.send(manager, email, startTime, endTime, currentPage));
+            jRows = getPage(history, response);
+            for (int j = 0; j < jRows.length(); j++)
+                rows.add(jRows.getJSONObject(j));
+        } while (jRows.length() == MAX_ROWS_LIMIT);
+        return rows;
+    }
+
+    /**
+     * Method to get a page of rows from a response checked
+     *
+     * @param history:  history of the response
+     * @param response: response of the request
+     * @return page as {@link JSONArray}
+     * @throws IOException when the response is not formatted as the history expects
+     */
+    private JSONArray getPage(HistoryType history, String response) throws IOException {
+        if (history.rowsKey == null) {
+            if (!response.startsWith("["))
+                throw new IOException(response);
+            return new JSONArray(response);
+        }
+        JSONArray jRows = checkObjectResponse(response).optJSONArray(history.rowsKey);
+        return jRows != null ? jRows : new JSONArray();
+    }
+
+    /**
+     * Method to persist a high-water mark after its rows have been written on the journal
+     *
+     * @param cursorKey:   key of the mark
+     * @param mark:        time of the mark
+     * @param markIds:     ids of the rows with the time of the mark
+     * @param pendingRows: time and status of the rows not final yet, by id
+     * @throws IOException when the journal or the marks cannot be written
+     */
+    private void commit(String cursorKey, long mark, HashSet<String> markIds,
+                        HashMap<String, long[]> pendingRows) throws IOException {
+        journal.flush();
+        cursorStore.setCursor(cursorKey + ".ids", markIds.isEmpty() ? null : String.join(",", markIds));
+        StringJoiner pending = new StringJoiner(",");
+        for (Map.Entry<String, long[]> pendingRow : pendingRows.entrySet())
+            pending.add(pendingRow.getKey() + ":" + pendingRow.getValue()[0] + ":" + pendingRow.getValue()[1]);
+        cursorStore.setCursor(cursorKey + ".pending", pendingRows.isEmpty() ? null : pending.toString());
+        cursorStore.setCursor(cursorKey, mark);
+        cursorStore.flush();
+    }
+
+    /**
+     * Method to parse a list of ids
+     *
+     * @param ids: ids separated by comma, null if no one
+     * @return ids as {@link HashSet} of {@link String}
+     */
+    private static HashSet<String> parseIds(String ids) {
+        HashSet<String> parsedIds = new HashSet<>();
+        if (ids != null && !ids.isEmpty())
+            parsedIds.addAll(Arrays.asList(ids.split(",")));
+        return parsedIds;
+    }
+
+    /**
+     * Method to parse a list of rows not final yet
+     *
+     * @param pendingRows: rows formatted as {@code "<id>:<time>:<status>"} separated by comma, null if no one
+     * @return time and status of the rows, by id, as {@link HashMap}
+     */
+    private static HashMap<String, long[]> parsePendingRows(String pendingRows) {
+        HashMap<String, long[]> parsedRows = new HashMap<>();
+        if (pendingRows != null && !pendingRows.isEmpty()) {
+            for (String pendingRow : pendingRows.split(",")) {
+                String[] fields = pendingRow.split(":");
+                parsedRows.put(fields[0], new long[]{Long.parseLong(fields[1]), Long.parseLong(fields[2])});
+            }
+        }
+        return parsedRows;
+    }
+
+    /**
+     * Method to stop the workers and close the journal <br>
+     * No-any params required
+     *
+     * @throws IOException when the journal cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        journal.close();
+    }
+
+    /**
+     * {@code HistoryType} list of available histories of a sub-account
+     *
+     * @apiNote the history of {@code "/sapi/v1/sub-account/transfer/subUserHistory"} is not available because it must
+     * be requested with the credentials of the sub-account itself
+     */
+    public enum HistoryType {
+
+        /**
+         * {@code "SPOT_TRANSFERS_OUT"} history, the spot transfers sent by the sub-account, requested with
+         * {@link BinanceSubAccountManager#getSubAccountSpotTransferHistory(Params)}
+         */
+        SPOT_TRANSFERS_OUT(null, "time", "tranId", null, Set.of(), 30 * DAY_MILLIS, 1),
+
+        /**
+         * {@code "SPOT_TRANSFERS_IN"} history, the spot transfers received by the sub-account, requested with
+         * {@link BinanceSubAccountManager#getSubAccountSpotTransferHistory(Params)}
+         */
+        SPOT_TRANSFERS_IN(null, "time", "tranId", null, Set.of(), 30 * DAY_MILLIS, 1),
+
+        /**
+         * {@code "DEPOSITS"} history, requested with
+         * {@link BinanceSubAccountManager#getSubAccountDepositHistory(String, Params)}, the deposits pending, credited
+         * but not withdrawable yet or waiting the user confirmation are not final
+         */
+        DEPOSITS(null, "insertTime", "id", "status", Set.of(0, 6, 8), 7 * DAY_MILLIS, 1),
+
+        /**
+         * {@code "INVESTOR_TRANSFER_LOG"} history of a managed sub-account, requested with
+         * {@link BinanceSubAccountManager#getInvestorTransferLog(String, long, long, int, int)}
+         */
+        INVESTOR_TRANSFER_LOG("managerSubTransferHistoryVos", "createTime", "tranId", null, Set.of(),
+                180 * DAY_MILLIS, 1),
+
+        /**
+         * {@code "TRADING_TEAM_TRANSFER_LOG"} history of a managed sub-account, requested with
+         * {@link BinanceSubAccountManager#getTradingTeamTransferLog(String, long, long, int, int)}
+         */
+        TRADING_TEAM_TRANSFER_LOG("managerSubTransferHistoryVos", "createTime", "tranId", null, Set.of(),
+                180 * DAY_MILLIS, 60);
+
+        /**
+         * {@code rowsKey} key of the rows in the response, null if the response is the rows list
+         */
+        private final String rowsKey;
+
+        /**
+         * {@code timeKey} key of the time of a row
+         */
+        private final String timeKey;
+
+        /**
+         * {@code idKey} key of the id of a row
+         */
+        private final String idKey;
+
+        /**
+         * {@code statusKey} key of the status of a row, null if the rows are final when they are journaled
+         */
+        private final String statusKey;
+
+        /**
+         * {@code pendingStatuses} statuses of the rows not final yet
+         */
+        private final Set<Integer> pendingStatuses;
+
+        /**
+         * {@code maxWindow} max time window accepted by a request
+         */
+        private final long maxWindow;
+
+        /**
+         * {@code weight} weight of a request
+         */
+        private final int weight;
+
+        /**
+         * Constructor to init {@link HistoryType}
+         *
+         * @param rowsKey:         key of the rows in the response, null if the response is the rows list
+         * @param timeKey:         key of the time of a row
+         * @param idKey:           key of the id of a row
+         * @param statusKey:       key of the status of a row, null if the rows are final when they are journaled
+         * @param pendingStatuses: statuses of the rows not final yet
+         * @param maxWindow:       max time window accepted by a request
+         * @param weight:          weight of a request
+         */
+        HistoryType(String rowsKey, String timeKey, String idKey, String statusKey, Set<Integer> pendingStatuses,
+                    long maxWindow, int weight) {
+            this.rowsKey = rowsKey;
+            this.timeKey = timeKey;
+            this.idKey = idKey;
+            this.statusKey = statusKey;
+            this.pendingStatuses = pendingStatuses;
+            this.maxWindow = maxWindow;
+            this.weight = weight;
+        }
+
+        /**
+         * Method to check whether a row is not final yet
+         *
+         * @param row: row to check
+         * @return whether the status of the row can change yet
+         */
+        private boolean isPending(JSONObject row) {
+            return statusKey != null && pendingStatuses.contains(row.optInt(statusKey, -1));
+        }
+
+        /**
+         * Method to request a page of the history
+         *
+         * @param manager:   manager used to send the request
+         * @param email:     email of the sub-account
+         * @param startTime: start of the window
+         * @param endTime:   end of the window
+         * @param page:      page to request, starting from 1
+         * @return response of the request
+         * @throws Exception when request has been go wrong
+         */
+        private String send(BinanceSubAccountManager manager, String email, long startTime, long endTime,
+                            int page) throws Exception {
+            Params params = new Params();
+            switch (this) {
+                case SPOT_TRANSFERS_OUT, SPOT_TRANSFERS_IN -> {
+                    params.addParam(this == SPOT_TRANSFERS_OUT ? "fromEmail" : "toEmail", email);
+                    params.addParam("startTime", startTime);
+                    params.addParam("endTime", endTime);
+                    params.addParam("page", page);
+                    params.addParam("limit", MAX_ROWS_LIMIT);
+                    return manager.getSubAccountSpotTransferHistory(params, STRING);
+                }
+                case DEPOSITS -> {
+                    params.addParam("startTime", startTime);
+                    params.addParam("endTime", endTime);
+                    params.addParam("offset", (page - 1) * MAX_ROWS_LIMIT);
+                    params.addParam("limit", MAX_ROWS_LIMIT);
+                    return manager.getSubAccountDepositHistory(email, params, STRING);
+                }
+                case INVESTOR_TRANSFER_LOG -> {
+                    return manager.getInvestorTransferLog(email, startTime, endTime, page, MAX_ROWS_LIMIT, STRING);
+                }
+                default -> {
+                    return manager.getTradingTeamTransferLog(email, startTime, endTime, page, MAX_ROWS_LIMIT,
+                            STRING);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The {@code SyncResult} class is useful to format the result of the sync of a sub-account
+     */
+    public static final class SyncResult {
+
+        /**
+         * {@code email} is instance that memorizes the email of the sub-account synced
+         */
+        private final String email;
+
+        /**
+         * {@code newRecords} is instance that memorizes the number of new rows journaled
+         */
+        private final int newRecords;
+
+        /**
+         * {@code error} is instance that memorizes the error of the sync, null if successful
+         */
+        private final String error;
+
+        /**
+         * Constructor to init {@link SyncResult}
+         *
+         * @param email:      email of the sub-account synced
+         * @param newRecords: number of new rows journaled
+         * @param error:      error of the sync, null if successful
+         */
+        private SyncResult(String email, int newRecords, String error) {
+            this.email = email;
+            this.newRecords = newRecords;
+            this.error = error;
+        }
+
+        /**
+         * Method to get {@link #email} instance <br>
+         * No-any params required
+         *
+         * @return {@link #email} instance as {@link String}
+         */
+        public String getEmail() {
+            return email;
+        }
+
+        /**
+         * Method to get {@link #newRecords} instance <br>
+         * No-any params required
+         *
+         * @return {@link #newRecords} instance as int
+         */
+        public int getNewRecords() {
+            return newRecords;
+        }
+
+        /**
+         * Method to get {@link #error} instance <br>
+         * No-any params required
+         *
+         * @return {@link #error} instance as {@link String}
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * Method to get whether the sync has been successful <br>
+         * No-any params required
+         *
+         * @return whether the sync has been successful as boolean
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+    }
+
+}
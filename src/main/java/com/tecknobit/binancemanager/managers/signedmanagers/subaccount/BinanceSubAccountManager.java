@@ -342,6 +342,18 @@ public class BinanceSubAccountManager extends BinanceSignedManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link BinanceSubAccountManager} with the same base endpoint, custom error, timeout and
+     * credentials of another manager
+     *
+     * @param manager: manager from copy the details and the credentials
+     * @apiNote unlike the no-any params constructor this constructor does not use the credentials of the last
+     * parameterized constructor called, so it is useful to work on a specific account
+     */
+    public BinanceSubAccountManager(BinanceSignedManager manager) {
+        super(manager);
+    }
+
     /**
      * Request to create a virtual subaccount
      *
@@ -0,0 +1,605 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.subaccount;
+
+import com.tecknobit.binancemanager.managers.marketstreams.BinanceTickersCache;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.subaccount.BinanceSubAccountFanOut.FanOutResult;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendObjectRequest;
+import static com.tecknobit.binancemanager.managers.signedmanagers.subaccount.BinanceSubAccountFanOut.SubAccountQueryType.ASSETS;
+
+/**
+ * The {@code BinanceSubAccountPortfolio} class is useful to keep one portfolio view of the master account and of all
+ * its sub-accounts <br>
+ * Each refresh requests the cheap summaries of the spot, margin and futures accounts, then fetches again with
+ * {@link BinanceSubAccountManager#getSubAccountAssets(String)} only the sub-accounts new, marked as dirty, older than
+ * the stale time or whose spot value in the summary does not match the value of their snapshot anymore; the totals per
+ * asset and per account type are kept updated on each snapshot replaced, so they are answered without any request
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the values are computed with the prices of the {@link BinanceTickersCache} inserted, the assets without a
+ * symbol with the quote asset, directly or inverted, are valued as {@link Double#NaN}; the margin accounts are known only
+ * as Bitcoin totals and the master account only as the Bitcoin total of its spot account; the failures of the
+ * background refreshes are notified to the {@link PortfolioErrorListener} added
+ */
+public class BinanceSubAccountPortfolio implements Closeable {
+
+    /**
+     * {@code DEFAULT_REFRESH_PERIOD} is constant for the default period in millis of the refreshes
+     */
+    public static final long DEFAULT_REFRESH_PERIOD = 60000;
+
+    /**
+     * {@code DEFAULT_STALE_MILLIS} is constant for the default age after that a snapshot is fetched again
+     */
+    public static final long DEFAULT_STALE_MILLIS = 15 * 60000;
+
+    /**
+     * {@code CHANGE_TOLERANCE} is constant for the relative difference between the spot value of the summary and the
+     * one of the snapshot after that the sub-account is considered changed
+     */
+    public static final double CHANGE_TOLERANCE = 0.005;
+
+    /**
+     * {@code BTC} is constant for the asset of the summaries values
+     */
+    private static final String BTC = "BTC";
+
+    /**
+     * {@code MAX_SUMMARY_SIZE} is constant for the max number of sub-accounts returned by a single spot summary
+     */
+    private static final int MAX_SUMMARY_SIZE = 20;
+
+    /**
+     * {@code fanOut} is instance used to fetch the sub-accounts snapshots
+     */
+    private final BinanceSubAccountFanOut fanOut;
+
+    /**
+     * {@code account} is instance used as model of the manager of each refresh
+     */
+    private final BinanceSignedManager account;
+
+    /**
+     * {@code prices} is instance used to value the assets
+     */
+    private final BinanceTickersCache prices;
+
+    /**
+     * {@code quoteAsset} is instance that memorizes the asset used to value the portfolio
+     */
+    private final String quoteAsset;
+
+    /**
+     * {@code refreshPeriod} is instance that memorizes the period in millis of the refreshes
+     */
+    private final long refreshPeriod;
+
+    /**
+     * {@code staleMillis} is instance that memorizes the age after that a snapshot is fetched again
+     */
+    private final long staleMillis;
+
+    /**
+     * {@code snapshots} is instance that memorizes the snapshot of each sub-account
+     */
+    private final HashMap<String, SubAccountSnapshot> snapshots;
+
+    /**
+     * {@code spotTotals} is instance that memorizes the spot quantity of each asset summed on all the sub-accounts
+     */
+    private final HashMap<String, Double> spotTotals;
+
+    /**
+     * {@code futuresTotals} is instance that memorizes the futures margin balance of each asset summed on all the
+     * sub-accounts
+     */
+    private final HashMap<String, Double> futuresTotals;
+
+    /**
+     * {@code dirtySubAccounts} is instance that memorizes the sub-accounts to fetch again on the next refresh
+     */
+    private final Set<String> dirtySubAccounts;
+
+    /**
+     * {@code errorListeners} is instance that memorizes the listeners of the errors of the background refreshes
+     */
+    private final CopyOnWriteArrayList<PortfolioErrorListener> errorListeners;
+
+    /**
+     * {@code scheduler} is instance used to refresh the portfolio
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * {@code masterSpotAssetOfBtc} is instance that memorizes the spot total of the master account in Bitcoin
+     */
+    private double masterSpotAssetOfBtc;
+
+    /**
+     * {@code marginNetAssetOfBtc} is instance that memorizes the margin net total of all the sub-accounts in Bitcoin
+     */
+    private double marginNetAssetOfBtc;
+
+    /**
+     * Constructor to init {@link BinanceSubAccountPortfolio} with the {@link #DEFAULT_REFRESH_PERIOD} and the
+     * {@link #DEFAULT_STALE_MILLIS}
+     *
+     * @param fanOut:     fan-out used to fetch the sub-accounts snapshots
+     * @param account:    manager of the master account used to request the summaries
+     * @param prices:     cache of the prices used to value the assets
+     * @param quoteAsset: asset used to value the portfolio es. USDT
+     */
+    public BinanceSubAccountPortfolio(BinanceSubAccountFanOut fanOut, BinanceSignedManager account,
+                                      BinanceTickersCache prices, String quoteAsset) {
+        this(fanOut, account, prices, quoteAsset, DEFAULT_REFRESH_PERIOD, DEFAULT_STALE_MILLIS);
+    }
+
+    /**
+     * Constructor to init {@link BinanceSubAccountPortfolio}
+     *
+     * @param fanOut:        fan-out used to fetch the sub-accounts snapshots
+     * @param account:       manager of the master account used to request the summaries
+     * @param prices:        cache of the prices used to value the assets
+     * @param quoteAsset:    asset used to value the portfolio es. USDT
+     * @param refreshPeriod: period in millis of the refreshes
+     * @param staleMillis:   age after that a snapshot is fetched again
+     * @throws IllegalArgumentException when the refresh period or the stale millis are not positive
+     * @apiNote each refresh requests the summaries with its own {@link BinanceSubAccountManager} copied from the
+     * account inserted
+     */
+    public BinanceSubAccountPortfolio(BinanceSubAccountFanOut fanOut, BinanceSignedManager account,
+                                      BinanceTickersCache prices, String quoteAsset, long refreshPeriod,
+                                      long staleMillis) {
+        if (refreshPeriod <= 0)
+            throw new IllegalArgumentException("Refresh period must be positive");
+        if (staleMillis <= 0)
+            throw new IllegalArgumentException("Stale millis must be positive");
+        this.fanOut = fanOut;
+        this.account = account;
+        this.prices = prices;
+        this.quoteAsset = quoteAsset;
+        this.refreshPeriod = refreshPeriod;
+        this.staleMillis = staleMillis;
+        snapshots = new HashMap<>();
+        spotTotals = new HashMap<>();
+        futuresTotals = new HashMap<>();
+        dirtySubAccounts = ConcurrentHashMap.newKeySet();
+        errorListeners = new CopyOnWriteArrayList<>();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "binance-sub-account-portfolio");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to fill the portfolio and to start the background refreshes <br>
+     * No-any params required
+     *
+     * @throws IOException when request has been go wrong
+     * @apiNote the failures of the next refreshes are notified to the {@link PortfolioErrorListener} added
+     */
+    public void start() throws IOException {
+        refresh();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                for (PortfolioErrorListener listener : errorListeners)
+                    listener.onRefreshFailed(e);
+            }
+        }, refreshPeriod, refreshPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Request to refresh the summaries and to fetch again the sub-accounts changed or stale <br>
+     * No-any params required
+     *
+     * @return number of sub-accounts fetched again
+     * @throws IOException when request has been go wrong
+     */
+    public int refresh() throws IOException {
+        BinanceSubAccountManager subAccountManager = new BinanceSubAccountManager(account);
+        HashMap<String, Double> spotSummary = new HashMap<>();
+        double masterAssetOfBtc = 0;
+        int page = 1;
+        JSONArray jSubAccounts;
+        do {
+            Params params = new Params();
+            params.addParam("page", page++);
+            params.addParam("size", MAX_SUMMARY_SIZE);
+            JSONObject jSummary = sendObjectRequest(subAccountManager,
+                    () -> subAccountManager.getSubAccountSpotAssetsSummary(params, STRING));
+            masterAssetOfBtc = jSummary.optDouble("masterAccountTotalAsset", 0);
+            jSubAccounts = jSummary.optJSONArray("spotSubUserAssetBtcVoList");
+            if (jSubAccounts != null) {
+                for (int j = 0; j < jSubAccounts.length(); j++) {
+                    JSONObject jSubAccount = jSubAccounts.getJSONObject(j);
+                    spotSummary.put(jSubAccount.getString("email"), jSubAccount.optDouble("totalAsset", 0));
+                }
+            }
+        } while (jSubAccounts != null && jSubAccounts.length() == MAX_SUMMARY_SIZE);
+        JSONObject jMargin = sendObjectRequest(subAccountManager,
+                () -> subAccountManager.getSummarySubMarginAccount(STRING));
+        JSONObject jFutures = sendObjectRequest(subAccountManager,
+                () -> subAccountManager.getSummarySubFuturesAccount(STRING));
+        ArrayList<String> subAccountsToFetch = new ArrayList<>();
+        synchronized (this) {
+            masterSpotAssetOfBtc = masterAssetOfBtc;
+            for (String email : new ArrayList<>(snapshots.keySet()))
+                if (!spotSummary.containsKey(email))
+                    replaceSnapshot(email, null);
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, Double> summary : spotSummary.entrySet()) {
+                String email = summary.getKey();
+                SubAccountSnapshot snapshot = snapshots.get(email);
+                if (snapshot == null) {
+                    snapshot = new SubAccountSnapshot();
+                    snapshots.put(email, snapshot);
+                    subAccountsToFetch.add(email);
+                } else if (dirtySubAccounts.contains(email) || now - snapshot.updateTime > staleMillis
+                        || isChanged(snapshot, summary.getValue()))
+                    subAccountsToFetch.add(email);
+            }
+            updateMargin(jMargin);
+            updateFutures(jFutures);
+        }
+        dirtySubAccounts.removeAll(subAccountsToFetch);
+        for (FanOutResult result : fanOut.fanOut(subAccountsToFetch, ASSETS, null).join()) {
+            if (!result.isSuccessful()) {
+                dirtySubAccounts.add(result.getEmail());
+                continue;
+            }
+            HashMap<String, Double> balances = new HashMap<>();
+            JSONArray jBalances = new JSONObject(result.getResponse()).optJSONArray("balances");
+            if (jBalances != null) {
+                for (int j = 0; j < jBalances.length(); j++) {
+                    JSONObject jBalance = jBalances.getJSONObject(j);
+                    double quantity = jBalance.optDouble("free", 0) + jBalance.optDouble("locked", 0);
+                    if (quantity != 0)
+                        balances.merge(jBalance.getString("asset"), quantity, Double::sum);
+                }
+            }
+            synchronized (this) {
+                if (snapshots.containsKey(result.getEmail()))
+                    replaceSnapshot(result.getEmail(), balances);
+            }
+        }
+        return subAccountsToFetch.size();
+    }
+
+    /**
+     * Method to check whether the spot balances of a sub-account have been changed since its snapshot, comparing the
+     * Bitcoin value of the summary with the one of the snapshot at the current prices
+     *
+     * @param snapshot:     snapshot of the sub-account
+     * @param summaryValue: Bitcoin value of the summary
+     * @return whether the sub-account has been changed, false if the snapshot cannot be valued
+     */
+    private boolean isChanged(SubAccountSnapshot snapshot, double summaryValue) {
+        double snapshotValue = 0;
+        for (Map.Entry<String, Double> balance : snapshot.spotBalances.entrySet())
+            snapshotValue += valueIn(balance.getKey(), balance.getValue(), BTC);
+        if (Double.isNaN(snapshotValue))
+            return false;
+        double scale = Math.max(Math.abs(summaryValue), Math.abs(snapshotValue));
+        return scale > 0 && Math.abs(summaryValue - snapshotValue) / scale > CHANGE_TOLERANCE;
+    }
+
+    /**
+     * Method to replace the spot snapshot of a sub-account, updating the totals
+     *
+     * @param email:    email of the sub-account
+     * @param balances: new spot balances, null to remove the sub-account
+     */
+    private void replaceSnapshot(String email, HashMap<String, Double> balances) {
+        SubAccountSnapshot snapshot = snapshots.get(email);
+        for (Map.Entry<String, Double> balance : snapshot.spotBalances.entrySet())
+            addTotal(spotTotals, balance.getKey(), -balance.getValue());
+        if (balances == null) {
+            if (snapshot.futuresAsset != null)
+                addTotal(futuresTotals, snapshot.futuresAsset, -snapshot.futuresMarginBalance);
+            marginNetAssetOfBtc -= snapshot.marginNetAssetOfBtc;
+            snapshots.remove(email);
+            return;
+        }
+        for (Map.Entry<String, Double> balance : balances.entrySet())
+            addTotal(spotTotals, balance.getKey(), balance.getValue());
+        snapshot.spotBalances = balances;
+        snapshot.updateTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Method to update the margin net totals from the margin summary
+     *
+     * @param jMargin: margin summary as {@link JSONObject}
+     */
+    private void updateMargin(JSONObject jMargin) {
+        JSONArray jSubAccounts = jMargin.optJSONArray("subAccountList");
+        if (jSubAccounts == null)
+            return;
+        for (int j = 0; j < jSubAccounts.length(); j++) {
+            JSONObject jSubAccount = jSubAccounts.getJSONObject(j);
+            SubAccountSnapshot snapshot = snapshots.get(jSubAccount.getString("email"));
+            if (snapshot != null) {
+                double netAssetOfBtc = jSubAccount.optDouble("totalNetAssetOfBtc", 0);
+                marginNetAssetOfBtc += netAssetOfBtc - snapshot.marginNetAssetOfBtc;
+                snapshot.marginNetAssetOfBtc = netAssetOfBtc;
+            }
+        }
+    }
+
+    /**
+     * Method to update the futures margin balances totals from the futures summary
+     *
+     * @param jFutures: futures summary as {@link JSONObject}
+     */
+    private void updateFutures(JSONObject jFutures) {
+        JSONArray jSubAccounts = jFutures.optJSONArray("subAccountList");
+        if (jSubAccounts == null)
+            return;
+        for (int j = 0; j < jSubAccounts.length(); j++) {
+            JSONObject jSubAccount = jSubAccounts.getJSONObject(j);
+            SubAccountSnapshot snapshot = snapshots.get(jSubAccount.getString("email"));
+            if (snapshot != null) {
+                if (snapshot.futuresAsset != null)
+                    addTotal(futuresTotals, snapshot.futuresAsset, -snapshot.futuresMarginBalance);
+                snapshot.futuresAsset = jSubAccount.optString("asset", jFutures.optString("asset"));
+                snapshot.futuresMarginBalance = jSubAccount.optDouble("totalMarginBalance", 0);
+                addTotal(futuresTotals, snapshot.futuresAsset, snapshot.futuresMarginBalance);
+            }
+        }
+    }
+
+    /**
+     * Method to add an amount to a total, removing the total when it becomes zero
+     *
+     * @param totals: totals to update
+     * @param asset:  asset of the total
+     * @param amount: amount to add
+     */
+    private static void addTotal(HashMap<String, Double> totals, String asset, double amount) {
+        double total = totals.getOrDefault(asset, 0.0) + amount;
+        if (Math.abs(total) < 1e-12)
+            totals.remove(asset);
+        else
+            totals.put(asset, total);
+    }
+
+    /**
+     * Method to value a quantity of an asset in another asset with the prices cached
+     *
+     * @param asset:    asset to value
+     * @param quantity: quantity to value
+     * @param target:   asset of the value
+     * @return value as double, {@link Double#NaN} if the price is not known
+     */
+    private double valueIn(String asset, double quantity, String target) {
+        if (asset.equals(target))
+            return quantity;
+        double price = prices.getLastPrice(asset + target);
+        if (!Double.isNaN(price))
+            return quantity * price;
+        price = prices.getLastPrice(target + asset);
+        if (!Double.isNaN(price) && price != 0)
+            return quantity / price;
+        return Double.NaN;
+    }
+
+    /**
+     * Method to mark some sub-accounts as dirty, so they are fetched again on the next refresh
+     *
+     * @param emails: emails of the sub-accounts to mark
+     */
+    public void markDirty(String... emails) {
+        dirtySubAccounts.addAll(Arrays.asList(emails));
+    }
+
+    /**
+     * Method to get the spot quantity of an asset summed on all the sub-accounts
+     *
+     * @param asset: asset of the total es. BTC
+     * @return spot quantity as double
+     */
+    public synchronized double getSpotAssetTotal(String asset) {
+        return spotTotals.getOrDefault(asset, 0.0);
+    }
+
+    /**
+     * Method to get the futures margin balance of an asset summed on all the sub-accounts
+     *
+     * @param asset: asset of the total es. USDT
+     * @return futures margin balance as double
+     */
+    public synchronized double getFuturesAssetTotal(String asset) {
+        return futuresTotals.getOrDefault(asset, 0.0);
+    }
+
+    /**
+     * Method to get {@link #marginNetAssetOfBtc} instance <br>
+     * No-any params required
+     *
+     * @return {@link #marginNetAssetOfBtc} instance as double
+     */
+    public synchronized double getMarginNetAssetOfBtc() {
+        return marginNetAssetOfBtc;
+    }
+
+    /**
+     * Method to get {@link #masterSpotAssetOfBtc} instance <br>
+     * No-any params required
+     *
+     * @return {@link #masterSpotAssetOfBtc} instance as double
+     */
+    public synchronized double getMasterSpotAssetOfBtc() {
+        return masterSpotAssetOfBtc;
+    }
+
+    /**
+     * Method to get the value of an account type of all the sub-accounts in the {@link #quoteAsset}
+     *
+     * @param accountType: account type to value
+     * @return value as double, {@link Double#NaN} if an asset cannot be valued
+     */
+    public synchronized double getValue(AccountType accountType) {
+        double value = 0;
+        switch (accountType) {
+            case SPOT:
+                for (Map.Entry<String, Double> total : spotTotals.entrySet())
+                    value += valueIn(total.getKey(), total.getValue(), quoteAsset);
+                return value;
+            case MARGIN:
+                return valueIn(BTC, marginNetAssetOfBtc, quoteAsset);
+            default:
+                for (Map.Entry<String, Double> total : futuresTotals.entrySet())
+                    value += valueIn(total.getKey(), total.getValue(), quoteAsset);
+                return value;
+        }
+    }
+
+    /**
+     * Method to get the value of the whole portfolio, master spot account included, in the {@link #quoteAsset} <br>
+     * No-any params required
+     *
+     * @return value as double, {@link Double#NaN} if an asset cannot be valued
+     */
+    public synchronized double getTotalValue() {
+        double value = valueIn(BTC, masterSpotAssetOfBtc, quoteAsset);
+        for (AccountType accountType : AccountType.values())
+            value += getValue(accountType);
+        return value;
+    }
+
+    /**
+     * Method to get the spot balances of a sub-account
+     *
+     * @param email: email of the sub-account
+     * @return spot balances as {@link Map} of asset and quantity, empty if not known
+     */
+    public synchronized Map<String, Double> getSpotBalances(String email) {
+        SubAccountSnapshot snapshot = snapshots.get(email);
+        if (snapshot == null)
+            return Collections.emptyMap();
+        return Collections.unmodifiableMap(snapshot.spotBalances);
+    }
+
+    /**
+     * Method to get the emails of the sub-accounts of the portfolio <br>
+     * No-any params required
+     *
+     * @return emails of the sub-accounts as {@link ArrayList} of {@link String}
+     */
+    public synchronized ArrayList<String> getSubAccounts() {
+        return new ArrayList<>(snapshots.keySet());
+    }
+
+    /**
+     * Method to stop the background refreshes <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Method to add a listener of the errors of the background refreshes
+     *
+     * @param listener: listener to add
+     */
+    public void addErrorListener(PortfolioErrorListener listener) {
+        errorListeners.add(listener);
+    }
+
+    /**
+     * Method to remove a listener of the errors of the background refreshes
+     *
+     * @param listener: listener to remove
+     */
+    public void removeErrorListener(PortfolioErrorListener listener) {
+        errorListeners.remove(listener);
+    }
+
+    /**
+     * {@code AccountType} list of available account types
+     */
+    public enum AccountType {
+
+        /**
+         * {@code "SPOT"} account type
+         */
+        SPOT,
+
+        /**
+         * {@code "MARGIN"} account type
+         */
+        MARGIN,
+
+        /**
+         * {@code "FUTURES"} account type
+         */
+        FUTURES
+
+    }
+
+    /**
+     * The {@code PortfolioErrorListener} interface is useful to receive the errors of the background refreshes of a
+     * {@link BinanceSubAccountPortfolio}
+     */
+    public interface PortfolioErrorListener {
+
+        /**
+         * Method called when a scheduled refresh has been go wrong
+         *
+         * @param e: exception thrown
+         */
+        void onRefreshFailed(Exception e);
+
+    }
+
+    /**
+     * The {@code SubAccountSnapshot} class is useful to memorize the snapshot of a sub-account
+     */
+    private static final class SubAccountSnapshot {
+
+        /**
+         * {@code spotBalances} is instance that memorizes the spot quantity of each asset
+         */
+        private HashMap<String, Double> spotBalances = new HashMap<>();
+
+        /**
+         * {@code updateTime} is instance that memorizes the time of the last spot fetch
+         */
+        private long updateTime;
+
+        /**
+         * {@code marginNetAssetOfBtc} is instance that memorizes the margin net total in Bitcoin
+         */
+        private double marginNetAssetOfBtc;
+
+        /**
+         * {@code futuresAsset} is instance that memorizes the asset of the futures margin balance
+         */
+        private String futuresAsset;
+
+        /**
+         * {@code futuresMarginBalance} is instance that memorizes the futures margin balance
+         */
+        private double futuresMarginBalance;
+
+    }
+
+}
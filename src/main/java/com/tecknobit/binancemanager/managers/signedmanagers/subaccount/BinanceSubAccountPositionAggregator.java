@@ -0,0 +1,424 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.subaccount;
+
+import com.tecknobit.binancemanager.managers.RequestWeightLimiter;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.subaccount.records.asset.FutureAssetTransferHistory.FuturesType;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendRequest;
+
+/**
+ * The {@code BinanceSubAccountPositionAggregator} class is useful to watch the futures positions of many sub-accounts
+ * and their net exposure on each symbol <br>
+ * Each sub-account is polled with {@link BinanceSubAccountManager#getFuturesPositionRisk(String, FuturesType)} at its
+ * own interval: the sub-accounts with open positions or just changed are polled at the min interval, the idle ones
+ * double their interval up to the max interval; only the positions and the net exposures changed are published to the
+ * {@link PositionListener}s
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials and the endpoint of the master account inserted; the listeners are called
+ * by the workers in the order of the changes, so they must not block
+ */
+public class BinanceSubAccountPositionAggregator implements Closeable {
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of sub-accounts polled at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * {@code DEFAULT_MIN_INTERVAL} is constant for the default interval in millis of the sub-accounts with exposure
+     */
+    public static final long DEFAULT_MIN_INTERVAL = 3000;
+
+    /**
+     * {@code DEFAULT_MAX_INTERVAL} is constant for the default interval in millis of the idle sub-accounts
+     */
+    public static final long DEFAULT_MAX_INTERVAL = 120000;
+
+    /**
+     * {@code DEFAULT_WEIGHT_PER_MINUTE} is constant for the default weight that the aggregator can use each minute
+     */
+    public static final int DEFAULT_WEIGHT_PER_MINUTE = 3000;
+
+    /**
+     * {@code scheduler} is instance used to poll the sub-accounts
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceSubAccountManager> managers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before the polls
+     */
+    private final BinanceSubAccountManager timeManager;
+
+    /**
+     * {@code weightLimiter} is instance used to respect the weight budget
+     */
+    private final RequestWeightLimiter weightLimiter;
+
+    /**
+     * {@code futuresType} is instance that memorizes the type of the futures watched
+     */
+    private final FuturesType futuresType;
+
+    /**
+     * {@code minInterval} is instance that memorizes the interval in millis of the sub-accounts with exposure
+     */
+    private final long minInterval;
+
+    /**
+     * {@code maxInterval} is instance that memorizes the interval in millis of the idle sub-accounts
+     */
+    private final long maxInterval;
+
+    /**
+     * {@code subAccounts} is instance that memorizes the state of each sub-account watched
+     */
+    private final ConcurrentHashMap<String, SubAccountPositions> subAccounts;
+
+    /**
+     * {@code netAmounts} is instance that memorizes the net position amount of each symbol
+     */
+    private final HashMap<String, Double> netAmounts;
+
+    /**
+     * {@code netNotionals} is instance that memorizes the net notional of each symbol at the last marks polled, not
+     * used for the {@link FuturesType#COIN_MARGINED} positions
+     */
+    private final HashMap<String, Double> netNotionals;
+
+    /**
+     * {@code listeners} is instance that memorizes the listeners of the changes
+     */
+    private final CopyOnWriteArrayList<PositionListener> listeners;
+
+    /**
+     * Constructor to init {@link BinanceSubAccountPositionAggregator} with the default values
+     *
+     * @param account:     manager of the master account, its credentials and its endpoint are used
+     * @param futuresType: type of the futures to watch
+     */
+    public BinanceSubAccountPositionAggregator(BinanceSignedManager account, FuturesType futuresType) {
+        this(account, futuresType, DEFAULT_PARALLELISM, DEFAULT_MIN_INTERVAL, DEFAULT_MAX_INTERVAL,
+                DEFAULT_WEIGHT_PER_MINUTE);
+    }
+
+    /**
+     * Constructor to init {@link BinanceSubAccountPositionAggregator}
+     *
+     * @param account:         manager of the master account, its credentials and its endpoint are used
+     * @param futuresType:     type of the futures to watch
+     * @param parallelism:     number of sub-accounts polled at the same time
+     * @param minInterval:     interval in millis of the sub-accounts with exposure
+     * @param maxInterval:     interval in millis of the idle sub-accounts
+     * @param weightPerMinute: weight that the aggregator can use each minute
+     * @throws IllegalArgumentException when the values inserted are not valid
+     */
+    public BinanceSubAccountPositionAggregator(BinanceSignedManager account, FuturesType futuresType, int parallelism,
+                                               long minInterval, long maxInterval, int weightPerMinute) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        if (minInterval <= 0 || maxInterval < minInterval)
+            throw new IllegalArgumentException("Min interval must be positive and not greater than max interval");
+        this.futuresType = futuresType;
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        weightLimiter = new RequestWeightLimiter(weightPerMinute);
+        timeManager = new BinanceSubAccountManager(account);
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceSubAccountManager manager = new BinanceSubAccountManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        subAccounts = new ConcurrentHashMap<>();
+        netAmounts = new HashMap<>();
+        netNotionals = new HashMap<>();
+        listeners = new CopyOnWriteArrayList<>();
+        scheduler = new ScheduledThreadPoolExecutor(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-sub-account-position-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to add a listener of the changes
+     *
+     * @param listener: listener to add
+     */
+    public void addListener(PositionListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Method to remove a listener of the changes
+     *
+     * @param listener: listener to remove
+     */
+    public void removeListener(PositionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Method to start to watch some sub-accounts, each one is polled immediately
+     *
+     * @param emails: emails of the sub-accounts to watch
+     */
+    public void watch(Collection<String> emails) {
+        synchronized (timeManager) {
+            timeManager.getSyncedServerTime();
+        }
+        for (String email : emails) {
+            SubAccountPositions positions = new SubAccountPositions(email, minInterval);
+            if (subAccounts.putIfAbsent(email, positions) == null)
+                scheduler.execute(() -> poll(positions));
+        }
+    }
+
+    /**
+     * Method to stop to watch a sub-account, its positions are removed from the net exposures
+     *
+     * @param email: email of the sub-account to stop
+     */
+    public synchronized void unwatch(String email) {
+        SubAccountPositions positions = subAccounts.remove(email);
+        if (positions != null)
+            update(positions, new HashMap<>());
+    }
+
+    /**
+     * Method to poll a sub-account from a worker and to schedule its next poll
+     *
+     * @param positions: state of the sub-account
+     */
+    private void poll(SubAccountPositions positions) {
+        if (subAccounts.get(positions.email) != positions)
+            return;
+        BinanceSubAccountManager manager = managers.get();
+        boolean changed;
+        try {
+            weightLimiter.acquire(1);
+            String response = sendRequest(manager,
+                    () -> manager.getFuturesPositionRisk(positions.email, futuresType, STRING));
+            if (!response.startsWith("["))
+                throw new IOException(response);
+            HashMap<String, double[]> polled = new HashMap<>();
+            JSONArray jPositions = new JSONArray(response);
+            for (int j = 0; j < jPositions.length(); j++) {
+                JSONObject jPosition = jPositions.getJSONObject(j);
+                double amount = jPosition.optDouble("positionAmount", 0);
+                if (amount != 0) {
+                    double[] position = polled.computeIfAbsent(jPosition.getString("symbol"), k -> new double[2]);
+                    position[0] += amount;
+                    position[1] = jPosition.optDouble("markPrice", position[1]);
+                }
+            }
+            changed = update(positions, polled);
+            positions.interval = changed || !polled.isEmpty() ? minInterval
+                    : Math.min(maxInterval, positions.interval * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            positions.interval = Math.min(maxInterval, positions.interval * 2);
+        }
+        if (!scheduler.isShutdown() && subAccounts.get(positions.email) == positions)
+            scheduler.schedule(() -> poll(positions), positions.interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method to replace the positions of a sub-account, updating the net exposures and publishing the changes
+     *
+     * @param positions: state of the sub-account
+     * @param polled:    positions polled as symbol and pair of amount and mark price
+     * @return whether a position amount has been changed, false if the sub-account is not watched anymore
+     */
+    private synchronized boolean update(SubAccountPositions positions, HashMap<String, double[]> polled) {
+        if (!polled.isEmpty() && subAccounts.get(positions.email) != positions)
+            return false;
+        boolean changed = false;
+        HashSet<String> symbols = new HashSet<>(positions.positions.keySet());
+        symbols.addAll(polled.keySet());
+        for (String symbol : symbols) {
+            double[] previous = positions.positions.getOrDefault(symbol, new double[2]);
+            double[] current = polled.getOrDefault(symbol, new double[2]);
+            if (futuresType != FuturesType.COIN_MARGINED)
+                addTotal(netNotionals, symbol, current[0] * current[1] - previous[0] * previous[1]);
+            if (previous[0] == current[0])
+                continue;
+            changed = true;
+            double previousNet = netAmounts.getOrDefault(symbol, 0.0);
+            addTotal(netAmounts, symbol, current[0] - previous[0]);
+            double net = netAmounts.getOrDefault(symbol, 0.0);
+            for (PositionListener listener : listeners) {
+                listener.onPositionChanged(positions.email, symbol, previous[0], current[0]);
+                listener.onNetExposureChanged(symbol, previousNet, net);
+            }
+        }
+        positions.positions = polled;
+        return changed;
+    }
+
+    /**
+     * Method to add an amount to a total, removing the total when it becomes zero
+     *
+     * @param totals: totals to update
+     * @param symbol: symbol of the total
+     * @param amount: amount to add
+     */
+    private static void addTotal(HashMap<String, Double> totals, String symbol, double amount) {
+        double total = totals.getOrDefault(symbol, 0.0) + amount;
+        if (Math.abs(total) < 1e-12)
+            totals.remove(symbol);
+        else
+            totals.put(symbol, total);
+    }
+
+    /**
+     * Method to get the net position amount of a symbol on all the sub-accounts watched
+     *
+     * @param symbol: symbol of the position es. BTCUSDT
+     * @return net position amount as double
+     */
+    public synchronized double getNetPosition(String symbol) {
+        return netAmounts.getOrDefault(symbol, 0.0);
+    }
+
+    /**
+     * Method to get the net notional of a symbol on all the sub-accounts watched, valued at the last marks polled
+     *
+     * @param symbol: symbol of the position es. BTCUSDT
+     * @return net notional as double, {@link Double#NaN} for the {@link FuturesType#COIN_MARGINED} positions
+     * @apiNote the net notional is known only for the {@link FuturesType#USDT_MARGINED} positions, because the amounts
+     * of the {@link FuturesType#COIN_MARGINED} positions are numbers of contracts and the contract size of each symbol
+     * is not returned by the positions requests
+     */
+    public synchronized double getNetNotional(String symbol) {
+        if (futuresType == FuturesType.COIN_MARGINED)
+            return Double.NaN;
+        return netNotionals.getOrDefault(symbol, 0.0);
+    }
+
+    /**
+     * Method to get the net position amounts of all the symbols with exposure <br>
+     * No-any params required
+     *
+     * @return net position amounts as {@link Map} of symbol and amount
+     */
+    public synchronized Map<String, Double> getNetPositions() {
+        return new HashMap<>(netAmounts);
+    }
+
+    /**
+     * Method to get the position amounts of a sub-account
+     *
+     * @param email: email of the sub-account
+     * @return position amounts as {@link Map} of symbol and amount, empty if not watched
+     */
+    public synchronized Map<String, Double> getPositions(String email) {
+        HashMap<String, Double> amounts = new HashMap<>();
+        SubAccountPositions positions = subAccounts.get(email);
+        if (positions != null)
+            for (Map.Entry<String, double[]> position : positions.positions.entrySet())
+                amounts.put(position.getKey(), position.getValue()[0]);
+        return amounts;
+    }
+
+    /**
+     * Method to get the current poll interval of a sub-account
+     *
+     * @param email: email of the sub-account
+     * @return poll interval in millis, -1 if not watched
+     */
+    public long getPollInterval(String email) {
+        SubAccountPositions positions = subAccounts.get(email);
+        return positions != null ? positions.interval : -1;
+    }
+
+    /**
+     * Method to stop the polls <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The {@code PositionListener} interface is useful to receive the changes of the positions
+     */
+    public interface PositionListener {
+
+        /**
+         * Method to receive the change of a position of a sub-account
+         *
+         * @param email:          email of the sub-account
+         * @param symbol:         symbol of the position
+         * @param previousAmount: previous amount of the position
+         * @param amount:         current amount of the position
+         */
+        void onPositionChanged(String email, String symbol, double previousAmount, double amount);
+
+        /**
+         * Method to receive the change of the net exposure of a symbol
+         *
+         * @param symbol:            symbol of the exposure
+         * @param previousNetAmount: previous net amount of the symbol
+         * @param netAmount:         current net amount of the symbol
+         */
+        default void onNetExposureChanged(String symbol, double previousNetAmount, double netAmount) {
+        }
+
+    }
+
+    /**
+     * The {@code SubAccountPositions} class is useful to memorize the state of a sub-account watched
+     */
+    private static final class SubAccountPositions {
+
+        /**
+         * {@code email} is instance that memorizes the email of the sub-account
+         */
+        private final String email;
+
+        /**
+         * {@code positions} is instance that memorizes the positions as symbol and pair of amount and mark price
+         */
+        private HashMap<String, double[]> positions;
+
+        /**
+         * {@code interval} is instance that memorizes the current poll interval in millis
+         */
+        private volatile long interval;
+
+        /**
+         * Constructor to init {@link SubAccountPositions}
+         *
+         * @param email:    email of the sub-account
+         * @param interval: initial poll interval in millis
+         */
+        private SubAccountPositions(String email, long interval) {
+            this.email = email;
+            this.interval = interval;
+            positions = new HashMap<>();
+        }
+
+    }
+
+}
@@ -0,0 +1,675 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.subaccount;
+
+import com.tecknobit.binancemanager.managers.RequestWeightLimiter;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.wallet.records.accountsnapshots.AccountSnapshot.PrincipalAccountType;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.isErrorResponse;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendObjectRequest;
+
+/**
+ * The {@code BinanceSubAccountTransferEngine} class is useful to execute a plan of universal transfers between the
+ * master account and its sub-accounts <br>
+ * Each transfer is tagged with its {@code "clientTranId"}, the transfers are sent concurrently within a transfers
+ * budget, then all the transfers sent or with an unknown outcome are confirmed in bulk with
+ * {@link BinanceSubAccountManager#getUniversalTransferHistory(Params)}, one paged query for each source account; the
+ * transfers not found in the history are sent again with the same {@code "clientTranId"}, so a retry cannot execute a
+ * transfer twice
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials and the endpoint of the master account inserted; a transfer rejected with
+ * an error response is checked in the history like the others, because it can have been rejected as already executed
+ * by a previous attempt or by a previous run of the same plan, and it is failed only when it is not found there
+ */
+public class BinanceSubAccountTransferEngine implements Closeable {
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of transfers sent at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * {@code DEFAULT_TRANSFERS_PER_MINUTE} is constant for the default number of transfers that can be sent each minute
+     */
+    public static final int DEFAULT_TRANSFERS_PER_MINUTE = 300;
+
+    /**
+     * {@code DEFAULT_MAX_ATTEMPTS} is constant for the default number of attempts of each transfer
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    /**
+     * {@code CONFIRM_DELAY_MILLIS} is constant for the delay between the sending of the transfers and their
+     * confirmation
+     */
+    private static final long CONFIRM_DELAY_MILLIS = 2000;
+
+    /**
+     * {@code HISTORY_MARGIN_MILLIS} is constant for the margin subtracted from the start of the history queried
+     */
+    private static final long HISTORY_MARGIN_MILLIS = 60000;
+
+    /**
+     * {@code MAX_HISTORY_LIMIT} is constant for the max number of transfers returned by a single history request
+     */
+    private static final int MAX_HISTORY_LIMIT = 500;
+
+    /**
+     * {@code executor} is instance used to send the transfers
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceSubAccountManager> managers;
+
+    /**
+     * {@code historyManager} is instance used to confirm the transfers
+     */
+    private final BinanceSubAccountManager historyManager;
+
+    /**
+     * {@code limiter} is instance used to respect the transfers budget
+     */
+    private final RequestWeightLimiter limiter;
+
+    /**
+     * {@code maxAttempts} is instance that memorizes the number of attempts of each transfer
+     */
+    private final int maxAttempts;
+
+    /**
+     * Constructor to init {@link BinanceSubAccountTransferEngine} with the default values
+     *
+     * @param account: manager of the master account, its credentials and its endpoint are used
+     */
+    public BinanceSubAccountTransferEngine(BinanceSignedManager account) {
+        this(account, DEFAULT_PARALLELISM, DEFAULT_TRANSFERS_PER_MINUTE, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * Constructor to init {@link BinanceSubAccountTransferEngine}
+     *
+     * @param account:            manager of the master account, its credentials and its endpoint are used
+     * @param parallelism:        number of transfers sent at the same time
+     * @param transfersPerMinute: number of transfers that can be sent each minute
+     * @param maxAttempts:        number of attempts of each transfer
+     * @throws IllegalArgumentException when the values inserted are not positive
+     */
+    public BinanceSubAccountTransferEngine(BinanceSignedManager account, int parallelism, int transfersPerMinute,
+                                           int maxAttempts) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        if (maxAttempts <= 0)
+            throw new IllegalArgumentException("Max attempts must be positive");
+        this.maxAttempts = maxAttempts;
+        limiter = new RequestWeightLimiter(transfersPerMinute);
+        historyManager = new BinanceSubAccountManager(account);
+        historyManager.setSyncedServerTime(true);
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceSubAccountManager manager = new BinanceSubAccountManager(historyManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-sub-account-transfer-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Request to execute a plan of transfers, the history is checked from a minute before the execution
+     *
+     * @param plan: transfers to execute, each with a different {@code "clientTranId"}
+     * @return results of the plan as {@link PlanResult} custom object
+     * @throws IllegalArgumentException when the plan contains two transfers with the same {@code "clientTranId"}
+     */
+    public PlanResult execute(Collection<Transfer> plan) {
+        long startTime;
+        synchronized (historyManager) {
+            startTime = historyManager.getSyncedServerTime() - HISTORY_MARGIN_MILLIS;
+        }
+        return execute(plan, startTime);
+    }
+
+    /**
+     * Request to execute a plan of transfers
+     *
+     * @param plan:      transfers to execute, each with a different {@code "clientTranId"}
+     * @param startTime: start of the history checked, use the time of the first run to execute again a plan
+     * @return results of the plan as {@link PlanResult} custom object
+     * @throws IllegalArgumentException when the plan contains two transfers with the same {@code "clientTranId"}
+     * @apiNote when a confirmation request has been go wrong the transfers are not sent again, the results returned
+     * are the ones known at that time and the error is returned with them
+     */
+    public PlanResult execute(Collection<Transfer> plan, long startTime) {
+        LinkedHashMap<String, TransferResult> results = new LinkedHashMap<>();
+        for (Transfer transfer : plan)
+            if (results.put(transfer.clientTranId, new TransferResult(transfer)) != null)
+                throw new IllegalArgumentException("Duplicate clientTranId " + transfer.clientTranId);
+        ArrayList<TransferResult> toSend = new ArrayList<>(results.values());
+        try {
+            for (int attempt = 1; attempt <= maxAttempts && !toSend.isEmpty(); attempt++) {
+                ArrayList<CompletableFuture<Void>> sends = new ArrayList<>();
+                for (TransferResult result : toSend)
+                    sends.add(CompletableFuture.runAsync(() -> send(result), executor));
+                CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0])).join();
+                try {
+                    Thread.sleep(CONFIRM_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+                confirm(results, startTime);
+                toSend.clear();
+                for (TransferResult result : results.values()) {
+                    if (result.status == TransferStatus.UNKNOWN) {
+                        if (result.rejected)
+                            result.status = TransferStatus.FAILED;
+                        else
+                            toSend.add(result);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return new PlanResult(new ArrayList<>(results.values()), e);
+        }
+        return new PlanResult(new ArrayList<>(results.values()), null);
+    }
+
+    /**
+     * Method to send a transfer from a worker, the outcome is {@link TransferStatus#PENDING} when the transfer has
+     * been accepted and {@link TransferStatus#UNKNOWN} otherwise, the transfers rejected with an error response are
+     * marked as rejected until the history decides their outcome
+     *
+     * @param result: result of the transfer to send
+     */
+    private void send(TransferResult result) {
+        BinanceSubAccountManager manager = managers.get();
+        Transfer transfer = result.transfer;
+        Params params = new Params();
+        if (transfer.fromEmail != null)
+            params.addParam("fromEmail", transfer.fromEmail);
+        if (transfer.toEmail != null)
+            params.addParam("toEmail", transfer.toEmail);
+        if (transfer.symbol != null)
+            params.addParam("symbol", transfer.symbol);
+        params.addParam("clientTranId", transfer.clientTranId);
+        result.attempts++;
+        result.rejected = false;
+        String response;
+        try {
+            limiter.acquire(1);
+            response = manager.execSubUniversalTransfer(transfer.fromAccountType, transfer.toAccountType,
+                    transfer.asset, transfer.amount, params, STRING);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.error = e.toString();
+            return;
+        } catch (Exception e) {
+            result.error = manager.getErrorResponse();
+            return;
+        }
+        JSONObject jResponse = response != null && response.startsWith("{") ? new JSONObject(response) : null;
+        if (jResponse == null) {
+            result.error = response;
+        } else if (isErrorResponse(jResponse)) {
+            result.rejected = true;
+            result.error = response;
+        } else {
+            result.status = TransferStatus.PENDING;
+            result.tranId = jResponse.optLong("tranId", -1);
+            result.error = null;
+        }
+    }
+
+    /**
+     * Request to confirm in bulk the transfers pending or with an unknown outcome, grouped by source account
+     *
+     * @param results:   results of the transfers
+     * @param startTime: start of the history to query
+     * @throws IOException when request has been go wrong
+     */
+    private void confirm(LinkedHashMap<String, TransferResult> results, long startTime) throws IOException {
+        HashMap<String, List<TransferResult>> sources = new HashMap<>();
+        for (TransferResult result : results.values()) {
+            if (result.status == TransferStatus.PENDING || result.status == TransferStatus.UNKNOWN) {
+                String source = result.transfer.fromEmail != null ? result.transfer.fromEmail : "";
+                sources.computeIfAbsent(source, k -> new ArrayList<>()).add(result);
+            }
+        }
+        for (Map.Entry<String, List<TransferResult>> source : sources.entrySet()) {
+            HashSet<String> unconfirmed = new HashSet<>();
+            for (TransferResult result : source.getValue())
+                unconfirmed.add(result.transfer.clientTranId);
+            int page = 1;
+            JSONArray jTransfers;
+            do {
+                Params params = new Params();
+                if (!source.getKey().isEmpty())
+                    params.addParam("fromEmail", source.getKey());
+                params.addParam("startTime", startTime);
+                params.addParam("page", page++);
+                params.addParam("limit", MAX_HISTORY_LIMIT);
+                jTransfers = requestHistory(params);
+                for (int j = 0; j < jTransfers.length(); j++) {
+                    JSONObject jTransfer = jTransfers.getJSONObject(j);
+                    String clientTranId = jTransfer.optString("clientTranId", null);
+                    if (clientTranId == null || !unconfirmed.remove(clientTranId))
+                        continue;
+                    TransferResult result = results.get(clientTranId);
+                    result.tranId = jTransfer.optLong("tranId", result.tranId);
+                    String status = jTransfer.optString("status");
+                    result.rejected = false;
+                    if ("SUCCESS".equals(status)) {
+                        result.status = TransferStatus.CONFIRMED;
+                        result.error = null;
+                    } else if ("FAILURE".equals(status))
+                        result.status = TransferStatus.FAILED;
+                    else
+                        result.status = TransferStatus.PENDING;
+                }
+            } while (!unconfirmed.isEmpty() && jTransfers.length() == MAX_HISTORY_LIMIT);
+        }
+    }
+
+    /**
+     * Request to get a page of the universal transfers history
+     *
+     * @param params: params of the request
+     * @return transfers of the page as {@link JSONArray}
+     * @throws IOException when request has been go wrong
+     */
+    private JSONArray requestHistory(Params params) throws IOException {
+        JSONObject jResponse;
+        synchronized (historyManager) {
+            try {
+                limiter.acquire(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            jResponse = sendObjectRequest(historyManager,
+                    () -> historyManager.getUniversalTransferHistory(params, STRING));
+        }
+        JSONArray jTransfers = jResponse.optJSONArray("result");
+        return jTransfers != null ? jTransfers : new JSONArray();
+    }
+
+    /**
+     * Method to stop the workers <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * {@code TransferStatus} list of available outcomes of a transfer
+     */
+    public enum TransferStatus {
+
+        /**
+         * {@code "CONFIRMED"} outcome, the transfer has been found successful in the history
+         */
+        CONFIRMED,
+
+        /**
+         * {@code "PENDING"} outcome, the transfer has been accepted but not found successful in the history yet
+         */
+        PENDING,
+
+        /**
+         * {@code "FAILED"} outcome, the transfer has been rejected and not found in the history or found failed there
+         */
+        FAILED,
+
+        /**
+         * {@code "UNKNOWN"} outcome, the transfer has not been found in the history after all the attempts
+         */
+        UNKNOWN
+
+    }
+
+    /**
+     * The {@code Transfer} class is useful to format a transfer of a plan
+     */
+    public static class Transfer {
+
+        /**
+         * {@code fromEmail} is instance that memorizes the email of the source sub-account, null for the master account
+         */
+        private final String fromEmail;
+
+        /**
+         * {@code toEmail} is instance that memorizes the email of the target sub-account, null for the master account
+         */
+        private final String toEmail;
+
+        /**
+         * {@code fromAccountType} is instance that memorizes the source account type
+         */
+        private final PrincipalAccountType fromAccountType;
+
+        /**
+         * {@code toAccountType} is instance that memorizes the target account type
+         */
+        private final PrincipalAccountType toAccountType;
+
+        /**
+         * {@code asset} is instance that memorizes the asset of the transfer
+         */
+        private final String asset;
+
+        /**
+         * {@code amount} is instance that memorizes the amount of the transfer
+         */
+        private final double amount;
+
+        /**
+         * {@code symbol} is instance that memorizes the isolated margin symbol of the transfer, can be null
+         */
+        private final String symbol;
+
+        /**
+         * {@code clientTranId} is instance that memorizes the client identifier of the transfer
+         */
+        private final String clientTranId;
+
+        /**
+         * Constructor to init {@link Transfer} with a random {@code "clientTranId"}
+         *
+         * @param fromEmail:       email of the source sub-account, null for the master account
+         * @param toEmail:         email of the target sub-account, null for the master account
+         * @param fromAccountType: source account type
+         * @param toAccountType:   target account type
+         * @param asset:           asset of the transfer
+         * @param amount:          amount of the transfer
+         */
+        public Transfer(String fromEmail, String toEmail, PrincipalAccountType fromAccountType,
+                        PrincipalAccountType toAccountType, String asset, double amount) {
+            this(fromEmail, toEmail, fromAccountType, toAccountType, asset, amount, null,
+                    UUID.randomUUID().toString().replace("-", ""));
+        }
+
+        /**
+         * Constructor to init {@link Transfer}
+         *
+         * @param fromEmail:       email of the source sub-account, null for the master account
+         * @param toEmail:         email of the target sub-account, null for the master account
+         * @param fromAccountType: source account type
+         * @param toAccountType:   target account type
+         * @param asset:           asset of the transfer
+         * @param amount:          amount of the transfer
+         * @param symbol:          isolated margin symbol of the transfer, can be null
+         * @param clientTranId:    client identifier of the transfer, keep it to retry the plan in another process
+         * @throws IllegalArgumentException when the amount is not positive
+         */
+        public Transfer(String fromEmail, String toEmail, PrincipalAccountType fromAccountType,
+                        PrincipalAccountType toAccountType, String asset, double amount, String symbol,
+                        String clientTranId) {
+            if (amount <= 0)
+                throw new IllegalArgumentException("Amount must be positive");
+            this.fromEmail = fromEmail;
+            this.toEmail = toEmail;
+            this.fromAccountType = fromAccountType;
+            this.toAccountType = toAccountType;
+            this.asset = asset;
+            this.amount = amount;
+            this.symbol = symbol;
+            this.clientTranId = clientTranId;
+        }
+
+        /**
+         * Method to get {@link #fromEmail} instance <br>
+         * No-any params required
+         *
+         * @return {@link #fromEmail} instance as {@link String}
+         */
+        public String getFromEmail() {
+            return fromEmail;
+        }
+
+        /**
+         * Method to get {@link #toEmail} instance <br>
+         * No-any params required
+         *
+         * @return {@link #toEmail} instance as {@link String}
+         */
+        public String getToEmail() {
+            return toEmail;
+        }
+
+        /**
+         * Method to get {@link #fromAccountType} instance <br>
+         * No-any params required
+         *
+         * @return {@link #fromAccountType} instance as {@link PrincipalAccountType}
+         */
+        public PrincipalAccountType getFromAccountType() {
+            return fromAccountType;
+        }
+
+        /**
+         * Method to get {@link #toAccountType} instance <br>
+         * No-any params required
+         *
+         * @return {@link #toAccountType} instance as {@link PrincipalAccountType}
+         */
+        public PrincipalAccountType getToAccountType() {
+            return toAccountType;
+        }
+
+        /**
+         * Method to get {@link #asset} instance <br>
+         * No-any params required
+         *
+         * @return {@link #asset} instance as {@link String}
+         */
+        public String getAsset() {
+            return asset;
+        }
+
+        /**
+         * Method to get {@link #amount} instance <br>
+         * No-any params required
+         *
+         * @return {@link #amount} instance as double
+         */
+        public double getAmount() {
+            return amount;
+        }
+
+        /**
+         * Method to get {@link #symbol} instance <br>
+         * No-any params required
+         *
+         * @return {@link #symbol} instance as {@link String}
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Method to get {@link #clientTranId} instance <br>
+         * No-any params required
+         *
+         * @return {@link #clientTranId} instance as {@link String}
+         */
+        public String getClientTranId() {
+            return clientTranId;
+        }
+
+    }
+
+    /**
+     * The {@code PlanResult} class is useful to format the results of a plan of transfers
+     */
+    public static class PlanResult {
+
+        /**
+         * {@code results} is instance that memorizes the results of the transfers in the order of the plan
+         */
+        private final ArrayList<TransferResult> results;
+
+        /**
+         * {@code confirmationError} is instance that memorizes the error of the confirmation requests, null if none
+         */
+        private final IOException confirmationError;
+
+        /**
+         * Constructor to init {@link PlanResult}
+         *
+         * @param results:           results of the transfers in the order of the plan
+         * @param confirmationError: error of the confirmation requests, null if none
+         */
+        private PlanResult(ArrayList<TransferResult> results, IOException confirmationError) {
+            this.results = results;
+            this.confirmationError = confirmationError;
+        }
+
+        /**
+         * Method to get {@link #results} instance <br>
+         * No-any params required
+         *
+         * @return {@link #results} instance as {@link ArrayList} of {@link TransferResult}
+         */
+        public ArrayList<TransferResult> getResults() {
+            return results;
+        }
+
+        /**
+         * Method to get {@link #confirmationError} instance <br>
+         * No-any params required
+         *
+         * @return {@link #confirmationError} instance as {@link IOException}
+         */
+        public IOException getConfirmationError() {
+            return confirmationError;
+        }
+
+        /**
+         * Method to get whether the outcomes of the transfers have been confirmed with the history <br>
+         * No-any params required
+         *
+         * @return whether the confirmation requests have been successful
+         */
+        public boolean isConfirmed() {
+            return confirmationError == null;
+        }
+
+    }
+
+    /**
+     * The {@code TransferResult} class is useful to format the result of a transfer of a plan
+     */
+    public static class TransferResult {
+
+        /**
+         * {@code transfer} is instance that memorizes the transfer
+         */
+        private final Transfer transfer;
+
+        /**
+         * {@code status} is instance that memorizes the outcome of the transfer
+         */
+        private volatile TransferStatus status;
+
+        /**
+         * {@code tranId} is instance that memorizes the identifier of the transfer, -1 if not known
+         */
+        private volatile long tranId;
+
+        /**
+         * {@code error} is instance that memorizes the error of the last attempt, null if none
+         */
+        private volatile String error;
+
+        /**
+         * {@code attempts} is instance that memorizes the number of attempts made
+         */
+        private volatile int attempts;
+
+        /**
+         * {@code rejected} is instance that memorizes whether the last attempt has been rejected with an error response
+         */
+        private volatile boolean rejected;
+
+        /**
+         * Constructor to init {@link TransferResult}
+         *
+         * @param transfer: transfer of the result
+         */
+        private TransferResult(Transfer transfer) {
+            this.transfer = transfer;
+            status = TransferStatus.UNKNOWN;
+            tranId = -1;
+        }
+
+        /**
+         * Method to get {@link #transfer} instance <br>
+         * No-any params required
+         *
+         * @return {@link #transfer} instance as {@link Transfer}
+         */
+        public Transfer getTransfer() {
+            return transfer;
+        }
+
+        /**
+         * Method to get {@link #status} instance <br>
+         * No-any params required
+         *
+         * @return {@link #status} instance as {@link TransferStatus}
+         */
+        public TransferStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * Method to get {@link #tranId} instance <br>
+         * No-any params required
+         *
+         * @return {@link #tranId} instance as long
+         */
+        public long getTranId() {
+            return tranId;
+        }
+
+        /**
+         * Method to get {@link #error} instance <br>
+         * No-any params required
+         *
+         * @return {@link #error} instance as {@link String}
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * Method to get {@link #attempts} instance <br>
+         * No-any params required
+         *
+         * @return {@link #attempts} instance as int
+         */
+        public int getAttempts() {
+            return attempts;
+        }
+
+    }
+
+}
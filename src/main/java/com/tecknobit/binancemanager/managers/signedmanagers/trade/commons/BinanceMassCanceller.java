@@ -0,0 +1,458 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.commons;
+
+import com.tecknobit.binancemanager.managers.BinanceManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.margin.BinanceMarginManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.BinanceSpotManager;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+
+/**
+ * The {@code BinanceMassCanceller} class is useful to cancel all the open orders of an account at once <br>
+ * The symbols with open orders or open {@code "OCO"} lists are collected from the spot, the cross margin and the
+ * isolated margin accounts with concurrent requests, then all the symbols are canceled with concurrent requests, so
+ * the whole operation takes the time of few round trips instead of one round trip for each symbol
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the cancel of all the orders of a symbol cancels also its {@code "OCO"} lists, the workers use the
+ * credentials of the account inserted, or of the last signed manager instantiated with a parameterized constructor if
+ * no account is inserted
+ */
+public class BinanceMassCanceller implements Closeable {
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of requests sent at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 16;
+
+    /**
+     * {@code executor} is instance used to send the requests
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code spotManagers} is instance that memorizes the spot manager of each worker
+     */
+    private final ThreadLocal<BinanceSpotManager> spotManagers;
+
+    /**
+     * {@code marginManagers} is instance that memorizes the margin manager of each worker
+     */
+    private final ThreadLocal<BinanceMarginManager> marginManagers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before an operation
+     */
+    private final BinanceSpotManager timeManager;
+
+    /**
+     * Constructor to init {@link BinanceMassCanceller} with the {@link #DEFAULT_PARALLELISM}
+     *
+     * @throws IllegalArgumentException when a parameterized constructor of a signed manager has not been called before
+     *                                  this constructor
+     */
+    public BinanceMassCanceller() {
+        this(null, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructor to init {@link BinanceMassCanceller} with the {@link #DEFAULT_PARALLELISM}
+     *
+     * @param account: manager of the account to cancel, its credentials and its endpoint are used
+     */
+    public BinanceMassCanceller(BinanceSignedManager account) {
+        this(account, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructor to init {@link BinanceMassCanceller}
+     *
+     * @param parallelism: number of requests sent at the same time
+     * @throws IllegalArgumentException when a parameterized constructor of a signed manager has not been called before
+     *                                  this constructor or when the parallelism is not positive
+     * @apiNote the server time is synced when the canceller is created, so the first operation does not wait for it
+     */
+    public BinanceMassCanceller(int parallelism) {
+        this(null, parallelism);
+    }
+
+    /**
+     * Constructor to init {@link BinanceMassCanceller}
+     *
+     * @param account:     manager of the account to cancel, null to use the credentials of the last signed manager
+     *                     instantiated with a parameterized constructor
+     * @param parallelism: number of requests sent at the same time
+     * @throws IllegalArgumentException when a parameterized constructor of a signed manager has not been called before
+     *                                  this constructor and the account is null or when the parallelism is not positive
+     * @apiNote the server time is synced when the canceller is created, so the first operation does not wait for it
+     */
+    public BinanceMassCanceller(BinanceSignedManager account, int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        timeManager = account != null ? new BinanceSpotManager(account) : new BinanceSpotManager();
+        timeManager.syncServerTime();
+        spotManagers = ThreadLocal.withInitial(() -> {
+            BinanceSpotManager manager = new BinanceSpotManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        marginManagers = ThreadLocal.withInitial(() -> {
+            BinanceMarginManager manager = new BinanceMarginManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-mass-canceller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to cancel all the open orders of the accounts
+     *
+     * @param accountTypes: accounts to cancel, all the accounts if no one is inserted
+     * @return results of the cancels as {@link ArrayList} of {@link CancelResult}, a result with a null symbol
+     * means that the open orders of that account could not be collected
+     */
+    public ArrayList<CancelResult> cancelAll(AccountType... accountTypes) {
+        return cancelAll(null, accountTypes);
+    }
+
+    /**
+     * Method to cancel all the open orders of the accounts
+     *
+     * @param isolatedSymbols: isolated margin symbols to cancel, null to collect them from the isolated margin account
+     * @param accountTypes:    accounts to cancel, all the accounts if no one is inserted
+     * @return results of the cancels as {@link ArrayList} of {@link CancelResult}, a result with a null symbol
+     * means that the open orders of that account could not be collected
+     */
+    public ArrayList<CancelResult> cancelAll(Collection<String> isolatedSymbols, AccountType... accountTypes) {
+        EnumSet<AccountType> accounts = EnumSet.noneOf(AccountType.class);
+        for (AccountType accountType : accountTypes)
+            if (accountType != null)
+                accounts.add(accountType);
+        if (accounts.isEmpty())
+            accounts = EnumSet.allOf(AccountType.class);
+        synchronized (timeManager) {
+            timeManager.getSyncedServerTime();
+        }
+        ArrayList<CompletableFuture<ArrayList<CancelResult>>> operations = new ArrayList<>();
+        for (AccountType accountType : accounts)
+            operations.add(cancelAccount(accountType, isolatedSymbols));
+        ArrayList<CancelResult> results = new ArrayList<>();
+        for (CompletableFuture<ArrayList<CancelResult>> operation : operations)
+            results.addAll(operation.join());
+        return results;
+    }
+
+    /**
+     * Method to cancel all the open orders of an account, the cancels of each symbol start as soon as the symbols
+     * of the account have been collected
+     *
+     * @param accountType:     account to cancel
+     * @param isolatedSymbols: isolated margin symbols, null to collect them from the isolated margin account
+     * @return results of the cancels as {@link CompletableFuture} of {@link ArrayList} of {@link CancelResult}
+     */
+    private CompletableFuture<ArrayList<CancelResult>> cancelAccount(AccountType accountType,
+                                                                     Collection<String> isolatedSymbols) {
+        return collectOpenOrders(accountType, isolatedSymbols).thenCompose(requests ->
+                CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0])).handle((result, e) -> requests)
+        ).thenCompose(requests -> {
+            ArrayList<CancelResult> results = new ArrayList<>();
+            LinkedHashSet<String> symbols = new LinkedHashSet<>();
+            for (CompletableFuture<String> request : requests) {
+                try {
+                    JSONArray items = new JSONArray(request.join());
+                    for (int j = 0; j < items.length(); j++)
+                        symbols.add(items.getJSONObject(j).getString("symbol"));
+                } catch (Exception e) {
+                    results.add(new CancelResult(accountType, null, -1, getMessage(e)));
+                }
+            }
+            ArrayList<CompletableFuture<CancelResult>> cancels = new ArrayList<>();
+            for (String symbol : symbols)
+                cancels.add(CompletableFuture.supplyAsync(() -> cancel(accountType, symbol), executor));
+            return CompletableFuture.allOf(cancels.toArray(new CompletableFuture<?>[0])).thenApply(result -> {
+                for (CompletableFuture<CancelResult> cancel : cancels)
+                    results.add(cancel.join());
+                return results;
+            });
+        }).exceptionally(e -> {
+            ArrayList<CancelResult> results = new ArrayList<>();
+            results.add(new CancelResult(accountType, null, -1, getMessage(e)));
+            return results;
+        });
+    }
+
+    /**
+     * Method to send the requests to collect the open orders and the open {@code "OCO"} lists of an account
+     *
+     * @param accountType:     account to collect
+     * @param isolatedSymbols: isolated margin symbols, null to collect them from the isolated margin account
+     * @return requests sent as {@link CompletableFuture} of {@link ArrayList} of {@link CompletableFuture}
+     */
+    private CompletableFuture<ArrayList<CompletableFuture<String>>> collectOpenOrders(AccountType accountType,
+                                                                                     Collection<String> isolatedSymbols) {
+        ArrayList<CompletableFuture<String>> requests = new ArrayList<>();
+        switch (accountType) {
+            case SPOT -> {
+                requests.add(supply(() -> spotManagers.get().getCurrentOpenOrders(STRING)));
+                requests.add(supply(() -> spotManagers.get().getOpenOCOOrders(STRING)));
+                return CompletableFuture.completedFuture(requests);
+            }
+            case CROSS_MARGIN -> {
+                requests.add(supply(() -> marginManagers.get().getAllOpenOrders(STRING)));
+                requests.add(supply(() -> marginManagers.get().getAllOCOOpenOrders(STRING)));
+                return CompletableFuture.completedFuture(requests);
+            }
+            default -> {
+                CompletableFuture<Collection<String>> symbols;
+                if (isolatedSymbols != null) {
+                    symbols = CompletableFuture.completedFuture(isolatedSymbols);
+                } else {
+                    symbols = supply(() -> marginManagers.get().getMarginIsolatedAccount(STRING)).thenApply(account -> {
+                        ArrayList<String> accountSymbols = new ArrayList<>();
+                        JSONArray assets = new JSONObject(account).getJSONArray("assets");
+                        for (int j = 0; j < assets.length(); j++)
+                            accountSymbols.add(assets.getJSONObject(j).getString("symbol"));
+                        return accountSymbols;
+                    });
+                }
+                return symbols.thenApply(isolated -> {
+                    for (String symbol : isolated) {
+                        requests.add(supply(() -> {
+                            Params params = new Params();
+                            params.addParam("symbol", symbol);
+                            params.addParam("isIsolated", "TRUE");
+                            return marginManagers.get().getAllOpenOrders(params, STRING);
+                        }));
+                        requests.add(supply(() -> marginManagers.get().getAllOCOOpenOrders(symbol, STRING)));
+                    }
+                    return requests;
+                });
+            }
+        }
+    }
+
+    /**
+     * Method to cancel all the open orders of a symbol from a worker
+     *
+     * @param accountType: account of the orders
+     * @param symbol:      symbol of the orders
+     * @return result of the cancel as {@link CancelResult}
+     */
+    private CancelResult cancel(AccountType accountType, String symbol) {
+        BinanceManager manager = accountType == AccountType.SPOT ? spotManagers.get() : marginManagers.get();
+        try {
+            String response;
+            if (accountType == AccountType.SPOT) {
+                response = spotManagers.get().cancelAllOpenOrders(symbol, STRING);
+            } else {
+                Params params = new Params();
+                params.addParam("isIsolated", accountType == AccountType.ISOLATED_MARGIN ? "TRUE" : "FALSE");
+                response = marginManagers.get().cancelAllMarginOrders(symbol, params, STRING);
+            }
+            if (response.startsWith("["))
+                return new CancelResult(accountType, symbol, new JSONArray(response).length(), null);
+            return new CancelResult(accountType, symbol, -1, response);
+        } catch (Exception e) {
+            String errorResponse = manager.getErrorResponse();
+            return new CancelResult(accountType, symbol, -1, errorResponse != null ? errorResponse : getMessage(e));
+        }
+    }
+
+    /**
+     * Method to send a request from a worker
+     *
+     * @param request: request to send
+     * @return response of the request as {@link CompletableFuture} of {@link String}
+     */
+    private CompletableFuture<String> supply(SignedRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return request.send();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Method to get the message of an exception
+     *
+     * @param e: exception thrown
+     * @return message of the root cause as {@link String}
+     */
+    private static String getMessage(Throwable e) {
+        while (e.getCause() != null)
+            e = e.getCause();
+        return e.toString();
+    }
+
+    /**
+     * Method to stop the workers <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The {@code SignedRequest} interface is useful to send a request that can throw any exception
+     */
+    @FunctionalInterface
+    private interface SignedRequest {
+
+        /**
+         * Method to send the request <br>
+         * No-any params required
+         *
+         * @return response of the request as {@link String}
+         * @throws Exception when the request has been go wrong
+         */
+        String send() throws Exception;
+
+    }
+
+    /**
+     * {@code AccountType} list of the accounts that can be canceled
+     */
+    public enum AccountType {
+
+        /**
+         * {@code SPOT} spot account
+         */
+        SPOT,
+
+        /**
+         * {@code CROSS_MARGIN} cross margin account
+         */
+        CROSS_MARGIN,
+
+        /**
+         * {@code ISOLATED_MARGIN} isolated margin account
+         */
+        ISOLATED_MARGIN
+
+    }
+
+    /**
+     * The {@code CancelResult} class is useful to format the result of the cancel of the open orders of a symbol
+     */
+    public static final class CancelResult {
+
+        /**
+         * {@code accountType} is instance that memorizes account of the orders
+         */
+        private final AccountType accountType;
+
+        /**
+         * {@code symbol} is instance that memorizes symbol of the orders, null if the collection of the symbols failed
+         */
+        private final String symbol;
+
+        /**
+         * {@code canceledOrders} is instance that memorizes number of the orders canceled, -1 if the cancel failed
+         */
+        private final int canceledOrders;
+
+        /**
+         * {@code error} is instance that memorizes the error of the cancel, null if the cancel succeeded
+         */
+        private final String error;
+
+        /**
+         * Constructor to init {@link CancelResult}
+         *
+         * @param accountType:    account of the orders
+         * @param symbol:         symbol of the orders
+         * @param canceledOrders: number of the orders canceled
+         * @param error:          error of the cancel
+         */
+        public CancelResult(AccountType accountType, String symbol, int canceledOrders, String error) {
+            this.accountType = accountType;
+            this.symbol = symbol;
+            this.canceledOrders = canceledOrders;
+            this.error = error;
+        }
+
+        /**
+         * Method to get {@link #accountType} instance <br>
+         * No-any params required
+         *
+         * @return {@link #accountType} instance as {@link AccountType}
+         */
+        public AccountType getAccountType() {
+            return accountType;
+        }
+
+        /**
+         * Method to get {@link #symbol} instance <br>
+         * No-any params required
+         *
+         * @return {@link #symbol} instance as {@link String}
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Method to get {@link #canceledOrders} instance <br>
+         * No-any params required
+         *
+         * @return {@link #canceledOrders} instance as int
+         */
+        public int getCanceledOrders() {
+            return canceledOrders;
+        }
+
+        /**
+         * Method to get {@link #error} instance <br>
+         * No-any params required
+         *
+         * @return {@link #error} instance as {@link String}
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * Method to get whether the cancel succeeded <br>
+         * No-any params required
+         *
+         * @return whether the cancel succeeded as boolean
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            return new JSONObject(this).toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,458 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.commons;
+
+import com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation.ExchangePermission;
+import com.tecknobit.binancemanager.managers.market.symbols.BinanceSymbolsRegistry;
+
+import static com.tecknobit.binancemanager.managers.market.symbols.BinanceSymbolsRegistry.UNKNOWN_SYMBOL;
+import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.BinanceOrderValidator.OrderViolation.*;
+import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.Side;
+import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.Side.BUY;
+
+/**
+ * The {@code BinanceOrderValidator} class is useful to check and normalize the orders locally with the filters of the
+ * exchange before send them <br>
+ * The checks use the primitive details of a {@link BinanceSymbolsRegistry}, so they do not allocate and do not make any
+ * request, an order rejected locally does not consume the orders rate limits
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the checks covered are {@code "PRICE_FILTER"}, {@code "LOT_SIZE"}, {@code "MARKET_LOT_SIZE"},
+ * {@code "MIN_NOTIONAL"}, {@code "NOTIONAL"}, {@code "PERCENT_PRICE"} and {@code "PERCENT_PRICE_BY_SIDE"}, the
+ * percent price and the market notional checks need the average price of the symbol and are skipped when it is not
+ * passed
+ */
+public class BinanceOrderValidator {
+
+    /**
+     * {@code EPSILON} is constant for the tolerance used to check if a value is a multiple of a tick or of a step
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * {@code registry} is instance that memorizes the registry with the filters of the symbols
+     */
+    private final BinanceSymbolsRegistry registry;
+
+    /**
+     * Constructor to init {@link BinanceOrderValidator}
+     *
+     * @param registry: registry with the filters of the symbols
+     */
+    public BinanceOrderValidator(BinanceSymbolsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Method to snap a price to the tick size of a symbol, the price is rounded down
+     *
+     * @param symbol: symbol of the order es. BTCBUSD
+     * @param price:  price to snap
+     * @return price snapped as double
+     * @throws IllegalArgumentException when the symbol is not listed
+     */
+    public double normalizePrice(String symbol, double price) {
+        int id = registry.requireId(symbol);
+        return snap(price, registry.getMinPrice(id), registry.getTickSize(id));
+    }
+
+    /**
+     * Method to snap a quantity to the step size of the {@code "LOT_SIZE"} filter of a symbol, the quantity is rounded
+     * down
+     *
+     * @param symbol:   symbol of the order es. BTCBUSD
+     * @param quantity: quantity to snap
+     * @return quantity snapped as double
+     * @throws IllegalArgumentException when the symbol is not listed
+     */
+    public double normalizeQuantity(String symbol, double quantity) {
+        int id = registry.requireId(symbol);
+        return snap(quantity, registry.getMinQty(id), registry.getStepSize(id));
+    }
+
+    /**
+     * Method to snap a quantity of a market order to the step size of a symbol, the {@code "MARKET_LOT_SIZE"} filter
+     * is used when set, otherwise the {@code "LOT_SIZE"} filter, the quantity is rounded down
+     *
+     * @param symbol:   symbol of the order es. BTCBUSD
+     * @param quantity: quantity to snap
+     * @return quantity snapped as double
+     * @throws IllegalArgumentException when the symbol is not listed
+     */
+    public double normalizeMarketQuantity(String symbol, double quantity) {
+        int id = registry.requireId(symbol);
+        if (registry.getMarketStepSize(id) > 0)
+            return snap(quantity, registry.getMarketMinQty(id), registry.getMarketStepSize(id));
+        return snap(quantity, registry.getMinQty(id), registry.getStepSize(id));
+    }
+
+    /**
+     * Method to validate a limit order
+     *
+     * @param symbol:       symbol of the order es. BTCBUSD
+     * @param side:         side of the order
+     * @param quantity:     quantity of the order
+     * @param price:        price of the order
+     * @param averagePrice: current average price of the symbol, {@link Double#NaN} to skip the checks that need it
+     * @return violation found as {@link OrderViolation}, {@link OrderViolation#NONE} if the order is valid
+     */
+    public OrderViolation validateLimitOrder(String symbol, Side side, double quantity, double price,
+                                             double averagePrice) {
+        int id = registry.getId(symbol);
+        if (id == UNKNOWN_SYMBOL)
+            return UNKNOWN_SYMBOL_VIOLATION;
+        if (!registry.isTrading(id))
+            return SYMBOL_NOT_TRADING;
+        return checkLimit(id, side, quantity, price, averagePrice);
+    }
+
+    /**
+     * Method to validate a market order with the base quantity
+     *
+     * @param symbol:       symbol of the order es. BTCBUSD
+     * @param quantity:     quantity of the order
+     * @param averagePrice: current average price of the symbol, {@link Double#NaN} to skip the checks that need it
+     * @return violation found as {@link OrderViolation}, {@link OrderViolation#NONE} if the order is valid
+     */
+    public OrderViolation validateMarketOrder(String symbol, double quantity, double averagePrice) {
+        int id = registry.getId(symbol);
+        if (id == UNKNOWN_SYMBOL)
+            return UNKNOWN_SYMBOL_VIOLATION;
+        if (!registry.isTrading(id))
+            return SYMBOL_NOT_TRADING;
+        return checkMarket(id, quantity, averagePrice);
+    }
+
+    /**
+     * Method to validate a market order with the quote quantity
+     *
+     * @param symbol:        symbol of the order es. BTCBUSD
+     * @param quoteOrderQty: quote quantity of the order
+     * @return violation found as {@link OrderViolation}, {@link OrderViolation#NONE} if the order is valid
+     */
+    public OrderViolation validateMarketQuoteOrder(String symbol, double quoteOrderQty) {
+        int id = registry.getId(symbol);
+        if (id == UNKNOWN_SYMBOL)
+            return UNKNOWN_SYMBOL_VIOLATION;
+        if (!registry.isTrading(id))
+            return SYMBOL_NOT_TRADING;
+        if (!registry.isQuoteOrderQtyMarketAllowed(id))
+            return QUOTE_ORDER_QTY_NOT_ALLOWED;
+        if (quoteOrderQty <= 0)
+            return NOTIONAL;
+        if (registry.isMinNotionalAppliedToMarket(id) && quoteOrderQty < registry.getMinNotional(id))
+            return NOTIONAL;
+        if (registry.isMaxNotionalAppliedToMarket(id) && registry.getMaxNotional(id) > 0
+                && quoteOrderQty > registry.getMaxNotional(id))
+            return NOTIONAL;
+        return NONE;
+    }
+
+    /**
+     * Method to validate an oco order, both the limit leg and the stop leg are checked
+     *
+     * @param symbol:         symbol of the order es. BTCBUSD
+     * @param side:           side of the order
+     * @param quantity:       quantity of each leg
+     * @param price:          price of the limit leg
+     * @param stopPrice:      trigger price of the stop leg
+     * @param stopLimitPrice: price of the stop leg, 0 if the stop leg is a stop loss market order
+     * @param averagePrice:   current average price of the symbol, {@link Double#NaN} to skip the checks that need it
+     * @return violation found as {@link OrderViolation}, {@link OrderViolation#NONE} if the order is valid
+     */
+    public OrderViolation validateOCOOrder(String symbol, Side side, double quantity, double price, double stopPrice,
+                                           double stopLimitPrice, double averagePrice) {
+        int id = registry.getId(symbol);
+        if (id == UNKNOWN_SYMBOL)
+            return UNKNOWN_SYMBOL_VIOLATION;
+        if (!registry.isTrading(id))
+            return SYMBOL_NOT_TRADING;
+        if (!registry.isOcoAllowed(id))
+            return OCO_NOT_ALLOWED;
+        OrderViolation violation = checkLimit(id, side, quantity, price, averagePrice);
+        if (violation != NONE)
+            return violation;
+        violation = checkPrice(id, stopPrice);
+        if (violation != NONE)
+            return violation;
+        if (side == BUY ? stopPrice <= price : stopPrice >= price)
+            return OCO_PRICES_RELATIONSHIP;
+        if (stopLimitPrice > 0)
+            return checkLimit(id, side, quantity, stopLimitPrice, averagePrice);
+        return checkNotional(id, quantity * stopPrice, true);
+    }
+
+    /**
+     * Method to validate a margin limit order, the symbol must have the margin permission
+     *
+     * @param symbol:       symbol of the order es. BTCBUSD
+     * @param side:         side of the order
+     * @param quantity:     quantity of the order
+     * @param price:        price of the order
+     * @param averagePrice: current average price of the symbol, {@link Double#NaN} to skip the checks that need it
+     * @return violation found as {@link OrderViolation}, {@link OrderViolation#NONE} if the order is valid
+     */
+    public OrderViolation validateMarginLimitOrder(String symbol, Side side, double quantity, double price,
+                                                   double averagePrice) {
+        int id = registry.getId(symbol);
+        if (id != UNKNOWN_SYMBOL && !registry.hasPermission(id, ExchangePermission.MARGIN))
+            return MARGIN_NOT_ALLOWED;
+        return validateLimitOrder(symbol, side, quantity, price, averagePrice);
+    }
+
+    /**
+     * Method to validate a margin market order with the base quantity, the symbol must have the margin permission
+     *
+     * @param symbol:       symbol of the order es. BTCBUSD
+     * @param quantity:     quantity of the order
+     * @param averagePrice: current average price of the symbol, {@link Double#NaN} to skip the checks that need it
+     * @return violation found as {@link OrderViolation}, {@link OrderViolation#NONE} if the order is valid
+     */
+    public OrderViolation validateMarginMarketOrder(String symbol, double quantity, double averagePrice) {
+        int id = registry.getId(symbol);
+        if (id != UNKNOWN_SYMBOL && !registry.hasPermission(id, ExchangePermission.MARGIN))
+            return MARGIN_NOT_ALLOWED;
+        return validateMarketOrder(symbol, quantity, averagePrice);
+    }
+
+    /**
+     * Method to require that an order is valid
+     *
+     * @param violation: result of a validation
+     * @throws IllegalArgumentException when the violation is not {@link OrderViolation#NONE}
+     * @apiNote es. {@code validator.requireValid(validator.validateLimitOrder(symbol, BUY, qty, price, NaN));}
+     */
+    public static void requireValid(OrderViolation violation) {
+        if (violation != NONE)
+            throw new IllegalArgumentException("The order violates the " + violation + " check");
+    }
+
+    /**
+     * Method to check the filters of a limit order
+     *
+     * @param id:           id of the symbol
+     * @param side:         side of the order
+     * @param quantity:     quantity of the order
+     * @param price:        price of the order
+     * @param averagePrice: current average price of the symbol
+     * @return violation found as {@link OrderViolation}
+     */
+    private OrderViolation checkLimit(int id, Side side, double quantity, double price, double averagePrice) {
+        OrderViolation violation = checkPrice(id, price);
+        if (violation != NONE)
+            return violation;
+        if (!inRange(quantity, registry.getMinQty(id), registry.getMaxQty(id), registry.getStepSize(id)))
+            return LOT_SIZE;
+        violation = checkNotional(id, quantity * price, false);
+        if (violation != NONE)
+            return violation;
+        return checkPercentPrice(id, side, price, averagePrice);
+    }
+
+    /**
+     * Method to check the filters of a market order
+     *
+     * @param id:           id of the symbol
+     * @param quantity:     quantity of the order
+     * @param averagePrice: current average price of the symbol
+     * @return violation found as {@link OrderViolation}
+     */
+    private OrderViolation checkMarket(int id, double quantity, double averagePrice) {
+        if (!inRange(quantity, registry.getMinQty(id), registry.getMaxQty(id), registry.getStepSize(id)))
+            return LOT_SIZE;
+        if (registry.getMarketStepSize(id) > 0 && !inRange(quantity, registry.getMarketMinQty(id),
+                registry.getMarketMaxQty(id), registry.getMarketStepSize(id)))
+            return MARKET_LOT_SIZE;
+        if (averagePrice > 0)
+            return checkNotional(id, quantity * averagePrice, true);
+        return NONE;
+    }
+
+    /**
+     * Method to check the {@code "PRICE_FILTER"} of a price
+     *
+     * @param id:    id of the symbol
+     * @param price: price to check
+     * @return violation found as {@link OrderViolation}
+     */
+    private OrderViolation checkPrice(int id, double price) {
+        if (price <= 0)
+            return PRICE_FILTER;
+        double minPrice = registry.getMinPrice(id);
+        double maxPrice = registry.getMaxPrice(id);
+        if (minPrice > 0 && price < minPrice)
+            return PRICE_FILTER;
+        if (maxPrice > 0 && price > maxPrice)
+            return PRICE_FILTER;
+        if (!isMultiple(price - minPrice, registry.getTickSize(id)))
+            return PRICE_FILTER;
+        return NONE;
+    }
+
+    /**
+     * Method to check the {@code "MIN_NOTIONAL"} and {@code "NOTIONAL"} filters of a notional
+     *
+     * @param id:       id of the symbol
+     * @param notional: notional to check
+     * @param market:   whether the order is a market order
+     * @return violation found as {@link OrderViolation}
+     */
+    private OrderViolation checkNotional(int id, double notional, boolean market) {
+        if ((!market || registry.isMinNotionalAppliedToMarket(id)) && notional < registry.getMinNotional(id))
+            return NOTIONAL;
+        double maxNotional = registry.getMaxNotional(id);
+        if (maxNotional > 0 && (!market || registry.isMaxNotionalAppliedToMarket(id)) && notional > maxNotional)
+            return NOTIONAL;
+        return NONE;
+    }
+
+    /**
+     * Method to check the {@code "PERCENT_PRICE"} and {@code "PERCENT_PRICE_BY_SIDE"} filters of a price
+     *
+     * @param id:           id of the symbol
+     * @param side:         side of the order
+     * @param price:        price to check
+     * @param averagePrice: current average price of the symbol
+     * @return violation found as {@link OrderViolation}
+     */
+    private OrderViolation checkPercentPrice(int id, Side side, double price, double averagePrice) {
+        if (!(averagePrice > 0))
+            return NONE;
+        double multiplierUp = registry.getMultiplierUp(id);
+        if (multiplierUp > 0 && (price > averagePrice * multiplierUp
+                || price < averagePrice * registry.getMultiplierDown(id)))
+            return PERCENT_PRICE;
+        if (side == BUY) {
+            multiplierUp = registry.getBidMultiplierUp(id);
+            if (multiplierUp > 0 && (price > averagePrice * multiplierUp
+                    || price < averagePrice * registry.getBidMultiplierDown(id)))
+                return PERCENT_PRICE_BY_SIDE;
+        } else {
+            multiplierUp = registry.getAskMultiplierUp(id);
+            if (multiplierUp > 0 && (price > averagePrice * multiplierUp
+                    || price < averagePrice * registry.getAskMultiplierDown(id)))
+                return PERCENT_PRICE_BY_SIDE;
+        }
+        return NONE;
+    }
+
+    /**
+     * Method to check if a value is inside a range and is a multiple of a step
+     *
+     * @param value: value to check
+     * @param min:   min of the range
+     * @param max:   max of the range, 0 to not check it
+     * @param step:  step of the range, 0 to not check it
+     * @return whether the value is valid as boolean
+     */
+    private static boolean inRange(double value, double min, double max, double step) {
+        if (value <= 0 || value < min)
+            return false;
+        if (max > 0 && value > max)
+            return false;
+        return isMultiple(value - min, step);
+    }
+
+    /**
+     * Method to check if a value is a multiple of a step
+     *
+     * @param value: value to check
+     * @param step:  step to check, 0 to not check it
+     * @return whether the value is a multiple as boolean
+     */
+    private static boolean isMultiple(double value, double step) {
+        if (step <= 0)
+            return true;
+        double steps = value / step;
+        return Math.abs(steps - Math.rint(steps)) < EPSILON * Math.max(1, Math.abs(steps));
+    }
+
+    /**
+     * Method to snap a value to a step, the value is rounded down
+     *
+     * @param value: value to snap
+     * @param min:   min of the range
+     * @param step:  step of the range, 0 to not snap
+     * @return value snapped as double
+     */
+    private static double snap(double value, double min, double step) {
+        if (step <= 0)
+            return value;
+        double steps = Math.floor((value - min) / step + EPSILON);
+        if (steps < 0)
+            return min;
+        double scale = Math.pow(10, Math.max(0, (int) Math.ceil(-Math.log10(step) - EPSILON)));
+        return Math.round((min + steps * step) * scale) / scale;
+    }
+
+    /**
+     * {@code OrderViolation} list of available violations found by the validator
+     */
+    public enum OrderViolation {
+
+        /**
+         * {@code NONE} the order is valid
+         */
+        NONE,
+
+        /**
+         * {@code UNKNOWN_SYMBOL_VIOLATION} the symbol is not listed
+         */
+        UNKNOWN_SYMBOL_VIOLATION,
+
+        /**
+         * {@code SYMBOL_NOT_TRADING} the symbol is not trading
+         */
+        SYMBOL_NOT_TRADING,
+
+        /**
+         * {@code MARGIN_NOT_ALLOWED} the symbol has not the margin permission
+         */
+        MARGIN_NOT_ALLOWED,
+
+        /**
+         * {@code OCO_NOT_ALLOWED} the oco orders are not allowed for the symbol
+         */
+        OCO_NOT_ALLOWED,
+
+        /**
+         * {@code OCO_PRICES_RELATIONSHIP} the stop price is not on the right side of the limit price
+         */
+        OCO_PRICES_RELATIONSHIP,
+
+        /**
+         * {@code QUOTE_ORDER_QTY_NOT_ALLOWED} the market orders with quote quantity are not allowed for the symbol
+         */
+        QUOTE_ORDER_QTY_NOT_ALLOWED,
+
+        /**
+         * {@code PRICE_FILTER} the price violates the {@code "PRICE_FILTER"}
+         */
+        PRICE_FILTER,
+
+        /**
+         * {@code LOT_SIZE} the quantity violates the {@code "LOT_SIZE"} filter
+         */
+        LOT_SIZE,
+
+        /**
+         * {@code MARKET_LOT_SIZE} the quantity violates the {@code "MARKET_LOT_SIZE"} filter
+         */
+        MARKET_LOT_SIZE,
+
+        /**
+         * {@code NOTIONAL} the notional violates the {@code "MIN_NOTIONAL"} or the {@code "NOTIONAL"} filter
+         */
+        NOTIONAL,
+
+        /**
+         * {@code PERCENT_PRICE} the price violates the {@code "PERCENT_PRICE"} filter
+         */
+        PERCENT_PRICE,
+
+        /**
+         * {@code PERCENT_PRICE_BY_SIDE} the price violates the {@code "PERCENT_PRICE_BY_SIDE"} filter
+         */
+        PERCENT_PRICE_BY_SIDE
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.tecknobit.binancemanager.managers.signedmanagers.trade.commons;
 
 import com.tecknobit.apimanager.formatters.JsonHelper;
+import com.tecknobit.binancemanager.managers.records.FixedDecimal;
 import org.json.JSONObject;
 
 import static com.tecknobit.apimanager.formatters.ScientificNotationParser.sNotationParse;
@@ -113,6 +114,30 @@ public class Order {
         return payload;
     }
 
+    /**
+     * Method to assemble a payload for limit order request
+     *
+     * @param timeInForce: time in force for the order
+     * @param quantity:    quantity value in the order
+     * @param price:       price value in the order
+     * @param extraParams: extraParams of the request
+     * @return payload request as {@link Params}
+     * @implSpec (keys accepted are timeInForce, quantity, quoteOrderQty, price, newClientOrderId, stopPrice, icebergQty,
+     *newOrderRespType, recvWindow), see official {@code "Binance"}'s documentation to implement in the right combination
+     * @apiNote see the official documentation at: <a href="https://binance-docs.github.io/apidocs/spot/en/#test-new-order-trade">
+     * Test New Order (TRADE)</a>
+     */
+    public static Params getLimitPayload(TimeInForce timeInForce, FixedDecimal quantity, FixedDecimal price,
+                                         Params extraParams) {
+        Params payload = new Params();
+        payload.addParam("timeInForce", timeInForce);
+        payload.addParam("quantity", quantity);
+        payload.addParam("price", price);
+        if (extraParams != null)
+            payload.mergeParams(extraParams);
+        return payload;
+    }
+
     /**
      * Method to assemble a payload for market order request
      *
@@ -133,6 +158,26 @@ public class Order {
         return payload;
     }
 
+    /**
+     * Method to assemble a payload for market order request
+     *
+     * @param keyQty:      key for qty value (quantity or quoteOrderQty)
+     * @param qty:         quantity value in the order
+     * @param extraParams: extraParams of the request
+     * @return payload request as {@link Params}
+     * @implSpec (keys accepted are timeInForce, quantity, quoteOrderQty, price, newClientOrderId, stopPrice, icebergQty,
+     *newOrderRespType, recvWindow), see official {@code "Binance"}'s documentation to implement in the right combination
+     * @apiNote see the official documentation at: <a href="https://binance-docs.github.io/apidocs/spot/en/#test-new-order-trade">
+     * Test New Order (TRADE)</a>
+     */
+    public static Params getMarketPayload(String keyQty, FixedDecimal qty, Params extraParams) {
+        Params payload = new Params();
+        payload.addParam(keyQty, qty);
+        if (extraParams != null)
+            payload.mergeParams(extraParams);
+        return payload;
+    }
+
     /**
      * Method to assemble a payload for take profit and stop loss order request
      *
@@ -155,6 +200,28 @@ public class Order {
         return payload;
     }
 
+    /**
+     * Method to assemble a payload for take profit and stop loss order request
+     *
+     * @param quantity:    quantity value in the order
+     * @param key:         key for value (stopPrice or trailingDelta)
+     * @param value:       level indicator value
+     * @param extraParams: extraParams of the request
+     * @return payload request as {@link Params}
+     * @implSpec (keys accepted are timeInForce, quantity, quoteOrderQty, price, newClientOrderId, stopPrice, icebergQty,
+     *newOrderRespType, recvWindow), see official {@code "Binance"}'s documentation to implement in the right combination
+     * @apiNote see the official documentation at: <a href="https://binance-docs.github.io/apidocs/spot/en/#test-new-order-trade">
+     * Test New Order (TRADE)</a>
+     */
+    public static Params getLevelPayload(FixedDecimal quantity, String key, FixedDecimal value, Params extraParams) {
+        Params payload = new Params();
+        payload.addParam("quantity", quantity);
+        payload.addParam(key, value);
+        if (extraParams != null)
+            payload.mergeParams(extraParams);
+        return payload;
+    }
+
     /**
      * Method to assemble a payload for take profit limit and stop loss limit order request
      *
@@ -177,6 +244,28 @@ public class Order {
         return payload;
     }
 
+    /**
+     * Method to assemble a payload for take profit limit and stop loss limit order request
+     *
+     * @param timeInForce: time in force for the order
+     * @param quantity:    quantity value in the order
+     * @param price:       price value in the order
+     * @param key:         key for value (stopPrice or trailingDelta)
+     * @param value:       level indicator value
+     * @param extraParams: extraParams of the request
+     * @return payload request as {@link Params}
+     * @implSpec (keys accepted are timeInForce, quantity, quoteOrderQty, price, newClientOrderId, stopPrice, icebergQty,
+     *newOrderRespType, recvWindow), see official {@code "Binance"}'s documentation to implement in the right combination
+     * @apiNote see the official documentation at: <a href="https://binance-docs.github.io/apidocs/spot/en/#test-new-order-trade">
+     * Test New Order (TRADE)</a>
+     */
+    public static Params getLevelLimitPayload(TimeInForce timeInForce, FixedDecimal quantity, FixedDecimal price,
+                                              String key, FixedDecimal value, Params extraParams) {
+        Params payload = getLimitPayload(timeInForce, quantity, price, extraParams);
+        payload.addParam(key, value);
+        return payload;
+    }
+
     /**
      * Method to assemble a payload for limit maker order request
      *
@@ -198,6 +287,27 @@ public class Order {
         return payload;
     }
 
+    /**
+     * Method to assemble a payload for limit maker order request
+     *
+     * @param quantity:    quantity value in the order
+     * @param price:       price value in the order
+     * @param extraParams: extraParams of the request
+     * @return payload request as {@link Params}
+     * @implSpec (keys accepted are timeInForce, quantity, quoteOrderQty, price, newClientOrderId, stopPrice, icebergQty,
+     *newOrderRespType, recvWindow), see official {@code "Binance"}'s documentation to implement in the right combination
+     * @apiNote see the official documentation at: <a href="https://binance-docs.github.io/apidocs/spot/en/#test-new-order-trade">
+     * Test New Order (TRADE)</a>
+     */
+    public static Params getLimitMakerPayload(FixedDecimal quantity, FixedDecimal price, Params extraParams) {
+        Params payload = new Params();
+        payload.addParam("quantity", quantity);
+        payload.addParam("price", price);
+        if (extraParams != null)
+            payload.mergeParams(extraParams);
+        return payload;
+    }
+
     /**
      * Method to get {@link #symbol} instance <br>
      * No-any params required
@@ -0,0 +1,316 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.margin;
+
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.margin.records.isolated.account.ComposedIMarginAccountInfo;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.margin.records.isolated.account.IsolatedMarginAccountInfo;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendObjectRequest;
+
+/**
+ * The {@code BinanceIsolatedMarginReader} class is useful to read many isolated margin accounts at once <br>
+ * The symbols are split in chunks of {@link #MAX_SYMBOLS_PER_REQUEST} symbols, the chunks are fetched concurrently
+ * with {@link BinanceMarginManager#getMarginIsolatedAccount(Params)} and the accounts are cached, so the next reads
+ * fetch only the symbols not cached yet or marked as dirty by the user data events
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials of the account inserted, or of the last {@link BinanceMarginManager}
+ * instantiated with a parameterized constructor if no account is inserted; the totals of the view are summed from
+ * the assets of each account, the asset and liability totals of an asset with a net asset of zero cannot be converted
+ * in Bitcoin and are not counted
+ */
+public class BinanceIsolatedMarginReader implements Closeable {
+
+    /**
+     * {@code MAX_SYMBOLS_PER_REQUEST} is constant for the max number of symbols accepted by a single request
+     */
+    public static final int MAX_SYMBOLS_PER_REQUEST = 5;
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of chunks fetched at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * {@code executor} is instance used to fetch the chunks
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceMarginManager> managers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before a read
+     */
+    private final BinanceMarginManager timeManager;
+
+    /**
+     * {@code accounts} is instance that memorizes the accounts cached
+     */
+    private final ConcurrentHashMap<String, JSONObject> accounts;
+
+    /**
+     * {@code dirtySymbols} is instance that memorizes the symbols to fetch again on the next read
+     */
+    private final Set<String> dirtySymbols;
+
+    /**
+     * Constructor to init {@link BinanceIsolatedMarginReader} with the {@link #DEFAULT_PARALLELISM}
+     *
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceMarginManager} has not been
+     *                                  called before this constructor
+     */
+    public BinanceIsolatedMarginReader() {
+        this(null, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructor to init {@link BinanceIsolatedMarginReader} with the {@link #DEFAULT_PARALLELISM}
+     *
+     * @param account: manager of the account to read, its credentials and its endpoint are used
+     */
+    public BinanceIsolatedMarginReader(BinanceSignedManager account) {
+        this(account, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructor to init {@link BinanceIsolatedMarginReader}
+     *
+     * @param parallelism: number of chunks fetched at the same time
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceMarginManager} has not been
+     *                                  called before this constructor or when the parallelism is not positive
+     */
+    public BinanceIsolatedMarginReader(int parallelism) {
+        this(null, parallelism);
+    }
+
+    /**
+     * Constructor to init {@link BinanceIsolatedMarginReader}
+     *
+     * @param account:     manager of the account to read, null to use the credentials of the last
+     *                     {@link BinanceMarginManager} instantiated with a parameterized constructor
+     * @param parallelism: number of chunks fetched at the same time
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceMarginManager} has not been
+     *                                  called before this constructor and the account is null or when the parallelism
+     *                                  is not positive
+     */
+    public BinanceIsolatedMarginReader(BinanceSignedManager account, int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        timeManager = account != null ? new BinanceMarginManager(account) : new BinanceMarginManager();
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceMarginManager manager = new BinanceMarginManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        accounts = new ConcurrentHashMap<>();
+        dirtySymbols = ConcurrentHashMap.newKeySet();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-isolated-margin-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Request to get the isolated margin accounts of some symbols, only the symbols not cached or dirty are fetched
+     *
+     * @param symbols: symbols of the accounts es. BTCUSDT
+     * @return accounts as {@link ComposedIMarginAccountInfo} custom object, the symbols without an isolated margin
+     * account are skipped
+     * @throws IOException when request has been go wrong
+     */
+    public ComposedIMarginAccountInfo getAccounts(Collection<String> symbols) throws IOException {
+        LinkedHashSet<String> requestedSymbols = new LinkedHashSet<>(symbols);
+        ArrayList<String> symbolsToFetch = new ArrayList<>();
+        for (String symbol : requestedSymbols)
+            if (!accounts.containsKey(symbol) || dirtySymbols.contains(symbol))
+                symbolsToFetch.add(symbol);
+        fetch(symbolsToFetch);
+        return composeView(requestedSymbols);
+    }
+
+    /**
+     * Request to get all the isolated margin accounts cached, fetching again the dirty ones <br>
+     * No-any params required
+     *
+     * @return accounts as {@link ComposedIMarginAccountInfo} custom object
+     * @throws IOException when request has been go wrong
+     */
+    public ComposedIMarginAccountInfo getAccounts() throws IOException {
+        refreshDirty();
+        return composeView(new TreeSet<>(accounts.keySet()));
+    }
+
+    /**
+     * Request to fetch again the accounts of the symbols marked as dirty <br>
+     * No-any params required
+     *
+     * @return number of accounts fetched
+     * @throws IOException when request has been go wrong
+     */
+    public int refreshDirty() throws IOException {
+        ArrayList<String> symbols = new ArrayList<>(dirtySymbols);
+        fetch(symbols);
+        return symbols.size();
+    }
+
+    /**
+     * Request to fetch again the accounts of some symbols
+     *
+     * @param symbols: symbols of the accounts es. BTCUSDT
+     * @throws IOException when request has been go wrong
+     */
+    public void refresh(Collection<String> symbols) throws IOException {
+        fetch(new ArrayList<>(new LinkedHashSet<>(symbols)));
+    }
+
+    /**
+     * Method to mark some symbols as dirty, so they are fetched again on the next read
+     *
+     * @param symbols: symbols to mark es. BTCUSDT
+     */
+    public void markDirty(String... symbols) {
+        dirtySymbols.addAll(Arrays.asList(symbols));
+    }
+
+    /**
+     * Method to mark as dirty the symbols changed by a user data event <br>
+     * The {@code "executionReport"} events mark their symbol, the {@code "outboundAccountPosition"} and the
+     * {@code "balanceUpdate"} events mark all the accounts that hold one of their assets
+     *
+     * @param event: user data event as {@link JSONObject}
+     */
+    public void onUserDataEvent(JSONObject event) {
+        String symbol = event.optString("s", null);
+        if (symbol != null) {
+            markDirty(symbol);
+            return;
+        }
+        HashSet<String> assets = new HashSet<>();
+        JSONArray balances = event.optJSONArray("B");
+        if (balances != null)
+            for (int j = 0; j < balances.length(); j++)
+                assets.add(balances.getJSONObject(j).optString("a"));
+        else if (event.has("a"))
+            assets.add(event.getString("a"));
+        for (Map.Entry<String, JSONObject> account : accounts.entrySet()) {
+            JSONObject jAccount = account.getValue();
+            if (assets.contains(jAccount.getJSONObject("baseAsset").optString("asset"))
+                    || assets.contains(jAccount.getJSONObject("quoteAsset").optString("asset")))
+                dirtySymbols.add(account.getKey());
+        }
+    }
+
+    /**
+     * Method to fetch some symbols in chunks sent concurrently, the symbols are removed from the dirty ones before
+     * the requests, so the events received meanwhile mark them again
+     *
+     * @param symbols: symbols to fetch
+     * @throws IOException when request has been go wrong
+     */
+    private void fetch(List<String> symbols) throws IOException {
+        if (symbols.isEmpty())
+            return;
+        synchronized (timeManager) {
+            timeManager.getSyncedServerTime();
+        }
+        dirtySymbols.removeAll(symbols);
+        ArrayList<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int j = 0; j < symbols.size(); j += MAX_SYMBOLS_PER_REQUEST) {
+            List<String> chunk = symbols.subList(j, Math.min(symbols.size(), j + MAX_SYMBOLS_PER_REQUEST));
+            chunks.add(CompletableFuture.runAsync(() -> fetchChunk(chunk), executor));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            dirtySymbols.addAll(symbols);
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Method to fetch a chunk of symbols from a worker
+     *
+     * @param chunk: symbols of the chunk
+     * @throws CompletionException when request has been go wrong
+     */
+    private void fetchChunk(List<String> chunk) {
+        BinanceMarginManager manager = managers.get();
+        Params params = new Params();
+        params.addParam("symbols", String.join(",", chunk));
+        JSONObject jResponse;
+        try {
+            jResponse = sendObjectRequest(manager, () -> manager.getMarginIsolatedAccount(params, STRING));
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        HashSet<String> missingSymbols = new HashSet<>(chunk);
+        JSONArray jAccounts = jResponse.optJSONArray("assets");
+        if (jAccounts != null) {
+            for (int j = 0; j < jAccounts.length(); j++) {
+                JSONObject jAccount = jAccounts.getJSONObject(j);
+                String symbol = jAccount.getString("symbol");
+                accounts.put(symbol, jAccount);
+                missingSymbols.remove(symbol);
+            }
+        }
+        for (String symbol : missingSymbols)
+            accounts.remove(symbol);
+    }
+
+    /**
+     * Method to compose the view of some accounts cached
+     *
+     * @param symbols: symbols of the accounts
+     * @return accounts as {@link ComposedIMarginAccountInfo} custom object
+     */
+    private ComposedIMarginAccountInfo composeView(Collection<String> symbols) {
+        ArrayList<IsolatedMarginAccountInfo> accountsList = new ArrayList<>();
+        double totalAssetOfBtc = 0;
+        double totalLiabilityOfBtc = 0;
+        double totalNetAssetOfBtc = 0;
+        for (String symbol : symbols) {
+            JSONObject jAccount = accounts.get(symbol);
+            if (jAccount == null)
+                continue;
+            accountsList.add(new IsolatedMarginAccountInfo(jAccount));
+            for (String side : new String[]{"baseAsset", "quoteAsset"}) {
+                JSONObject asset = jAccount.getJSONObject(side);
+                double netAsset = asset.optDouble("netAsset", 0);
+                double netAssetOfBtc = asset.optDouble("netAssetOfBtc", 0);
+                totalNetAssetOfBtc += netAssetOfBtc;
+                if (netAsset != 0) {
+                    double btcRate = netAssetOfBtc / netAsset;
+                    totalAssetOfBtc += asset.optDouble("totalAsset", 0) * btcRate;
+                    totalLiabilityOfBtc += (asset.optDouble("borrowed", 0) + asset.optDouble("interest", 0))
+                            * btcRate;
+                }
+            }
+        }
+        return new ComposedIMarginAccountInfo(totalAssetOfBtc, totalLiabilityOfBtc, totalNetAssetOfBtc,
+                accountsList);
+    }
+
+    /**
+     * Method to stop the workers <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,590 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.margin;
+
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.margin.records.account.MarginMaxBorrow;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.margin.records.isolated.properties.IsolatedMarginTierData;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.margin.records.marginproperties.MarginInterestRate;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendRequest;
+
+/**
+ * The {@code BinanceMarginBorrowOracle} class is useful to answer locally the borrow capacity and the interest rates
+ * questions before a leveraged order <br>
+ * The max borrows of the cross margin assets watched, their next hourly interest rates, their last daily interest
+ * rates and the tier data of the isolated margin symbols watched are cached and refreshed in background, the max
+ * borrows are invalidated by the balance events and fetched again as soon as possible
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the max borrow of an asset invalidated is not available until it has been fetched again, so the borrow
+ * capacity questions on that asset are answered as not known rather than with a stale value; an entry that cannot be
+ * refreshed keeps its last value and its refresh time, so the staleness of each entry can be checked; the failures
+ * of the background refreshes are notified to the {@link OracleErrorListener} added
+ */
+public class BinanceMarginBorrowOracle implements Closeable {
+
+    /**
+     * {@code DEFAULT_REFRESH_PERIOD} is constant for the default period in millis of the refreshes
+     */
+    public static final long DEFAULT_REFRESH_PERIOD = 60000;
+
+    /**
+     * {@code MAX_RATES_ASSETS} is constant for the max number of assets accepted by a single request of the next
+     * hourly interest rates
+     */
+    public static final int MAX_RATES_ASSETS = 20;
+
+    /**
+     * {@code RATE_HISTORY_WINDOW} is constant for the time window requested to get the last daily interest rate
+     */
+    private static final long RATE_HISTORY_WINDOW = 2L * 24 * 60 * 60 * 1000;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each thread that refreshes the cache
+     */
+    private final ThreadLocal<BinanceMarginManager> managers;
+
+    /**
+     * {@code refreshPeriod} is instance that memorizes the period in millis of the refreshes
+     */
+    private final long refreshPeriod;
+
+    /**
+     * {@code assets} is instance that memorizes the cross margin assets watched
+     */
+    private final CopyOnWriteArraySet<String> assets;
+
+    /**
+     * {@code isolatedSymbols} is instance that memorizes the isolated margin symbols watched
+     */
+    private final CopyOnWriteArraySet<String> isolatedSymbols;
+
+    /**
+     * {@code maxBorrows} is instance that memorizes the max borrow of each asset
+     */
+    private final ConcurrentHashMap<String, CachedValue<MarginMaxBorrow>> maxBorrows;
+
+    /**
+     * {@code hourlyRates} is instance that memorizes the next hourly interest rate of each asset
+     */
+    private final ConcurrentHashMap<String, CachedValue<Double>> hourlyRates;
+
+    /**
+     * {@code dailyRates} is instance that memorizes the last daily interest rate of each asset
+     */
+    private final ConcurrentHashMap<String, CachedValue<MarginInterestRate>> dailyRates;
+
+    /**
+     * {@code tiers} is instance that memorizes the tier data of each isolated margin symbol
+     */
+    private final ConcurrentHashMap<String, CachedValue<List<IsolatedMarginTierData>>> tiers;
+
+    /**
+     * {@code invalidAssets} is instance that memorizes the assets whose max borrow has to be fetched again
+     */
+    private final Set<String> invalidAssets;
+
+    /**
+     * {@code errorListeners} is instance that memorizes the listeners of the errors of the background refreshes
+     */
+    private final CopyOnWriteArrayList<OracleErrorListener> errorListeners;
+
+    /**
+     * {@code scheduler} is instance used to refresh the cache
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * {@code lastRefreshTime} is instance that memorizes the time of the last refresh completed without failures, -1 if
+     * never completed
+     */
+    private volatile long lastRefreshTime;
+
+    /**
+     * Constructor to init {@link BinanceMarginBorrowOracle} with the {@link #DEFAULT_REFRESH_PERIOD}
+     *
+     * @param account: manager of the account of the cache
+     */
+    public BinanceMarginBorrowOracle(BinanceSignedManager account) {
+        this(account, DEFAULT_REFRESH_PERIOD);
+    }
+
+    /**
+     * Constructor to init {@link BinanceMarginBorrowOracle}
+     *
+     * @param account:       manager of the account of the cache
+     * @param refreshPeriod: period in millis of the refreshes
+     * @throws IllegalArgumentException when the refresh period is not positive
+     * @apiNote each thread that refreshes the cache uses its own {@link BinanceMarginManager} copied from the account
+     * inserted
+     */
+    public BinanceMarginBorrowOracle(BinanceSignedManager account, long refreshPeriod) {
+        if (refreshPeriod <= 0)
+            throw new IllegalArgumentException("Refresh period must be positive");
+        managers = ThreadLocal.withInitial(() -> new BinanceMarginManager(account));
+        this.refreshPeriod = refreshPeriod;
+        assets = new CopyOnWriteArraySet<>();
+        isolatedSymbols = new CopyOnWriteArraySet<>();
+        maxBorrows = new ConcurrentHashMap<>();
+        hourlyRates = new ConcurrentHashMap<>();
+        dailyRates = new ConcurrentHashMap<>();
+        tiers = new ConcurrentHashMap<>();
+        invalidAssets = ConcurrentHashMap.newKeySet();
+        errorListeners = new CopyOnWriteArrayList<>();
+        lastRefreshTime = -1;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "binance-margin-borrow-oracle");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to watch some cross margin assets, they are fetched at the next refresh
+     *
+     * @param assets: assets to watch es. BTC
+     */
+    public void watchAssets(String... assets) {
+        this.assets.addAll(Arrays.asList(assets));
+    }
+
+    /**
+     * Method to watch some isolated margin symbols, they are fetched at the next refresh
+     *
+     * @param symbols: symbols to watch es. BTCUSDT
+     */
+    public void watchIsolatedSymbols(String... symbols) {
+        isolatedSymbols.addAll(Arrays.asList(symbols));
+    }
+
+    /**
+     * Method to fill the cache and to start the background refreshes <br>
+     * No-any params required
+     *
+     * @throws IOException when request has been go wrong
+     * @apiNote the failures of the next refreshes are notified to the {@link OracleErrorListener} added
+     */
+    public void start() throws IOException {
+        refresh();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                for (OracleErrorListener listener : errorListeners)
+                    listener.onRefreshFailed(e);
+            }
+        }, refreshPeriod, refreshPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Request to refresh all the data cached <br>
+     * No-any params required
+     *
+     * @throws IOException when request has been go wrong
+     * @implNote a failure on an asset or on a symbol does not stop the refresh of the others, the entries not
+     * refreshed keep their last value and the failures are thrown together at the end of the refresh
+     */
+    public void refresh() throws IOException {
+        BinanceMarginManager marginManager = managers.get();
+        IOException failure = null;
+        for (String asset : assets) {
+            try {
+                refreshMaxBorrow(asset);
+            } catch (IOException | JSONException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        ArrayList<String> assetsList = new ArrayList<>(assets);
+        for (int j = 0; j < assetsList.size(); j += MAX_RATES_ASSETS) {
+            String[] chunk = assetsList.subList(j, Math.min(assetsList.size(), j + MAX_RATES_ASSETS))
+                    .toArray(new String[0]);
+            try {
+                JSONArray jRates = new JSONArray(sendRequest(marginManager, () ->
+                        marginManager.getFutureHourlyInterestRates(false, STRING, chunk)));
+                long refreshTime = System.currentTimeMillis();
+                for (int i = 0; i < jRates.length(); i++) {
+                    JSONObject jRate = jRates.getJSONObject(i);
+                    hourlyRates.put(jRate.getString("asset"),
+                            new CachedValue<>(jRate.getDouble("nextHourlyInterestRate"), refreshTime));
+                }
+            } catch (IOException | JSONException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        for (String asset : assets) {
+            try {
+                refreshDailyRate(asset);
+            } catch (IOException | JSONException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        for (String symbol : isolatedSymbols) {
+            try {
+                refreshTierData(symbol);
+            } catch (IOException | JSONException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (failure != null)
+            throw failure;
+        lastRefreshTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Request to refresh the last daily interest rate of an asset
+     *
+     * @param asset: asset to refresh
+     * @throws IOException when request has been go wrong
+     */
+    private void refreshDailyRate(String asset) throws IOException {
+        Params params = new Params();
+        params.addParam("startTime", System.currentTimeMillis() - RATE_HISTORY_WINDOW);
+        BinanceMarginManager marginManager = managers.get();
+        JSONArray jHistory = new JSONArray(sendRequest(marginManager, () ->
+                marginManager.getInterestRateHistory(asset, params, STRING)));
+        MarginInterestRate last = null;
+        for (int j = 0; j < jHistory.length(); j++) {
+            MarginInterestRate rate = new MarginInterestRate(jHistory.getJSONObject(j));
+            if (last == null || rate.getTimestamp() > last.getTimestamp())
+                last = rate;
+        }
+        if (last != null)
+            dailyRates.put(asset, new CachedValue<>(last, System.currentTimeMillis()));
+    }
+
+    /**
+     * Request to refresh the tier data of an isolated margin symbol
+     *
+     * @param symbol: symbol to refresh
+     * @throws IOException when request has been go wrong
+     */
+    private void refreshTierData(String symbol) throws IOException {
+        BinanceMarginManager marginManager = managers.get();
+        JSONArray jTiers = new JSONArray(sendRequest(marginManager,
+                () -> marginManager.getIsolatedMarginTierData(symbol, STRING)));
+        ArrayList<IsolatedMarginTierData> symbolTiers = new ArrayList<>();
+        for (int j = 0; j < jTiers.length(); j++)
+            symbolTiers.add(new IsolatedMarginTierData(jTiers.getJSONObject(j)));
+        symbolTiers.sort(Comparator.comparingInt(IsolatedMarginTierData::getTier));
+        tiers.put(symbol, new CachedValue<>(Collections.unmodifiableList(symbolTiers), System.currentTimeMillis()));
+    }
+
+    /**
+     * Method to add a failure of a refresh to the failures already occurred
+     *
+     * @param failure: first failure occurred, null if not occurred yet
+     * @param e:       failure to add
+     * @return first failure occurred with the others added as suppressed
+     */
+    private static IOException addFailure(IOException failure, Exception e) {
+        IOException exception = e instanceof IOException ? (IOException) e : new IOException(e);
+        if (failure == null)
+            return exception;
+        failure.addSuppressed(exception);
+        return failure;
+    }
+
+    /**
+     * Method to invalidate the max borrows of the assets changed by a user data event, they are fetched again in
+     * background <br>
+     * The {@code "outboundAccountPosition"} events invalidate all their assets and the {@code "balanceUpdate"} events
+     * their asset, the other events are ignored
+     *
+     * @param event: user data event as {@link JSONObject}
+     */
+    public void onUserDataEvent(JSONObject event) {
+        JSONArray balances = event.optJSONArray("B");
+        if (balances != null) {
+            for (int j = 0; j < balances.length(); j++)
+                invalidate(balances.getJSONObject(j).optString("a"));
+        } else if ("balanceUpdate".equals(event.optString("e")))
+            invalidate(event.optString("a"));
+    }
+
+    /**
+     * Method to invalidate the max borrow of an asset, it is fetched again in background
+     *
+     * @param asset: asset to invalidate es. BTC
+     */
+    public void invalidate(String asset) {
+        if (!assets.contains(asset))
+            return;
+        maxBorrows.remove(asset);
+        if (invalidAssets.add(asset) && !scheduler.isShutdown()) {
+            scheduler.execute(() -> {
+                try {
+                    if (invalidAssets.contains(asset))
+                        refreshMaxBorrow(asset);
+                } catch (Exception e) {
+                    for (OracleErrorListener listener : errorListeners)
+                        listener.onMaxBorrowRefreshFailed(asset, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Request to refresh the max borrow of an asset, the asset stays invalid if the request has been go wrong
+     *
+     * @param asset: asset to refresh
+     * @throws IOException when request has been go wrong
+     */
+    private void refreshMaxBorrow(String asset) throws IOException {
+        invalidAssets.remove(asset);
+        BinanceMarginManager marginManager = managers.get();
+        try {
+            MarginMaxBorrow maxBorrow = new MarginMaxBorrow(new JSONObject(sendRequest(marginManager, () ->
+                    marginManager.getMaxBorrow(asset, STRING))));
+            if (!invalidAssets.contains(asset))
+                maxBorrows.put(asset, new CachedValue<>(maxBorrow, System.currentTimeMillis()));
+        } catch (IOException | JSONException e) {
+            invalidAssets.add(asset);
+            throw e;
+        }
+    }
+
+    /**
+     * Method to get the max borrow cached of an asset
+     *
+     * @param asset: asset of the max borrow es. BTC
+     * @return max borrow as {@link MarginMaxBorrow} custom object, null if not known or invalidated
+     */
+    public MarginMaxBorrow getMaxBorrow(String asset) {
+        return valueOf(maxBorrows.get(asset));
+    }
+
+    /**
+     * Method to get the time of the last refresh of the max borrow cached of an asset
+     *
+     * @param asset: asset of the max borrow es. BTC
+     * @return time of the last refresh as long, -1 if not known or invalidated
+     */
+    public long getMaxBorrowRefreshTime(String asset) {
+        return refreshTimeOf(maxBorrows.get(asset));
+    }
+
+    /**
+     * Method to check whether an amount of an asset can be borrowed
+     *
+     * @param asset:  asset to borrow es. BTC
+     * @param amount: amount to borrow
+     * @return whether the amount can be borrowed, false if the max borrow is not known or invalidated
+     */
+    public boolean canBorrow(String asset, double amount) {
+        MarginMaxBorrow maxBorrow = getMaxBorrow(asset);
+        return maxBorrow != null && amount <= maxBorrow.getAmount();
+    }
+
+    /**
+     * Method to get the next hourly interest rate cached of an asset
+     *
+     * @param asset: asset of the rate es. BTC
+     * @return next hourly interest rate as double, {@link Double#NaN} if not known
+     */
+    public double getNextHourlyInterestRate(String asset) {
+        CachedValue<Double> hourlyRate = hourlyRates.get(asset);
+        return hourlyRate != null ? hourlyRate.value : Double.NaN;
+    }
+
+    /**
+     * Method to get the time of the last refresh of the next hourly interest rate cached of an asset
+     *
+     * @param asset: asset of the rate es. BTC
+     * @return time of the last refresh as long, -1 if not known
+     */
+    public long getNextHourlyInterestRateRefreshTime(String asset) {
+        return refreshTimeOf(hourlyRates.get(asset));
+    }
+
+    /**
+     * Method to estimate the interest of the next hour on a borrowed amount
+     *
+     * @param asset:  asset borrowed es. BTC
+     * @param amount: amount borrowed
+     * @return interest estimated as double, {@link Double#NaN} if the rate is not known
+     */
+    public double estimateHourlyInterest(String asset, double amount) {
+        return amount * getNextHourlyInterestRate(asset);
+    }
+
+    /**
+     * Method to get the last daily interest rate cached of an asset
+     *
+     * @param asset: asset of the rate es. BTC
+     * @return daily interest rate as {@link MarginInterestRate} custom object, null if not known
+     */
+    public MarginInterestRate getDailyInterestRate(String asset) {
+        return valueOf(dailyRates.get(asset));
+    }
+
+    /**
+     * Method to get the time of the last refresh of the last daily interest rate cached of an asset
+     *
+     * @param asset: asset of the rate es. BTC
+     * @return time of the last refresh as long, -1 if not known
+     */
+    public long getDailyInterestRateRefreshTime(String asset) {
+        return refreshTimeOf(dailyRates.get(asset));
+    }
+
+    /**
+     * Method to get the tier data cached of an isolated margin symbol
+     *
+     * @param symbol: symbol of the tier data es. BTCUSDT
+     * @return tier data sorted by tier as {@link List} of {@link IsolatedMarginTierData}, empty if not known
+     */
+    public List<IsolatedMarginTierData> getTierData(String symbol) {
+        CachedValue<List<IsolatedMarginTierData>> tierData = tiers.get(symbol);
+        return tierData != null ? tierData.value : Collections.emptyList();
+    }
+
+    /**
+     * Method to get the time of the last refresh of the tier data cached of an isolated margin symbol
+     *
+     * @param symbol: symbol of the tier data es. BTCUSDT
+     * @return time of the last refresh as long, -1 if not known
+     */
+    public long getTierDataRefreshTime(String symbol) {
+        return refreshTimeOf(tiers.get(symbol));
+    }
+
+    /**
+     * Method to get the tier data cached of an isolated margin symbol for a tier
+     *
+     * @param symbol: symbol of the tier data es. BTCUSDT
+     * @param tier:   tier of the data
+     * @return tier data as {@link IsolatedMarginTierData} custom object, null if not known
+     */
+    public IsolatedMarginTierData getTierData(String symbol, int tier) {
+        for (IsolatedMarginTierData tierData : getTierData(symbol))
+            if (tierData.getTier() == tier)
+                return tierData;
+        return null;
+    }
+
+    /**
+     * Method to get {@link #lastRefreshTime} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastRefreshTime} instance as long
+     */
+    public long getLastRefreshTime() {
+        return lastRefreshTime;
+    }
+
+    /**
+     * Method to stop the background refreshes <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Method to add a listener of the errors of the background refreshes
+     *
+     * @param listener: listener to add
+     */
+    public void addErrorListener(OracleErrorListener listener) {
+        errorListeners.add(listener);
+    }
+
+    /**
+     * Method to remove a listener of the errors of the background refreshes
+     *
+     * @param listener: listener to remove
+     */
+    public void removeErrorListener(OracleErrorListener listener) {
+        errorListeners.remove(listener);
+    }
+
+    /**
+     * Method to get the value of an entry cached
+     *
+     * @param cachedValue: entry cached, null if not known
+     * @return value of the entry, null if not known
+     */
+    private static <V> V valueOf(CachedValue<V> cachedValue) {
+        return cachedValue != null ? cachedValue.value : null;
+    }
+
+    /**
+     * Method to get the time of the last refresh of an entry cached
+     *
+     * @param cachedValue: entry cached, null if not known
+     * @return time of the last refresh of the entry, -1 if not known
+     */
+    private static long refreshTimeOf(CachedValue<?> cachedValue) {
+        return cachedValue != null ? cachedValue.refreshTime : -1;
+    }
+
+    /**
+     * The {@code OracleErrorListener} interface is useful to receive the errors of the background refreshes of a
+     * {@link BinanceMarginBorrowOracle}
+     */
+    public interface OracleErrorListener {
+
+        /**
+         * Method called when a scheduled refresh has been go wrong, the entries not refreshed keep their last value
+         *
+         * @param e: exception thrown
+         */
+        void onRefreshFailed(Exception e);
+
+        /**
+         * Method called when the max borrow of an asset invalidated cannot be fetched again, the asset stays invalid
+         * until the next refresh
+         *
+         * @param asset: asset not refreshed
+         * @param e:     exception thrown
+         */
+        void onMaxBorrowRefreshFailed(String asset, Exception e);
+
+    }
+
+    /**
+     * The {@code CachedValue} class is useful to memorize an entry cached with the time of its last refresh
+     *
+     * @param <V> type of the value cached
+     */
+    private static final class CachedValue<V> {
+
+        /**
+         * {@code value} is instance that memorizes the value cached
+         */
+        private final V value;
+
+        /**
+         * {@code refreshTime} is instance that memorizes the time of the last refresh of the value
+         */
+        private final long refreshTime;
+
+        /**
+         * Constructor to init {@link CachedValue}
+         *
+         * @param value:       value cached
+         * @param refreshTime: time of the last refresh of the value
+         */
+        private CachedValue(V value, long refreshTime) {
+            this.value = value;
+            this.refreshTime = refreshTime;
+        }
+
+    }
+
+}
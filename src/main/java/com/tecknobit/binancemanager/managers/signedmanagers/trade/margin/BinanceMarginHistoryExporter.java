@@ -0,0 +1,457 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.margin;
+
+import com.tecknobit.binancemanager.managers.RequestWeightLimiter;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.storage.CursorStore;
+import com.tecknobit.binancemanager.managers.storage.JsonLinesJournal;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendObjectRequest;
+
+/**
+ * The {@code BinanceMarginHistoryExporter} class is useful to export long ranges of the margin histories as the
+ * loans, the repays, the interests, the force liquidations and the cross margin transfers <br>
+ * The range is split in windows of {@link #MAX_WINDOW_MILLIS} and at the archive boundary, the windows older than
+ * {@link #ARCHIVED_AFTER_MILLIS} are requested with the {@code "archived"} param, each window is paged with the
+ * {@code "current"} param and the
+ * windows are fetched concurrently sharing a {@link RequestWeightLimiter}, then the records are streamed to a
+ * {@link HistorySink} in time order
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials of the account inserted, or of the last {@link BinanceMarginManager}
+ * instantiated with a parameterized constructor if no account is inserted; when a {@link CursorStore} is inserted
+ * the end of each window streamed is checkpointed, so an interrupted export restarts from the first window not
+ * streamed yet
+ */
+public class BinanceMarginHistoryExporter implements Closeable {
+
+    /**
+     * {@code MAX_WINDOW_MILLIS} is constant for the max time window accepted by the history endpoints
+     */
+    public static final long MAX_WINDOW_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+    /**
+     * {@code ARCHIVED_AFTER_MILLIS} is constant for the age after that the records are archived
+     */
+    public static final long ARCHIVED_AFTER_MILLIS = 180L * 24 * 60 * 60 * 1000;
+
+    /**
+     * {@code MAX_PAGE_SIZE} is constant for the max number of records returned by a single request
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of windows fetched at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * {@code DEFAULT_WEIGHT_PER_MINUTE} is constant for the default weight that the exporter can use each minute
+     */
+    public static final int DEFAULT_WEIGHT_PER_MINUTE = 6000;
+
+    /**
+     * {@code executor} is instance used to fetch the windows
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code parallelism} is instance that memorizes the number of windows fetched at the same time
+     */
+    private final int parallelism;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceMarginManager> managers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before an export
+     */
+    private final BinanceMarginManager timeManager;
+
+    /**
+     * {@code weightLimiter} is instance used to respect the weight budget
+     */
+    private final RequestWeightLimiter weightLimiter;
+
+    /**
+     * {@code checkpoints} is instance used to persist the checkpoints, null to not persist them
+     */
+    private final CursorStore checkpoints;
+
+    /**
+     * Constructor to init {@link BinanceMarginHistoryExporter} with the {@link #DEFAULT_PARALLELISM} and the
+     * {@link #DEFAULT_WEIGHT_PER_MINUTE}
+     *
+     * @param checkpoints: store of the checkpoints, null to not persist them
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceMarginManager} has not been
+     *                                  called before this constructor
+     */
+    public BinanceMarginHistoryExporter(CursorStore checkpoints) {
+        this(null, checkpoints, DEFAULT_PARALLELISM, DEFAULT_WEIGHT_PER_MINUTE);
+    }
+
+    /**
+     * Constructor to init {@link BinanceMarginHistoryExporter} with the {@link #DEFAULT_PARALLELISM} and the
+     * {@link #DEFAULT_WEIGHT_PER_MINUTE}
+     *
+     * @param account:     manager of the account to export, its credentials and its endpoint are used
+     * @param checkpoints: store of the checkpoints, null to not persist them
+     */
+    public BinanceMarginHistoryExporter(BinanceSignedManager account, CursorStore checkpoints) {
+        this(account, checkpoints, DEFAULT_PARALLELISM, DEFAULT_WEIGHT_PER_MINUTE);
+    }
+
+    /**
+     * Constructor to init {@link BinanceMarginHistoryExporter}
+     *
+     * @param checkpoints:     store of the checkpoints, null to not persist them
+     * @param parallelism:     number of windows fetched at the same time
+     * @param weightPerMinute: weight that the exporter can use each minute
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceMarginManager} has not been
+     *                                  called before this constructor or when the values inserted are not positive
+     */
+    public BinanceMarginHistoryExporter(CursorStore checkpoints, int parallelism, int weightPerMinute) {
+        this(null, checkpoints, parallelism, weightPerMinute);
+    }
+
+    /**
+     * Constructor to init {@link BinanceMarginHistoryExporter}
+     *
+     * @param account:         manager of the account to export, null to use the credentials of the last
+     *                         {@link BinanceMarginManager} instantiated with a parameterized constructor
+     * @param checkpoints:     store of the checkpoints, null to not persist them
+     * @param parallelism:     number of windows fetched at the same time
+     * @param weightPerMinute: weight that the exporter can use each minute
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceMarginManager} has not been
+     *                                  called before this constructor and the account is null or when the values
+     *                                  inserted are not positive
+     */
+    public BinanceMarginHistoryExporter(BinanceSignedManager account, CursorStore checkpoints, int parallelism,
+                                        int weightPerMinute) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        this.checkpoints = checkpoints;
+        this.parallelism = parallelism;
+        weightLimiter = new RequestWeightLimiter(weightPerMinute);
+        timeManager = account != null ? new BinanceMarginManager(account) : new BinanceMarginManager();
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceMarginManager manager = new BinanceMarginManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-margin-history-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Request to export a range of a margin history
+     *
+     * @param type:        type of the history to export
+     * @param asset:       asset of the history es. BTC, null for all the assets when the history allows it
+     * @param startTime:   start of the range in millis, INCLUSIVE
+     * @param endTime:     end of the range in millis, INCLUSIVE
+     * @param extraParams: additional params of the requests as {@code "isolatedSymbol"}, the time, the paging and the
+     *                     archived params are managed by the exporter
+     * @param sink:        sink where stream the records
+     * @return number of records streamed
+     * @throws IOException              when request has been go wrong or the sink cannot handle a record
+     * @throws IllegalArgumentException when the asset is required by the history and is not inserted
+     */
+    public long export(HistoryType type, String asset, long startTime, long endTime, Params extraParams,
+                       HistorySink sink) throws IOException {
+        if (type.requiresAsset && asset == null)
+            throw new IllegalArgumentException("The asset is required by the " + type + " history");
+        String checkpointKey = getCheckpointKey(type, asset, extraParams);
+        if (checkpoints != null)
+            startTime = Math.max(startTime, checkpoints.getCursor(checkpointKey, startTime));
+        long now;
+        synchronized (timeManager) {
+            now = timeManager.getSyncedServerTime();
+        }
+        long archiveBoundary = now - ARCHIVED_AFTER_MILLIS;
+        long records = 0;
+        ArrayDeque<CompletableFuture<ArrayList<JSONObject>>> windows = new ArrayDeque<>();
+        ArrayDeque<Long> windowsEnd = new ArrayDeque<>();
+        long windowStart = startTime;
+        try {
+            while (windowStart <= endTime || !windows.isEmpty()) {
+                while (windowStart <= endTime && windows.size() < parallelism * 2) {
+                    long start = windowStart;
+                    boolean archived = start < archiveBoundary;
+                    long end = Math.min(archived ? Math.min(endTime, archiveBoundary - 1) : endTime,
+                            windowStart + MAX_WINDOW_MILLIS - 1);
+                    windows.add(CompletableFuture.supplyAsync(() -> fetchWindow(type, asset, start, end, archived,
+                            extraParams), executor));
+                    windowsEnd.add(end);
+                    windowStart = end + 1;
+                }
+                ArrayList<JSONObject> windowRecords = windows.poll().join();
+                long windowEnd = windowsEnd.poll();
+                for (JSONObject record : windowRecords)
+                    sink.onRecord(type, record);
+                sink.flush();
+                records += windowRecords.size();
+                if (checkpoints != null) {
+                    checkpoints.setCursor(checkpointKey, windowEnd + 1);
+                    checkpoints.flush();
+                }
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<ArrayList<JSONObject>> window : windows)
+                window.cancel(true);
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+        return records;
+    }
+
+    /**
+     * Method to fetch all the pages of a window from a worker
+     *
+     * @param type:        type of the history
+     * @param asset:       asset of the history
+     * @param startTime:   start of the window
+     * @param endTime:     end of the window
+     * @param archived:    whether the window is archived
+     * @param extraParams: additional params of the requests
+     * @return records of the window in time order as {@link ArrayList} of {@link JSONObject}
+     * @throws CompletionException when request has been go wrong
+     */
+    private ArrayList<JSONObject> fetchWindow(HistoryType type, String asset, long startTime, long endTime,
+                                              boolean archived, Params extraParams) {
+        BinanceMarginManager manager = managers.get();
+        ArrayList<JSONObject> records = new ArrayList<>();
+        int current = 1;
+        JSONArray rows;
+        do {
+            Params params = new Params();
+            if (extraParams != null)
+                for (String key : extraParams.getParamsKeys())
+                    params.addParam(key, extraParams.getParam(key));
+            params.addParam("startTime", startTime);
+            params.addParam("endTime", endTime);
+            params.addParam("current", current++);
+            params.addParam("size", MAX_PAGE_SIZE);
+            if (archived)
+                params.addParam("archived", true);
+            JSONObject page;
+            try {
+                weightLimiter.acquire(type.weight);
+                page = sendObjectRequest(manager, () -> type.send(manager, asset, params));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            rows = page.optJSONArray("rows");
+            if (rows != null)
+                for (int j = 0; j < rows.length(); j++)
+                    records.add(rows.getJSONObject(j));
+        } while (rows != null && rows.length() == MAX_PAGE_SIZE);
+        records.sort(Comparator.comparingLong(record -> record.optLong(type.timeKey)));
+        return records;
+    }
+
+    /**
+     * Method to get the key of the checkpoint of an export
+     *
+     * @param type:        type of the history
+     * @param asset:       asset of the history
+     * @param extraParams: additional params of the requests
+     * @return key of the checkpoint as {@link String}
+     */
+    private static String getCheckpointKey(HistoryType type, String asset, Params extraParams) {
+        StringBuilder key = new StringBuilder("margin.").append(type.name()).append('.')
+                .append(asset != null ? asset : "ALL");
+        if (extraParams != null && extraParams.containsKey("isolatedSymbol"))
+            key.append('.').append(extraParams.<Object>getParam("isolatedSymbol"));
+        return key.toString();
+    }
+
+    /**
+     * Method to create a sink that appends the records to a journal, each record with its {@code "type"}
+     *
+     * @param journal: journal where append the records
+     * @return sink as {@link HistorySink}
+     */
+    public static HistorySink journalSink(JsonLinesJournal journal) {
+        return new HistorySink() {
+
+            /**
+             * Method to receive a record
+             *
+             * @param type:   type of the history of the record
+             * @param record: record as {@link JSONObject}
+             * @throws IOException when the record cannot be handled
+             */
+            @Override
+            public void onRecord(HistoryType type, JSONObject record) throws IOException {
+                journal.append(record.put("type", type.name()));
+            }
+
+            /**
+             * Method to write the records received, called before each checkpoint <br>
+             * No-any params required
+             *
+             * @throws IOException when the records cannot be written
+             */
+            @Override
+            public void flush() throws IOException {
+                journal.flush();
+            }
+
+        };
+    }
+
+    /**
+     * Method to stop the workers <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * {@code HistoryType} list of available margin histories
+     */
+    public enum HistoryType {
+
+        /**
+         * {@code "LOANS"} history, requested with {@link BinanceMarginManager#getLoansList(String, Params)}
+         */
+        LOANS(true, "timestamp", 10),
+
+        /**
+         * {@code "REPAYS"} history, requested with {@link BinanceMarginManager#getRepaysList(String, Params)}
+         */
+        REPAYS(true, "timestamp", 10),
+
+        /**
+         * {@code "INTERESTS"} history, requested with {@link BinanceMarginManager#getInterestHistory(Params)}
+         */
+        INTERESTS(false, "interestAccuredTime", 1),
+
+        /**
+         * {@code "FORCE_LIQUIDATIONS"} history, requested with
+         * {@link BinanceMarginManager#getForceLiquidation(Params)}
+         */
+        FORCE_LIQUIDATIONS(false, "updatedTime", 1),
+
+        /**
+         * {@code "TRANSFERS"} history, requested with
+         * {@link BinanceMarginManager#getCrossMarginTransfersHistory(Params)}
+         */
+        TRANSFERS(false, "timestamp", 1);
+
+        /**
+         * {@code requiresAsset} whether the history requires the asset
+         */
+        private final boolean requiresAsset;
+
+        /**
+         * {@code timeKey} key of the time of a record
+         */
+        private final String timeKey;
+
+        /**
+         * {@code weight} weight of a request
+         */
+        private final int weight;
+
+        /**
+         * Constructor to init {@link HistoryType}
+         *
+         * @param requiresAsset: whether the history requires the asset
+         * @param timeKey:       key of the time of a record
+         * @param weight:        weight of a request
+         */
+        HistoryType(boolean requiresAsset, String timeKey, int weight) {
+            this.requiresAsset = requiresAsset;
+            this.timeKey = timeKey;
+            this.weight = weight;
+        }
+
+        /**
+         * Method to send a request of the history
+         *
+         * @param manager: manager used to send the request
+         * @param asset:   asset of the history, can be null
+         * @param params:  params of the request
+         * @return response of the request
+         * @throws Exception when request has been go wrong
+         */
+        private String send(BinanceMarginManager manager, String asset, Params params) throws Exception {
+            return switch (this) {
+                case LOANS -> manager.getLoansList(asset, params, STRING);
+                case REPAYS -> manager.getRepaysList(asset, params, STRING);
+                case INTERESTS -> asset != null ? manager.getInterestHistory(asset, params, STRING)
+                        : manager.getInterestHistory(params, STRING);
+                case FORCE_LIQUIDATIONS -> manager.getForceLiquidation(params, STRING);
+                case TRANSFERS -> {
+                    if (asset != null)
+                        params.addParam("asset", asset);
+                    yield manager.getCrossMarginTransfersHistory(params, STRING);
+                }
+            };
+        }
+
+        /**
+         * Method to get {@link #timeKey} instance <br>
+         * No-any params required
+         *
+         * @return {@link #timeKey} instance as {@link String}
+         */
+        public String getTimeKey() {
+            return timeKey;
+        }
+
+    }
+
+    /**
+     * The {@code HistorySink} interface is useful to receive the records exported by a
+     * {@link BinanceMarginHistoryExporter} one at a time and in time order
+     */
+    public interface HistorySink {
+
+        /**
+         * Method to receive a record
+         *
+         * @param type:   type of the history of the record
+         * @param record: record as {@link JSONObject}
+         * @throws IOException when the record cannot be handled
+         */
+        void onRecord(HistoryType type, JSONObject record) throws IOException;
+
+        /**
+         * Method to write the records received, called before each checkpoint <br>
+         * No-any params required
+         *
+         * @throws IOException when the records cannot be written
+         */
+        default void flush() throws IOException {
+        }
+
+    }
+
+}
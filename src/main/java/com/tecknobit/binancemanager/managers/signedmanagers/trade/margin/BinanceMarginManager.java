@@ -3,6 +3,7 @@ package com.tecknobit.binancemanager.managers.signedmanagers.trade.margin;
 import com.tecknobit.apimanager.annotations.*;
 import com.tecknobit.binancemanager.exceptions.SystemException;
 import com.tecknobit.binancemanager.managers.BinanceManager;
+import com.tecknobit.binancemanager.managers.PagedIterator;
 import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
 import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.OrderType;
 import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.Side;
@@ -38,6 +39,7 @@ import java.util.Arrays;
 import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod;
 import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.*;
 import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.LIBRARY_OBJECT;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
 import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.OrderType.*;
 import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.OrderCountUsage.returnCountUsageList;
 import static com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.records.orders.response.SpotOrder.*;
@@ -317,6 +319,18 @@ public class BinanceMarginManager extends BinanceSignedManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link BinanceMarginManager} with the same base endpoint, custom error, timeout and
+     * credentials of another manager
+     *
+     * @param manager: manager from copy the details and the credentials
+     * @apiNote unlike the no-any params constructor this constructor does not use the credentials of the last
+     * parameterized constructor called, so it is useful to work on a specific account
+     */
+    public BinanceMarginManager(BinanceSignedManager manager) {
+        super(manager);
+    }
+
     /**
      * Request to execute a transfer
      *
@@ -5339,6 +5353,23 @@ public class BinanceMarginManager extends BinanceSignedManager {
                 getTimestampParam() + "&symbol=" + symbol, extraParams)), format);
     }
 
+    /**
+     * Request to iterate lazily all the margin orders of a symbol, the pages are requested while iterating
+     *
+     * @param symbol:      symbol of the orders es. BTCBUSD
+     * @param extraParams: additional params of the request, the {@code "orderId"} and the {@code "limit"} params are
+     *                     managed by the iterator
+     * @return all margin orders as {@link PagedIterator} of {@link MarginOrderStatus},
+     * use {@link PagedIterator#stream()} to get them as {@link java.util.stream.Stream}
+     * @apiNote the iterator uses this manager, so the manager must not be used by other threads while iterating
+     **/
+    @RequestWeight(weight = "200(IP)")
+    @RequestPath(method = GET, path = "/sapi/v1/margin/allOrders")
+    public PagedIterator<MarginOrderStatus> iterateAllOrders(String symbol, Params extraParams) {
+        return new PagedIterator<>(params -> getAllOrders(symbol, params, STRING), extraParams, 500,
+                "orderId", "orderId", "time", MarginOrderStatus::new);
+    }
+
     /**
      * Method to create an all open margin orders list
      *
@@ -8044,6 +8075,23 @@ public class BinanceMarginManager extends BinanceSignedManager {
                 format);
     }
 
+    /**
+     * Request to iterate lazily the margin trades of a symbol, the pages are requested while iterating
+     *
+     * @param symbol:      symbol of the trades es. BTCBUSD
+     * @param extraParams: additional params of the request, the {@code "fromId"} and the {@code "limit"} params are
+     *                     managed by the iterator
+     * @return margin trades as {@link PagedIterator} of {@link MarginAccountTrade},
+     * use {@link PagedIterator#stream()} to get them as {@link java.util.stream.Stream}
+     * @apiNote the iterator uses this manager, so the manager must not be used by other threads while iterating
+     **/
+    @RequestWeight(weight = "10(IP)")
+    @RequestPath(method = GET, path = "/sapi/v1/margin/myTrades")
+    public PagedIterator<MarginAccountTrade> iterateTradesList(String symbol, Params extraParams) {
+        return new PagedIterator<>(params -> getTradesList(symbol, params, STRING), extraParams, 1000,
+                "fromId", "id", "time", MarginAccountTrade::new);
+    }
+
     /**
      * Method to create a trades list
      *
@@ -0,0 +1,729 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.margin;
+
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendObjectRequest;
+import static com.tecknobit.binancemanager.managers.marketstreams.BinanceMarketStreamsManager.WEB_SOCKET_DATA_STREAM_ENDPOINT;
+
+/**
+ * The {@code BinanceMarginRiskEngine} class is useful to watch the margin level of the cross margin account and of the
+ * isolated margin accounts in real time <br>
+ * The balances and the liabilities are seeded with {@link BinanceMarginManager#getCrossMarginAccountDetails()} and
+ * {@link BinanceMarginManager#getMarginIsolatedAccount()}, then each asset is repriced with the
+ * {@code "<symbol>@bookTicker"} streams and only the accounts exposed to the symbol ticked are recomputed, so the
+ * thresholds alerts are fired as soon as the price moves, the {@code REST} requests are used only to reconcile the
+ * balances periodically
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the cross margin assets are valued in the quote asset inserted with the {@code "<asset><quote>"} symbols,
+ * an account with an asset that cannot be priced has a {@link Double#NaN} margin level, its alerts are not evaluated
+ * and the {@link RiskErrorListener} added are notified; the balances changed by trades, borrows or repays are seen at
+ * the next {@link #reconcile()}
+ */
+public class BinanceMarginRiskEngine implements Closeable {
+
+    /**
+     * {@code CROSS_ACCOUNT} is constant for the name of the cross margin account, the isolated margin accounts are
+     * named with their symbol
+     */
+    public static final String CROSS_ACCOUNT = "CROSS";
+
+    /**
+     * {@code DEFAULT_QUOTE_ASSET} is constant for the default asset used to value the cross margin account
+     */
+    public static final String DEFAULT_QUOTE_ASSET = "USDT";
+
+    /**
+     * {@code DEFAULT_RECONCILE_PERIOD} is constant for the default period in millis of the reconciliations
+     */
+    public static final long DEFAULT_RECONCILE_PERIOD = 60000;
+
+    /**
+     * {@code RECONNECT_DELAY_MILLIS} is constant for the delay before reconnect the stream after a disconnection
+     */
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    /**
+     * {@code account} is instance used as model of the manager of each reconciliation
+     */
+    private final BinanceSignedManager account;
+
+    /**
+     * {@code quoteAsset} is instance that memorizes the asset used to value the cross margin account
+     */
+    private final String quoteAsset;
+
+    /**
+     * {@code reconcilePeriod} is instance that memorizes the period in millis of the reconciliations
+     */
+    private final long reconcilePeriod;
+
+    /**
+     * {@code accounts} is instance that memorizes the risk of each account
+     */
+    private final HashMap<String, AccountRisk> accounts;
+
+    /**
+     * {@code exposures} is instance that memorizes the exposures of the accounts to each symbol
+     */
+    private final HashMap<String, ArrayList<Exposure>> exposures;
+
+    /**
+     * {@code prices} is instance that memorizes the last price of each symbol
+     */
+    private final HashMap<String, Double> prices;
+
+    /**
+     * {@code alerts} is instance that memorizes the alerts on the margin levels
+     */
+    private final CopyOnWriteArrayList<MarginLevelAlert> alerts;
+
+    /**
+     * {@code errorListeners} is instance that memorizes the listeners of the errors of the engine
+     */
+    private final CopyOnWriteArrayList<RiskErrorListener> errorListeners;
+
+    /**
+     * {@code scheduler} is instance used to reconcile the balances and to reconnect the stream
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * {@code streamedSymbols} is instance that memorizes the symbols of the current stream
+     */
+    private Set<String> streamedSymbols;
+
+    /**
+     * {@code client} is instance that memorizes the current websocket client
+     */
+    private volatile WebSocketClient client;
+
+    /**
+     * {@code closed} is instance that memorizes whether the engine has been closed
+     */
+    private volatile boolean closed;
+
+    /**
+     * {@code lastReconcileTime} is instance that memorizes the time of the last reconciliation succeeded, -1 if no one
+     */
+    private volatile long lastReconcileTime;
+
+    /**
+     * Constructor to init {@link BinanceMarginRiskEngine} with the {@link #DEFAULT_QUOTE_ASSET} and the
+     * {@link #DEFAULT_RECONCILE_PERIOD}
+     *
+     * @param account: manager of the account to watch
+     */
+    public BinanceMarginRiskEngine(BinanceSignedManager account) {
+        this(account, DEFAULT_QUOTE_ASSET, DEFAULT_RECONCILE_PERIOD);
+    }
+
+    /**
+     * Constructor to init {@link BinanceMarginRiskEngine}
+     *
+     * @param account:         manager of the account to watch
+     * @param quoteAsset:      asset used to value the cross margin account es. USDT
+     * @param reconcilePeriod: period in millis of the reconciliations
+     * @throws IllegalArgumentException when the reconcile period is not positive
+     * @apiNote each reconciliation uses its own {@link BinanceMarginManager} copied from the account inserted
+     */
+    public BinanceMarginRiskEngine(BinanceSignedManager account, String quoteAsset, long reconcilePeriod) {
+        if (reconcilePeriod <= 0)
+            throw new IllegalArgumentException("Reconcile period must be positive");
+        this.account = account;
+        this.quoteAsset = quoteAsset;
+        this.reconcilePeriod = reconcilePeriod;
+        accounts = new HashMap<>();
+        exposures = new HashMap<>();
+        prices = new HashMap<>();
+        alerts = new CopyOnWriteArrayList<>();
+        errorListeners = new CopyOnWriteArrayList<>();
+        lastReconcileTime = -1;
+        streamedSymbols = Collections.emptySet();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "binance-margin-risk-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to seed the balances and to connect to the price streams <br>
+     * No-any params required
+     *
+     * @throws IOException when request has been go wrong
+     * @apiNote the errors of the next reconciliations are notified to the {@link RiskErrorListener} added, the balances
+     * of the last reconciliation succeeded are kept meanwhile
+     */
+    public void start() throws IOException {
+        reconcile();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (Exception e) {
+                for (RiskErrorListener listener : errorListeners)
+                    listener.onReconcileFailed(e);
+            }
+        }, reconcilePeriod, reconcilePeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Request to reconcile the balances and the liabilities of all the accounts <br>
+     * The symbols not streamed yet are priced with {@link BinanceMarginManager#getMarginPriceIndex(String)} and the
+     * stream is reconnected when the symbols to watch have been changed <br>
+     * No-any params required
+     *
+     * @throws IOException when request has been go wrong
+     */
+    public void reconcile() throws IOException {
+        BinanceMarginManager marginManager = new BinanceMarginManager(account);
+        JSONObject crossAccount = sendObjectRequest(marginManager,
+                () -> marginManager.getCrossMarginAccountDetails(STRING));
+        JSONObject isolatedAccounts = sendObjectRequest(marginManager,
+                () -> marginManager.getMarginIsolatedAccount(STRING));
+        HashMap<String, AccountRisk> seededAccounts = new HashMap<>();
+        HashMap<String, ArrayList<Exposure>> seededExposures = new HashMap<>();
+        AccountRisk crossRisk = new AccountRisk(CROSS_ACCOUNT);
+        seededAccounts.put(CROSS_ACCOUNT, crossRisk);
+        JSONArray userAssets = crossAccount.optJSONArray("userAssets");
+        if (userAssets != null) {
+            for (int j = 0; j < userAssets.length(); j++) {
+                JSONObject asset = userAssets.getJSONObject(j);
+                String assetName = asset.getString("asset");
+                String symbol = assetName.equals(quoteAsset) ? null : assetName + quoteAsset;
+                addExposure(seededExposures, crossRisk, symbol, asset);
+            }
+        }
+        JSONArray isolatedAssets = isolatedAccounts.optJSONArray("assets");
+        if (isolatedAssets != null) {
+            for (int j = 0; j < isolatedAssets.length(); j++) {
+                JSONObject isolatedAccount = isolatedAssets.getJSONObject(j);
+                String symbol = isolatedAccount.getString("symbol");
+                AccountRisk isolatedRisk = new AccountRisk(symbol);
+                seededAccounts.put(symbol, isolatedRisk);
+                addExposure(seededExposures, isolatedRisk, symbol, isolatedAccount.getJSONObject("baseAsset"));
+                addExposure(seededExposures, isolatedRisk, null, isolatedAccount.getJSONObject("quoteAsset"));
+            }
+        }
+        HashMap<String, Double> indexPrices = new HashMap<>();
+        HashMap<String, Exception> unpricedSymbols = new HashMap<>();
+        for (String symbol : seededExposures.keySet()) {
+            boolean priced;
+            synchronized (this) {
+                priced = prices.containsKey(symbol);
+            }
+            if (!priced) {
+                try {
+                    JSONObject indexPrice = sendObjectRequest(marginManager,
+                            () -> marginManager.getMarginPriceIndex(symbol, STRING));
+                    indexPrices.put(symbol, indexPrice.getDouble("price"));
+                } catch (Exception e) {
+                    unpricedSymbols.put(symbol, e);
+                }
+            }
+        }
+        boolean resubscribe;
+        synchronized (this) {
+            prices.putAll(indexPrices);
+            accounts.clear();
+            accounts.putAll(seededAccounts);
+            exposures.clear();
+            exposures.putAll(seededExposures);
+            for (Map.Entry<String, ArrayList<Exposure>> symbolExposures : exposures.entrySet()) {
+                Double price = prices.get(symbolExposures.getKey());
+                for (Exposure exposure : symbolExposures.getValue()) {
+                    if (price != null)
+                        exposure.reprice(0, price);
+                    else
+                        exposure.risk.unpricedExposures++;
+                }
+            }
+            resubscribe = !streamedSymbols.equals(exposures.keySet());
+            if (resubscribe)
+                streamedSymbols = new HashSet<>(exposures.keySet());
+            for (AccountRisk risk : accounts.values())
+                checkAlerts(risk);
+        }
+        lastReconcileTime = System.currentTimeMillis();
+        for (Map.Entry<String, Exception> unpricedSymbol : unpricedSymbols.entrySet())
+            for (RiskErrorListener listener : errorListeners)
+                listener.onPriceUnavailable(unpricedSymbol.getKey(), unpricedSymbol.getValue());
+        if (resubscribe || client == null || client.isClosed())
+            connect();
+    }
+
+    /**
+     * Method to add an alert on the margin level of an account, the alert is fired when the margin level goes
+     * under the threshold and is armed again when the margin level goes back over the threshold
+     *
+     * @param account:   account to watch, {@link #CROSS_ACCOUNT} or the symbol of an isolated margin account
+     * @param threshold: margin level under that the alert is fired es. 1.3
+     * @param listener:  listener of the alert
+     */
+    public void addAlert(String account, double threshold, MarginLevelListener listener) {
+        MarginLevelAlert alert = new MarginLevelAlert(account, threshold, listener);
+        alerts.add(alert);
+        synchronized (this) {
+            AccountRisk risk = accounts.get(account);
+            if (risk != null)
+                checkAlert(alert, risk);
+        }
+    }
+
+    /**
+     * Method to remove the alerts of an account
+     *
+     * @param account: account of the alerts to remove
+     */
+    public void removeAlerts(String account) {
+        alerts.removeIf(alert -> alert.account.equals(account));
+    }
+
+    /**
+     * Method to add a listener of the errors of the engine
+     *
+     * @param listener: listener to add
+     */
+    public void addErrorListener(RiskErrorListener listener) {
+        errorListeners.add(listener);
+    }
+
+    /**
+     * Method to remove a listener of the errors of the engine
+     *
+     * @param listener: listener to remove
+     */
+    public void removeErrorListener(RiskErrorListener listener) {
+        errorListeners.remove(listener);
+    }
+
+    /**
+     * Method to get {@link #lastReconcileTime} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastReconcileTime} instance as long
+     */
+    public long getLastReconcileTime() {
+        return lastReconcileTime;
+    }
+
+    /**
+     * Method to get the current margin level of an account
+     *
+     * @param account: account of the margin level, {@link #CROSS_ACCOUNT} or the symbol of an isolated margin account
+     * @return margin level as double, {@link Double#POSITIVE_INFINITY} when the account has no liabilities and
+     * {@link Double#NaN} when the account is not watched or has an asset that cannot be priced
+     */
+    public synchronized double getMarginLevel(String account) {
+        AccountRisk risk = accounts.get(account);
+        return risk != null ? risk.getMarginLevel() : Double.NaN;
+    }
+
+    /**
+     * Method to get the accounts watched <br>
+     * No-any params required
+     *
+     * @return accounts watched as {@link ArrayList} of {@link String}
+     */
+    public synchronized ArrayList<String> getAccounts() {
+        return new ArrayList<>(accounts.keySet());
+    }
+
+    /**
+     * Method to get whether the price stream is connected <br>
+     * No-any params required
+     *
+     * @return whether the price stream is connected as boolean
+     */
+    public boolean isLive() {
+        WebSocketClient current = client;
+        return current != null && current.isOpen();
+    }
+
+    /**
+     * Method to close the stream and to stop the engine <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        WebSocketClient current = client;
+        if (current != null)
+            current.close();
+    }
+
+    /**
+     * Method to add the exposure of an account to an asset
+     *
+     * @param exposures: exposures where add the exposure
+     * @param risk:      risk of the account
+     * @param symbol:    symbol used to price the asset, null if the asset is the unit of the account
+     * @param asset:     asset details as {@link JSONObject}
+     */
+    private void addExposure(HashMap<String, ArrayList<Exposure>> exposures, AccountRisk risk, String symbol,
+                             JSONObject asset) {
+        double quantity = asset.optDouble("free", 0) + asset.optDouble("locked", 0);
+        double liability = asset.optDouble("borrowed", 0) + asset.optDouble("interest", 0);
+        if (symbol == null) {
+            risk.assetValue += quantity;
+            risk.liabilityValue += liability;
+        } else if (quantity != 0 || liability != 0)
+            exposures.computeIfAbsent(symbol, key -> new ArrayList<>()).add(new Exposure(risk, quantity, liability));
+    }
+
+    /**
+     * Method to handle a price of the stream
+     *
+     * @param message: message received
+     */
+    private void onMessage(String message) {
+        JSONObject ticker = new JSONObject(message).optJSONObject("data");
+        if (ticker == null)
+            return;
+        String symbol = ticker.optString("s");
+        double bid = ticker.optDouble("b", 0);
+        double ask = ticker.optDouble("a", 0);
+        if (bid <= 0 || ask <= 0)
+            return;
+        double price = (bid + ask) / 2;
+        synchronized (this) {
+            Double previous = prices.put(symbol, price);
+            ArrayList<Exposure> symbolExposures = exposures.get(symbol);
+            if (symbolExposures == null)
+                return;
+            double previousPrice = previous != null ? previous : 0;
+            for (Exposure exposure : symbolExposures) {
+                exposure.reprice(previousPrice, price);
+                if (previous == null)
+                    exposure.risk.unpricedExposures--;
+            }
+            for (Exposure exposure : symbolExposures)
+                checkAlerts(exposure.risk);
+        }
+    }
+
+    /**
+     * Method to check the alerts of an account
+     *
+     * @param risk: risk of the account
+     */
+    private void checkAlerts(AccountRisk risk) {
+        for (MarginLevelAlert alert : alerts)
+            if (alert.account.equals(risk.account))
+                checkAlert(alert, risk);
+    }
+
+    /**
+     * Method to check an alert and fire it when the margin level crosses its threshold, the alert is not evaluated
+     * while the margin level is not known
+     *
+     * @param alert: alert to check
+     * @param risk:  risk of the account
+     */
+    private void checkAlert(MarginLevelAlert alert, AccountRisk risk) {
+        double marginLevel = risk.getMarginLevel();
+        if (Double.isNaN(marginLevel))
+            return;
+        if (marginLevel < alert.threshold) {
+            if (!alert.fired) {
+                alert.fired = true;
+                alert.listener.onMarginLevelBelow(risk.account, marginLevel, alert.threshold);
+            }
+        } else if (alert.fired) {
+            alert.fired = false;
+            alert.listener.onMarginLevelRestored(risk.account, marginLevel, alert.threshold);
+        }
+    }
+
+    /**
+     * Method to connect to the price streams of the symbols watched <br>
+     * No-any params required
+     */
+    private void connect() {
+        if (closed)
+            return;
+        WebSocketClient previous = client;
+        client = null;
+        if (previous != null)
+            previous.close();
+        Set<String> symbols;
+        synchronized (this) {
+            symbols = streamedSymbols;
+        }
+        if (symbols.isEmpty())
+            return;
+        StringJoiner streams = new StringJoiner("/");
+        for (String symbol : symbols)
+            streams.add(symbol.toLowerCase() + "@bookTicker");
+        try {
+            WebSocketClient webSocketClient = new WebSocketClient(new URI(WEB_SOCKET_DATA_STREAM_ENDPOINT
+                    + "/stream?streams=" + streams)) {
+
+                /**
+                 * Called after an opening handshake has been performed and the given websocket is ready to be
+                 * written on.
+                 *
+                 * @param handshakeData The handshake of the websocket instance
+                 */
+                @Override
+                public void onOpen(ServerHandshake handshakeData) {
+                }
+
+                /**
+                 * Callback for string messages received from the remote host
+                 *
+                 * @param message The UTF-8 decoded message that was received.
+                 */
+                @Override
+                public void onMessage(String message) {
+                    BinanceMarginRiskEngine.this.onMessage(message);
+                }
+
+                /**
+                 * Called after the websocket connection has been closed.
+                 *
+                 * @param code   The codes can be looked up here
+                 * @param reason Additional information string
+                 * @param remote Returns whether the closing of the connection was initiated by the remote
+                 *               host.
+                 */
+                @Override
+                public void onClose(int code, String reason, boolean remote) {
+                    if (!closed && client == this)
+                        scheduleReconnection();
+                }
+
+                /**
+                 * Called when errors occurs. If an error causes the websocket connection to fail {@link
+                 * #onClose(int, String, boolean)} will be called additionally.<br> This method will be called
+                 * primarily because of IO or protocol errors.<br> If the given exception is an RuntimeException
+                 * that probably means that you encountered a bug.<br>
+                 *
+                 * @param ex The exception causing this error
+                 */
+                @Override
+                public void onError(Exception ex) {
+                }
+
+            };
+            client = webSocketClient;
+            webSocketClient.connect();
+        } catch (Exception e) {
+            scheduleReconnection();
+        }
+    }
+
+    /**
+     * Method to schedule the reconnection of the stream <br>
+     * No-any params required
+     */
+    private void scheduleReconnection() {
+        if (!closed && !scheduler.isShutdown())
+            scheduler.schedule(this::connect, RECONNECT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The {@code MarginLevelListener} interface is useful to receive the alerts on the margin level of an account
+     */
+    public interface MarginLevelListener {
+
+        /**
+         * Method called when the margin level of an account goes under the threshold
+         *
+         * @param account:     account of the alert
+         * @param marginLevel: current margin level
+         * @param threshold:   threshold of the alert
+         * @apiNote this method is called on the stream thread, so it must return quickly
+         */
+        void onMarginLevelBelow(String account, double marginLevel, double threshold);
+
+        /**
+         * Method called when the margin level of an account goes back over the threshold
+         *
+         * @param account:     account of the alert
+         * @param marginLevel: current margin level
+         * @param threshold:   threshold of the alert
+         */
+        default void onMarginLevelRestored(String account, double marginLevel, double threshold) {
+        }
+
+    }
+
+    /**
+     * The {@code RiskErrorListener} interface is useful to receive the errors of a {@link BinanceMarginRiskEngine}
+     */
+    public interface RiskErrorListener {
+
+        /**
+         * Method called when a scheduled reconciliation has been go wrong
+         *
+         * @param e: exception thrown
+         */
+        void onReconcileFailed(Exception e);
+
+        /**
+         * Method called when a symbol used to price an asset has no price, the accounts exposed to that asset have a
+         * {@link Double#NaN} margin level until the symbol is priced by the stream
+         *
+         * @param symbol: symbol without price
+         * @param e:      exception thrown requesting the price index
+         */
+        default void onPriceUnavailable(String symbol, Exception e) {
+        }
+
+    }
+
+    /**
+     * The {@code AccountRisk} class is useful to keep the values of an account in its unit
+     */
+    private static final class AccountRisk {
+
+        /**
+         * {@code account} is instance that memorizes the name of the account
+         */
+        private final String account;
+
+        /**
+         * {@code assetValue} is instance that memorizes the value of the assets of the account
+         */
+        private double assetValue;
+
+        /**
+         * {@code liabilityValue} is instance that memorizes the value of the liabilities of the account
+         */
+        private double liabilityValue;
+
+        /**
+         * {@code unpricedExposures} is instance that memorizes the number of the exposures of the account without a
+         * price
+         */
+        private int unpricedExposures;
+
+        /**
+         * Constructor to init {@link AccountRisk}
+         *
+         * @param account: name of the account
+         */
+        private AccountRisk(String account) {
+            this.account = account;
+        }
+
+        /**
+         * Method to get the margin level of the account <br>
+         * No-any params required
+         *
+         * @return margin level as double, {@link Double#NaN} when an exposure of the account has no price
+         */
+        private double getMarginLevel() {
+            if (unpricedExposures > 0)
+                return Double.NaN;
+            if (liabilityValue <= 0)
+                return Double.POSITIVE_INFINITY;
+            return assetValue / liabilityValue;
+        }
+
+    }
+
+    /**
+     * The {@code Exposure} class is useful to reprice the quantities of an asset held by an account
+     */
+    private static final class Exposure {
+
+        /**
+         * {@code risk} is instance that memorizes the risk of the account exposed
+         */
+        private final AccountRisk risk;
+
+        /**
+         * {@code quantity} is instance that memorizes the quantity held of the asset
+         */
+        private final double quantity;
+
+        /**
+         * {@code liability} is instance that memorizes the quantity borrowed of the asset with its interest
+         */
+        private final double liability;
+
+        /**
+         * Constructor to init {@link Exposure}
+         *
+         * @param risk:      risk of the account exposed
+         * @param quantity:  quantity held of the asset
+         * @param liability: quantity borrowed of the asset with its interest
+         */
+        private Exposure(AccountRisk risk, double quantity, double liability) {
+            this.risk = risk;
+            this.quantity = quantity;
+            this.liability = liability;
+        }
+
+        /**
+         * Method to apply the change of the price to the values of the account
+         *
+         * @param previousPrice: price applied before
+         * @param price:         new price
+         */
+        private void reprice(double previousPrice, double price) {
+            double change = price - previousPrice;
+            risk.assetValue += quantity * change;
+            risk.liabilityValue += liability * change;
+        }
+
+    }
+
+    /**
+     * The {@code MarginLevelAlert} class is useful to keep the state of an alert
+     */
+    private static final class MarginLevelAlert {
+
+        /**
+         * {@code account} is instance that memorizes the account watched
+         */
+        private final String account;
+
+        /**
+         * {@code threshold} is instance that memorizes the threshold of the alert
+         */
+        private final double threshold;
+
+        /**
+         * {@code listener} is instance that memorizes the listener of the alert
+         */
+        private final MarginLevelListener listener;
+
+        /**
+         * {@code fired} is instance that memorizes whether the alert has been fired and not restored yet
+         */
+        private boolean fired;
+
+        /**
+         * Constructor to init {@link MarginLevelAlert}
+         *
+         * @param account:   account watched
+         * @param threshold: threshold of the alert
+         * @param listener:  listener of the alert
+         */
+        private MarginLevelAlert(String account, double threshold, MarginLevelListener listener) {
+            this.account = account;
+            this.threshold = threshold;
+            this.listener = listener;
+        }
+
+    }
+
+}
@@ -0,0 +1,383 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.spot;
+
+import com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation.RateLimit.RateLimitInterval;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.OrderCountUsage;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import static com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation.RateLimit.RateLimitType.ORDERS;
+
+/**
+ * The {@code BinanceOrderCountAccountant} class is useful to keep locally the {@code "ORDERS"} rate limit usage of an
+ * account, so the orders are placed staying under the limits instead of being rejected with the {@code -1015}
+ * error code <br>
+ * The windows of the limits are seeded with {@link BinanceSpotManager#getCurrentOrderCountUsage()}, aligned on the
+ * server time as the exchange does, and each order placed is counted locally until the window expires; the placements
+ * that exceed the limits are queued and served by priority, then by arrival
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote an accountant must be shared by all the placements of the same account, the orders placed without it are not
+ * counted until the next {@link #sync()}
+ */
+public class BinanceOrderCountAccountant {
+
+    /**
+     * {@code DEFAULT_HEADROOM} is constant for the default number of orders kept free under each limit
+     */
+    public static final int DEFAULT_HEADROOM = 1;
+
+    /**
+     * {@code TOO_MANY_ORDERS_CODE} is constant for the error code of an order rejected for the {@code "ORDERS"} limit
+     */
+    public static final int TOO_MANY_ORDERS_CODE = -1015;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each thread, used to fetch the usage and the server
+     * time
+     */
+    private final ThreadLocal<BinanceSpotManager> managers;
+
+    /**
+     * {@code headroom} is instance that memorizes the number of orders kept free under each limit
+     */
+    private final int headroom;
+
+    /**
+     * {@code windows} is instance that memorizes the windows of the {@code "ORDERS"} limits
+     */
+    private final ArrayList<OrderWindow> windows;
+
+    /**
+     * {@code waitingPlacements} is instance that memorizes the placements waiting for a free slot
+     */
+    private final PriorityQueue<Placement> waitingPlacements;
+
+    /**
+     * {@code placementsCount} is instance that memorizes the number of placements requested, used to serve them by
+     * arrival
+     */
+    private long placementsCount;
+
+    /**
+     * Constructor to init {@link BinanceOrderCountAccountant} with the {@link #DEFAULT_HEADROOM}
+     *
+     * @param manager: manager of the account
+     * @throws IOException when request has been go wrong
+     */
+    public BinanceOrderCountAccountant(BinanceSpotManager manager) throws IOException {
+        this(manager, DEFAULT_HEADROOM);
+    }
+
+    /**
+     * Constructor to init {@link BinanceOrderCountAccountant}
+     *
+     * @param manager:  manager of the account
+     * @param headroom: number of orders kept free under each limit
+     * @throws IOException              when request has been go wrong
+     * @throws IllegalArgumentException when the headroom is negative
+     * @apiNote each thread that uses the accountant works with its own {@link BinanceSpotManager} copied from the
+     * manager inserted, so the manager inserted can be shared with other threads
+     */
+    public BinanceOrderCountAccountant(BinanceSpotManager manager, int headroom) throws IOException {
+        if (headroom < 0)
+            throw new IllegalArgumentException("Headroom cannot be negative");
+        managers = ThreadLocal.withInitial(() -> new BinanceSpotManager(manager));
+        this.headroom = headroom;
+        windows = new ArrayList<>();
+        waitingPlacements = new PriorityQueue<>(Comparator.comparing((Placement placement) -> placement.priority)
+                .thenComparingLong(placement -> placement.arrival));
+        sync();
+    }
+
+    /**
+     * Request to sync the windows with the current order count usage of the account <br>
+     * No-any params required
+     *
+     * @throws IOException when request has been go wrong
+     */
+    public void sync() throws IOException {
+        BinanceSpotManager manager = managers.get();
+        ArrayList<OrderCountUsage> usages;
+        try {
+            usages = manager.getCurrentOrderCountUsage();
+        } catch (Exception e) {
+            throw new IOException(manager.getErrorResponse(), e);
+        }
+        long now = manager.getSyncedServerTime();
+        synchronized (this) {
+            for (OrderCountUsage usage : usages) {
+                if (usage.getRateLimitType() == ORDERS) {
+                    long length = getWindowLength(usage.getInterval(), usage.getIntervalNum());
+                    OrderWindow window = getWindow(length);
+                    if (window == null) {
+                        window = new OrderWindow(length);
+                        windows.add(window);
+                    }
+                    window.limit = (int) usage.getLimit();
+                    window.start = now - now % length;
+                    window.count = usage.getCount();
+                }
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * Method to wait a free slot to place an order with the {@link Priority#NORMAL} priority <br>
+     * No-any params required
+     *
+     * @throws InterruptedException when the thread has been interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        acquire(Priority.NORMAL);
+    }
+
+    /**
+     * Method to wait a free slot to place an order, the slot is counted when this method returns
+     *
+     * @param priority: priority of the placement
+     * @throws InterruptedException when the thread has been interrupted while waiting
+     */
+    public void acquire(Priority priority) throws InterruptedException {
+        BinanceSpotManager manager = managers.get();
+        Placement placement;
+        synchronized (this) {
+            placement = new Placement(priority, placementsCount++);
+            waitingPlacements.add(placement);
+        }
+        try {
+            while (true) {
+                long now = manager.getSyncedServerTime();
+                synchronized (this) {
+                    if (waitingPlacements.peek() == placement) {
+                        long waitTime = getWaitTime(now);
+                        if (waitTime == 0) {
+                            for (OrderWindow window : windows)
+                                window.count++;
+                            return;
+                        }
+                        wait(waitTime);
+                    } else
+                        wait();
+                }
+            }
+        } finally {
+            synchronized (this) {
+                waitingPlacements.remove(placement);
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Method to take a free slot to place an order without waiting <br>
+     * No-any params required
+     *
+     * @return whether the slot has been taken, false when no slot is free or other placements are waiting
+     */
+    public boolean tryAcquire() {
+        long now = managers.get().getSyncedServerTime();
+        synchronized (this) {
+            if (!waitingPlacements.isEmpty() || getWaitTime(now) > 0)
+                return false;
+            for (OrderWindow window : windows)
+                window.count++;
+            return true;
+        }
+    }
+
+    /**
+     * Method to check the response of an order and sync the windows when it has been rejected for the
+     * {@code "ORDERS"} limit
+     *
+     * @param response: response of the order
+     * @return whether the order has been rejected for the {@code "ORDERS"} limit
+     * @apiNote when the sync fails all the windows are considered full until they expire
+     */
+    public boolean checkRejection(String response) {
+        if (response == null || !response.contains(String.valueOf(TOO_MANY_ORDERS_CODE)))
+            return false;
+        try {
+            if (new JSONObject(response).optInt("code") != TOO_MANY_ORDERS_CODE)
+                return false;
+        } catch (Exception e) {
+            return false;
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            synchronized (this) {
+                for (OrderWindow window : windows)
+                    window.count = window.limit;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to get the number of orders that can be placed now <br>
+     * No-any params required
+     *
+     * @return number of orders that can be placed now as int
+     */
+    public int getAvailableOrders() {
+        long now = managers.get().getSyncedServerTime();
+        synchronized (this) {
+            int availableOrders = Integer.MAX_VALUE;
+            for (OrderWindow window : windows) {
+                window.roll(now);
+                availableOrders = Math.min(availableOrders, Math.max(0, window.limit - headroom - window.count));
+            }
+            return availableOrders;
+        }
+    }
+
+    /**
+     * Method to get the time to wait until an order can be placed
+     *
+     * @param now: current server time
+     * @return time to wait in millis, 0 if an order can be placed now
+     */
+    private long getWaitTime(long now) {
+        long waitTime = 0;
+        for (OrderWindow window : windows) {
+            window.roll(now);
+            if (window.count >= window.limit - headroom)
+                waitTime = Math.max(waitTime, window.start + window.length - now);
+        }
+        return waitTime;
+    }
+
+    /**
+     * Method to get a window by its length
+     *
+     * @param length: length of the window in millis
+     * @return window as {@link OrderWindow}, null if not found
+     */
+    private OrderWindow getWindow(long length) {
+        for (OrderWindow window : windows)
+            if (window.length == length)
+                return window;
+        return null;
+    }
+
+    /**
+     * Method to get the length of a window
+     *
+     * @param interval:    interval of the limit
+     * @param intervalNum: number of intervals of the limit
+     * @return length of the window in millis
+     */
+    private static long getWindowLength(RateLimitInterval interval, int intervalNum) {
+        long unit = switch (interval) {
+            case SECOND -> 1000L;
+            case MINUTE -> 60000L;
+            case HOUR -> 3600000L;
+            case DAY -> 86400000L;
+        };
+        return unit * Math.max(1, intervalNum);
+    }
+
+    /**
+     * {@code Priority} list of available priorities of a placement
+     */
+    public enum Priority {
+
+        /**
+         * {@code "HIGH"} priority, served before the others
+         */
+        HIGH,
+
+        /**
+         * {@code "NORMAL"} priority
+         */
+        NORMAL,
+
+        /**
+         * {@code "LOW"} priority, served after the others
+         */
+        LOW
+
+    }
+
+    /**
+     * The {@code OrderWindow} class is useful to count the orders placed in a window of an {@code "ORDERS"} limit
+     */
+    private static final class OrderWindow {
+
+        /**
+         * {@code length} is instance that memorizes the length of the window in millis
+         */
+        private final long length;
+
+        /**
+         * {@code limit} is instance that memorizes the number of orders allowed in the window
+         */
+        private int limit;
+
+        /**
+         * {@code start} is instance that memorizes the server time when the current window started
+         */
+        private long start;
+
+        /**
+         * {@code count} is instance that memorizes the number of orders placed in the current window
+         */
+        private int count;
+
+        /**
+         * Constructor to init {@link OrderWindow}
+         *
+         * @param length: length of the window in millis
+         */
+        private OrderWindow(long length) {
+            this.length = length;
+        }
+
+        /**
+         * Method to reset the window when expired
+         *
+         * @param now: current server time
+         */
+        private void roll(long now) {
+            if (now >= start + length) {
+                start = now - now % length;
+                count = 0;
+            }
+        }
+
+    }
+
+    /**
+     * The {@code Placement} class is useful to queue a placement waiting for a free slot
+     */
+    private static final class Placement {
+
+        /**
+         * {@code priority} is instance that memorizes the priority of the placement
+         */
+        private final Priority priority;
+
+        /**
+         * {@code arrival} is instance that memorizes the arrival of the placement
+         */
+        private final long arrival;
+
+        /**
+         * Constructor to init {@link Placement}
+         *
+         * @param priority: priority of the placement
+         * @param arrival:  arrival of the placement
+         */
+        private Placement(Priority priority, long arrival) {
+            this.priority = priority;
+            this.arrival = arrival;
+        }
+
+    }
+
+}
@@ -0,0 +1,439 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.spot;
+
+import com.tecknobit.binancemanager.managers.records.FixedDecimal;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.OrderResponseType;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.OrderType;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.Side;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.TimeInForce;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.records.orders.response.SpotOrder;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.JSON;
+import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.*;
+
+/**
+ * The {@code BinanceOrdersBatcher} class is useful to send a batch of spot orders concurrently <br>
+ * The orders are sent by a bounded pool of workers, each one with its own {@link BinanceSpotManager}, and are signed
+ * with the synced server time, so no server time request is sent for each order and the time to send the whole batch
+ * is close to the time of a single order
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials of the account inserted, or of the last {@link BinanceSpotManager}
+ * instantiated with a parameterized constructor if no account is inserted, and the orders are sent respecting the
+ * {@code "ORDERS"} rate limit inserted
+ */
+public class BinanceOrdersBatcher implements Closeable {
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of orders sent at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    /**
+     * {@code DEFAULT_ORDERS_LIMIT} is constant for the default number of orders allowed in the {@link #ORDERS_INTERVAL}
+     */
+    public static final int DEFAULT_ORDERS_LIMIT = 50;
+
+    /**
+     * {@code ORDERS_INTERVAL} is constant for the interval in millis of the {@code "ORDERS"} rate limit
+     */
+    public static final long ORDERS_INTERVAL = 10000;
+
+    /**
+     * {@code executor} is instance used to send the orders
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceSpotManager> managers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before a batch
+     */
+    private final BinanceSpotManager timeManager;
+
+    /**
+     * {@code ordersLimit} is instance that memorizes the number of orders allowed in the {@link #ORDERS_INTERVAL}
+     */
+    private final int ordersLimit;
+
+    /**
+     * {@code sentOrders} is instance that memorizes the times of the orders sent in the {@link #ORDERS_INTERVAL}
+     */
+    private final ArrayDeque<Long> sentOrders;
+
+    /**
+     * {@code orderCountAccountant} is instance used to respect the {@code "ORDERS"} rate limit of the account, null to
+     * respect only the {@link #ordersLimit}
+     */
+    private final BinanceOrderCountAccountant orderCountAccountant;
+
+    /**
+     * Constructor to init {@link BinanceOrdersBatcher} with the {@link #DEFAULT_PARALLELISM} and the
+     * {@link #DEFAULT_ORDERS_LIMIT}
+     *
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceSpotManager} has not been
+     *                                  called before this constructor
+     */
+    public BinanceOrdersBatcher() {
+        this(null, DEFAULT_PARALLELISM, DEFAULT_ORDERS_LIMIT, null);
+    }
+
+    /**
+     * Constructor to init {@link BinanceOrdersBatcher} with the {@link #DEFAULT_PARALLELISM} and the
+     * {@link #DEFAULT_ORDERS_LIMIT}
+     *
+     * @param account: manager of the account where send the orders, its credentials and its endpoint are used
+     */
+    public BinanceOrdersBatcher(BinanceSignedManager account) {
+        this(account, DEFAULT_PARALLELISM, DEFAULT_ORDERS_LIMIT, null);
+    }
+
+    /**
+     * Constructor to init {@link BinanceOrdersBatcher}
+     *
+     * @param parallelism: number of orders sent at the same time
+     * @param ordersLimit: number of orders allowed in the {@link #ORDERS_INTERVAL}
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceSpotManager} has not been
+     *                                  called before this constructor or when the values inserted are not positive
+     */
+    public BinanceOrdersBatcher(int parallelism, int ordersLimit) {
+        this(null, parallelism, ordersLimit, null);
+    }
+
+    /**
+     * Constructor to init {@link BinanceOrdersBatcher}
+     *
+     * @param account:     manager of the account where send the orders, its credentials and its endpoint are used
+     * @param parallelism: number of orders sent at the same time
+     * @param ordersLimit: number of orders allowed in the {@link #ORDERS_INTERVAL}
+     * @throws IllegalArgumentException when the values inserted are not positive
+     */
+    public BinanceOrdersBatcher(BinanceSignedManager account, int parallelism, int ordersLimit) {
+        this(account, parallelism, ordersLimit, null);
+    }
+
+    /**
+     * Constructor to init {@link BinanceOrdersBatcher}
+     *
+     * @param parallelism:          number of orders sent at the same time
+     * @param orderCountAccountant: accountant used to respect the {@code "ORDERS"} rate limit of the account
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceSpotManager} has not been
+     *                                  called before this constructor or when the parallelism is not positive
+     */
+    public BinanceOrdersBatcher(int parallelism, BinanceOrderCountAccountant orderCountAccountant) {
+        this(null, parallelism, DEFAULT_ORDERS_LIMIT, orderCountAccountant);
+    }
+
+    /**
+     * Constructor to init {@link BinanceOrdersBatcher}
+     *
+     * @param account:              manager of the account where send the orders, its credentials and its endpoint are
+     *                              used
+     * @param parallelism:          number of orders sent at the same time
+     * @param orderCountAccountant: accountant used to respect the {@code "ORDERS"} rate limit of the account
+     * @throws IllegalArgumentException when the parallelism is not positive
+     */
+    public BinanceOrdersBatcher(BinanceSignedManager account, int parallelism,
+                                BinanceOrderCountAccountant orderCountAccountant) {
+        this(account, parallelism, DEFAULT_ORDERS_LIMIT, orderCountAccountant);
+    }
+
+    /**
+     * Constructor to init {@link BinanceOrdersBatcher}
+     *
+     * @param account:              manager of the account where send the orders, null to use the credentials of the
+     *                              last {@link BinanceSpotManager} instantiated with a parameterized constructor
+     * @param parallelism:          number of orders sent at the same time
+     * @param ordersLimit:          number of orders allowed in the {@link #ORDERS_INTERVAL}
+     * @param orderCountAccountant: accountant used to respect the {@code "ORDERS"} rate limit of the account, null to
+     *                              respect only the orders limit
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceSpotManager} has not been
+     *                                  called before this constructor and the account is null or when the values
+     *                                  inserted are not positive
+     */
+    private BinanceOrdersBatcher(BinanceSignedManager account, int parallelism, int ordersLimit,
+                                 BinanceOrderCountAccountant orderCountAccountant) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        if (ordersLimit <= 0)
+            throw new IllegalArgumentException("Orders limit must be positive");
+        this.ordersLimit = ordersLimit;
+        this.orderCountAccountant = orderCountAccountant;
+        timeManager = account != null ? new BinanceSpotManager(account) : new BinanceSpotManager();
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceSpotManager manager = new BinanceSpotManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        sentOrders = new ArrayDeque<>();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-orders-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to send a batch of orders
+     *
+     * @param orders: orders to send
+     * @return list of the futures of the orders, in the same order of the orders inserted, each one completed with
+     * the result of the order as {@link SpotOrder} custom object or exceptionally with an {@link IOException} that
+     * contains the error response
+     */
+    public <T extends SpotOrder> ArrayList<CompletableFuture<T>> sendOrders(List<OrderSpec> orders) {
+        synchronized (timeManager) {
+            timeManager.getSyncedServerTime();
+        }
+        ArrayList<CompletableFuture<T>> futures = new ArrayList<>(orders.size());
+        for (OrderSpec order : orders)
+            futures.add(CompletableFuture.supplyAsync(() -> sendOrder(order), executor));
+        return futures;
+    }
+
+    /**
+     * Method to send a batch of orders and wait all the results
+     *
+     * @param orders: orders to send
+     * @return list of the futures of the orders, in the same order of the orders inserted, all completed
+     * @apiNote the failed orders do not stop the batch, check each future to get its result or its error
+     */
+    public <T extends SpotOrder> ArrayList<CompletableFuture<T>> sendOrdersAndWait(List<OrderSpec> orders) {
+        ArrayList<CompletableFuture<T>> futures = sendOrders(orders);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+        return futures;
+    }
+
+    /**
+     * Method to send an order from a worker
+     *
+     * @param order: order to send
+     * @return result of the order as {@link SpotOrder} custom object
+     * @throws CompletionException when the order has been go wrong
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends SpotOrder> T sendOrder(OrderSpec order) {
+        BinanceSpotManager manager = managers.get();
+        try {
+            acquireOrderSlot();
+            Params payload = new Params();
+            payload.mergeParams(order.payload);
+            JSONObject orderResult = manager.returnNewOrder(order.symbol, order.side, order.type,
+                    order.newOrderRespType, payload, JSON);
+            if (orderResult.has("code") && !orderResult.has("orderId")) {
+                if (orderCountAccountant != null)
+                    orderCountAccountant.checkRejection(orderResult.toString());
+                throw new IOException(orderResult.toString());
+            }
+            return (T) BinanceSpotManager.returnSpotOrder(orderResult, order.type, order.newOrderRespType);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } catch (Exception e) {
+            String errorResponse = manager.getErrorResponse();
+            if (orderCountAccountant != null)
+                orderCountAccountant.checkRejection(errorResponse);
+            throw new CompletionException(new IOException(errorResponse, e));
+        }
+    }
+
+    /**
+     * Method to wait until an order can be sent respecting the {@code "ORDERS"} rate limit, using the
+     * {@link #orderCountAccountant} when inserted <br>
+     * No-any params required
+     *
+     * @throws InterruptedException when the worker has been interrupted while waiting
+     */
+    private void acquireOrderSlot() throws InterruptedException {
+        if (orderCountAccountant != null) {
+            orderCountAccountant.acquire();
+            return;
+        }
+        synchronized (sentOrders) {
+            while (true) {
+                long now = System.currentTimeMillis();
+                while (!sentOrders.isEmpty() && now - sentOrders.peekFirst() >= ORDERS_INTERVAL)
+                    sentOrders.pollFirst();
+                if (sentOrders.size() < ordersLimit) {
+                    sentOrders.addLast(now);
+                    return;
+                }
+                sentOrders.wait(Math.max(1, ORDERS_INTERVAL - (now - sentOrders.peekFirst())));
+            }
+        }
+    }
+
+    /**
+     * Method to stop the workers, the orders not sent yet are discarded <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The {@code OrderSpec} class is useful to describe an order to send with a {@link BinanceOrdersBatcher}
+     */
+    public static final class OrderSpec {
+
+        /**
+         * {@code symbol} is instance that memorizes symbol of the order
+         */
+        private final String symbol;
+
+        /**
+         * {@code side} is instance that memorizes side of the order
+         */
+        private final Side side;
+
+        /**
+         * {@code type} is instance that memorizes type of the order
+         */
+        private final OrderType type;
+
+        /**
+         * {@code newOrderRespType} is instance that memorizes response type of the order
+         */
+        private final OrderResponseType newOrderRespType;
+
+        /**
+         * {@code payload} is instance that memorizes payload of the order
+         */
+        private final Params payload;
+
+        /**
+         * Constructor to init {@link OrderSpec}
+         *
+         * @param symbol:           symbol of the order
+         * @param side:             side of the order
+         * @param type:             type of the order
+         * @param newOrderRespType: response type of the order, null to use the default one
+         * @param payload:          payload of the order, for example created with {@code Order.getLimitPayload}
+         * @apiNote the payload is copied when the order is sent, so the same order can be sent many times
+         */
+        public OrderSpec(String symbol, Side side, OrderType type, OrderResponseType newOrderRespType,
+                         Params payload) {
+            this.symbol = symbol;
+            this.side = side;
+            this.type = type;
+            this.newOrderRespType = newOrderRespType;
+            if (payload == null)
+                payload = new Params();
+            this.payload = payload;
+        }
+
+        /**
+         * Method to create a limit order
+         *
+         * @param symbol:      symbol of the order
+         * @param side:        side of the order
+         * @param timeInForce: time in force for the order
+         * @param quantity:    quantity value in the order
+         * @param price:       price value in the order
+         * @param extraParams: extraParams of the order
+         * @return order as {@link OrderSpec}
+         */
+        public static OrderSpec limit(String symbol, Side side, TimeInForce timeInForce, double quantity, double price,
+                                      Params extraParams) {
+            return new OrderSpec(symbol, side, OrderType.LIMIT, null, getLimitPayload(timeInForce, quantity, price,
+                    extraParams));
+        }
+
+        /**
+         * Method to create a limit order
+         *
+         * @param symbol:      symbol of the order
+         * @param side:        side of the order
+         * @param timeInForce: time in force for the order
+         * @param quantity:    quantity value in the order
+         * @param price:       price value in the order
+         * @param extraParams: extraParams of the order
+         * @return order as {@link OrderSpec}
+         */
+        public static OrderSpec limit(String symbol, Side side, TimeInForce timeInForce, FixedDecimal quantity,
+                                      FixedDecimal price, Params extraParams) {
+            return new OrderSpec(symbol, side, OrderType.LIMIT, null, getLimitPayload(timeInForce, quantity, price,
+                    extraParams));
+        }
+
+        /**
+         * Method to create a market order
+         *
+         * @param symbol:      symbol of the order
+         * @param side:        side of the order
+         * @param keyQty:      key for qty value (quantity or quoteOrderQty)
+         * @param qty:         quantity value in the order
+         * @param extraParams: extraParams of the order
+         * @return order as {@link OrderSpec}
+         */
+        public static OrderSpec market(String symbol, Side side, String keyQty, FixedDecimal qty, Params extraParams) {
+            return new OrderSpec(symbol, side, OrderType.MARKET, null, getMarketPayload(keyQty, qty, extraParams));
+        }
+
+        /**
+         * Method to create a limit maker order
+         *
+         * @param symbol:      symbol of the order
+         * @param side:        side of the order
+         * @param quantity:    quantity value in the order
+         * @param price:       price value in the order
+         * @param extraParams: extraParams of the order
+         * @return order as {@link OrderSpec}
+         */
+        public static OrderSpec limitMaker(String symbol, Side side, FixedDecimal quantity, FixedDecimal price,
+                                           Params extraParams) {
+            return new OrderSpec(symbol, side, OrderType.LIMIT_MAKER, null, getLimitMakerPayload(quantity, price,
+                    extraParams));
+        }
+
+        /**
+         * Method to get {@link #symbol} instance <br>
+         * No-any params required
+         *
+         * @return {@link #symbol} instance as {@link String}
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Method to get {@link #side} instance <br>
+         * No-any params required
+         *
+         * @return {@link #side} instance as {@link Side}
+         */
+        public Side getSide() {
+            return side;
+        }
+
+        /**
+         * Method to get {@link #type} instance <br>
+         * No-any params required
+         *
+         * @return {@link #type} instance as {@link OrderType}
+         */
+        public OrderType getType() {
+            return type;
+        }
+
+    }
+
+}
@@ -0,0 +1,774 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.spot;
+
+import com.tecknobit.binancemanager.managers.records.FixedDecimal;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.Status;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.records.orders.details.ComposedSpotOrderDetails;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.records.orders.details.SpotOrderCAS;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.records.orders.details.SpotOrderDetails;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.records.orders.response.ResultSpotOrder;
+import com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.records.orders.response.SpotOrder;
+import com.tecknobit.binancemanager.managers.signedmanagers.websocketmanagers.userdatastreams.BinanceUserDataStreamsManager;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.JSON;
+import static com.tecknobit.binancemanager.managers.BinanceManager.WEB_SOCKET_STREAM_ENDPOINT;
+import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.Status.*;
+
+/**
+ * The {@code BinanceOrdersTracker} class is useful to follow the lifecycle of the spot orders without polling their
+ * status <br>
+ * The orders returned by the {@code "send*Order"}, {@code "cas*Order"} and {@code "sendNewOCOOrder"} methods are
+ * tracked and updated from the {@code "executionReport"} and {@code "listStatus"} events of the user data stream, the
+ * status of the orders is requested with {@link BinanceSpotManager#getOrderStatus(String, long)} only while the stream
+ * is not connected, with an interval that grows while the order does not change
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote each tracked order gives a future completed when the order reaches a final status and can notify its
+ * fills to the listeners added, the orders completed are no more tracked after {@link #COMPLETED_ORDERS_TTL}
+ * @see BinanceUserDataStreamsManager
+ */
+public class BinanceOrdersTracker implements Closeable {
+
+    /**
+     * {@code MIN_POLL_INTERVAL} is constant for the min interval between the status requests of an order while the
+     * stream is not connected
+     */
+    public static final long MIN_POLL_INTERVAL = 500;
+
+    /**
+     * {@code MAX_POLL_INTERVAL} is constant for the max interval between the status requests of an order while the
+     * stream is not connected
+     */
+    public static final long MAX_POLL_INTERVAL = 8000;
+
+    /**
+     * {@code POLL_TICK} is constant for the period of the checks of the orders to poll
+     */
+    private static final long POLL_TICK = 250;
+
+    /**
+     * {@code RECONNECT_DELAY} is constant for the delay before reconnect the stream after a close
+     */
+    private static final long RECONNECT_DELAY = 1000;
+
+    /**
+     * {@code KEEP_ALIVE_PERIOD} is constant for the period of the keep alive of the listen key
+     */
+    private static final long KEEP_ALIVE_PERIOD = 30 * 60 * 1000;
+
+    /**
+     * {@code PENDING_EVENTS_TTL} is constant for the time an event of an order not tracked yet is kept
+     */
+    private static final long PENDING_EVENTS_TTL = 60000;
+
+    /**
+     * {@code COMPLETED_ORDERS_TTL} is constant for the time an order is kept tracked after it has been completed
+     */
+    public static final long COMPLETED_ORDERS_TTL = 60000;
+
+    /**
+     * {@code spotManager} is instance used to request the status of the orders while the stream is not connected
+     */
+    private final BinanceSpotManager spotManager;
+
+    /**
+     * {@code streamsManager} is instance used to manage the listen key of the stream
+     */
+    private final BinanceUserDataStreamsManager streamsManager;
+
+    /**
+     * {@code orders} is instance that memorizes the orders tracked by order identifier
+     */
+    private final ConcurrentHashMap<Long, TrackedOrder> orders;
+
+    /**
+     * {@code pendingEvents} is instance that memorizes the events received for orders not tracked yet, because an
+     * order can be updated by the stream before the request that sent it returns
+     */
+    private final ConcurrentHashMap<Long, JSONObject> pendingEvents;
+
+    /**
+     * {@code scheduler} is instance used to run the polling, the reconnections and the keep alive
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * {@code client} is instance that memorizes the current connection to the stream
+     */
+    private volatile WebSocketClient client;
+
+    /**
+     * {@code listenKey} is instance that memorizes the listen key of the stream
+     */
+    private volatile String listenKey;
+
+    /**
+     * {@code reconcile} is instance that memorizes whether the orders must be requested once after a reconnection
+     */
+    private volatile boolean reconcile;
+
+    /**
+     * {@code closed} is instance that memorizes whether the tracker has been closed
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructor to init {@link BinanceOrdersTracker}
+     *
+     * @throws IllegalArgumentException when a parameterized constructor of a signed manager has not been called before
+     *                                  this constructor
+     * @apiNote the managers are created with the credentials of the last signed manager instantiated
+     */
+    public BinanceOrdersTracker() {
+        this(new BinanceSpotManager(), new BinanceUserDataStreamsManager());
+    }
+
+    /**
+     * Constructor to init {@link BinanceOrdersTracker}
+     *
+     * @param spotManager:    manager used to request the status of the orders while the stream is not connected
+     * @param streamsManager: manager used to manage the listen key of the stream
+     * @apiNote the tracker uses its own managers copied from the managers inserted, so the managers inserted can be
+     * shared with other threads
+     */
+    public BinanceOrdersTracker(BinanceSpotManager spotManager, BinanceUserDataStreamsManager streamsManager) {
+        this.spotManager = new BinanceSpotManager(spotManager);
+        this.streamsManager = new BinanceUserDataStreamsManager(streamsManager);
+        orders = new ConcurrentHashMap<>();
+        pendingEvents = new ConcurrentHashMap<>();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "binance-orders-tracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to create the listen key, to connect to the stream and to start the polling fallback <br>
+     * No-any params required
+     *
+     * @throws Exception when the listen key request has been go wrong
+     */
+    public void start() throws Exception {
+        listenKey = streamsManager.createSpotListenKey();
+        connect();
+        scheduler.scheduleWithFixedDelay(this::poll, POLL_TICK, POLL_TICK, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::keepAlive, KEEP_ALIVE_PERIOD, KEEP_ALIVE_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method to track an order
+     *
+     * @param symbol:        symbol of the order
+     * @param orderId:       identifier of the order
+     * @param clientOrderId: client identifier of the order
+     * @return order tracked as {@link TrackedOrder}, the same instance if the order is already tracked
+     */
+    public TrackedOrder track(String symbol, long orderId, String clientOrderId) {
+        TrackedOrder trackedOrder = orders.computeIfAbsent(orderId, id -> new TrackedOrder(symbol, orderId,
+                clientOrderId));
+        JSONObject pendingEvent = pendingEvents.remove(orderId);
+        if (pendingEvent != null)
+            applyExecutionReport(trackedOrder, pendingEvent);
+        return trackedOrder;
+    }
+
+    /**
+     * Method to track an order returned by a {@code "send*Order"} method
+     *
+     * @param order: order to track
+     * @return order tracked as {@link TrackedOrder}
+     */
+    public TrackedOrder track(SpotOrder order) {
+        TrackedOrder trackedOrder = track(order.getSymbol(), order.getOrderId(), order.getClientOrderId());
+        if (order instanceof ResultSpotOrder) {
+            ResultSpotOrder result = (ResultSpotOrder) order;
+            update(trackedOrder, result.getStatus(), FixedDecimal.valueOf(result.getExecutedQty()),
+                    FixedDecimal.valueOf(result.getCummulativeQuoteQty()), null, null);
+        }
+        return trackedOrder;
+    }
+
+    /**
+     * Method to track the new order returned by a {@code "cas*Order"} method
+     *
+     * @param casOrder: cancel and replace order to track
+     * @return new order tracked as {@link TrackedOrder}, null if the new order has not been placed
+     */
+    public TrackedOrder track(SpotOrderCAS casOrder) {
+        if (casOrder.getNewOrder() == null)
+            return null;
+        return track(casOrder.getNewOrder());
+    }
+
+    /**
+     * Method to track the orders of a list returned by the {@code "sendNewOCOOrder"} method
+     *
+     * @param ocoOrder: list order to track
+     * @return orders tracked as {@link ArrayList} of {@link TrackedOrder}
+     */
+    public ArrayList<TrackedOrder> track(ComposedSpotOrderDetails ocoOrder) {
+        ArrayList<TrackedOrder> trackedOrders = new ArrayList<>();
+        ArrayList<SpotOrderDetails> reports = ocoOrder.getOrderReportsList();
+        if (reports != null && !reports.isEmpty()) {
+            for (SpotOrderDetails report : reports)
+                trackedOrders.add(track(report));
+        } else {
+            for (Order order : ocoOrder.getOrdersList())
+                trackedOrders.add(track(order.getSymbol(), order.getOrderId(), order.getClientOrderId()));
+        }
+        return trackedOrders;
+    }
+
+    /**
+     * Method to stop tracking an order
+     *
+     * @param orderId: identifier of the order
+     * @return order removed as {@link TrackedOrder}, null if not tracked
+     */
+    public TrackedOrder untrack(long orderId) {
+        return orders.remove(orderId);
+    }
+
+    /**
+     * Method to get an order tracked
+     *
+     * @param orderId: identifier of the order
+     * @return order as {@link TrackedOrder}, null if not tracked
+     */
+    public TrackedOrder getTrackedOrder(long orderId) {
+        return orders.get(orderId);
+    }
+
+    /**
+     * Method to get the orders tracked not completed yet <br>
+     * No-any params required
+     *
+     * @return orders as {@link ArrayList} of {@link TrackedOrder}
+     */
+    public ArrayList<TrackedOrder> getOpenOrders() {
+        ArrayList<TrackedOrder> openOrders = new ArrayList<>();
+        for (TrackedOrder order : orders.values())
+            if (!order.isCompleted())
+                openOrders.add(order);
+        return openOrders;
+    }
+
+    /**
+     * Method to get whether the stream is connected <br>
+     * No-any params required
+     *
+     * @return whether the stream is connected as boolean
+     */
+    public boolean isStreamHealthy() {
+        WebSocketClient current = client;
+        return current != null && current.isOpen();
+    }
+
+    /**
+     * Method to close the stream and its listen key and to stop the tracker <br>
+     * No-any params required
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        WebSocketClient current = client;
+        if (current != null)
+            current.close();
+        try {
+            if (listenKey != null)
+                new BinanceUserDataStreamsManager(streamsManager).closeSpotListenKey(listenKey);
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * Method to handle a stream message, a malformed message is discarded without close the stream
+     *
+     * @param message: message received
+     */
+    private void onMessage(String message) {
+        JSONObject event = new JSONObject(message);
+        switch (event.optString("e")) {
+            case "executionReport" -> {
+                long orderId = event.optLong("i", -1);
+                TrackedOrder trackedOrder = orders.get(orderId);
+                if (trackedOrder != null) {
+                    applyExecutionReport(trackedOrder, event);
+                } else {
+                    pendingEvents.merge(orderId, event, (previous, current) ->
+                            FixedDecimal.parse(current.optString("z", "0"))
+                                    .compareTo(FixedDecimal.parse(previous.optString("z", "0"))) >= 0
+                                    ? current : previous);
+                    prunePendingEvents();
+                }
+            }
+            case "listStatus" -> {
+                if ("ALL_DONE".equals(event.optString("L"))) {
+                    JSONArray listOrders = event.optJSONArray("O");
+                    if (listOrders != null) {
+                        for (int j = 0; j < listOrders.length(); j++) {
+                            TrackedOrder trackedOrder = orders.get(listOrders.getJSONObject(j).optLong("i", -1));
+                            if (trackedOrder != null && !trackedOrder.isCompleted())
+                                trackedOrder.nextPoll = 0;
+                        }
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Method to apply an {@code "executionReport"} event to an order
+     *
+     * @param trackedOrder: order to update
+     * @param event:        event to apply
+     */
+    private void applyExecutionReport(TrackedOrder trackedOrder, JSONObject event) {
+        update(trackedOrder, Status.valueOf(event.getString("X")), FixedDecimal.fromValue(event.opt("z")),
+                FixedDecimal.fromValue(event.opt("Z")), FixedDecimal.fromValue(event.opt("l")),
+                FixedDecimal.fromValue(event.opt("L")));
+    }
+
+    /**
+     * Method to update an order and to notify its listeners, a listener that throws does not stop the others
+     *
+     * @param trackedOrder:       order to update
+     * @param status:             status of the order
+     * @param executedQty:        quantity executed of the order
+     * @param cumulativeQuoteQty: cumulative quote quantity of the order
+     * @param lastQty:            quantity of the last fill, null if not known
+     * @param lastPrice:          price of the last fill, null if not known
+     */
+    private void update(TrackedOrder trackedOrder, Status status, FixedDecimal executedQty,
+                        FixedDecimal cumulativeQuoteQty, FixedDecimal lastQty, FixedDecimal lastPrice) {
+        FixedDecimal fillQty;
+        FixedDecimal fillPrice = lastPrice;
+        synchronized (trackedOrder) {
+            if (trackedOrder.isCompleted() || executedQty.compareTo(trackedOrder.executedQty) < 0)
+                return;
+            if (status == trackedOrder.status && executedQty.equals(trackedOrder.executedQty))
+                return;
+            fillQty = executedQty.subtract(trackedOrder.executedQty);
+            if (fillQty.signum() > 0 && (lastQty == null || lastPrice == null || lastPrice.signum() == 0
+                    || lastQty.compareTo(fillQty) != 0)) {
+                fillPrice = FixedDecimal.valueOf(cumulativeQuoteQty.subtract(trackedOrder.cumulativeQuoteQty)
+                        .doubleValue() / fillQty.doubleValue());
+            }
+            trackedOrder.status = status;
+            trackedOrder.executedQty = executedQty;
+            trackedOrder.cumulativeQuoteQty = cumulativeQuoteQty;
+            trackedOrder.updateTime = System.currentTimeMillis();
+            trackedOrder.pollInterval = MIN_POLL_INTERVAL;
+        }
+        for (OrderListener listener : trackedOrder.listeners) {
+            try {
+                if (fillQty.signum() > 0)
+                    listener.onFill(trackedOrder, fillQty, fillPrice);
+                listener.onUpdate(trackedOrder);
+            } catch (RuntimeException ignored) {
+            }
+        }
+        if (trackedOrder.isCompleted())
+            trackedOrder.completion.complete(trackedOrder);
+    }
+
+    /**
+     * Method to request the status of the orders while the stream is not connected, the orders completed for more
+     * than {@link #COMPLETED_ORDERS_TTL} are removed <br>
+     * No-any params required
+     */
+    private void poll() {
+        boolean healthy = isStreamHealthy();
+        boolean reconcileAll = reconcile && healthy;
+        if (reconcileAll)
+            reconcile = false;
+        long now = System.currentTimeMillis();
+        for (TrackedOrder trackedOrder : orders.values()) {
+            if (trackedOrder.isCompleted()) {
+                if (now - trackedOrder.updateTime > COMPLETED_ORDERS_TTL)
+                    orders.remove(trackedOrder.orderId, trackedOrder);
+                continue;
+            }
+            if (!reconcileAll && (healthy && trackedOrder.nextPoll != 0 || now < trackedOrder.nextPoll))
+                continue;
+            try {
+                JSONObject jStatus = spotManager.getOrderStatus(trackedOrder.symbol, trackedOrder.orderId, JSON);
+                FixedDecimal executedQty = trackedOrder.executedQty;
+                update(trackedOrder, Status.valueOf(jStatus.getString("status")),
+                        FixedDecimal.fromValue(jStatus.opt("executedQty")),
+                        FixedDecimal.fromValue(jStatus.opt("cummulativeQuoteQty")), null, null);
+                if (executedQty.equals(trackedOrder.executedQty))
+                    trackedOrder.pollInterval = Math.min(trackedOrder.pollInterval * 2, MAX_POLL_INTERVAL);
+            } catch (Exception e) {
+                trackedOrder.pollInterval = Math.min(trackedOrder.pollInterval * 2, MAX_POLL_INTERVAL);
+            }
+            trackedOrder.nextPoll = System.currentTimeMillis() + trackedOrder.pollInterval;
+        }
+    }
+
+    /**
+     * Method to keep alive the listen key, a new one is created if it is expired <br>
+     * No-any params required
+     */
+    private void keepAlive() {
+        try {
+            if (!streamsManager.pingKeepAliveSpotListenKey(listenKey)) {
+                listenKey = streamsManager.createSpotListenKey();
+                reconnect();
+            }
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * Method to remove the pending events older than {@link #PENDING_EVENTS_TTL} <br>
+     * No-any params required
+     */
+    private void prunePendingEvents() {
+        long now = System.currentTimeMillis();
+        Iterator<JSONObject> events = pendingEvents.values().iterator();
+        while (events.hasNext())
+            if (now - events.next().optLong("E", now) > PENDING_EVENTS_TTL)
+                events.remove();
+    }
+
+    /**
+     * Method to connect to the stream <br>
+     * No-any params required
+     */
+    private void connect() {
+        try {
+            WebSocketClient webSocketClient = new WebSocketClient(new URI(WEB_SOCKET_STREAM_ENDPOINT + listenKey)) {
+
+                /**
+                 * Called after an opening handshake has been performed and the given websocket is ready to be
+                 * written on.
+                 *
+                 * @param handshakeData The handshake of the websocket instance
+                 */
+                @Override
+                public void onOpen(ServerHandshake handshakeData) {
+                    reconcile = true;
+                }
+
+                /**
+                 * Callback for string messages received from the remote host
+                 *
+                 * @param message The UTF-8 decoded message that was received.
+                 */
+                @Override
+                public void onMessage(String message) {
+                    try {
+                        BinanceOrdersTracker.this.onMessage(message);
+                    } catch (RuntimeException ignored) {
+                    }
+                }
+
+                /**
+                 * Called after the websocket connection has been closed.
+                 *
+                 * @param code   The codes can be looked up here
+                 * @param reason Additional information string
+                 * @param remote Returns whether the closing of the connection was initiated by the remote
+                 *               host.
+                 */
+                @Override
+                public void onClose(int code, String reason, boolean remote) {
+                    if (!closed && client == this && !scheduler.isShutdown())
+                        scheduler.schedule(BinanceOrdersTracker.this::reconnect, RECONNECT_DELAY,
+                                TimeUnit.MILLISECONDS);
+                }
+
+                /**
+                 * Called when errors occurs. If an error causes the websocket connection to fail {@link
+                 * #onClose(int, String, boolean)} will be called additionally.<br> This method will be called
+                 * primarily because of IO or protocol errors.<br> If the given exception is an RuntimeException
+                 * that probably means that you encountered a bug.<br>
+                 *
+                 * @param ex The exception causing this error
+                 */
+                @Override
+                public void onError(Exception ex) {
+                }
+
+            };
+            client = webSocketClient;
+            webSocketClient.connect();
+        } catch (Exception e) {
+            if (!closed && !scheduler.isShutdown())
+                scheduler.schedule(this::reconnect, RECONNECT_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Method to reconnect to the stream <br>
+     * No-any params required
+     */
+    private synchronized void reconnect() {
+        if (closed || isStreamHealthy())
+            return;
+        WebSocketClient previous = client;
+        client = null;
+        if (previous != null)
+            previous.close();
+        connect();
+    }
+
+    /**
+     * The {@code OrderListener} interface is useful to receive the updates of a {@link TrackedOrder}
+     */
+    public interface OrderListener {
+
+        /**
+         * Method invoked when the order has been filled, also partially
+         *
+         * @param order:    order filled
+         * @param quantity: quantity of the fill
+         * @param price:    price of the fill, average price of the fills when the order has been polled
+         */
+        default void onFill(TrackedOrder order, FixedDecimal quantity, FixedDecimal price) {
+        }
+
+        /**
+         * Method invoked when the status or the quantity executed of the order has been changed
+         *
+         * @param order: order updated
+         */
+        default void onUpdate(TrackedOrder order) {
+        }
+
+    }
+
+    /**
+     * The {@code TrackedOrder} class is useful to memorize the state of an order tracked
+     */
+    public static final class TrackedOrder {
+
+        /**
+         * {@code symbol} is instance that memorizes symbol of the order
+         */
+        private final String symbol;
+
+        /**
+         * {@code orderId} is instance that memorizes identifier of the order
+         */
+        private final long orderId;
+
+        /**
+         * {@code clientOrderId} is instance that memorizes client identifier of the order
+         */
+        private final String clientOrderId;
+
+        /**
+         * {@code completion} is instance completed when the order reaches a final status
+         */
+        private final CompletableFuture<TrackedOrder> completion;
+
+        /**
+         * {@code listeners} is instance that memorizes the listeners of the order
+         */
+        private final CopyOnWriteArrayList<OrderListener> listeners;
+
+        /**
+         * {@code status} is instance that memorizes status of the order
+         */
+        private volatile Status status;
+
+        /**
+         * {@code executedQty} is instance that memorizes quantity executed of the order
+         */
+        private volatile FixedDecimal executedQty;
+
+        /**
+         * {@code cumulativeQuoteQty} is instance that memorizes cumulative quote quantity of the order
+         */
+        private volatile FixedDecimal cumulativeQuoteQty;
+
+        /**
+         * {@code updateTime} is instance that memorizes the local time of the last update of the order
+         */
+        private volatile long updateTime;
+
+        /**
+         * {@code pollInterval} is instance that memorizes the current interval between the status requests
+         */
+        private volatile long pollInterval;
+
+        /**
+         * {@code nextPoll} is instance that memorizes the time of the next status request, 0 to request it as soon
+         * as possible
+         */
+        private volatile long nextPoll;
+
+        /**
+         * Constructor to init {@link TrackedOrder}
+         *
+         * @param symbol:        symbol of the order
+         * @param orderId:       identifier of the order
+         * @param clientOrderId: client identifier of the order
+         */
+        private TrackedOrder(String symbol, long orderId, String clientOrderId) {
+            this.symbol = symbol;
+            this.orderId = orderId;
+            this.clientOrderId = clientOrderId;
+            completion = new CompletableFuture<>();
+            listeners = new CopyOnWriteArrayList<>();
+            status = NEW;
+            executedQty = FixedDecimal.ZERO;
+            cumulativeQuoteQty = FixedDecimal.ZERO;
+            updateTime = System.currentTimeMillis();
+            pollInterval = MIN_POLL_INTERVAL;
+            nextPoll = updateTime + MIN_POLL_INTERVAL;
+        }
+
+        /**
+         * Method to add a listener of the order
+         *
+         * @param listener: listener to add
+         */
+        public void addListener(OrderListener listener) {
+            listeners.add(listener);
+        }
+
+        /**
+         * Method to remove a listener of the order
+         *
+         * @param listener: listener to remove
+         */
+        public void removeListener(OrderListener listener) {
+            listeners.remove(listener);
+        }
+
+        /**
+         * Method to get whether the order reached a final status <br>
+         * No-any params required
+         *
+         * @return whether the order is filled, canceled, rejected or expired as boolean
+         */
+        public boolean isCompleted() {
+            Status current = status;
+            return current == FILLED || current == CANCELED || current == REJECTED || current == EXPIRED
+                    || current == EXPIRED_IN_MATCH;
+        }
+
+        /**
+         * Method to get {@link #completion} instance <br>
+         * No-any params required
+         *
+         * @return {@link #completion} instance as {@link CompletableFuture} of {@link TrackedOrder}
+         */
+        public CompletableFuture<TrackedOrder> getCompletion() {
+            return completion;
+        }
+
+        /**
+         * Method to get {@link #symbol} instance <br>
+         * No-any params required
+         *
+         * @return {@link #symbol} instance as {@link String}
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Method to get {@link #orderId} instance <br>
+         * No-any params required
+         *
+         * @return {@link #orderId} instance as long
+         */
+        public long getOrderId() {
+            return orderId;
+        }
+
+        /**
+         * Method to get {@link #clientOrderId} instance <br>
+         * No-any params required
+         *
+         * @return {@link #clientOrderId} instance as {@link String}
+         */
+        public String getClientOrderId() {
+            return clientOrderId;
+        }
+
+        /**
+         * Method to get {@link #status} instance <br>
+         * No-any params required
+         *
+         * @return {@link #status} instance as {@link Status}
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Method to get {@link #executedQty} instance <br>
+         * No-any params required
+         *
+         * @return {@link #executedQty} instance as {@link FixedDecimal}
+         */
+        public FixedDecimal getExecutedQty() {
+            return executedQty;
+        }
+
+        /**
+         * Method to get {@link #cumulativeQuoteQty} instance <br>
+         * No-any params required
+         *
+         * @return {@link #cumulativeQuoteQty} instance as {@link FixedDecimal}
+         */
+        public FixedDecimal getCumulativeQuoteQty() {
+            return cumulativeQuoteQty;
+        }
+
+        /**
+         * Method to get {@link #updateTime} instance <br>
+         * No-any params required
+         *
+         * @return {@link #updateTime} instance as long
+         */
+        public long getUpdateTime() {
+            return updateTime;
+        }
+
+        /**
+         * Returns a string representation of the object <br>
+         * No-any params required
+         *
+         * @return a string representation of the object as {@link String}
+         */
+        @Override
+        public String toString() {
+            return new JSONObject()
+                    .put("symbol", symbol)
+                    .put("orderId", orderId)
+                    .put("clientOrderId", clientOrderId)
+                    .put("status", status)
+                    .put("executedQty", executedQty.toString())
+                    .put("cumulativeQuoteQty", cumulativeQuoteQty.toString())
+                    .put("updateTime", updateTime)
+                    .toString();
+        }
+
+    }
+
+}
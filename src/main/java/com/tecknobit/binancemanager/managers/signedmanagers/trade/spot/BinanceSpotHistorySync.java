@@ -0,0 +1,455 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.trade.spot;
+
+import com.tecknobit.binancemanager.managers.RequestWeightLimiter;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.storage.CursorStore;
+import com.tecknobit.binancemanager.managers.storage.JsonLinesJournal;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+
+/**
+ * The {@code BinanceSpotHistorySync} class is useful to keep a local journal of the trades and of the orders of the
+ * spot account updated with incremental requests <br>
+ * For each symbol a cursor of the trades ({@code "fromId"}) and a cursor of the orders ({@code "orderId"}) are persisted
+ * in a {@link CursorStore}, so each sync fetches only the rows after the cursors; the symbols are synced concurrently
+ * and the requests share a {@link RequestWeightLimiter} <br>
+ * Each trade is appended to the {@link JsonLinesJournal} with {@code "type":"trade"} and each order is appended with
+ * {@code "type":"order"} when it reaches a final status, so an order is journaled only once
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials of the account inserted, or of the last {@link BinanceSpotManager}
+ * instantiated with a parameterized constructor if no account is inserted, the cursors are persisted after each page has been written on the journal, so an interrupted sync
+ * restarts from the last page journaled
+ */
+public class BinanceSpotHistorySync implements Closeable {
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of symbols synced at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * {@code DEFAULT_WEIGHT_PER_MINUTE} is constant for the default weight that the sync can use each minute
+     */
+    public static final int DEFAULT_WEIGHT_PER_MINUTE = 600;
+
+    /**
+     * {@code MAX_ROWS_LIMIT} is constant for the max number of rows returned by a single request
+     */
+    public static final int MAX_ROWS_LIMIT = 1000;
+
+    /**
+     * {@code REQUEST_WEIGHT} is constant for the weight of a trades or of an orders request
+     */
+    private static final int REQUEST_WEIGHT = 10;
+
+    /**
+     * {@code FINAL_STATUSES} is constant for the statuses of an order that cannot change anymore
+     */
+    private static final Set<String> FINAL_STATUSES = Set.of("FILLED", "CANCELED", "REJECTED", "EXPIRED",
+            "EXPIRED_IN_MATCH");
+
+    /**
+     * {@code cursorStore} is instance used to persist the cursors
+     */
+    private final CursorStore cursorStore;
+
+    /**
+     * {@code journal} is instance used to append the trades and the orders
+     */
+    private final JsonLinesJournal journal;
+
+    /**
+     * {@code weightLimiter} is instance used to respect the weight budget
+     */
+    private final RequestWeightLimiter weightLimiter;
+
+    /**
+     * {@code executor} is instance used to sync the symbols
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceSpotManager> managers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before a sync
+     */
+    private final BinanceSpotManager timeManager;
+
+    /**
+     * Constructor to init {@link BinanceSpotHistorySync} with the {@link #DEFAULT_PARALLELISM} and the
+     * {@link #DEFAULT_WEIGHT_PER_MINUTE}
+     *
+     * @param cursorsPath: path of the cursors file
+     * @param journalPath: path of the journal
+     * @throws IOException              when the cursors or the journal cannot be opened
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceSpotManager} has not been
+     *                                  called before this constructor
+     */
+    public BinanceSpotHistorySync(String cursorsPath, String journalPath) throws IOException {
+        this(null, cursorsPath, journalPath, DEFAULT_PARALLELISM, DEFAULT_WEIGHT_PER_MINUTE);
+    }
+
+    /**
+     * Constructor to init {@link BinanceSpotHistorySync} with the {@link #DEFAULT_PARALLELISM} and the
+     * {@link #DEFAULT_WEIGHT_PER_MINUTE}
+     *
+     * @param account:     manager of the account to sync, its credentials and its endpoint are used
+     * @param cursorsPath: path of the cursors file
+     * @param journalPath: path of the journal
+     * @throws IOException when the cursors or the journal cannot be opened
+     */
+    public BinanceSpotHistorySync(BinanceSignedManager account, String cursorsPath,
+                                  String journalPath) throws IOException {
+        this(account, cursorsPath, journalPath, DEFAULT_PARALLELISM, DEFAULT_WEIGHT_PER_MINUTE);
+    }
+
+    /**
+     * Constructor to init {@link BinanceSpotHistorySync}
+     *
+     * @param cursorsPath:     path of the cursors file
+     * @param journalPath:     path of the journal
+     * @param parallelism:     number of symbols synced at the same time
+     * @param weightPerMinute: weight that the sync can use each minute
+     * @throws IOException              when the cursors or the journal cannot be opened
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceSpotManager} has not been
+     *                                  called before this constructor or when the values inserted are not positive
+     */
+    public BinanceSpotHistorySync(String cursorsPath, String journalPath, int parallelism,
+                                  int weightPerMinute) throws IOException {
+        this(null, cursorsPath, journalPath, parallelism, weightPerMinute);
+    }
+
+    /**
+     * Constructor to init {@link BinanceSpotHistorySync}
+     *
+     * @param account:         manager of the account to sync, null to use the credentials of the last
+     *                         {@link BinanceSpotManager} instantiated with a parameterized constructor
+     * @param cursorsPath:     path of the cursors file
+     * @param journalPath:     path of the journal
+     * @param parallelism:     number of symbols synced at the same time
+     * @param weightPerMinute: weight that the sync can use each minute
+     * @throws IOException              when the cursors or the journal cannot be opened
+     * @throws IllegalArgumentException when a parameterized constructor of {@link BinanceSpotManager} has not been
+     *                                  called before this constructor and the account is null or when the values
+     *                                  inserted are not positive
+     */
+    public BinanceSpotHistorySync(BinanceSignedManager account, String cursorsPath, String journalPath,
+                                  int parallelism, int weightPerMinute) throws IOException {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        weightLimiter = new RequestWeightLimiter(weightPerMinute);
+        timeManager = account != null ? new BinanceSpotManager(account) : new BinanceSpotManager();
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceSpotManager manager = new BinanceSpotManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        cursorStore = new CursorStore(cursorsPath);
+        journal = new JsonLinesJournal(journalPath);
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-spot-history-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to sync the trades and the orders of the symbols
+     *
+     * @param symbols: symbols to sync
+     * @return results of the sync as {@link ArrayList} of {@link SyncResult}, in the same order of the symbols inserted
+     * @apiNote a failed symbol does not stop the others, and its cursors keep the last page journaled
+     */
+    public ArrayList<SyncResult> sync(Collection<String> symbols) {
+        synchronized (timeManager) {
+            timeManager.getSyncedServerTime();
+        }
+        ArrayList<CompletableFuture<SyncResult>> syncs = new ArrayList<>();
+        for (String symbol : new LinkedHashSet<>(symbols))
+            syncs.add(CompletableFuture.supplyAsync(() -> syncSymbol(symbol), executor));
+        ArrayList<SyncResult> results = new ArrayList<>(syncs.size());
+        for (CompletableFuture<SyncResult> sync : syncs)
+            results.add(sync.join());
+        return results;
+    }
+
+    /**
+     * Method to sync a symbol from a worker
+     *
+     * @param symbol: symbol to sync
+     * @return result of the sync as {@link SyncResult}
+     */
+    private SyncResult syncSymbol(String symbol) {
+        BinanceSpotManager manager = managers.get();
+        int newTrades = 0;
+        int newOrders = 0;
+        try {
+            newTrades = syncTrades(manager, symbol);
+            newOrders = syncOrders(manager, symbol);
+            return new SyncResult(symbol, newTrades, newOrders, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SyncResult(symbol, newTrades, newOrders, "Interrupted");
+        } catch (Exception e) {
+            return new SyncResult(symbol, newTrades, newOrders, e.getMessage());
+        }
+    }
+
+    /**
+     * Method to sync the trades of a symbol
+     *
+     * @param manager: manager of the worker
+     * @param symbol:  symbol to sync
+     * @return number of new trades journaled
+     * @throws Exception when request has been go wrong or the journal cannot be written
+     */
+    private int syncTrades(BinanceSpotManager manager, String symbol) throws Exception {
+        String cursorKey = "trades." + symbol;
+        long fromId = cursorStore.getCursor(cursorKey, 0);
+        int newTrades = 0;
+        JSONArray trades;
+        do {
+            Params params = new Params();
+            params.addParam("fromId", fromId);
+            params.addParam("limit", MAX_ROWS_LIMIT);
+            weightLimiter.acquire(REQUEST_WEIGHT);
+            trades = getPage(manager, manager.getAccountTradesList(symbol, params, STRING));
+            for (int j = 0; j < trades.length(); j++) {
+                JSONObject trade = trades.getJSONObject(j);
+                journal.append(trade.put("type", "trade"));
+                fromId = Math.max(fromId, trade.getLong("id") + 1);
+            }
+            newTrades += trades.length();
+            commit(cursorKey, fromId);
+        } while (trades.length() == MAX_ROWS_LIMIT);
+        return newTrades;
+    }
+
+    /**
+     * Method to sync the orders of a symbol <br>
+     * The cursor is kept on the oldest order not in a final status yet, the orders after it that have been already
+     * journaled are recognized by the last order id seen
+     *
+     * @param manager: manager of the worker
+     * @param symbol:  symbol to sync
+     * @return number of new orders journaled
+     * @throws Exception when request has been go wrong or the journal cannot be written
+     */
+    private int syncOrders(BinanceSpotManager manager, String symbol) throws Exception {
+        String cursorKey = "orders." + symbol;
+        long orderId = cursorStore.getCursor(cursorKey, 0);
+        long lastSeenId = cursorStore.getCursor(cursorKey + ".last", -1);
+        TreeSet<Long> previousOpenIds = parseIds(cursorStore.getCursor(cursorKey + ".open"));
+        TreeSet<Long> openIds = new TreeSet<>();
+        int newOrders = 0;
+        JSONArray orders;
+        do {
+            Params params = new Params();
+            params.addParam("orderId", orderId);
+            params.addParam("limit", MAX_ROWS_LIMIT);
+            weightLimiter.acquire(REQUEST_WEIGHT);
+            orders = getPage(manager, manager.getAllOrders(symbol, params, STRING));
+            for (int j = 0; j < orders.length(); j++) {
+                JSONObject order = orders.getJSONObject(j);
+                long id = order.getLong("orderId");
+                boolean wasOpen = previousOpenIds.remove(id);
+                if (FINAL_STATUSES.contains(order.getString("status"))) {
+                    if (id > lastSeenId || wasOpen) {
+                        journal.append(order.put("type", "order"));
+                        newOrders++;
+                    }
+                } else
+                    openIds.add(id);
+                lastSeenId = Math.max(lastSeenId, id);
+                orderId = Math.max(orderId, id + 1);
+            }
+            if (orders.length() == MAX_ROWS_LIMIT) {
+                TreeSet<Long> pendingIds = new TreeSet<>(openIds);
+                pendingIds.addAll(previousOpenIds.tailSet(orderId));
+                commitOrders(cursorKey, pendingIds.isEmpty() ? orderId : Math.min(orderId, pendingIds.first()),
+                        lastSeenId, pendingIds);
+            }
+        } while (orders.length() == MAX_ROWS_LIMIT);
+        commitOrders(cursorKey, openIds.isEmpty() ? lastSeenId + 1 : openIds.first(), lastSeenId, openIds);
+        return newOrders;
+    }
+
+    /**
+     * Method to get a page of rows from a response
+     *
+     * @param manager:  manager of the worker
+     * @param response: response of the request
+     * @return page as {@link JSONArray}
+     * @throws IOException when the response is an error
+     */
+    private JSONArray getPage(BinanceSpotManager manager, String response) throws IOException {
+        if (response == null || !response.startsWith("["))
+            throw new IOException(response != null ? response : manager.getErrorResponse());
+        return new JSONArray(response);
+    }
+
+    /**
+     * Method to persist a cursor after its rows have been written on the journal
+     *
+     * @param cursorKey: key of the cursor
+     * @param cursor:    value of the cursor
+     * @throws IOException when the journal or the cursors cannot be written
+     */
+    private void commit(String cursorKey, long cursor) throws IOException {
+        journal.flush();
+        cursorStore.setCursor(cursorKey, cursor);
+        cursorStore.flush();
+    }
+
+    /**
+     * Method to persist the cursors of the orders after their rows have been written on the journal
+     *
+     * @param cursorKey:  key of the cursor
+     * @param orderId:    order id to fetch from on the next sync
+     * @param lastSeenId: last order id seen
+     * @param openIds:    ids of the orders not in a final status
+     * @throws IOException when the journal or the cursors cannot be written
+     */
+    private void commitOrders(String cursorKey, long orderId, long lastSeenId, TreeSet<Long> openIds)
+            throws IOException {
+        StringJoiner ids = new StringJoiner(",");
+        for (long id : openIds)
+            ids.add(Long.toString(id));
+        cursorStore.setCursor(cursorKey + ".last", lastSeenId);
+        cursorStore.setCursor(cursorKey + ".open", openIds.isEmpty() ? null : ids.toString());
+        commit(cursorKey, orderId);
+    }
+
+    /**
+     * Method to parse a list of ids
+     *
+     * @param ids: ids separated by comma, null if no one
+     * @return ids as {@link TreeSet} of {@link Long}
+     */
+    private static TreeSet<Long> parseIds(String ids) {
+        TreeSet<Long> parsedIds = new TreeSet<>();
+        if (ids != null && !ids.isEmpty())
+            for (String id : ids.split(","))
+                parsedIds.add(Long.parseLong(id));
+        return parsedIds;
+    }
+
+    /**
+     * Method to stop the workers and close the journal <br>
+     * No-any params required
+     *
+     * @throws IOException when the journal cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        journal.close();
+    }
+
+    /**
+     * The {@code SyncResult} class is useful to format the result of the sync of a symbol
+     */
+    public static final class SyncResult {
+
+        /**
+         * {@code symbol} is instance that memorizes the symbol synced
+         */
+        private final String symbol;
+
+        /**
+         * {@code newTrades} is instance that memorizes the number of new trades journaled
+         */
+        private final int newTrades;
+
+        /**
+         * {@code newOrders} is instance that memorizes the number of new orders journaled
+         */
+        private final int newOrders;
+
+        /**
+         * {@code error} is instance that memorizes the error of the sync, null if successful
+         */
+        private final String error;
+
+        /**
+         * Constructor to init {@link SyncResult}
+         *
+         * @param symbol:    symbol synced
+         * @param newTrades: number of new trades journaled
+         * @param newOrders: number of new orders journaled
+         * @param error:     error of the sync, null if successful
+         */
+        private SyncResult(String symbol, int newTrades, int newOrders, String error) {
+            this.symbol = symbol;
+            this.newTrades = newTrades;
+            this.newOrders = newOrders;
+            this.error = error;
+        }
+
+        /**
+         * Method to get {@link #symbol} instance <br>
+         * No-any params required
+         *
+         * @return {@link #symbol} instance as {@link String}
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Method to get {@link #newTrades} instance <br>
+         * No-any params required
+         *
+         * @return {@link #newTrades} instance as int
+         */
+        public int getNewTrades() {
+            return newTrades;
+        }
+
+        /**
+         * Method to get {@link #newOrders} instance <br>
+         * No-any params required
+         *
+         * @return {@link #newOrders} instance as int
+         */
+        public int getNewOrders() {
+            return newOrders;
+        }
+
+        /**
+         * Method to get {@link #error} instance <br>
+         * No-any params required
+         *
+         * @return {@link #error} instance as {@link String}
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * Method to get whether the sync has been successful <br>
+         * No-any params required
+         *
+         * @return whether the sync has been successful as boolean
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+    }
+
+}
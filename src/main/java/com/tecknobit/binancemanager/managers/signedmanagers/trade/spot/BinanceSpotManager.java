@@ -3,6 +3,7 @@ package com.tecknobit.binancemanager.managers.signedmanagers.trade.spot;
 import com.tecknobit.apimanager.annotations.*;
 import com.tecknobit.binancemanager.exceptions.SystemException;
 import com.tecknobit.binancemanager.managers.BinanceManager;
+import com.tecknobit.binancemanager.managers.PagedIterator;
 import com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation.SelfTradePreventionMode;
 import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
 import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order;
@@ -24,6 +25,7 @@ import java.util.ArrayList;
 
 import static com.tecknobit.apimanager.apis.APIRequest.RequestMethod.*;
 import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.LIBRARY_OBJECT;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
 import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order.OrderType.*;
 import static com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.OrderCountUsage.returnCountUsageList;
 import static com.tecknobit.binancemanager.managers.signedmanagers.trade.spot.records.orders.response.SpotOrder.*;
@@ -175,6 +177,18 @@ public class BinanceSpotManager extends BinanceSignedManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link BinanceSpotManager} with the same base endpoint, custom error, timeout and
+     * credentials of another manager
+     *
+     * @param manager: manager from copy the details and the credentials
+     * @apiNote unlike the no-any params constructor this constructor does not use the credentials of the last
+     * parameterized constructor called, so it is useful to work on a specific account
+     */
+    public BinanceSpotManager(BinanceSignedManager manager) {
+        super(manager);
+    }
+
     /**
      * Request to test a spot order
      *
@@ -2945,8 +2959,8 @@ public class BinanceSpotManager extends BinanceSignedManager {
      * @param format:           return type formatter -> {@link ReturnFormat}
      * @return result of the order as {@code "format"} defines
      */
-    private <T> T returnNewOrder(String symbol, Side side, OrderType type, OrderResponseType newOrderRespType,
-                                 Params extraParams, ReturnFormat format) throws Exception {
+    <T> T returnNewOrder(String symbol, Side side, OrderType type, OrderResponseType newOrderRespType,
+                         Params extraParams, ReturnFormat format) throws Exception {
         Params payload = new Params();
         extraParams.addParam("symbol", symbol);
         extraParams.addParam("side", side);
@@ -2959,27 +2973,39 @@ public class BinanceSpotManager extends BinanceSignedManager {
             case JSON:
                 return (T) new JSONObject(orderResponse);
             case LIBRARY_OBJECT:
-                JSONObject orderResult = new JSONObject(orderResponse);
-                if (newOrderRespType != null) {
-                    switch (newOrderRespType) {
-                        case RESULT:
-                            return (T) new ResultSpotOrder(orderResult);
-                        case FULL:
-                            return (T) new FullSpotOrder(orderResult);
-                        default:
-                            return (T) new ACKSpotOrder(orderResult);
-                    }
-                } else {
-                    if (type.equals(LIMIT) || type.equals(MARKET))
-                        return (T) new FullSpotOrder(orderResult);
-                    else
-                        return (T) new ACKSpotOrder(orderResult);
-                }
+                return (T) returnSpotOrder(new JSONObject(orderResponse), type, newOrderRespType);
             default:
                 return (T) orderResponse;
         }
     }
 
+    /**
+     * Method to create a spot order object
+     *
+     * @param orderResult:      obtained from Binance's response
+     * @param type:             type of the order
+     * @param newOrderRespType: response type of the order, null if not specified
+     * @return spot order as {@link SpotOrder} custom object, the class depends on the response type
+     */
+    @Returner
+    static SpotOrder returnSpotOrder(JSONObject orderResult, OrderType type, OrderResponseType newOrderRespType) {
+        if (newOrderRespType != null) {
+            switch (newOrderRespType) {
+                case RESULT:
+                    return new ResultSpotOrder(orderResult);
+                case FULL:
+                    return new FullSpotOrder(orderResult);
+                default:
+                    return new ACKSpotOrder(orderResult);
+            }
+        } else {
+            if (type.equals(LIMIT) || type.equals(MARKET))
+                return new FullSpotOrder(orderResult);
+            else
+                return new ACKSpotOrder(orderResult);
+        }
+    }
+
     /**
      * Request to cancel a spot order
      *
@@ -5810,6 +5836,23 @@ public class BinanceSpotManager extends BinanceSignedManager {
                 getTimestampParam() + "&symbol=" + symbol, extraParams)), format);
     }
 
+    /**
+     * Request to iterate lazily all the orders of a symbol, the pages are requested while iterating
+     *
+     * @param symbol:      symbol of the orders es. BTCBUSD
+     * @param extraParams: additional params of the request, the {@code "orderId"} and the {@code "limit"} params are
+     *                     managed by the iterator
+     * @return all orders as {@link PagedIterator} of {@link SpotOrderStatus},
+     * use {@link PagedIterator#stream()} to get them as {@link java.util.stream.Stream}
+     * @apiNote the iterator uses this manager, so the manager must not be used by other threads while iterating
+     **/
+    @RequestWeight(weight = "10(IP)")
+    @RequestPath(method = GET, path = "/api/v3/allOrders")
+    public PagedIterator<SpotOrderStatus> iterateAllOrders(String symbol, Params extraParams) {
+        return new PagedIterator<>(params -> getAllOrders(symbol, params, STRING), extraParams, 1000,
+                "orderId", "orderId", "time", SpotOrderStatus::new);
+    }
+
     /**
      * Method to create a spot order status
      *
@@ -7231,6 +7274,23 @@ public class BinanceSpotManager extends BinanceSignedManager {
                 + "&recvWindow=" + recvWindow), format);
     }
 
+    /**
+     * Request to iterate lazily all the {@code "OCO"} orders, the pages are requested while iterating
+     *
+     * @param extraParams: additional params of the request, the {@code "fromId"} and the {@code "limit"} params are
+     *                     managed by the iterator
+     * @return all the OCO orders as {@link PagedIterator} of {@link OrderDetails},
+     * use {@link PagedIterator#stream()} to get them as {@link java.util.stream.Stream}
+     * @apiNote the iterator uses this manager, so the manager must not be used by other threads while iterating
+     **/
+    @RequestWeight(weight = "20(IP)")
+    @RequestPath(method = GET, path = "/api/v3/allOrderList")
+    public PagedIterator<OrderDetails> iterateAllOCOOrders(Params extraParams) {
+        return new PagedIterator<>(params -> sendGetSignedRequest(SPOT_OCO_ORDER_LIST_STATUS_ENDPOINT,
+                apiRequest.encodeAdditionalParams(getTimestampParam(), params)), extraParams, 1000,
+                "fromId", "orderListId", "transactionTime", OrderDetails::new);
+    }
+
     /**
      * Method to create a spot order status
      *
@@ -7529,6 +7589,23 @@ public class BinanceSpotManager extends BinanceSignedManager {
                 getTimestampParam() + "&symbol=" + symbol, extraParams)), format);
     }
 
+    /**
+     * Request to iterate lazily the account trades of a symbol, the pages are requested while iterating
+     *
+     * @param symbol:      symbol of the trades es. BTCBUSD
+     * @param extraParams: additional params of the request, the {@code "fromId"} and the {@code "limit"} params are
+     *                     managed by the iterator
+     * @return account trades as {@link PagedIterator} of {@link SpotAccountTradesList},
+     * use {@link PagedIterator#stream()} to get them as {@link java.util.stream.Stream}
+     * @apiNote the iterator uses this manager, so the manager must not be used by other threads while iterating
+     **/
+    @RequestWeight(weight = "10(IP)")
+    @RequestPath(method = GET, path = "/api/v3/myTrades")
+    public PagedIterator<SpotAccountTradesList> iterateAccountTradesList(String symbol, Params extraParams) {
+        return new PagedIterator<>(params -> getAccountTradesList(symbol, params, STRING), extraParams, 1000,
+                "fromId", "id", "time", SpotAccountTradesList::new);
+    }
+
     /**
      * Method to create a trades list
      *
@@ -0,0 +1,443 @@
+package com.tecknobit.binancemanager.managers.signedmanagers.wallet;
+
+import com.tecknobit.binancemanager.managers.RequestWeightLimiter;
+import com.tecknobit.binancemanager.managers.signedmanagers.BinanceSignedManager;
+import com.tecknobit.binancemanager.managers.storage.CursorStore;
+import com.tecknobit.binancemanager.managers.storage.JsonLinesJournal;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.tecknobit.binancemanager.managers.BinanceManager.Params;
+import static com.tecknobit.binancemanager.managers.BinanceManager.ReturnFormat.STRING;
+import static com.tecknobit.binancemanager.managers.BinanceResponseChecker.sendRequest;
+
+/**
+ * The {@code BinanceWalletHistoryCrawler} class is useful to keep a local ledger of the deposits and of the
+ * withdrawals of the wallet updated <br>
+ * The time range to crawl is split in windows of {@link #MAX_WINDOW_MILLIS}, the windows are fetched concurrently
+ * with the {@code "offset"} paging and share a {@link RequestWeightLimiter} sized on the {@code UID} weight, then
+ * their rows are appended to the {@link JsonLinesJournal} in time order with {@code "type"}, skipping the rows already
+ * journaled <br>
+ * A row is journaled only when it reaches a final status, the rows not final yet are tracked apart in the
+ * {@link CursorStore} and only their windows are fetched again on the next crawls, so the cursor is never held back
+ * and the daily runs fetch only the newest window
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the workers use the credentials and the endpoint of the account inserted; a row still not final after
+ * {@link #MAX_PENDING_MILLIS} is not tracked anymore and is not journaled; the rows are deduplicated by their
+ * {@code "id"}, or by their {@code "txId"} when the id is missing, because the withdrawals get their {@code "txId"}
+ * only after they have been processed
+ */
+public class BinanceWalletHistoryCrawler implements Closeable {
+
+    /**
+     * {@code MAX_WINDOW_MILLIS} is constant for the max time window accepted by the history endpoints
+     */
+    public static final long MAX_WINDOW_MILLIS = 90L * 24 * 60 * 60 * 1000;
+
+    /**
+     * {@code MAX_ROWS_LIMIT} is constant for the max number of rows returned by a single request
+     */
+    public static final int MAX_ROWS_LIMIT = 1000;
+
+    /**
+     * {@code DEFAULT_PARALLELISM} is constant for the default number of windows fetched at the same time
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * {@code DEFAULT_UID_WEIGHT_PER_MINUTE} is constant for the default {@code UID} weight that the crawler can use
+     * each minute
+     */
+    public static final int DEFAULT_UID_WEIGHT_PER_MINUTE = 90000;
+
+    /**
+     * {@code MAX_PENDING_MILLIS} is constant for the max age of a row not final yet that is fetched again on each crawl
+     */
+    public static final long MAX_PENDING_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+    /**
+     * {@code OVERLAP_MILLIS} is constant for the time crawled again before the cursor, to catch the rows inserted late
+     */
+    private static final long OVERLAP_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * {@code SETTLE_MILLIS} is constant for the age after that a time window is considered complete
+     */
+    private static final long SETTLE_MILLIS = 60000;
+
+    /**
+     * {@code APPLY_TIME_FORMATTER} is constant used to parse the {@code "applyTime"} of the withdrawals
+     */
+    private static final DateTimeFormatter APPLY_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * {@code cursorStore} is instance used to persist the cursors
+     */
+    private final CursorStore cursorStore;
+
+    /**
+     * {@code journal} is instance used to append the rows
+     */
+    private final JsonLinesJournal journal;
+
+    /**
+     * {@code weightLimiter} is instance used to respect the {@code UID} weight budget
+     */
+    private final RequestWeightLimiter weightLimiter;
+
+    /**
+     * {@code executor} is instance used to fetch the windows
+     */
+    private final ExecutorService executor;
+
+    /**
+     * {@code parallelism} is instance that memorizes the number of windows fetched at the same time
+     */
+    private final int parallelism;
+
+    /**
+     * {@code managers} is instance that memorizes the manager of each worker
+     */
+    private final ThreadLocal<BinanceWalletManager> managers;
+
+    /**
+     * {@code timeManager} is instance used to sync the server time before a crawl
+     */
+    private final BinanceWalletManager timeManager;
+
+    /**
+     * Constructor to init {@link BinanceWalletHistoryCrawler} with the {@link #DEFAULT_PARALLELISM} and the
+     * {@link #DEFAULT_UID_WEIGHT_PER_MINUTE}
+     *
+     * @param account:     manager of the account to crawl, its credentials and its endpoint are used
+     * @param cursorsPath: path of the cursors file
+     * @param journalPath: path of the journal
+     * @throws IOException when the cursors or the journal cannot be opened
+     */
+    public BinanceWalletHistoryCrawler(BinanceSignedManager account, String cursorsPath,
+                                       String journalPath) throws IOException {
+        this(account, cursorsPath, journalPath, DEFAULT_PARALLELISM, DEFAULT_UID_WEIGHT_PER_MINUTE);
+    }
+
+    /**
+     * Constructor to init {@link BinanceWalletHistoryCrawler}
+     *
+     * @param account:            manager of the account to crawl, its credentials and its endpoint are used
+     * @param cursorsPath:        path of the cursors file
+     * @param journalPath:        path of the journal
+     * @param parallelism:        number of windows fetched at the same time
+     * @param uidWeightPerMinute: {@code UID} weight that the crawler can use each minute
+     * @throws IOException              when the cursors or the journal cannot be opened
+     * @throws IllegalArgumentException when the values inserted are not positive
+     */
+    public BinanceWalletHistoryCrawler(BinanceSignedManager account, String cursorsPath, String journalPath,
+                                       int parallelism, int uidWeightPerMinute) throws IOException {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        this.parallelism = parallelism;
+        weightLimiter = new RequestWeightLimiter(uidWeightPerMinute);
+        timeManager = new BinanceWalletManager(account);
+        managers = ThreadLocal.withInitial(() -> {
+            BinanceWalletManager manager = new BinanceWalletManager(timeManager);
+            manager.setSyncedServerTime(true);
+            return manager;
+        });
+        cursorStore = new CursorStore(cursorsPath);
+        journal = new JsonLinesJournal(journalPath);
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "binance-wallet-history-crawler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Request to crawl a history from its cursor, or from the start time inserted on the first crawl
+     *
+     * @param type:      type of the history to crawl
+     * @param startTime: time from crawl the history the first time, ignored when the cursor has been persisted
+     * @return number of new rows journaled
+     * @throws IOException when request has been go wrong or the journal cannot be written, the windows journaled
+     *                     before the error are kept
+     */
+    public int crawl(HistoryType type, long startTime) throws IOException {
+        String cursorKey = type.name().toLowerCase();
+        String persisted = cursorStore.getCursor(cursorKey);
+        long cursor = persisted != null ? Long.parseLong(persisted) : startTime;
+        HashMap<String, Long> seen = parseSeen(cursorStore.getCursor(cursorKey + ".seen"));
+        HashMap<String, Long> pending = parseSeen(cursorStore.getCursor(cursorKey + ".pending"));
+        long now;
+        synchronized (timeManager) {
+            now = timeManager.getSyncedServerTime();
+        }
+        pending.values().removeIf(time -> time < now - MAX_PENDING_MILLIS);
+        long windowStart = persisted != null ? cursor - OVERLAP_MILLIS : cursor;
+        ArrayDeque<CompletableFuture<ArrayList<JSONObject>>> windows = new ArrayDeque<>();
+        ArrayDeque<Long> windowsEnd = new ArrayDeque<>();
+        int newRows = 0;
+        try {
+            newRows += crawlPending(type, pending, windowStart);
+            commit(cursorKey, cursor, seen, pending);
+            while (windowStart <= now || !windows.isEmpty()) {
+                while (windowStart <= now && windows.size() < parallelism * 2) {
+                    long start = windowStart;
+                    long end = Math.min(now, windowStart + MAX_WINDOW_MILLIS - 1);
+                    windows.add(CompletableFuture.supplyAsync(() -> fetchWindow(type, start, end), executor));
+                    windowsEnd.add(end);
+                    windowStart = end + 1;
+                }
+                ArrayList<JSONObject> rows = windows.poll().join();
+                long windowEnd = windowsEnd.poll();
+                rows.sort(Comparator.comparingLong(type::getTime));
+                for (JSONObject row : rows) {
+                    long time = type.getTime(row);
+                    String key = type.getKey(row);
+                    if (!type.isFinal(row)) {
+                        if (time >= now - MAX_PENDING_MILLIS)
+                            pending.put(key, time);
+                        continue;
+                    }
+                    pending.remove(key);
+                    if (seen.containsKey(key))
+                        continue;
+                    journal.append(row.put("type", type.name()));
+                    seen.put(key, time);
+                    newRows++;
+                }
+                cursor = Math.max(cursor, Math.min(windowEnd + 1, now - SETTLE_MILLIS));
+                commit(cursorKey, cursor, seen, pending);
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<ArrayList<JSONObject>> window : windows)
+                window.cancel(true);
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+        return newRows;
+    }
+
+    /**
+     * Method to fetch again the windows of the rows not final yet that are older than the windows crawled, the rows
+     * that have reached a final status are journaled and not tracked anymore
+     *
+     * @param type:       type of the history
+     * @param pending:    keys of the rows not final yet with their time
+     * @param crawlStart: start of the windows crawled
+     * @return number of new rows journaled
+     * @throws IOException         when the journal cannot be written
+     * @throws CompletionException when request has been go wrong
+     */
+    private int crawlPending(HistoryType type, HashMap<String, Long> pending, long crawlStart) throws IOException {
+        TreeSet<Long> times = new TreeSet<>(pending.values());
+        int newRows = 0;
+        Long windowStart = times.isEmpty() || times.first() >= crawlStart ? null : times.first();
+        while (windowStart != null) {
+            long windowEnd = Math.min(crawlStart - 1, windowStart + MAX_WINDOW_MILLIS - 1);
+            ArrayList<JSONObject> rows = fetchWindow(type, windowStart, windowEnd);
+            rows.sort(Comparator.comparingLong(type::getTime));
+            for (JSONObject row : rows) {
+                String key = type.getKey(row);
+                if (pending.containsKey(key) && type.isFinal(row)) {
+                    journal.append(row.put("type", type.name()));
+                    pending.remove(key);
+                    newRows++;
+                }
+            }
+            windowStart = times.higher(windowEnd);
+            if (windowStart != null && windowStart >= crawlStart)
+                windowStart = null;
+        }
+        return newRows;
+    }
+
+    /**
+     * Method to fetch all the pages of a window from a worker
+     *
+     * @param type:      type of the history
+     * @param startTime: start of the window
+     * @param endTime:   end of the window
+     * @return rows of the window as {@link ArrayList} of {@link JSONObject}
+     * @throws CompletionException when request has been go wrong
+     */
+    private ArrayList<JSONObject> fetchWindow(HistoryType type, long startTime, long endTime) {
+        BinanceWalletManager manager = managers.get();
+        ArrayList<JSONObject> rows = new ArrayList<>();
+        int offset = 0;
+        JSONArray jRows;
+        do {
+            Params params = new Params();
+            params.addParam("startTime", startTime);
+            params.addParam("endTime", endTime);
+            params.addParam("offset", offset);
+            params.addParam("limit", MAX_ROWS_LIMIT);
+            String response;
+            try {
+                weightLimiter.acquire(type.weight);
+                response = sendRequest(manager, () -> type == HistoryType.DEPOSITS
+                        ? manager.getDepositHistory(params, STRING) : manager.getWithdrawHistory(params, STRING));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            if (!response.startsWith("["))
+                throw new CompletionException(new IOException(response));
+            jRows = new JSONArray(response);
+            for (int j = 0; j < jRows.length(); j++)
+                rows.add(jRows.getJSONObject(j));
+            offset += jRows.length();
+        } while (jRows.length() == MAX_ROWS_LIMIT);
+        return rows;
+    }
+
+    /**
+     * Method to persist a cursor after its rows have been written on the journal, the keys seen older than the time
+     * crawled again on the next crawl are dropped
+     *
+     * @param cursorKey: key of the cursor
+     * @param cursor:    value of the cursor
+     * @param seen:      keys of the rows journaled with their time
+     * @param pending:   keys of the rows not final yet with their time
+     * @throws IOException when the journal or the cursors cannot be written
+     */
+    private void commit(String cursorKey, long cursor, HashMap<String, Long> seen,
+                        HashMap<String, Long> pending) throws IOException {
+        seen.values().removeIf(time -> time < cursor - OVERLAP_MILLIS);
+        journal.flush();
+        cursorStore.setCursor(cursorKey + ".seen", formatKeys(seen));
+        cursorStore.setCursor(cursorKey + ".pending", formatKeys(pending));
+        cursorStore.setCursor(cursorKey, cursor);
+        cursorStore.flush();
+    }
+
+    /**
+     * Method to format some keys to persist them
+     *
+     * @param keys: keys with their time
+     * @return keys with their time separated by comma, null if no one
+     */
+    private static String formatKeys(HashMap<String, Long> keys) {
+        if (keys.isEmpty())
+            return null;
+        StringJoiner formattedKeys = new StringJoiner(",");
+        for (Map.Entry<String, Long> key : keys.entrySet())
+            formattedKeys.add(key.getKey() + "@" + key.getValue());
+        return formattedKeys.toString();
+    }
+
+    /**
+     * Method to parse some keys persisted
+     *
+     * @param seen: keys with their time separated by comma, null if no one
+     * @return keys as {@link HashMap} of key and time
+     */
+    private static HashMap<String, Long> parseSeen(String seen) {
+        HashMap<String, Long> parsedSeen = new HashMap<>();
+        if (seen != null && !seen.isEmpty()) {
+            for (String key : seen.split(",")) {
+                int separator = key.lastIndexOf('@');
+                parsedSeen.put(key.substring(0, separator), Long.parseLong(key.substring(separator + 1)));
+            }
+        }
+        return parsedSeen;
+    }
+
+    /**
+     * Method to stop the workers and close the journal <br>
+     * No-any params required
+     *
+     * @throws IOException when the journal cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        journal.close();
+    }
+
+    /**
+     * {@code HistoryType} list of available wallet histories
+     */
+    public enum HistoryType {
+
+        /**
+         * {@code "DEPOSITS"} history, requested with {@link BinanceWalletManager#getDepositHistory(Params)}
+         */
+        DEPOSITS(1, Set.of(1, 2, 7)),
+
+        /**
+         * {@code "WITHDRAWALS"} history, requested with {@link BinanceWalletManager#getWithdrawHistory(Params)}
+         */
+        WITHDRAWALS(18000, Set.of(1, 3, 5, 6));
+
+        /**
+         * {@code weight} {@code UID} weight of a request
+         */
+        private final int weight;
+
+        /**
+         * {@code finalStatuses} statuses of a row that cannot change anymore
+         */
+        private final Set<Integer> finalStatuses;
+
+        /**
+         * Constructor to init {@link HistoryType}
+         *
+         * @param weight:        {@code UID} weight of a request
+         * @param finalStatuses: statuses of a row that cannot change anymore
+         */
+        HistoryType(int weight, Set<Integer> finalStatuses) {
+            this.weight = weight;
+            this.finalStatuses = finalStatuses;
+        }
+
+        /**
+         * Method to get the time of a row
+         *
+         * @param row: row of the history
+         * @return time of the row in millis
+         */
+        private long getTime(JSONObject row) {
+            if (this == DEPOSITS)
+                return row.optLong("insertTime");
+            return LocalDateTime.parse(row.getString("applyTime"), APPLY_TIME_FORMATTER).toInstant(ZoneOffset.UTC)
+                    .toEpochMilli();
+        }
+
+        /**
+         * Method to get the key used to deduplicate a row
+         *
+         * @param row: row of the history
+         * @return key of the row as {@link String}
+         */
+        private String getKey(JSONObject row) {
+            String id = row.optString("id");
+            return !id.isEmpty() ? id : row.optString("txId");
+        }
+
+        /**
+         * Method to check whether a row has reached a final status
+         *
+         * @param row: row of the history
+         * @return whether the row has reached a final status
+         */
+        private boolean isFinal(JSONObject row) {
+            return finalStatuses.contains(row.optInt("status", -1));
+        }
+
+    }
+
+}
@@ -250,6 +250,18 @@ public class BinanceWalletManager extends BinanceSignedManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link BinanceWalletManager} with the same base endpoint, custom error, timeout and
+     * credentials of another manager
+     *
+     * @param manager: manager from copy the details and the credentials
+     * @apiNote unlike the no-any params constructor this constructor does not use the credentials of the last
+     * parameterized constructor called, so it is useful to work on a specific account
+     */
+    public BinanceWalletManager(BinanceSignedManager manager) {
+        super(manager);
+    }
+
     /**
      * Request to get information of your coins available for deposit and withdraw <br>
      * No-any params required
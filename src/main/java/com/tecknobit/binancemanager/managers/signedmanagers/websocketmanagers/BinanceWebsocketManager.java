@@ -103,6 +103,18 @@ public class BinanceWebsocketManager extends BinanceSignedManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link BinanceWebsocketManager} with the same base endpoint, custom error, timeout and
+     * credentials of another manager
+     *
+     * @param manager: manager from copy the details and the credentials
+     * @apiNote unlike the no-any params constructor this constructor does not use the credentials of the last
+     * parameterized constructor called, so it is useful to work on a specific account
+     */
+    public BinanceWebsocketManager(BinanceSignedManager manager) {
+        super(manager);
+    }
+
     /**
      * Method to start the websocket connection
      *
@@ -122,6 +122,18 @@ public class BinanceUserDataStreamsManager extends BinanceWebsocketManager {
         super();
     }
 
+    /**
+     * Constructor to init a {@link BinanceUserDataStreamsManager} with the same base endpoint, custom error, timeout
+     * and credentials of another manager
+     *
+     * @param manager: manager from copy the details and the credentials
+     * @apiNote unlike the no-any params constructor this constructor does not use the credentials of the last
+     * parameterized constructor called, so it is useful to work on a specific account
+     */
+    public BinanceUserDataStreamsManager(BinanceSignedManager manager) {
+        super(manager);
+    }
+
     /**
      * Request to start a new user data stream. The stream will close after 60 minutes unless a keep-alive is sent.
      * If the account has an active {@code "listenKey"}, that {@code "listenKey"} will be returned and its validity
@@ -2,6 +2,7 @@ package com.tecknobit.binancemanager.managers.signedmanagers.websocketmanagers.u
 
 import com.tecknobit.apimanager.formatters.TimeFormatter;
 import com.tecknobit.binancemanager.managers.market.records.stats.ExchangeInformation.SelfTradePreventionMode;
+import com.tecknobit.binancemanager.managers.records.FixedDecimal;
 import com.tecknobit.binancemanager.managers.records.BinanceItem;
 import com.tecknobit.binancemanager.managers.records.websocketstream.BinanceWebsocketResponse;
 import com.tecknobit.binancemanager.managers.signedmanagers.trade.commons.Order;
@@ -15,8 +16,6 @@ import org.json.JSONObject;
 import java.util.ArrayList;
 import java.util.Date;
 
-import static com.tecknobit.apimanager.trading.TradingTools.roundValue;
-
 /**
  * The {@code OrderUpdate} class is useful to format a user order update
  *
@@ -98,27 +97,27 @@ public class OrderUpdate extends BinanceWebsocketResponse {
     /**
      * {@code orderQuantity} order quantity of the order update
      */
-    private final double orderQuantity;
+    private final FixedDecimal orderQuantity;
 
     /**
      * {@code orderPrice} order price of the order update
      */
-    private final double orderPrice;
+    private final FixedDecimal orderPrice;
 
     /**
      * {@code stopPrice} stop price of the order update
      */
-    private final double stopPrice;
+    private final FixedDecimal stopPrice;
 
     /**
      * {@code trailingDelta} trailing delta of the order update
      */
-    private final double trailingDelta;
+    private final FixedDecimal trailingDelta;
 
     /**
      * {@code icebergQuantity} iceberg quantity of the order update
      */
-    private final double icebergQuantity;
+    private final FixedDecimal icebergQuantity;
 
     /**
      * {@code orderListId} order list id of the order update
@@ -153,22 +152,22 @@ public class OrderUpdate extends BinanceWebsocketResponse {
     /**
      * {@code lastExecutedQuantity} last executed quantity of the order update
      */
-    private final double lastExecutedQuantity;
+    private final FixedDecimal lastExecutedQuantity;
 
     /**
      * {@code lastCumulativeFilledQuantity} last cumulative filled quantity of the order update
      */
-    private final double lastCumulativeFilledQuantity;
+    private final FixedDecimal lastCumulativeFilledQuantity;
 
     /**
      * {@code lastExecutedPrice} last executed price of the order update
      */
-    private final double lastExecutedPrice;
+    private final FixedDecimal lastExecutedPrice;
 
     /**
      * {@code commissionAmount} commission amount of the order update
      */
-    private final double commissionAmount;
+    private final FixedDecimal commissionAmount;
 
     /**
      * {@code commissionAsset} commission asset of the order update
@@ -208,17 +207,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
     /**
      * {@code cumulativeQuoteAssetTransactedQuantity} cumulative quote asset transacted quantity of the order update
      */
-    private final double cumulativeQuoteAssetTransactedQuantity;
+    private final FixedDecimal cumulativeQuoteAssetTransactedQuantity;
 
     /**
      * {@code lastQuoteAssetTransactedQuantity} last quote asset transacted quantity of the order update
      */
-    private final double lastQuoteAssetTransactedQuantity;
+    private final FixedDecimal lastQuoteAssetTransactedQuantity;
 
     /**
      * {@code quoteOrderQuantity} quote order quantity of the order update
      */
-    private final double quoteOrderQuantity;
+    private final FixedDecimal quoteOrderQuantity;
 
     /**
      * {@code trailingTime} trailing time of the order update
@@ -258,12 +257,12 @@ public class OrderUpdate extends BinanceWebsocketResponse {
     /**
      * {@code preventedQuantity} prevented quantity of the order update
      */
-    private final double preventedQuantity;
+    private final FixedDecimal preventedQuantity;
 
     /**
      * {@code lastPreventedQuantity} last prevented quantity of the order update
      */
-    private final double lastPreventedQuantity;
+    private final FixedDecimal lastPreventedQuantity;
 
     /**
      * {@code listStatus} list status of the order update
@@ -334,21 +333,21 @@ public class OrderUpdate extends BinanceWebsocketResponse {
         this.side = side;
         this.type = type;
         this.timeInForce = timeInForce;
-        this.orderQuantity = orderQuantity;
-        this.orderPrice = orderPrice;
-        this.stopPrice = stopPrice;
-        this.trailingDelta = trailingDelta;
-        this.icebergQuantity = icebergQuantity;
+        this.orderQuantity = FixedDecimal.valueOf(orderQuantity);
+        this.orderPrice = FixedDecimal.valueOf(orderPrice);
+        this.stopPrice = FixedDecimal.valueOf(stopPrice);
+        this.trailingDelta = FixedDecimal.valueOf(trailingDelta);
+        this.icebergQuantity = FixedDecimal.valueOf(icebergQuantity);
         this.orderListId = orderListId;
         this.originalClientOrderId = originalClientOrderId;
         this.currentExecutionType = currentExecutionType;
         this.currentOrderStatus = currentOrderStatus;
         this.orderRejectReason = orderRejectReason;
         this.orderId = orderId;
-        this.lastExecutedQuantity = lastExecutedQuantity;
-        this.lastCumulativeFilledQuantity = lastCumulativeFilledQuantity;
-        this.lastExecutedPrice = lastExecutedPrice;
-        this.commissionAmount = commissionAmount;
+        this.lastExecutedQuantity = FixedDecimal.valueOf(lastExecutedQuantity);
+        this.lastCumulativeFilledQuantity = FixedDecimal.valueOf(lastCumulativeFilledQuantity);
+        this.lastExecutedPrice = FixedDecimal.valueOf(lastExecutedPrice);
+        this.commissionAmount = FixedDecimal.valueOf(commissionAmount);
         this.commissionAsset = commissionAsset;
         this.transactionTime = transactionTime;
         this.tradeId = tradeId;
@@ -356,9 +355,9 @@ public class OrderUpdate extends BinanceWebsocketResponse {
         this.isInTheOrderBook = isInTheOrderBook;
         this.isTradeMakerSide = isTradeMakerSide;
         this.orderCreationTime = orderCreationTime;
-        this.cumulativeQuoteAssetTransactedQuantity = cumulativeQuoteAssetTransactedQuantity;
-        this.lastQuoteAssetTransactedQuantity = lastQuoteAssetTransactedQuantity;
-        this.quoteOrderQuantity = quoteOrderQuantity;
+        this.cumulativeQuoteAssetTransactedQuantity = FixedDecimal.valueOf(cumulativeQuoteAssetTransactedQuantity);
+        this.lastQuoteAssetTransactedQuantity = FixedDecimal.valueOf(lastQuoteAssetTransactedQuantity);
+        this.quoteOrderQuantity = FixedDecimal.valueOf(quoteOrderQuantity);
         this.trailingTime = trailingTime;
         this.strategyId = strategyId;
         this.strategyType = strategyType;
@@ -366,8 +365,8 @@ public class OrderUpdate extends BinanceWebsocketResponse {
         this.selfTradePreventionMode = selfTradePreventionMode;
         this.tradeGroupId = tradeGroupId;
         this.counterOrderId = counterOrderId;
-        this.preventedQuantity = preventedQuantity;
-        this.lastPreventedQuantity = lastPreventedQuantity;
+        this.preventedQuantity = FixedDecimal.valueOf(preventedQuantity);
+        this.lastPreventedQuantity = FixedDecimal.valueOf(lastPreventedQuantity);
         this.listStatus = listStatus;
     }
 
@@ -383,21 +382,21 @@ public class OrderUpdate extends BinanceWebsocketResponse {
         side = Side.valueOf(hItem.getString("S"));
         type = OrderType.valueOf(hItem.getString("o"));
         timeInForce = TimeInForce.valueOf(hItem.getString("f"));
-        orderQuantity = hItem.getDouble("q", 0);
-        orderPrice = hItem.getDouble("p", 0);
-        stopPrice = hItem.getDouble("P", 0);
-        trailingDelta = hItem.getDouble("d", 0);
-        icebergQuantity = hItem.getDouble("F", 0);
+        orderQuantity = FixedDecimal.fromValue(hItem.get("q"));
+        orderPrice = FixedDecimal.fromValue(hItem.get("p"));
+        stopPrice = FixedDecimal.fromValue(hItem.get("P"));
+        trailingDelta = FixedDecimal.fromValue(hItem.get("d"));
+        icebergQuantity = FixedDecimal.fromValue(hItem.get("F"));
         orderListId = hItem.getLong("g", -1);
         originalClientOrderId = hItem.getLong("C", -1);
         currentExecutionType = ExecutionType.valueOf(hItem.getString("x"));
         currentOrderStatus = Status.valueOf(hItem.getString("X"));
         orderRejectReason = hItem.getString("r");
         orderId = hItem.getLong("i", -1);
-        lastExecutedQuantity = hItem.getDouble("l", 0);
-        lastCumulativeFilledQuantity = hItem.getDouble("z", 0);
-        lastExecutedPrice = hItem.getDouble("L", 0);
-        commissionAmount = hItem.getDouble("n", 0);
+        lastExecutedQuantity = FixedDecimal.fromValue(hItem.get("l"));
+        lastCumulativeFilledQuantity = FixedDecimal.fromValue(hItem.get("z"));
+        lastExecutedPrice = FixedDecimal.fromValue(hItem.get("L"));
+        commissionAmount = FixedDecimal.fromValue(hItem.get("n"));
         commissionAsset = hItem.getString("N");
         transactionTime = hItem.getLong("T", -1);
         tradeId = hItem.getLong("t", -1);
@@ -405,9 +404,9 @@ public class OrderUpdate extends BinanceWebsocketResponse {
         isInTheOrderBook = hItem.getBoolean("w");
         isTradeMakerSide = hItem.getBoolean("m");
         orderCreationTime = hItem.getLong("O", -1);
-        cumulativeQuoteAssetTransactedQuantity = hItem.getDouble("Z", 0);
-        lastQuoteAssetTransactedQuantity = hItem.getDouble("Y", 0);
-        quoteOrderQuantity = hItem.getDouble("Q", 0);
+        cumulativeQuoteAssetTransactedQuantity = FixedDecimal.fromValue(hItem.get("Z"));
+        lastQuoteAssetTransactedQuantity = FixedDecimal.fromValue(hItem.get("Y"));
+        quoteOrderQuantity = FixedDecimal.fromValue(hItem.get("Q"));
         trailingTime = hItem.getLong("D", -1);
         strategyId = hItem.getLong("j", -1);
         strategyType = hItem.getLong("J", -1);
@@ -415,8 +414,8 @@ public class OrderUpdate extends BinanceWebsocketResponse {
         selfTradePreventionMode = SelfTradePreventionMode.valueOf(hItem.getString("V"));
         tradeGroupId = hItem.getLong("u", -1);
         counterOrderId = hItem.getLong("U", -1);
-        preventedQuantity = hItem.getDouble("A", 0);
-        lastPreventedQuantity = hItem.getDouble("B", 0);
+        preventedQuantity = FixedDecimal.fromValue(hItem.get("A"));
+        lastPreventedQuantity = FixedDecimal.fromValue(hItem.get("B"));
         JSONObject jList = hItem.getJSONObject("listStatus");
         if (jList != null)
             listStatus = new ListStatus(jList);
@@ -481,7 +480,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #orderQuantity} instance as double
      */
     public double getOrderQuantity() {
-        return orderQuantity;
+        return orderQuantity.doubleValue();
     }
 
     /**
@@ -492,7 +491,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getOrderQuantity(int decimals) {
-        return roundValue(orderQuantity, decimals);
+        return orderQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #orderQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #orderQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getOrderQuantityDecimal() {
+        return orderQuantity;
     }
 
     /**
@@ -502,7 +511,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #orderPrice} instance as double
      */
     public double getOrderPrice() {
-        return orderPrice;
+        return orderPrice.doubleValue();
     }
 
     /**
@@ -513,7 +522,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getOrderPrice(int decimals) {
-        return roundValue(orderPrice, decimals);
+        return orderPrice.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #orderPrice} instance <br>
+     * No-any params required
+     *
+     * @return {@link #orderPrice} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getOrderPriceDecimal() {
+        return orderPrice;
     }
 
     /**
@@ -523,7 +542,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #stopPrice} instance as double
      */
     public double getStopPrice() {
-        return stopPrice;
+        return stopPrice.doubleValue();
     }
 
     /**
@@ -534,7 +553,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getStopPrice(int decimals) {
-        return roundValue(stopPrice, decimals);
+        return stopPrice.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #stopPrice} instance <br>
+     * No-any params required
+     *
+     * @return {@link #stopPrice} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getStopPriceDecimal() {
+        return stopPrice;
     }
 
     /**
@@ -544,7 +573,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #trailingDelta} instance as double
      */
     public double getTrailingDelta() {
-        return trailingDelta;
+        return trailingDelta.doubleValue();
     }
 
     /**
@@ -555,7 +584,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getTrailingDelta(int decimals) {
-        return roundValue(trailingDelta, decimals);
+        return trailingDelta.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #trailingDelta} instance <br>
+     * No-any params required
+     *
+     * @return {@link #trailingDelta} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getTrailingDeltaDecimal() {
+        return trailingDelta;
     }
 
     /**
@@ -565,7 +604,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #icebergQuantity} instance as double
      */
     public double getIcebergQuantity() {
-        return icebergQuantity;
+        return icebergQuantity.doubleValue();
     }
 
     /**
@@ -576,7 +615,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getIcebergQuantity(int decimals) {
-        return roundValue(icebergQuantity, decimals);
+        return icebergQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #icebergQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #icebergQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getIcebergQuantityDecimal() {
+        return icebergQuantity;
     }
 
     /**
@@ -646,7 +695,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #lastExecutedQuantity} instance as double
      */
     public double getLastExecutedQuantity() {
-        return lastExecutedQuantity;
+        return lastExecutedQuantity.doubleValue();
     }
 
     /**
@@ -657,7 +706,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getLastExecutedQuantity(int decimals) {
-        return roundValue(lastExecutedQuantity, decimals);
+        return lastExecutedQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #lastExecutedQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastExecutedQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getLastExecutedQuantityDecimal() {
+        return lastExecutedQuantity;
     }
 
     /**
@@ -667,7 +726,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #lastCumulativeFilledQuantity} instance as double
      */
     public double getLastCumulativeFilledQuantity() {
-        return lastCumulativeFilledQuantity;
+        return lastCumulativeFilledQuantity.doubleValue();
     }
 
     /**
@@ -678,7 +737,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getLastCumulativeFilledQuantity(int decimals) {
-        return roundValue(lastCumulativeFilledQuantity, decimals);
+        return lastCumulativeFilledQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #lastCumulativeFilledQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastCumulativeFilledQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getLastCumulativeFilledQuantityDecimal() {
+        return lastCumulativeFilledQuantity;
     }
 
     /**
@@ -688,7 +757,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #lastExecutedPrice} instance as double
      */
     public double getLastExecutedPrice() {
-        return lastExecutedPrice;
+        return lastExecutedPrice.doubleValue();
     }
 
     /**
@@ -699,7 +768,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getLastExecutedPrice(int decimals) {
-        return roundValue(lastExecutedPrice, decimals);
+        return lastExecutedPrice.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #lastExecutedPrice} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastExecutedPrice} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getLastExecutedPriceDecimal() {
+        return lastExecutedPrice;
     }
 
     /**
@@ -709,7 +788,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #commissionAmount} instance as double
      */
     public double getCommissionAmount() {
-        return commissionAmount;
+        return commissionAmount.doubleValue();
     }
 
     /**
@@ -720,7 +799,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getCommissionAmount(int decimals) {
-        return roundValue(commissionAmount, decimals);
+        return commissionAmount.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #commissionAmount} instance <br>
+     * No-any params required
+     *
+     * @return {@link #commissionAmount} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getCommissionAmountDecimal() {
+        return commissionAmount;
     }
 
     /**
@@ -820,7 +909,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #cumulativeQuoteAssetTransactedQuantity} instance as double
      */
     public double getCumulativeQuoteAssetTransactedQuantity() {
-        return cumulativeQuoteAssetTransactedQuantity;
+        return cumulativeQuoteAssetTransactedQuantity.doubleValue();
     }
 
     /**
@@ -831,7 +920,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getCumulativeQuoteAssetTransactedQuantity(int decimals) {
-        return roundValue(cumulativeQuoteAssetTransactedQuantity, decimals);
+        return cumulativeQuoteAssetTransactedQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #cumulativeQuoteAssetTransactedQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #cumulativeQuoteAssetTransactedQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getCumulativeQuoteAssetTransactedQuantityDecimal() {
+        return cumulativeQuoteAssetTransactedQuantity;
     }
 
     /**
@@ -841,7 +940,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #lastQuoteAssetTransactedQuantity} instance as double
      */
     public double getLastQuoteAssetTransactedQuantity() {
-        return lastQuoteAssetTransactedQuantity;
+        return lastQuoteAssetTransactedQuantity.doubleValue();
     }
 
     /**
@@ -851,7 +950,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #lastQuoteAssetTransactedQuantity if decimalDigits is negative
      */
     public double getLastQuoteAssetTransactedQuantity(int decimals) {
-        return roundValue(lastQuoteAssetTransactedQuantity, decimals);
+        return lastQuoteAssetTransactedQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #lastQuoteAssetTransactedQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastQuoteAssetTransactedQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getLastQuoteAssetTransactedQuantityDecimal() {
+        return lastQuoteAssetTransactedQuantity;
     }
 
     /**
@@ -861,7 +970,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #quoteOrderQuantity} instance as double
      */
     public double getQuoteOrderQuantity() {
-        return quoteOrderQuantity;
+        return quoteOrderQuantity.doubleValue();
     }
 
     /**
@@ -872,7 +981,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getQuoteOrderQuantity(int decimals) {
-        return roundValue(quoteOrderQuantity, decimals);
+        return quoteOrderQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #quoteOrderQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #quoteOrderQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getQuoteOrderQuantityDecimal() {
+        return quoteOrderQuantity;
     }
 
     /**
@@ -972,7 +1091,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #preventedQuantity} instance as double
      */
     public double getPreventedQuantity() {
-        return preventedQuantity;
+        return preventedQuantity.doubleValue();
     }
 
     /**
@@ -983,7 +1102,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getPreventedQuantity(int decimals) {
-        return roundValue(preventedQuantity, decimals);
+        return preventedQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #preventedQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #preventedQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getPreventedQuantityDecimal() {
+        return preventedQuantity;
     }
 
     /**
@@ -993,7 +1122,7 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @return {@link #lastPreventedQuantity} instance as double
      */
     public double getLastPreventedQuantity() {
-        return lastPreventedQuantity;
+        return lastPreventedQuantity.doubleValue();
     }
 
     /**
@@ -1004,7 +1133,17 @@ public class OrderUpdate extends BinanceWebsocketResponse {
      * @throws IllegalArgumentException if decimalDigits is negative
      */
     public double getLastPreventedQuantity(int decimals) {
-        return roundValue(lastPreventedQuantity, decimals);
+        return lastPreventedQuantity.round(decimals).doubleValue();
+    }
+
+    /**
+     * Method to get {@link #lastPreventedQuantity} instance <br>
+     * No-any params required
+     *
+     * @return {@link #lastPreventedQuantity} instance as {@link FixedDecimal}
+     */
+    public FixedDecimal getLastPreventedQuantityDecimal() {
+        return lastPreventedQuantity;
     }
 
     /**
@@ -0,0 +1,115 @@
+package com.tecknobit.binancemanager.managers.storage;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The {@code CursorStore} class is useful to persist the cursors of an incremental sync, so a sync restarts from the
+ * last position reached instead of downloading again the whole history <br>
+ * The cursors are stored as a properties file that is replaced atomically on each {@link #flush()}, so a crash never
+ * leaves a partially written file
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the cursors must be flushed only after the data that they cover has been stored, so a crash can only
+ * repeat some data, never lose it
+ */
+public class CursorStore {
+
+    /**
+     * {@code path} is instance that memorizes the path of the cursors file
+     */
+    private final Path path;
+
+    /**
+     * {@code cursors} is instance that memorizes the cursors
+     */
+    private final Properties cursors;
+
+    /**
+     * Constructor to init {@link CursorStore}
+     *
+     * @param path: path of the cursors file, created on the first {@link #flush()} if not exists
+     * @throws IOException when the cursors file cannot be read
+     */
+    public CursorStore(String path) throws IOException {
+        this.path = Path.of(path);
+        cursors = new Properties();
+        if (Files.exists(this.path)) {
+            try (Reader reader = Files.newBufferedReader(this.path)) {
+                cursors.load(reader);
+            }
+        }
+    }
+
+    /**
+     * Method to get a cursor
+     *
+     * @param key:          key of the cursor
+     * @param defaultValue: value to return when the cursor has not been stored yet
+     * @return cursor as long
+     */
+    public synchronized long getCursor(String key, long defaultValue) {
+        String cursor = cursors.getProperty(key);
+        return cursor != null ? Long.parseLong(cursor) : defaultValue;
+    }
+
+    /**
+     * Method to get a cursor
+     *
+     * @param key: key of the cursor
+     * @return cursor as {@link String}, null when the cursor has not been stored yet
+     */
+    public synchronized String getCursor(String key) {
+        return cursors.getProperty(key);
+    }
+
+    /**
+     * Method to set a cursor, the cursor is persisted with the next {@link #flush()}
+     *
+     * @param key:    key of the cursor
+     * @param cursor: value of the cursor
+     */
+    public synchronized void setCursor(String key, long cursor) {
+        cursors.setProperty(key, Long.toString(cursor));
+    }
+
+    /**
+     * Method to set a cursor, the cursor is persisted with the next {@link #flush()}
+     *
+     * @param key:    key of the cursor
+     * @param cursor: value of the cursor, null to remove it
+     */
+    public synchronized void setCursor(String key, String cursor) {
+        if (cursor == null)
+            cursors.remove(key);
+        else
+            cursors.setProperty(key, cursor);
+    }
+
+    /**
+     * Method to persist the cursors replacing atomically the cursors file <br>
+     * No-any params required
+     *
+     * @throws IOException when the cursors file cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tempPath)) {
+            cursors.store(writer, null);
+        }
+        try {
+            Files.move(tempPath, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(tempPath, path, REPLACE_EXISTING);
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.tecknobit.binancemanager.managers.storage;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * The {@code JsonLinesJournal} class is useful to append records to a local journal, one {@code "JSON"} object for
+ * each line, so the journal can be read back or processed line by line without load it all in memory <br>
+ * Each record is identified by its offset in the journal, so the records can be indexed and read back one by one
+ *
+ * @author N7ghtm4r3 - Tecknobit
+ * @apiNote the records are buffered, call {@link #flush()} before persist the cursors that cover them
+ * @see CursorStore
+ */
+public class JsonLinesJournal implements Closeable {
+
+    /**
+     * {@code LINE_SEPARATOR_LENGTH} is constant for the length in bytes of the separator of the records
+     */
+    private static final int LINE_SEPARATOR_LENGTH = System.lineSeparator().getBytes(UTF_8).length;
+
+    /**
+     * {@code READ_BUFFER_SIZE} is constant for the size in bytes of each positional read of a record
+     */
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * {@code path} is instance that memorizes the path of the journal
+     */
+    private final Path path;
+
+    /**
+     * {@code writer} is instance used to append the records
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * {@code reader} is instance used to read the records at their offsets
+     */
+    private final FileChannel reader;
+
+    /**
+     * {@code size} is instance that memorizes the size in bytes of the journal, buffered records included
+     */
+    private long size;
+
+    /**
+     * Constructor to init {@link JsonLinesJournal}
+     *
+     * @param path: path of the journal, created if not exists
+     * @throws IOException when the journal cannot be opened
+     */
+    public JsonLinesJournal(String path) throws IOException {
+        this.path = Path.of(path);
+        Path parent = this.path.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        writer = Files.newBufferedWriter(this.path, UTF_8, CREATE, WRITE, APPEND);
+        reader = FileChannel.open(this.path, READ);
+        size = Files.size(this.path);
+    }
+
+    /**
+     * Method to append a record
+     *
+     * @param record: record to append
+     * @return offset of the record in the journal
+     * @throws IOException when the record cannot be written
+     */
+    public synchronized long append(JSONObject record) throws IOException {
+        String line = record.toString();
+        long offset = size;
+        writer.write(line);
+        writer.newLine();
+        size += line.getBytes(UTF_8).length + LINE_SEPARATOR_LENGTH;
+        return offset;
+    }
+
+    /**
+     * Method to read a record, the records buffered are flushed before
+     *
+     * @param offset: offset of the record in the journal
+     * @return record as {@link JSONObject}
+     * @throws IOException when the record cannot be read
+     */
+    public synchronized JSONObject read(long offset) throws IOException {
+        writer.flush();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        long position = offset;
+        boolean lineEnded = false;
+        int read;
+        while (!lineEnded && (read = reader.read(buffer.clear(), position)) != -1) {
+            int length = 0;
+            while (length < read && buffer.get(length) != '\n')
+                length++;
+            line.write(buffer.array(), 0, length);
+            lineEnded = length < read;
+            position += read;
+        }
+        if (!lineEnded && line.size() == 0)
+            throw new EOFException("No record at offset " + offset);
+        try {
+            return toRecord(line.toByteArray());
+        } catch (JSONException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Method to read all the records, the records buffered are flushed before
+     *
+     * @param consumer: consumer of each record with its offset
+     * @throws IOException when the journal cannot be read
+     * @apiNote the lines that are not valid records, as a last line partially written by a crash, are skipped
+     */
+    public synchronized void forEach(RecordConsumer consumer) throws IOException {
+        writer.flush();
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path))) {
+            long offset = 0;
+            byte[] line;
+            while ((line = readLine(input)) != null) {
+                try {
+                    consumer.accept(offset, toRecord(line));
+                } catch (JSONException ignored) {
+                }
+                offset += line.length + 1;
+            }
+        }
+    }
+
+    /**
+     * Method to read a line of the journal
+     *
+     * @param input: stream positioned at the start of the line
+     * @return line without its line feed as bytes, null if the end of the journal has been reached
+     * @throws IOException when the journal cannot be read
+     */
+    private static byte[] readLine(InputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int read;
+        while ((read = input.read()) != -1 && read != '\n')
+            line.write(read);
+        if (read == -1 && line.size() == 0)
+            return null;
+        return line.toByteArray();
+    }
+
+    /**
+     * Method to format a line of the journal as record
+     *
+     * @param line: line without its line feed as bytes
+     * @return record as {@link JSONObject}
+     * @throws JSONException when the line is not a valid record
+     */
+    private static JSONObject toRecord(byte[] line) {
+        int length = line.length;
+        if (length > 0 && line[length - 1] == '\r')
+            length--;
+        return new JSONObject(new String(line, 0, length, UTF_8));
+    }
+
+    /**
+     * Method to write the records buffered on the journal <br>
+     * No-any params required
+     *
+     * @throws IOException when the records cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Method to flush and close the journal <br>
+     * No-any params required
+     *
+     * @throws IOException when the journal cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            writer.close();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * The {@code RecordConsumer} interface is useful to consume the records read from the journal
+     *
+     * @author N7ghtm4r3 - Tecknobit
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+
+        /**
+         * Method to consume a record
+         *
+         * @param offset: offset of the record in the journal
+         * @param record: record read
+         */
+        void accept(long offset, JSONObject record);
+
+    }
+
+}